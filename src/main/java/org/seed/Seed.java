@@ -49,7 +49,32 @@ public class Seed {
 	public static final String PROP_CONNECTIONPOOL_POOLSIZE      = "db.connectionpool.maximumPoolSize";
 	public static final String PROP_CONNECTIONPOOL_IDLE_TIMEOUT  = "db.connectionpool.idleTimeout";
 	
+	public static final String PROP_REPLICA_URL                  = "db.replica.url";
+	public static final String PROP_REPLICA_USERNAME             = "db.replica.username";
+	public static final String PROP_REPLICA_PASSWORD             = "db.replica.password";
+	public static final String PROP_REPLICA_POOLSIZE             = "db.replica.maximumPoolSize";
+	public static final String PROP_REPLICA_READ_AFTER_WRITE     = "db.replica.read_after_write_time";
+	
 	public static final String PROP_BATCH_SIZE                   = "db.batchprocessing.batch_size";
+	public static final String PROP_BATCH_PARTITION_THREADS      = "db.batchprocessing.partition_threads";
+	
+	public static final String PROP_CACHE_HEAP_ENTRIES           = "db.cache.heap_entries";
+	public static final String PROP_CACHE_TIME_TO_LIVE           = "db.cache.time_to_live";
+	public static final String PROP_CACHE_QUERY_HEAP_ENTRIES     = "db.cache.query.heap_entries";
+	public static final String PROP_CACHE_QUERY_TIME_TO_LIVE     = "db.cache.query.time_to_live";
+	
+	public static final String PROP_FETCH_BATCH_SIZE             = "db.fetch.batch_size";
+	
+	public static final String PROP_INDEX_SLOW_QUERY_TIME        = "db.index.slow_query_time";
+	
+	public static final String PROP_RESTCLIENT_MAX_CONNECTIONS   = "rest.client.max_connections";
+	public static final String PROP_RESTCLIENT_MAX_PER_ROUTE     = "rest.client.max_connections_per_route";
+	public static final String PROP_RESTCLIENT_CONNECT_TIMEOUT   = "rest.client.connect_timeout";
+	public static final String PROP_RESTCLIENT_READ_TIMEOUT      = "rest.client.read_timeout";
+	public static final String PROP_RESTCLIENT_KEEP_ALIVE        = "rest.client.keep_alive";
+	public static final String PROP_RESTCLIENT_TIME_TO_LIVE      = "rest.client.time_to_live";
+	public static final String PROP_RESTCLIENT_ASYNC_THREADS     = "rest.client.async_threads";
+	public static final String PROP_RESTCLIENT_ASYNC_QUEUE_SIZE  = "rest.client.async_queue_size";
 	
 	public static final String PROP_EXTERN_API_JAVADOC_URL		 = "extern.apijavadoc.url";
 	
@@ -62,6 +87,10 @@ public class Seed {
 	
 	public static final String PROP_MODULE_EXT_ROOT_DIR          = "module.external.rootdir";
 	
+	public static final String PROP_FILE_STORE_ROOT_DIR          = "file.store.rootdir";
+	public static final String PROP_THUMBNAIL_CACHE_DIR          = "thumbnail.cache.dir";
+	public static final String PROP_THUMBNAIL_CACHE_MAX_FILES    = "thumbnail.cache.max_files";
+	
 	private static LabelProvider labelProvider;
 	
 	public static void main(String[] args) {
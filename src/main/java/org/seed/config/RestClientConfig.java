@@ -17,20 +17,98 @@
  */
 package org.seed.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import org.seed.Seed;
+import org.seed.core.config.ApplicationProperties;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 @Configuration
 public class RestClientConfig {
 	
-	private final HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
+	private static final int DEFAULT_MAX_CONNECTIONS = 100;
+	
+	private static final int DEFAULT_MAX_PER_ROUTE = 20;
+	
+	private static final int DEFAULT_CONNECT_TIMEOUT = 10000; // ms
+	
+	private static final int DEFAULT_READ_TIMEOUT = 60000; // ms
+	
+	private static final int DEFAULT_KEEP_ALIVE = 30000; // ms
+	
+	private static final int DEFAULT_TIME_TO_LIVE = -1; // no limit
+	
+	private static final int DEFAULT_ASYNC_THREADS = 20;
+	
+	private static final int DEFAULT_ASYNC_QUEUE_SIZE = 1000;
+	
+	@Autowired
+	private ApplicationProperties applicationProperties;
+	
+	@Bean
+	PoolingHttpClientConnectionManager clientConnectionManager() {
+		// time to live limits the total lifetime of a connection, regardless of keep-alive
+		final int timeToLive = getProperty(Seed.PROP_RESTCLIENT_TIME_TO_LIVE, DEFAULT_TIME_TO_LIVE);
+		final var connectionManager = new PoolingHttpClientConnectionManager(timeToLive, TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(getProperty(Seed.PROP_RESTCLIENT_MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS));
+		connectionManager.setDefaultMaxPerRoute(getProperty(Seed.PROP_RESTCLIENT_MAX_PER_ROUTE, DEFAULT_MAX_PER_ROUTE));
+		return connectionManager;
+	}
 	
 	@Bean
-	HttpComponentsClientHttpRequestFactory clientHttpRequestFactory() {
-	    return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
+	HttpComponentsClientHttpRequestFactory clientHttpRequestFactory(PoolingHttpClientConnectionManager connectionManager) {
+		final int keepAlive = getProperty(Seed.PROP_RESTCLIENT_KEEP_ALIVE, DEFAULT_KEEP_ALIVE);
+		final int connectTimeout = getProperty(Seed.PROP_RESTCLIENT_CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT);
+		final var requestConfig = RequestConfig.custom()
+				.setConnectTimeout(connectTimeout)
+				.setConnectionRequestTimeout(connectTimeout)
+				.setSocketTimeout(getProperty(Seed.PROP_RESTCLIENT_READ_TIMEOUT, DEFAULT_READ_TIMEOUT))
+				.build();
+		
+		final var httpClient = HttpClientBuilder.create()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				// use keep-alive of the server, but not longer than configured
+				.setKeepAliveStrategy((response, context) -> {
+					final long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+				.build();
+		return new HttpComponentsClientHttpRequestFactory(httpClient);
+	}
+	
+	// executor for asynchronous rest client calls,
+	// if the queue is full, the call runs in the calling thread and slows down the caller
+	@Bean(destroyMethod = "shutdown")
+	ExecutorService restClientExecutor() {
+		final int numThreads = getProperty(Seed.PROP_RESTCLIENT_ASYNC_THREADS, DEFAULT_ASYNC_THREADS);
+		final int queueSize = getProperty(Seed.PROP_RESTCLIENT_ASYNC_QUEUE_SIZE, DEFAULT_ASYNC_QUEUE_SIZE);
+		final var executor = new ThreadPoolExecutor(numThreads, numThreads, 60, TimeUnit.SECONDS, 
+													new LinkedBlockingQueue<>(queueSize), 
+													new CustomizableThreadFactory("rest-client-"),
+													new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	private int getProperty(String propertyName, int defaultValue) {
+		final Integer value = applicationProperties.getIntegerProperty(propertyName);
+		return value != null ? value : defaultValue;
 	}
 
 }
@@ -0,0 +1,44 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.api;
+
+import org.seed.core.data.ValidationException;
+
+/**
+ * A <code>BatchPartitionFunction</code> processes the entity objects of a partitioned batch operation.
+ * Each partition runs in its own thread, session and transaction, 
+ * so the function must not share state between calls.
+ * See {@link EntityObjectProvider#processPartitioned(Class, BatchPartitionFunction)}
+ * 
+ * @author seed-master
+ *
+ * @param <T> the type of the entity object
+ */
+@FunctionalInterface
+public interface BatchPartitionFunction<T extends EntityObject> {
+	
+	/**
+	 * Processes an entity object of a partition
+	 * @param entityObject the entity object to process
+	 * @param context the context of the partition
+	 * @throws ValidationException
+	 * 		   If there are validation errors that prevent processing
+	 */
+	void process(T entityObject, CallbackFunctionContext context) throws ValidationException;
+	
+}
@@ -18,6 +18,7 @@
 package org.seed.core.api;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nullable;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -41,6 +42,36 @@ public interface EntityObjectProvider {
 	 */
 	BatchOperation startBatchOperation();
 	
+	/**
+	 * Processes all entity objects of the given class in parallel.
+	 * The objects are split by id ranges into partitions that run on a bounded worker pool.
+	 * Each partition uses its own session and transaction, which is committed when the partition is complete.
+	 * Every processed object is saved including validation, callbacks and full-text indexing.
+	 * The operation is not atomic: if a partition fails, the partitions that are still running 
+	 * are cancelled and rolled back, but partitions that are already completed remain committed.
+	 * If the provider belongs to a {@link JobContext}, the progress is reported to the job.
+	 * @param <T> the type of the entity object
+	 * @param objectClass the class of the entity object
+	 * @param function the function that processes each entity object
+	 * @return the number of processed entity objects
+	 * @throws ValidationException
+	 * 		   If there are validation errors in any of the partitions
+	 */
+	<T extends EntityObject> long processPartitioned(Class<T> objectClass, BatchPartitionFunction<T> function) throws ValidationException;
+	
+	/**
+	 * Processes all entity objects of the given class in parallel using the given number of partitions.
+	 * See {@link #processPartitioned(Class, BatchPartitionFunction)}
+	 * @param <T> the type of the entity object
+	 * @param objectClass the class of the entity object
+	 * @param numPartitions the number of partitions
+	 * @param function the function that processes each entity object
+	 * @return the number of processed entity objects
+	 * @throws ValidationException
+	 * 		   If there are validation errors in any of the partitions
+	 */
+	<T extends EntityObject> long processPartitioned(Class<T> objectClass, int numPartitions, BatchPartitionFunction<T> function) throws ValidationException;
+	
 	/**
 	 * Creates a new JPA <code>CriteriaBuilder</code>
 	 * @return the new <code>CriteriaBuilder</code>
@@ -239,6 +270,60 @@ public interface EntityObjectProvider {
 	 */
 	<T extends EntityObject> void changeStatus(T entityObject, Status targetStatus) throws ValidationException;
 	
+	/**
+	 * Updates fields of all entity objects of the given class that match the filter.
+	 * The update runs as a single statement unless callbacks, auditing, the full-text index
+	 * or field constraints require processing object by object.
+	 * A single statement doesn't validate, load or notify the individual objects.
+	 * The permissions of the current user are checked before the update.
+	 * @param <T> the type of the entity object
+	 * @param objectClass the class of the entity objects
+	 * @param filter the filter or <code>null</code> to update all entity objects
+	 * @param valueMap the new field values by field name
+	 * @return the number of updated entity objects
+	 * @throws ValidationException
+	 * 		   If there are validation errors that prevent saving
+	 */
+	<T extends EntityObject> int updateAll(Class<T> objectClass, @Nullable EntityFilter filter, 
+										   Map<String, Object> valueMap) throws ValidationException;
+	
+	/**
+	 * Changes the status of all entity objects of the given class that match the filter
+	 * to the target status with the given number.
+	 * The change runs as a single statement unless callbacks, auditing, the full-text index
+	 * or mandatory field constraints of the target status require processing object by object.
+	 * A single statement doesn't validate, load or notify the individual objects.
+	 * The permissions of the current user for the entity and the status transitions 
+	 * are checked before the change.
+	 * @param <T> the type of the entity object
+	 * @param objectClass the class of the entity objects
+	 * @param filter the filter or <code>null</code> to change all entity objects
+	 * @param statusNumber the number of the target status
+	 * @return the number of changed entity objects
+	 * @throws ValidationException
+	 * 		   If there are validation errors that prevent changing
+	 * @throws IllegalStateException
+	 * 		   If there is no status for the given number or
+	 *         no transition between the current status of an object and the given status
+	 */
+	<T extends EntityObject> int changeStatusAll(Class<T> objectClass, @Nullable EntityFilter filter, 
+												 Integer statusNumber) throws ValidationException;
+	
+	/**
+	 * Deletes all entity objects of the given class that match the filter.
+	 * The deletion runs as a single statement unless callbacks, auditing, the full-text index, 
+	 * nested objects, relations, files or references require processing object by object.
+	 * A single statement doesn't validate, load or notify the individual objects.
+	 * The permissions of the current user are checked before the deletion.
+	 * @param <T> the type of the entity object
+	 * @param objectClass the class of the entity objects
+	 * @param filter the filter or <code>null</code> to delete all entity objects
+	 * @return the number of deleted entity objects
+	 * @throws ValidationException
+	 * 		   If there are validation errors that prevent deletion
+	 */
+	<T extends EntityObject> int deleteAll(Class<T> objectClass, @Nullable EntityFilter filter) throws ValidationException;
+	
 	/**
 	 * Performs a predefined {@link EntityTransformer} transformation on the given source {@link EntityObject}
 	 * and returns the newly created target {@link EntityObject}
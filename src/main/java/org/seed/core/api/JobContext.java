@@ -64,6 +64,19 @@ public interface JobContext extends CallbackFunctionContext {
 	 */
 	Integer getJobParameterAsInt(String name, Integer defaultValue);
 	
+	/**
+	 * Adds the given number of processed objects to the progress of the job run
+	 * @param count the number of objects that have been processed
+	 * @throws IllegalStateException if the count is negative
+	 */
+	void addProcessedObjects(long count);
+	
+	/**
+	 * Returns the number of objects processed by the job run so far
+	 * @return the number of processed objects
+	 */
+	long getProcessedObjects();
+	
 	/**
 	 * Writes a message (info) to the job run log
 	 * @param message the message to write to the job run log
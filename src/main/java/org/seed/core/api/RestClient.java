@@ -18,12 +18,14 @@
 package org.seed.core.api;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.lang.Nullable;
 
 /**
  * A <code>RestClient</code> is a client for REST services.
  * It can be used to query data from the service or send data to the service.
+ * The asynchronous variants return immediately, so multiple calls can run concurrently.
  * 
  * @author seed-master
  *
@@ -80,4 +82,51 @@ public interface RestClient {
 	 */
 	<T> T post(String path, Class<T> responseType, @Nullable Object requestObject, Map<String, Object> params);
 	
+	
+	/**
+	 * Sends a GET request for the given path asynchronously.
+	 * @param path the request path
+	 * @return a future of the response as String
+	 */
+	CompletableFuture<String> getAsync(String path);
+	
+	/**
+	 * Sends a GET request for the given path with the given parameters asynchronously.
+	 * @param path the request path
+	 * @param params a map of named parameters
+	 * @return a future of the response as String
+	 */
+	CompletableFuture<String> getAsync(String path, Map<String, Object> params);
+	
+	/**
+	 * Sends a GET request for the given path with the given parameters asynchronously.
+	 * @param <T> the type of the response object
+	 * @param path the request path
+	 * @param responseType the class of the response
+	 * @param params a map of named parameters
+	 * @return a future of the response as an object of the given response type
+	 */
+	<T> CompletableFuture<T> getAsync(String path, Class<T> responseType, Map<String, Object> params);
+	
+	/**
+	 * Sends an object via a POST request for the given path asynchronously.
+	 * @param <T> the type of the response object
+	 * @param path the request path
+	 * @param responseType the class of the response
+	 * @param requestObject the object to be POSTed (may be <code>null</code>)
+	 * @return a future of the response as an object of the given response type
+	 */
+	<T> CompletableFuture<T> postAsync(String path, Class<T> responseType, @Nullable Object requestObject);
+	
+	/**
+	 * Sends an object via a POST request for the given path with the given parameters asynchronously.
+	 * @param <T> the type of the response object
+	 * @param path the request path
+	 * @param responseType the class of the response
+	 * @param requestObject the object to be POSTed (may be <code>null</code>)
+	 * @param params a map of named parameters
+	 * @return a future of the response as an object of the given response type
+	 */
+	<T> CompletableFuture<T> postAsync(String path, Class<T> responseType, @Nullable Object requestObject, Map<String, Object> params);
+
 }
@@ -31,6 +31,7 @@ import org.seed.core.config.UpdatableConfiguration;
 import org.seed.core.data.AbstractSystemEntityService;
 import org.seed.core.data.QueryParameter;
 import org.seed.core.data.ValidationException;
+import org.seed.core.task.Task;
 import org.seed.core.util.Assert;
 
 public abstract class AbstractApplicationEntityService<T extends ApplicationEntity> extends AbstractSystemEntityService<T> 
@@ -95,4 +96,12 @@ public abstract class AbstractApplicationEntityService<T extends ApplicationEnti
 		getBean(UpdatableConfiguration.class).updateConfiguration();
 	}
 	
+	protected final void updateClassConfiguration() {
+		getBean(UpdatableConfiguration.class).updateClassConfiguration();
+	}
+	
+	protected final void updateTaskConfiguration(Task task) {
+		getBean(UpdatableConfiguration.class).updateTaskConfiguration(task);
+	}
+	
 }
\ No newline at end of file
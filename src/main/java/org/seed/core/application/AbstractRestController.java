@@ -31,11 +31,13 @@ import org.seed.core.config.SystemLog;
 import org.seed.core.data.FileObject;
 import org.seed.core.user.Authorisation;
 import org.seed.core.user.User;
+import org.seed.core.user.UserAuthorisations;
 import org.seed.core.user.UserService;
 import org.seed.core.util.Assert;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -80,11 +82,17 @@ public abstract class AbstractRestController<T extends ApplicationEntity> {
 	protected boolean checkPermissions(Session session, ApplicationEntity object, Enum<?> access) {
 		Assert.notNull(object, C.OBJECT);
 		
-		return object.checkPermissions(getUser(session), access);
+		return getAuthorisations().checkPermissions(object, access);
 	}
 	
 	protected boolean isAuthorised(Session session, Authorisation authorisation) {
-		return getUser(session).isAuthorised(authorisation);
+		return getAuthorisations().isAuthorised(authorisation);
+	}
+	
+	protected UserAuthorisations getAuthorisations() {
+		final var authorisations = userService.getCurrentAuthorisations();
+		Assert.stateAvailable(authorisations, C.USER);
+		return authorisations;
 	}
 	
 	protected User getUser(Session session) {
@@ -119,6 +127,17 @@ public abstract class AbstractRestController<T extends ApplicationEntity> {
 				.body(new ByteArrayResource(content));
 	}
 	
+	// resource bodies are written as regions if the request contains a range header
+	public static ResponseEntity<Resource> download(String fileName, Resource resource) {
+		Assert.notNull(fileName, "file name");
+		Assert.notNull(resource, C.CONTENT);
+		
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + '\"')
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.body(resource);
+	}
+	
 	public static ResponseEntity<ByteArrayResource> stream(String contentType, byte[] content) {
 		Assert.notNull(contentType, "content type");
 		Assert.notNull(content, C.CONTENT);
@@ -128,4 +147,13 @@ public abstract class AbstractRestController<T extends ApplicationEntity> {
 				.body(new ByteArrayResource(content));
 	}
 	
+	public static ResponseEntity<Resource> stream(String contentType, Resource resource) {
+		Assert.notNull(contentType, "content type");
+		Assert.notNull(resource, C.CONTENT);
+		
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(contentType))
+				.body(resource);
+	}
+	
 }
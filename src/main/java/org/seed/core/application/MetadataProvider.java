@@ -0,0 +1,160 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.application;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+
+import org.seed.core.config.SessionProvider;
+import org.seed.core.entity.EntityRepository;
+import org.seed.core.entity.filter.FilterRepository;
+import org.seed.core.entity.value.ValueObject;
+import org.seed.core.form.FormRepository;
+import org.seed.core.rest.RestRepository;
+import org.seed.core.util.MiscUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides a shared {@link MetadataSnapshot} for read-only lookups.
+ * The snapshot is built lazily and discarded whenever the metadata changes.
+ */
+@Component
+public class MetadataProvider {
+	
+	private static final Logger log = LoggerFactory.getLogger(MetadataProvider.class);
+	
+	@Autowired
+	private SessionProvider sessionProvider;
+	
+	@Autowired
+	private EntityRepository entityRepository;
+	
+	@Autowired
+	private FormRepository formRepository;
+	
+	@Autowired
+	private FilterRepository filterRepository;
+	
+	@Autowired
+	private RestRepository restRepository;
+	
+	private volatile MetadataSnapshot snapshot;
+	
+	private long version;
+	
+	public MetadataSnapshot getSnapshot() {
+		final MetadataSnapshot currentSnapshot = snapshot;
+		return currentSnapshot != null ? currentSnapshot : buildSnapshot();
+	}
+	
+	public synchronized void invalidate() {
+		snapshot = null;
+		version++;
+	}
+	
+	private synchronized MetadataSnapshot buildSnapshot() {
+		if (snapshot != null) {
+			return snapshot;
+		}
+		final long startTime = System.currentTimeMillis();
+		try (Session session = sessionProvider.getSession()) {
+			final var entities = entityRepository.find(session);
+			final var forms = formRepository.find(session);
+			final var filters = filterRepository.find(session);
+			final var rests = restRepository.find(session);
+			initialize(session, entities);
+			initialize(session, forms);
+			initialize(session, filters);
+			initialize(session, rests);
+			// invalidate() is synchronized too, so the version can't change while building
+			snapshot = new MetadataSnapshot(version, entities, forms, filters, rests);
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Metadata snapshot {} created in {}", version, MiscUtils.formatDuration(startTime));
+		}
+		return snapshot;
+	}
+	
+	// initializes the whole object graph, because lazy loading 
+	// of shared objects outside the session is not thread-safe
+	private static void initialize(Session session, Collection<?> objects) {
+		final var metamodel = session.getSessionFactory().unwrap(SessionFactoryImplementor.class).getMetamodel();
+		final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Deque<Object> stack = new ArrayDeque<>();
+		push(stack, objects);
+		while (!stack.isEmpty()) {
+			Object object = stack.pop();
+			if (object instanceof HibernateProxy) {
+				object = Hibernate.unproxy(object);
+			}
+			if (object == null || object instanceof ValueObject || !visited.add(object)) {
+				continue;
+			}
+			if (object instanceof PersistentCollection) {
+				Hibernate.initialize(object);
+			}
+			if (object instanceof Map) {
+				push(stack, ((Map<?, ?>) object).values());
+			}
+			else if (object instanceof Collection) {
+				push(stack, (Collection<?>) object);
+			}
+			else {
+				final EntityPersister persister = metamodel.entityPersisters().get(Hibernate.getClass(object).getName());
+				if (persister != null) {
+					addReferences(stack, persister, object);
+				}
+			}
+		}
+	}
+	
+	private static void push(Deque<Object> stack, Collection<?> objects) {
+		for (Object object : objects) {
+			if (object != null) {
+				stack.push(object);
+			}
+		}
+	}
+	
+	private static void addReferences(Deque<Object> stack, EntityPersister persister, Object object) {
+		final var types = persister.getPropertyTypes();
+		final Object[] values = persister.getPropertyValues(object);
+		for (int i = 0; i < types.length; i++) {
+			if (values[i] != null && (types[i].isEntityType() || types[i].isCollectionType())) {
+				stack.push(values[i]);
+			}
+		}
+	}
+	
+}
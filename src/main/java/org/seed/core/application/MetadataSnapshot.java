@@ -0,0 +1,315 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.application;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.seed.C;
+import org.seed.core.data.SystemEntity;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityStatus;
+import org.seed.core.entity.EntityStatusTransition;
+import org.seed.core.entity.NestedEntity;
+import org.seed.core.entity.filter.Filter;
+import org.seed.core.form.Form;
+import org.seed.core.rest.Rest;
+import org.seed.core.util.Assert;
+import org.seed.core.util.MultiKey;
+
+/**
+ * Immutable snapshot of the entity, form, filter and REST metadata with hash indexed lookups.
+ * The metadata objects are fully initialized and detached, 
+ * they are shared between threads and must not be modified.
+ */
+public final class MetadataSnapshot {
+	
+	private static final class EntityIndex {
+		
+		private final List<EntityField> allFields;
+		
+		private final Map<String, EntityField> fieldsByUid;
+		
+		private final Map<String, EntityField> fieldsByName;
+		
+		private final Map<String, NestedEntity> nestedsByUid;
+		
+		private final Map<MultiKey, EntityStatusTransition> statusTransitions;
+		
+		private EntityIndex(Entity entity) {
+			((EntityMetadata) entity).initSnapshotFields();
+			allFields = entity.getAllFields();
+			fieldsByUid = new HashMap<>();
+			fieldsByName = new HashMap<>();
+			for (EntityField field : allFields) {
+				// first match wins, like the linear lookups in the entity
+				if (field.getUid() != null) {
+					fieldsByUid.putIfAbsent(field.getUid(), field);
+				}
+				fieldsByName.putIfAbsent(field.getInternalName().toLowerCase(), field);
+			}
+			nestedsByUid = new HashMap<>();
+			if (entity.getGenericEntity() != null && entity.getGenericEntity().hasNesteds()) {
+				entity.getGenericEntity().getNesteds().forEach(nested -> putUid(nestedsByUid, nested.getUid(), nested));
+			}
+			if (entity.hasNesteds()) {
+				entity.getNesteds().forEach(nested -> putUid(nestedsByUid, nested.getUid(), nested));
+			}
+			statusTransitions = new HashMap<>();
+			if (entity.hasStatusTransitions()) {
+				for (EntityStatusTransition transition : entity.getStatusTransitions()) {
+					statusTransitions.putIfAbsent(MultiKey.valueOf(transition.getSourceStatus().getId(), 
+																   transition.getTargetStatus().getId()), transition);
+				}
+			}
+		}
+		
+	}
+	
+	private final long version;
+	
+	private final Map<Long, Entity> entitiesById;
+	
+	private final Map<String, Entity> entitiesByUid;
+	
+	private final Map<String, Entity> entitiesByName;
+	
+	private final Map<Long, EntityIndex> entityIndexes;
+	
+	// reference fields of non-generic entities by referenced entity id
+	private final Map<Long, Map<Entity, List<EntityField>>> referenceFields;
+	
+	private final Map<Long, Form> formsById;
+	
+	private final Map<String, Form> formsByUid;
+	
+	private final Map<String, Form> formsByName;
+	
+	private final Map<Long, Filter> filtersById;
+	
+	private final Map<String, Filter> filtersByUid;
+	
+	private final Map<String, Filter> filtersByName;
+	
+	private final List<Rest> rests;
+	
+	MetadataSnapshot(long version, Collection<Entity> entities, Collection<Form> forms, 
+					 Collection<Filter> filters, Collection<Rest> rests) {
+		Assert.notNull(entities, "entities");
+		Assert.notNull(forms, "forms");
+		Assert.notNull(filters, "filters");
+		Assert.notNull(rests, "rests");
+		
+		this.version = version;
+		entitiesById = indexById(entities);
+		entitiesByUid = indexByUid(entities);
+		entitiesByName = indexByName(entities);
+		entityIndexes = new HashMap<>();
+		entities.forEach(entity -> entityIndexes.put(entity.getId(), new EntityIndex(entity)));
+		referenceFields = new HashMap<>();
+		for (Entity entity : entities) {
+			if (!entity.isGeneric()) {
+				for (EntityField field : entityIndexes.get(entity.getId()).allFields) {
+					if (field.getType().isReference() && field.getReferenceEntity() != null) {
+						referenceFields.computeIfAbsent(field.getReferenceEntity().getId(), id -> new LinkedHashMap<>())
+									   .computeIfAbsent(entity, ent -> new ArrayList<>()).add(field);
+					}
+				}
+			}
+		}
+		formsById = indexById(forms);
+		formsByUid = indexByUid(forms);
+		formsByName = indexByName(forms);
+		filtersById = indexById(filters);
+		filtersByUid = indexByUid(filters);
+		filtersByName = indexByName(filters);
+		this.rests = List.copyOf(rests);
+	}
+	
+	public long getVersion() {
+		return version;
+	}
+	
+	public Collection<Entity> getEntities() {
+		return Collections.unmodifiableCollection(entitiesById.values());
+	}
+	
+	public Entity getEntityById(Long id) {
+		Assert.notNull(id, C.ID);
+		
+		return entitiesById.get(id);
+	}
+	
+	public Entity getEntityByUid(String uid) {
+		Assert.notNull(uid, C.UID);
+		
+		return entitiesByUid.get(uid);
+	}
+	
+	public Entity getEntityByName(String name) {
+		Assert.notNull(name, C.NAME);
+		
+		return entitiesByName.get(name);
+	}
+	
+	public List<EntityField> getAllFields(Entity entity) {
+		final EntityIndex index = getIndex(entity);
+		return index != null ? index.allFields : entity.getAllFields();
+	}
+	
+	public EntityField getFieldByUid(Entity entity, String uid) {
+		Assert.notNull(uid, C.UID);
+		
+		final EntityIndex index = getIndex(entity);
+		return index != null ? index.fieldsByUid.get(uid) : entity.getFieldByUid(uid);
+	}
+	
+	public EntityField getFieldByName(Entity entity, String fieldName) {
+		Assert.notNull(fieldName, "field name");
+		
+		final EntityIndex index = getIndex(entity);
+		return index != null ? index.fieldsByName.get(fieldName.toLowerCase()) : entity.getFieldByName(fieldName);
+	}
+	
+	public NestedEntity getNestedByUid(Entity entity, String uid) {
+		Assert.notNull(uid, C.UID);
+		
+		final EntityIndex index = getIndex(entity);
+		return index != null ? index.nestedsByUid.get(uid) : entity.getNestedByUid(uid);
+	}
+	
+	public EntityStatusTransition getStatusTransition(Entity entity, EntityStatus sourceStatus, EntityStatus targetStatus) {
+		Assert.notNull(sourceStatus, "source status");
+		Assert.notNull(targetStatus, "target status");
+		
+		final EntityIndex index = getIndex(entity);
+		return index != null 
+				? index.statusTransitions.get(MultiKey.valueOf(sourceStatus.getId(), targetStatus.getId()))
+				: entity.getStatusTransition(sourceStatus, targetStatus);
+	}
+	
+	/**
+	 * Returns the reference fields of all non-generic entities that refer to the given entity
+	 * @param entity the referenced entity
+	 * @return the reference fields grouped by the referencing entity
+	 */
+	public Map<Entity, List<EntityField>> getReferenceFields(Entity entity) {
+		Assert.notNull(entity, C.ENTITY);
+		
+		final var fieldMap = entity.getId() != null ? referenceFields.get(entity.getId()) : null;
+		return fieldMap != null ? Collections.unmodifiableMap(fieldMap) : Collections.emptyMap();
+	}
+	
+	public Form getFormById(Long id) {
+		Assert.notNull(id, C.ID);
+		
+		return formsById.get(id);
+	}
+	
+	public Form getFormByUid(String uid) {
+		Assert.notNull(uid, C.UID);
+		
+		return formsByUid.get(uid);
+	}
+	
+	public Form getFormByName(String name) {
+		Assert.notNull(name, C.NAME);
+		
+		return formsByName.get(name);
+	}
+	
+	public Filter getFilterById(Long id) {
+		Assert.notNull(id, C.ID);
+		
+		return filtersById.get(id);
+	}
+	
+	public Filter getFilterByUid(String uid) {
+		Assert.notNull(uid, C.UID);
+		
+		return filtersByUid.get(uid);
+	}
+	
+	public Filter getFilterByName(String name) {
+		Assert.notNull(name, C.NAME);
+		
+		return filtersByName.get(name);
+	}
+	
+	public List<Rest> getRests() {
+		return rests;
+	}
+	
+	public boolean containsEntity(@Nullable Entity entity) {
+		return entity != null && entity.getId() != null && entitiesById.containsKey(entity.getId());
+	}
+	
+	// entities that are not part of the snapshot (new or loaded after the snapshot was built)
+	// are not indexed, the lookup methods fall back to the entity itself
+	private EntityIndex getIndex(Entity entity) {
+		Assert.notNull(entity, C.ENTITY);
+		
+		return entity.getId() != null ? entityIndexes.get(entity.getId()) : null;
+	}
+	
+	private static <T extends SystemEntity> Map<Long, T> indexById(Collection<T> objects) {
+		return index(objects, T::getId);
+	}
+	
+	private static <T extends SystemEntity> Map<String, T> indexByUid(Collection<T> objects) {
+		final Map<String, T> map = new HashMap<>();
+		for (T object : objects) {
+			if (object instanceof ApplicationEntity) {
+				putUid(map, ((ApplicationEntity) object).getUid(), object);
+			}
+		}
+		return Collections.unmodifiableMap(map);
+	}
+	
+	private static <T extends SystemEntity> Map<String, T> indexByName(Collection<T> objects) {
+		return index(objects, T::getName);
+	}
+	
+	private static <K, T> Map<K, T> index(Collection<T> objects, Function<T, K> keyFunction) {
+		final Map<K, T> map = new HashMap<>(objects.size() * 2);
+		for (T object : objects) {
+			final K key = keyFunction.apply(object);
+			if (key != null) {
+				map.putIfAbsent(key, object);
+			}
+		}
+		return Collections.unmodifiableMap(map);
+	}
+	
+	private static <T> void putUid(Map<String, T> map, String uid, T object) {
+		if (uid != null) {
+			map.putIfAbsent(uid, object);
+		}
+	}
+	
+}
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.seed.C;
+import org.seed.core.config.changelog.ModuleChangeLog;
 import org.seed.core.data.dbobject.DBObject;
 import org.seed.core.entity.Entity;
 import org.seed.core.util.Assert;
@@ -42,6 +43,8 @@ class DefaultTransferContext implements TransferContext {
 	
 	private final Map<String, DBObject> currentVersionDBObjectMap = new HashMap<>();
 	
+	private final ModuleChangeLog changeLog = new ModuleChangeLog();
+	
 	private final Module module;
 
 	DefaultTransferContext(Module module) {
@@ -55,6 +58,11 @@ class DefaultTransferContext implements TransferContext {
 		return module;
 	}
 	
+	@Override
+	public ModuleChangeLog getChangeLog() {
+		return changeLog;
+	}
+	
 	@Override
 	public Collection<Entity> getNewEntities() {
 		return newEntities;
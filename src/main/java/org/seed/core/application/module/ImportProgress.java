@@ -0,0 +1,109 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.application.module;
+
+import java.util.Date;
+
+import org.seed.C;
+import org.seed.core.util.Assert;
+
+public final class ImportProgress {
+	
+	public enum ImportStep {
+		
+		SCHEMA,
+		OBJECTS,
+		CHANGELOG,
+		CONFIGURATION,
+		CONTENT,
+		FINISHED
+		
+	}
+	
+	private final String moduleName;
+	
+	private final Date startTime = new Date();
+	
+	private volatile ImportStep step;
+	
+	private volatile String stepName;
+	
+	private volatile int stepNumber;
+	
+	private volatile int stepCount;
+	
+	ImportProgress(String moduleName) {
+		Assert.notNull(moduleName, C.NAME);
+		
+		this.moduleName = moduleName;
+	}
+
+	public String getModuleName() {
+		return moduleName;
+	}
+
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	public ImportStep getStep() {
+		return step;
+	}
+	
+	// name of the service or nested module currently processed
+	public String getStepName() {
+		return stepName;
+	}
+
+	public int getStepNumber() {
+		return stepNumber;
+	}
+
+	public int getStepCount() {
+		return stepCount;
+	}
+	
+	public long getDuration() {
+		return System.currentTimeMillis() - startTime.getTime();
+	}
+	
+	public boolean isFinished() {
+		return step == ImportStep.FINISHED;
+	}
+	
+	void setStep(ImportStep step) {
+		setStep(step, null, 0, 0);
+	}
+	
+	void setStep(ImportStep step, String stepName, int stepNumber, int stepCount) {
+		Assert.notNull(step, "step");
+		
+		this.step = step;
+		this.stepName = stepName;
+		this.stepNumber = stepNumber;
+		this.stepCount = stepCount;
+	}
+	
+	@Override
+	public String toString() {
+		return moduleName + ' ' + step + (stepName != null 
+				? " " + stepName + " (" + stepNumber + '/' + stepCount + ')' 
+				: "");
+	}
+	
+}
@@ -94,6 +94,17 @@ public class ModuleRestController {
 		return new ResponseEntity<>(file.getOriginalFilename() + " imported", HttpStatus.OK);
 	}
 	
+	@ApiOperation(value = "getImportProgress", notes="returns the progress of the current or last module import")
+	@GetMapping(value = "/import/progress")
+	public ImportProgress getImportProgress(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session) {
+		checkAuthorisation(session);
+		final ImportProgress progress = service.getImportProgress();
+		if (progress == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+		}
+		return progress;
+	}
+	
 	private void checkAuthorisation(Session session) {
 		Assert.notNull(session, C.SESSION);
 		final User user = userService.getCurrentUser(session);
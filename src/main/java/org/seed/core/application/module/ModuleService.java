@@ -49,4 +49,6 @@ public interface ModuleService extends SystemEntityService<Module> {
 	
 	void importModule(Module module) throws ValidationException;
 	
+	ImportProgress getImportProgress();
+	
 }
@@ -160,6 +160,12 @@ public class ModuleServiceImpl extends AbstractSystemEntityService<Module>
 		transfer.importModule(module);
 	}
 	
+	@Override
+	@Secured("ROLE_ADMIN_MODULE")
+	public ImportProgress getImportProgress() {
+		return transfer.getImportProgress();
+	}
+	
 	@Override
 	@Secured("ROLE_ADMIN_MODULE")
 	public ModuleParameter createParameter(Module module) {
@@ -66,6 +66,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.FastByteArrayOutputStream;
 
 @Component
@@ -99,6 +100,8 @@ public class ModuleTransfer {
 	
 	private Jaxb2Marshaller marshaller;
 	
+	private volatile ImportProgress importProgress;	// progress of current or last import
+	
 	@PostConstruct
 	private void init() {
 		final String propExternalModuleDir = applicationProperties.getProperty(Seed.PROP_MODULE_EXT_ROOT_DIR);
@@ -116,6 +119,10 @@ public class ModuleTransfer {
 		}
 	}
 	
+	ImportProgress getImportProgress() {
+		return importProgress;
+	}
+	
 	boolean isExternalDirEnabled() {
 		return externalModuleDir != null;
 	}
@@ -335,12 +342,15 @@ public class ModuleTransfer {
 	}
 	
 	void importModule(Module module) throws ValidationException {
+		Assert.notNull(module, C.MODULE);
 		final var sortedServices = sortByDependencies(applicationServices);
+		final var progress = new ImportProgress(module.getName());
+		importProgress = progress;
 		try (Session session = sessionProvider.getSession()) {
 			Transaction tx = null;
 			try {
 				tx = session.beginTransaction();
-				importModule(module, session, sortedServices);
+				importModule(module, session, sortedServices, progress);
 				tx.commit();
 				systemLog.logInfo("systemlog.info.moduleimported", module.getName());
 			}
@@ -356,15 +366,19 @@ public class ModuleTransfer {
 			}
 		}
 		
-		// update configuration
+		// update configuration once for the module and all nested modules
+		updateProgress(progress, ImportProgress.ImportStep.CONFIGURATION);
 		Seed.getBean(UpdatableConfiguration.class).updateConfiguration();
 		
 		// import content
+		updateProgress(progress, ImportProgress.ImportStep.CONTENT);
 		importModuleContent(module);
+		updateProgress(progress, ImportProgress.ImportStep.FINISHED);
 	}
 	
-	private void importModule(Module module, Session session, List<ApplicationEntityService<?>> services) 
-		throws ValidationException {
+	private void importModule(Module module, Session session, 
+							  List<ApplicationEntityService<?>> services,
+							  ImportProgress progress) throws ValidationException {
 		Assert.notNull(module, C.MODULE);
 		final var context = new DefaultTransferContext(module);
 		final var currentVersionModule = getCurrentVersionModule(module);
@@ -373,7 +387,7 @@ public class ModuleTransfer {
 		if (module.hasNesteds()) {
 			importNestedModules(module, currentVersionModule);
 			for (NestedModule nested : module.getNesteds()) {
-				importModule(nested.getNestedModule(), session, services);
+				importModule(nested.getNestedModule(), session, services, progress);
 			}
 		}
 		
@@ -390,21 +404,36 @@ public class ModuleTransfer {
 		}
 		
 		// schema update handling
+		updateProgress(progress, ImportProgress.ImportStep.SCHEMA);
 		handleSchemaUpdates(module, context, services);
 
 		// save module
 		moduleRepository.save(module, session);
 		
 		// import objects
-		for (final var service : services) {
+		for (int i = 0; i < services.size(); i++) {
+			final var service = services.get(i);
+			progress.setStep(ImportProgress.ImportStep.OBJECTS, 
+							 ClassUtils.getUserClass(service).getSimpleName(), i + 1, services.size());
 			service.importObjects(context, session);
 		}
 		// create changelogs
 		if (module.getEntities() != null || module.getDBObjects() != null) {
+			updateProgress(progress, ImportProgress.ImportStep.CHANGELOG);
 			services.forEach(service -> service.createChangeLogs(context, session));
+			// all schema changes of the module in one changelog
+			final var changeLog = context.getChangeLog().build();
+			if (changeLog != null) {
+				session.saveOrUpdate(changeLog);
+			}
 		}
 	}
 	
+	private static void updateProgress(ImportProgress progress, ImportProgress.ImportStep step) {
+		progress.setStep(step);
+		log.info("Import {}", progress);
+	}
+	
 	private void importModuleParameters(Module module, Module currentVersionModule) {
 		for (final var parameter : module.getParameters()) {
 			parameter.setModule(module);
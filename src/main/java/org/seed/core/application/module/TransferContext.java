@@ -19,6 +19,7 @@ package org.seed.core.application.module;
 
 import java.util.Collection;
 
+import org.seed.core.config.changelog.ModuleChangeLog;
 import org.seed.core.data.dbobject.DBObject;
 import org.seed.core.entity.Entity;
 
@@ -26,6 +27,8 @@ public interface TransferContext {
 	
 	Module getModule();
 	
+	ModuleChangeLog getChangeLog();
+	
 	void addNewEntity(Entity entity);
 	
 	void addExistingEntity(Entity entity, Entity currentVersionEntity);
@@ -27,6 +27,10 @@ public interface CodeManager {
 	
 	void generateClasses(boolean all);
 	
+	// compiles changed classes and adds them to the current class loader,
+	// returns false if classes outside the given packages have changed
+	boolean reloadClasses(List<String> packageNames);
+	
 	ClassLoader getClassLoader();
 	
 	Class<GeneratedCode> getGeneratedClass(GeneratedObject generatedObject);
@@ -148,6 +148,37 @@ public class CodeManagerImpl implements CodeManager {
 			}
 		}
 		
+		storeExternal(sourceCodeList);
+	}
+	
+	@Override
+	public boolean reloadClasses(List<String> packageNames) {
+		Assert.notNull(packageNames, "package names");
+		
+		if (compilerError || lastCompilerRun == null) {
+			return false;
+		}
+		final var sourceCodeList = buildSources(collectCodeBuilders(false));
+		if (anyMatch(sourceCodeList, sourceCode -> !isInPackage(sourceCode, packageNames))) {
+			return false;
+		}
+		if (!sourceCodeList.isEmpty()) {
+			try {
+				compile(sourceCodeList);
+			}
+			catch (CompilerException cex) {
+				// errors are reported by the complete rebuild
+				return false;
+			}
+			if (!compiler.extendClassLoader(convertedList(sourceCodeList, SourceCode::getQualifiedName))) {
+				return false;
+			}
+			storeExternal(sourceCodeList);
+		}
+		return true;
+	}
+	
+	private void storeExternal(List<SourceCode> sourceCodeList) {
 		// external file storage
 		if (externalCodeManager.isDownloadEnabled()) {
 			for (SourceCode sourceCode : sourceCodeList) {
@@ -267,6 +298,13 @@ public class CodeManagerImpl implements CodeManager {
 		}
 	}
 	
+	// includes sub packages
+	private static boolean isInPackage(SourceCode code, List<String> packageNames) {
+		return anyMatch(packageNames, packageName -> 
+					code.getPackageName().equals(packageName) || 
+					code.getPackageName().startsWith(packageName + '.'));
+	}
+	
 	private boolean isEntitySource(SourceCode code) {
 		return code.getPackageName().equals(GENERATED_ENTITY_PACKAGE);
 	}
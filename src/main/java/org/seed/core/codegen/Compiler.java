@@ -23,6 +23,8 @@ public interface Compiler {
 	
 	ClassLoader createClassLoader();
 	
+	boolean extendClassLoader(List<String> qualifiedNames);
+	
 	Class<GeneratedCode> getGeneratedClass(String qualifiedName);
 	
 	List<Class<GeneratedCode>> getGeneratedClasses(Class<?> type);
@@ -55,6 +55,13 @@ class GeneratedCodeClassLoader extends ClassLoader {
 		return mapClasses;
 	}
 	
+	// classes defined by this loader take precedence over those of the parent loader
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		final Class<?> definedClass = mapClasses.get(name);
+		return definedClass != null ? definedClass : super.loadClass(name, resolve);
+	}
+	
 	@SuppressWarnings("unchecked")
 	private Class<GeneratedCode> defineClass(JavaClassFileObject classFileObject) {
 		return (Class<GeneratedCode>) 
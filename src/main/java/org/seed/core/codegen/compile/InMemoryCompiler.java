@@ -17,6 +17,7 @@
  */
 package org.seed.core.codegen.compile;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,11 +45,18 @@ public class InMemoryCompiler implements Compiler {
 	
 	private static final Logger log = LoggerFactory.getLogger(InMemoryCompiler.class);
 	
+	// number of child class loaders until a full rebuild is required
+	private static final int MAX_CLASS_LOADER_DEPTH = 10;
+	
 	@Autowired
 	private CustomJarProvider customJarProvider;
 	
 	private Map<String, Class<GeneratedCode>> mapClasses;
 	
+	private ClassLoader classLoader;
+	
+	private int classLoaderDepth;
+	
 	private JavaCompiler javaCompiler;
 	
 	private CompilerFileManager fileManager;
@@ -121,11 +129,37 @@ public class InMemoryCompiler implements Compiler {
 		final ClassLoader parent = getCustomJars().isEmpty() 
 				? getClass().getClassLoader() 
 				: new CustomJarClassLoader(getCustomJars(), getClass().getClassLoader());
-		final var classLoader = new GeneratedCodeClassLoader(fileManager.getClassFileObjects(), parent);
-		mapClasses = new ConcurrentHashMap<>(classLoader.getClassMap());
+		final var generatedCodeClassLoader = new GeneratedCodeClassLoader(fileManager.getClassFileObjects(), parent);
+		mapClasses = new ConcurrentHashMap<>(generatedCodeClassLoader.getClassMap());
+		classLoader = generatedCodeClassLoader;
+		classLoaderDepth = 0;
 		return classLoader;
 	}
 	
+	// defines the given (recompiled) classes in a child of the current class loader,
+	// all other classes, especially the entity classes, remain unchanged.
+	// returns false if a full rebuild is required, because the maximum depth is reached
+	// or other classes reference the changed classes and would still use the old versions
+	@Override
+	public synchronized boolean extendClassLoader(List<String> qualifiedNames) {
+		Assert.notNull(qualifiedNames, "qualified names");
+		Assert.stateAvailable(classLoader, "class loader");
+		
+		final var classFileObjects = CollectionUtils.subList(fileManager.getClassFileObjects(), 
+				classFileObject -> isClassOf(classFileObject.getQualifiedName(), qualifiedNames));
+		if (classFileObjects.isEmpty()) {
+			return true;
+		}
+		if (classLoaderDepth >= MAX_CLASS_LOADER_DEPTH || isReferenced(qualifiedNames)) {
+			return false;
+		}
+		final var generatedCodeClassLoader = new GeneratedCodeClassLoader(classFileObjects, classLoader);
+		mapClasses.putAll(generatedCodeClassLoader.getClassMap());
+		classLoader = generatedCodeClassLoader;
+		classLoaderDepth++;
+		return true;
+	}
+	
 	@Override
 	public synchronized void removeClass(String qualifiedName) {
 		Assert.notNull(qualifiedName, C.QUALIFIEDNAME);
@@ -134,6 +168,48 @@ public class InMemoryCompiler implements Compiler {
 		fileManager.removeClassFileObject(qualifiedName);
 	}
 	
+	// includes inner classes
+	private static boolean isClassOf(String className, List<String> qualifiedNames) {
+		return CollectionUtils.anyMatch(qualifiedNames, qualifiedName -> 
+					className.equals(qualifiedName) || className.startsWith(qualifiedName + '$'));
+	}
+	
+	private boolean isReferenced(List<String> qualifiedNames) {
+		final var internalNames = CollectionUtils.convertedList(qualifiedNames, 
+				qualifiedName -> qualifiedName.replace('.', '/').getBytes(StandardCharsets.UTF_8));
+		return CollectionUtils.anyMatch(fileManager.getClassFileObjects(), classFileObject -> 
+					!isClassOf(classFileObject.getQualifiedName(), qualifiedNames) &&
+					CollectionUtils.anyMatch(internalNames, internalName -> 
+						containsClassName(classFileObject.getByteCode(), internalName)));
+	}
+	
+	// class names in the constant pool are followed by a non-identifier byte, 
+	// or by '$' if an inner class is referenced
+	private static boolean containsClassName(byte[] byteCode, byte[] internalName) {
+		for (int i = 0; i <= byteCode.length - internalName.length; i++) {
+			if (regionMatches(byteCode, i, internalName)) {
+				final int next = i + internalName.length;
+				if (next == byteCode.length || !isIdentifierPart(byteCode[next])) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isIdentifierPart(byte b) {
+		return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+	}
+	
+	private static boolean regionMatches(byte[] bytes, int offset, byte[] region) {
+		for (int i = 0; i < region.length; i++) {
+			if (bytes[offset + i] != region[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
 	private List<CustomJar> getCustomJars() {
 		if (customJars == null) {
 			customJars = customJarProvider.getCustomJars();
@@ -0,0 +1,161 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.cache.Cache;
+
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+
+import org.seed.core.util.Assert;
+
+import org.springframework.lang.Nullable;
+
+// creates every cache region with its own ehcache configuration,
+// so that entity regions can be sized individually (heap, off-heap, time to live)
+public class CacheRegionFactory extends JCacheRegionFactory {
+	
+	private static final long serialVersionUID = -5147263925476211402L;
+	
+	static class RegionCounter implements CacheEventListener<Object, Object> {
+		
+		private final LongAdder entries = new LongAdder();
+		
+		private final LongAdder evictions = new LongAdder();
+		
+		private final LongAdder expirations = new LongAdder();
+		
+		@Override
+		public void onEvent(CacheEvent<? extends Object, ? extends Object> event) {
+			switch (event.getType()) {
+				case CREATED:
+					entries.increment();
+					break;
+					
+				case REMOVED:
+					entries.decrement();
+					break;
+					
+				case EVICTED:
+					evictions.increment();
+					entries.decrement();
+					break;
+					
+				case EXPIRED:
+					expirations.increment();
+					entries.decrement();
+					break;
+					
+				default:
+					break;
+			}
+		}
+		
+		long getEntries() {
+			return Math.max(entries.sum(), 0);
+		}
+		
+		long getEvictions() {
+			return evictions.sum();
+		}
+		
+		long getExpirations() {
+			return expirations.sum();
+		}
+		
+	}
+	
+	private final Map<String, CacheRegionSettings> regionSettings = new HashMap<>();
+	
+	private final Map<String, RegionCounter> regionCounters = new ConcurrentHashMap<>();
+	
+	private final ClassLoader classLoader;
+	
+	private final CacheRegionSettings defaultSettings;
+	
+	private final CacheRegionSettings querySettings;
+	
+	public CacheRegionFactory(ClassLoader classLoader, 
+							  CacheRegionSettings defaultSettings, CacheRegionSettings querySettings) {
+		Assert.notNull(classLoader, "class loader");
+		Assert.notNull(defaultSettings, "default settings");
+		Assert.notNull(querySettings, "query settings");
+		
+		this.classLoader = classLoader;
+		this.defaultSettings = defaultSettings;
+		this.querySettings = querySettings;
+	}
+	
+	public void addRegionSettings(String regionName, CacheRegionSettings settings) {
+		Assert.notNull(regionName, "region name");
+		Assert.notNull(settings, "settings");
+		
+		regionSettings.put(regionName, settings);
+	}
+	
+	// returns null for regions that are not managed by this factory
+	@Nullable
+	public CacheRegionSettings getRegionSettings(String regionName) {
+		Assert.notNull(regionName, "region name");
+		
+		if (RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(regionName)) {
+			return null;
+		}
+		if (RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME.equals(regionName)) {
+			return querySettings;
+		}
+		final var settings = regionSettings.get(regionName);
+		if (settings != null) {
+			return settings;
+		}
+		// collection regions share the settings of their owner entity
+		final int idx = regionName.lastIndexOf('.');
+		if (idx > 0 && regionSettings.containsKey(regionName.substring(0, idx))) {
+			return regionSettings.get(regionName.substring(0, idx));
+		}
+		return defaultSettings;
+	}
+	
+	@Nullable
+	RegionCounter getRegionCounter(String regionName) {
+		return regionCounters.get(regionName);
+	}
+	
+	@Override
+	protected Cache<Object, Object> createCache(String regionName) {
+		final var settings = getRegionSettings(regionName);
+		// timestamps region must never be evicted or expire
+		if (settings == null) {
+			return super.createCache(regionName);
+		}
+		final var counter = new RegionCounter();
+		regionCounters.put(regionName, counter);
+		return getCacheManager().createCache(regionName, 
+				Eh107Configuration.fromEhcacheCacheConfiguration(
+						settings.createConfiguration(classLoader, counter)));
+	}
+	
+}
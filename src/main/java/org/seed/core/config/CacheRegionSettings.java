@@ -0,0 +1,116 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config;
+
+import java.time.Duration;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+
+import org.springframework.lang.Nullable;
+
+public final class CacheRegionSettings {
+	
+	// heap tier capacity of regions with own settings if no capacity is configured
+	public static final long DEFAULT_HEAP_ENTRIES = 10000;
+	
+	private final Long heapEntries; // null if unbounded
+	
+	private final Integer offHeapSize; // MB
+	
+	private final Integer timeToLive; // seconds
+	
+	public CacheRegionSettings(@Nullable Long heapEntries, @Nullable Integer offHeapSize, @Nullable Integer timeToLive) {
+		if (heapEntries != null && heapEntries <= 0) {
+			throw new ConfigurationException("heap entries must be positive: " + heapEntries);
+		}
+		this.heapEntries = heapEntries;
+		this.offHeapSize = offHeapSize != null && offHeapSize > 0 ? offHeapSize : null;
+		this.timeToLive = timeToLive != null && timeToLive > 0 ? timeToLive : null;
+	}
+	
+	@Nullable
+	public Long getHeapEntries() {
+		return heapEntries;
+	}
+
+	public Integer getOffHeapSize() {
+		return offHeapSize;
+	}
+
+	public Integer getTimeToLive() {
+		return timeToLive;
+	}
+	
+	public boolean hasHeapLimit() {
+		return heapEntries != null;
+	}
+	
+	public boolean hasOffHeap() {
+		return offHeapSize != null;
+	}
+	
+	// settings of a region with own settings, missing values are taken from these settings.
+	// the heap tier of such a region is always bounded
+	public CacheRegionSettings createRegionSettings(@Nullable Integer regionHeapEntries, 
+													@Nullable Integer regionOffHeapSize, 
+													@Nullable Integer regionTimeToLive) {
+		final long regionHeapLimit;
+		if (regionHeapEntries != null) {
+			regionHeapLimit = regionHeapEntries;
+		}
+		else {
+			regionHeapLimit = hasHeapLimit() ? heapEntries : DEFAULT_HEAP_ENTRIES;
+		}
+		return new CacheRegionSettings(regionHeapLimit, regionOffHeapSize, 
+									   regionTimeToLive != null ? regionTimeToLive : timeToLive);
+	}
+	
+	public CacheConfiguration<Object, Object> createConfiguration(ClassLoader classLoader, 
+																  CacheEventListener<Object, Object> listener) {
+		// unbounded like the jcache default configuration of ehcache
+		var resourcePools = ResourcePoolsBuilder.heap(hasHeapLimit() ? heapEntries : Long.MAX_VALUE);
+		if (hasOffHeap()) {
+			resourcePools = resourcePools.offheap(offHeapSize, MemoryUnit.MB);
+		}
+		var builder = CacheConfigurationBuilder
+				.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+				.withClassLoader(classLoader)
+				.withService(CacheEventListenerConfigurationBuilder
+						.newEventListenerConfiguration(listener, EventType.CREATED, EventType.REMOVED, 
+													   EventType.EVICTED, EventType.EXPIRED)
+						.unordered().asynchronous());
+		// off-heap entries are stored serialized
+		if (hasOffHeap()) {
+			builder = builder.withKeySerializer(new PlainJavaSerializer<>(classLoader))
+							 .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+		}
+		if (timeToLive != null) {
+			builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLive)));
+		}
+		return builder.build();
+	}
+	
+}
@@ -0,0 +1,135 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+import org.seed.core.util.Assert;
+
+import org.springframework.lang.Nullable;
+
+public final class CacheRegionStatistic {
+	
+	private final String regionName;
+	
+	private final long hitCount;
+	
+	private final long missCount;
+	
+	private final long putCount;
+	
+	private final long evictionCount;
+	
+	private final long expiryCount;
+	
+	private final long entryCount;
+	
+	private final Long heapEntries;
+	
+	private final Integer offHeapSize;
+	
+	private final Integer timeToLive;
+	
+	CacheRegionStatistic(CacheRegionStatistics statistics, 
+						 @Nullable CacheRegionSettings settings,
+						 @Nullable CacheRegionFactory.RegionCounter counter) {
+		Assert.notNull(statistics, "statistics");
+		
+		regionName = statistics.getRegionName();
+		hitCount = statistics.getHitCount();
+		missCount = statistics.getMissCount();
+		putCount = statistics.getPutCount();
+		heapEntries = settings != null ? settings.getHeapEntries() : null;
+		offHeapSize = settings != null ? settings.getOffHeapSize() : null;
+		timeToLive = settings != null ? settings.getTimeToLive() : null;
+		if (counter != null) {
+			evictionCount = counter.getEvictions();
+			expiryCount = counter.getExpirations();
+			entryCount = counter.getEntries();
+		}
+		else {
+			evictionCount = 0;
+			expiryCount = 0;
+			entryCount = Math.max(statistics.getElementCountInMemory(), 0);
+		}
+	}
+
+	public String getRegionName() {
+		return regionName;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public long getPutCount() {
+		return putCount;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public long getExpiryCount() {
+		return expiryCount;
+	}
+	
+	// number of entries in all tiers
+	public long getEntryCount() {
+		return entryCount;
+	}
+
+	// heap tier capacity
+	public Long getHeapEntries() {
+		return heapEntries;
+	}
+
+	// off-heap tier capacity in MB
+	public Integer getOffHeapSize() {
+		return offHeapSize;
+	}
+
+	// seconds
+	public Integer getTimeToLive() {
+		return timeToLive;
+	}
+	
+	public double getHitRatio() {
+		return ratio(hitCount, hitCount + missCount);
+	}
+	
+	public double getEvictionRatio() {
+		return ratio(evictionCount, putCount);
+	}
+	
+	// heap tier fill level
+	public double getHeapUsage() {
+		return heapEntries != null 
+				? ratio(Math.min(entryCount, heapEntries), heapEntries) 
+				: 0d;
+	}
+	
+	private static double ratio(long count, long total) {
+		return total > 0 ? (double) count / total : 0d;
+	}
+	
+}
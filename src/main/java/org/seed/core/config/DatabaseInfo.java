@@ -46,4 +46,17 @@ public final class DatabaseInfo {
 		return name.toLowerCase().startsWith("postgres");
 	}
 	
+	public boolean isPostgres(int minMajorVersion) {
+		return isPostgres() && getMajorVersion() >= minMajorVersion;
+	}
+	
+	// e.g. "14.2 (Debian 14.2-1.pgdg110+1)" -> 14
+	public int getMajorVersion() {
+		int end = 0;
+		while (end < version.length() && Character.isDigit(version.charAt(end))) {
+			end++;
+		}
+		return end > 0 ? Integer.parseInt(version.substring(0, end)) : 0;
+	}
+	
 }
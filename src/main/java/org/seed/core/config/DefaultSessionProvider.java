@@ -17,28 +17,142 @@
  */
 package org.seed.core.config;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.hibernate.BaseSessionEventListener;
 import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.stat.Statistics;
 
+import org.seed.Seed;
 import org.seed.core.util.Assert;
+import org.seed.core.util.MiscUtils;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 @Component
 public class DefaultSessionProvider implements SessionProvider {
 	
+	private static final Logger log = LoggerFactory.getLogger(DefaultSessionProvider.class);
+	
+	private static final int DEFAULT_READ_AFTER_WRITE_TIME = 10000; // ms
+	
+	// closes the replica connection when the session is closed
+	@SuppressWarnings("serial")
+	private static final class ConnectionReleaser extends BaseSessionEventListener {
+		
+		private final transient Connection connection;
+		
+		private ConnectionReleaser(Connection connection) {
+			this.connection = connection;
+		}
+		
+		@Override
+		public void end() {
+			try {
+				connection.close();
+			}
+			catch (SQLException ex) {
+				log.warn("Failed to close replica connection: {}", ex.getMessage());
+			}
+		}
+	}
+	
+	@Autowired
+	private ApplicationProperties appProperties;
+	
+	private ReadAfterWriteTracker readAfterWriteTracker = 
+			new ReadAfterWriteTracker(DEFAULT_READ_AFTER_WRITE_TIME);
+	
 	private SessionFactory sessionFactory;
 	
+	private HikariDataSource replicaDataSource;
+	
+	@PostConstruct
+	private void init() {
+		if (appProperties.hasProperty(Seed.PROP_REPLICA_URL)) {
+			final var config = new HikariConfig();
+			config.setPoolName("replica");
+			config.setJdbcUrl(appProperties.getProperty(Seed.PROP_REPLICA_URL));
+			config.setUsername(appProperties.hasProperty(Seed.PROP_REPLICA_USERNAME)
+								? appProperties.getProperty(Seed.PROP_REPLICA_USERNAME)
+								: appProperties.getRequiredProperty(Seed.PROP_DATASOURCE_USERNAME));
+			config.setPassword(appProperties.hasProperty(Seed.PROP_REPLICA_PASSWORD)
+								? appProperties.getProperty(Seed.PROP_REPLICA_PASSWORD)
+								: appProperties.getRequiredProperty(Seed.PROP_DATASOURCE_PASSWORD));
+			config.setMaximumPoolSize(appProperties.hasProperty(Seed.PROP_REPLICA_POOLSIZE)
+										? appProperties.getIntegerProperty(Seed.PROP_REPLICA_POOLSIZE)
+										: appProperties.getIntegerProperty(Seed.PROP_CONNECTIONPOOL_POOLSIZE));
+			config.setMinimumIdle(appProperties.getIntegerProperty(Seed.PROP_CONNECTIONPOOL_MINIDLE));
+			config.setConnectionTimeout(appProperties.getIntegerProperty(Seed.PROP_CONNECTIONPOOL_TIMEOUT));
+			config.setIdleTimeout(appProperties.getIntegerProperty(Seed.PROP_CONNECTIONPOOL_IDLE_TIMEOUT));
+			config.setReadOnly(true);
+			config.setInitializationFailTimeout(-1); // start even if the replica is not reachable
+			replicaDataSource = new HikariDataSource(config);
+			
+			final Integer time = appProperties.getIntegerProperty(Seed.PROP_REPLICA_READ_AFTER_WRITE);
+			if (time != null) {
+				readAfterWriteTracker = new ReadAfterWriteTracker(time);
+			}
+			log.info("Read replica enabled: {}", config.getJdbcUrl());
+		}
+	}
+	
+	@PreDestroy
+	private void closeReplica() {
+		if (replicaDataSource != null) {
+			replicaDataSource.close();
+		}
+	}
+	
 	@Override
 	public synchronized boolean isSessionAvailable() {
 		return sessionFactory != null;
 	}
 	
+	// every session of the primary database records successful transactions that changed data,
+	// regardless of whether a replica is configured
 	@Override
 	public synchronized Session getSession() {
-		return getSessionFactory().openSession();
+		final var recorder = readAfterWriteTracker.createRecorder(MiscUtils.getUserName());
+		return getSessionFactory().withOptions()
+								  .eventListeners(recorder)
+								  .statementInspector(recorder)
+								  .openSession();
+	}
+	
+	@Override
+	public Session getReadOnlySession() {
+		Session session = getReplicaSession();
+		if (session == null) {
+			session = getSession();
+			session.setDefaultReadOnly(true);
+			session.setHibernateFlushMode(FlushMode.MANUAL);
+		}
+		return session;
+	}
+	
+	@Override
+	public Session getReplicaSession() {
+		return isReplicaReadable() ? openReplicaSession() : null;
 	}
 	
 	@Override
@@ -46,6 +160,35 @@ public class DefaultSessionProvider implements SessionProvider {
 		return getSessionFactory().getStatistics();
 	}
 	
+	@Override
+	public synchronized List<CacheRegionStatistic> getCacheRegionStatistics() {
+		final var sessionFactory = (SessionFactoryImplementor) getSessionFactory();
+		final var regionFactory = sessionFactory.getCache().getRegionFactory();
+		final var cacheRegionFactory = regionFactory instanceof CacheRegionFactory
+											? (CacheRegionFactory) regionFactory 
+											: null;
+		final var statistics = sessionFactory.getStatistics();
+		final var regionNames = new TreeSet<String>();
+		for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+			regionNames.add(regionName);
+		}
+		if (sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+			regionNames.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+		}
+		final var result = new ArrayList<CacheRegionStatistic>(regionNames.size());
+		for (String regionName : regionNames) {
+			final var regionStatistics = statistics.getCacheRegionStatistics(regionName);
+			if (regionStatistics != null) {
+				result.add(cacheRegionFactory != null
+							? new CacheRegionStatistic(regionStatistics, 
+													   cacheRegionFactory.getRegionSettings(regionName), 
+													   cacheRegionFactory.getRegionCounter(regionName))
+							: new CacheRegionStatistic(regionStatistics, null, null));
+			}
+		}
+		return result;
+	}
+	
 	synchronized void setSessionFactory(SessionFactory sessionFactory) {
 		Assert.notNull(sessionFactory, "session factory");
 		
@@ -67,6 +210,32 @@ public class DefaultSessionProvider implements SessionProvider {
 		sessionFactory = null;
 	}
 
+	// reads of a user shortly after own writes stay on the primary database
+	private boolean isReplicaReadable() {
+		return replicaDataSource != null && 
+			   !readAfterWriteTracker.hasRecentWrite(MiscUtils.getUserName());
+	}
+	
+	private Session openReplicaSession() {
+		final Connection connection;
+		try {
+			connection = replicaDataSource.getConnection();
+		}
+		catch (SQLException ex) {
+			log.warn("Replica not available, using primary database: {}", ex.getMessage());
+			return null;
+		}
+		final Session session = getSessionFactory().withOptions()
+												   .connection(connection)
+												   .eventListeners(new ConnectionReleaser(connection))
+												   .openSession();
+		// replica data may be behind, so it is never put into the shared cache
+		session.setCacheMode(CacheMode.GET);
+		session.setDefaultReadOnly(true);
+		session.setHibernateFlushMode(FlushMode.MANUAL);
+		return session;
+	}
+	
 	private synchronized SessionFactory getSessionFactory() {
 		Assert.stateAvailable(sessionFactory, "session factory");
 		
@@ -18,17 +18,24 @@
 package org.seed.core.config;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.persistence.Entity;
 
 import org.seed.C;
 import org.seed.Seed;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.data.SystemObjectEventListener;
 import org.seed.core.data.revision.RevisionField;
 import org.seed.core.codegen.CodeManager;
+import org.seed.core.codegen.CodeManagerImpl;
+import org.seed.core.codegen.CodeUtils;
+import org.seed.core.entity.EntityRepository;
 import org.seed.core.entity.value.ValueEntity;
+import org.seed.core.task.Task;
 import org.seed.core.task.job.JobScheduler;
+import org.seed.core.user.UserAuthorisationCache;
 import org.seed.core.user.UserService;
 import org.seed.core.util.Assert;
 import org.seed.core.util.BeanUtils;
@@ -62,6 +69,22 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 	
 	private static final Logger log = LoggerFactory.getLogger(DynamicConfiguration.class);
 	
+	// ids are allocated in blocks of the shared sequence (see AbstractSystemObject.ID_ALLOCATION_SIZE).
+	// the increment of an existing sequence is changed by a schema update, which runs after 
+	// the boot session factory is built, so the allocation size is adjusted to the sequence
+	public static final Map<String, String> ID_GENERATOR_SETTINGS = Map.of(
+			"hibernate.id.optimizer.pooled.preferred", "pooled-lo",
+			"hibernate.id.sequence.increment_size_mismatch_strategy", "FIX");
+	
+	private static final int DEFAULT_FETCH_BATCH_SIZE = 16;
+	
+	// classes that can be reloaded without rebuilding the session factory
+	private static final List<String> RELOADABLE_PACKAGES = List.of(
+			CodeManagerImpl.GENERATED_FORM_PACKAGE,
+			CodeManagerImpl.GENERATED_REST_PACKAGE,
+			CodeManagerImpl.GENERATED_TASK_PACKAGE,
+			CodeManagerImpl.GENERATED_TRANSFORM_PACKAGE);
+	
 	private class DynamicSessionFactoryBuilder extends SessionFactoryBuilderImpl {
 		
 		private DynamicSessionFactoryBuilder(MetadataImpl metaImpl) {
@@ -99,9 +122,18 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 	@Autowired
 	private UserService userService;
 	
+	@Autowired
+	private EntityRepository entityRepository;
+	
 	@Autowired
 	private SystemLog systemLog;
 	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
+	@Autowired
+	private UserAuthorisationCache authorisationCache;
+	
 	private ClassLoader classLoader;
 	
 	@PostConstruct
@@ -151,6 +183,39 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 		systemLog.logInfo("systemlog.info.configupdated");
 	}
 	
+	@Override
+	public synchronized void updateClassConfiguration() {
+		if (!reloadClasses()) {
+			updateConfiguration(false);
+		}
+	}
+	
+	@Override
+	public synchronized void updateTaskConfiguration(Task task) {
+		Assert.notNull(task, C.TASK);
+		
+		if (reloadClasses()) {
+			jobScheduler.unscheduleTask(task);
+			jobScheduler.scheduleTask(task);
+		}
+		else {
+			updateConfiguration(false);
+		}
+	}
+	
+	private boolean reloadClasses() {
+		final long startTime = System.currentTimeMillis();
+		if (!codeManager.reloadClasses(RELOADABLE_PACKAGES)) {
+			return false;
+		}
+		metadataProvider.invalidate();
+		authorisationCache.invalidate();
+		if (log.isInfoEnabled()) {
+			log.info("Classes reloaded in {}", MiscUtils.formatDuration(startTime));
+		}
+		return true;
+	}
+	
 	private void buildBootSessionFactory() {
 		final boolean updateResult = schemaManager.updateSchema();
 		sessionProvider.setSessionFactory(createSessionFactoryBuilder(true).build());
@@ -169,6 +234,8 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 		final var sessionFactoryBuilder = createSessionFactoryBuilder(false);
 		sessionProvider.close();
 		sessionProvider.setSessionFactory(sessionFactoryBuilder.build());
+		metadataProvider.invalidate();
+		authorisationCache.invalidate();
 		jobScheduler.scheduleAllTasks();
 		if (log.isInfoEnabled()) {
 			log.info("Configuration created in {}", MiscUtils.formatDuration(startTime));
@@ -229,7 +296,13 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 			codeManager.getGeneratedClasses(ValueEntity.class).forEach(metaSources::addAnnotatedClass);
 			log.info("Generated entities registered");
 		}
-		return new DynamicSessionFactoryBuilder((MetadataImpl) metaSources.getMetadataBuilder().build());
+		final var metadata = (MetadataImpl) metaSources.getMetadataBuilder().build();
+		// ids are generated by sequences
+		final var dialect = metadata.getDatabase().getDialect();
+		if (!dialect.supportsSequences()) {
+			throw new ConfigurationException("database doesn't support sequences: " + dialect);
+		}
+		return new DynamicSessionFactoryBuilder(metadata);
 	}
 	
 	private Map<String, Object> createSettings(boolean boot) {
@@ -250,7 +323,7 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 		settings.put("hibernate.cache.use_second_level_cache", String.valueOf(!boot));
 		if (!boot) {
 			settings.put("hibernate.cache.use_query_cache", C.TRUE);
-			settings.put("hibernate.cache.region.factory_class", "org.hibernate.cache.jcache.JCacheRegionFactory");
+			settings.put("hibernate.cache.region.factory_class", createCacheRegionFactory());
 			settings.put("hibernate.javax.cache.missing_cache_strategy", "create");
 		}
 		
@@ -262,11 +335,19 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 			settings.put("hibernate.batch_versioned_data", C.TRUE);
 		}
 		
+		// lazy loading
+		final Integer fetchBatchSize = appProperties.getIntegerProperty(Seed.PROP_FETCH_BATCH_SIZE);
+		settings.put("hibernate.default_batch_fetch_size", 
+					 String.valueOf(fetchBatchSize != null ? fetchBatchSize : DEFAULT_FETCH_BATCH_SIZE));
+		
 		// statistics
 		if (!boot) {
 			settings.put("hibernate.generate_statistics", C.TRUE);
 		}
 		
+		// id generation
+		settings.putAll(ID_GENERATOR_SETTINGS);
+		
 		// misc settings
 		settings.put("hibernate.enable_lazy_load_no_trans", C.TRUE);
 		settings.put("org.hibernate.envers.revision_field_name", RevisionField.REV.columName);
@@ -274,4 +355,26 @@ public class DynamicConfiguration implements UpdatableConfiguration, Integrator
 		return settings;
 	}
 	
+	private CacheRegionFactory createCacheRegionFactory() {
+		final var defaultSettings = createCacheSettings(Seed.PROP_CACHE_HEAP_ENTRIES, Seed.PROP_CACHE_TIME_TO_LIVE);
+		final var regionFactory = new CacheRegionFactory(classLoader, defaultSettings,
+				createCacheSettings(Seed.PROP_CACHE_QUERY_HEAP_ENTRIES, Seed.PROP_CACHE_QUERY_TIME_TO_LIVE));
+		for (var entity : entityRepository.find()) {
+			if (entity.isCached() && entity.hasCacheSettings()) {
+				regionFactory.addRegionSettings(CodeUtils.getQualifiedName(entity), 
+						defaultSettings.createRegionSettings(entity.getCacheHeapEntries(), 
+															 entity.getCacheOffHeapSize(), 
+															 entity.getCacheTimeToLive()));
+			}
+		}
+		return regionFactory;
+	}
+	
+	// regions without own settings are only bounded if a capacity is configured
+	private CacheRegionSettings createCacheSettings(String propHeapEntries, String propTimeToLive) {
+		final Integer heapEntries = appProperties.getIntegerProperty(propHeapEntries);
+		return new CacheRegionSettings(heapEntries != null ? Long.valueOf(heapEntries) : null, 
+									   null, appProperties.getIntegerProperty(propTimeToLive));
+	}
+	
 }
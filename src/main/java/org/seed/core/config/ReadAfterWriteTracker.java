@@ -0,0 +1,117 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.seed.core.util.Assert;
+
+// remembers the time of the last successful transaction of every user that changed data,
+// so reads shortly after own writes can stay on the primary database
+public class ReadAfterWriteTracker {
+	
+	// listener and statement inspector for sessions of the primary database,
+	// transactions that only executed queries are not recorded
+	@SuppressWarnings("serial")
+	public final class WriteTimeRecorder extends BaseSessionEventListener 
+		implements StatementInspector {
+		
+		private final String userName;
+		
+		private boolean dataChanged;
+		
+		private WriteTimeRecorder(String userName) {
+			this.userName = userName;
+		}
+		
+		@Override
+		public String inspect(String sql) {
+			if (!dataChanged && !isQuery(sql)) {
+				dataChanged = true;
+			}
+			return sql;
+		}
+		
+		@Override
+		public void transactionCompletion(boolean successful) {
+			if (successful && dataChanged) {
+				recordWrite(userName);
+			}
+			dataChanged = false;
+		}
+	}
+	
+	private final Map<String, Long> writeTimes = new ConcurrentHashMap<>();
+	
+	private final LongSupplier clock;
+	
+	private final long readAfterWriteTime;
+	
+	public ReadAfterWriteTracker(long readAfterWriteTime) {
+		this(readAfterWriteTime, System::currentTimeMillis);
+	}
+	
+	public ReadAfterWriteTracker(long readAfterWriteTime, LongSupplier clock) {
+		Assert.notNull(clock, "clock");
+		
+		this.readAfterWriteTime = readAfterWriteTime;
+		this.clock = clock;
+	}
+	
+	public WriteTimeRecorder createRecorder(String userName) {
+		Assert.notNull(userName, "user name");
+		
+		return new WriteTimeRecorder(userName);
+	}
+	
+	public void recordWrite(String userName) {
+		Assert.notNull(userName, "user name");
+		
+		writeTimes.put(userName, clock.getAsLong());
+	}
+	
+	public boolean hasRecentWrite(String userName) {
+		Assert.notNull(userName, "user name");
+		
+		final Long writeTime = writeTimes.get(userName);
+		if (writeTime == null) {
+			return false;
+		}
+		if (clock.getAsLong() - writeTime < readAfterWriteTime) {
+			return true;
+		}
+		writeTimes.remove(userName, writeTime);
+		return false;
+	}
+	
+	// leading comments are added if hibernate.use_sql_comments is enabled
+	private static boolean isQuery(String sql) {
+		String statement = sql.trim();
+		while (statement.startsWith("/*") && statement.contains("*/")) {
+			statement = statement.substring(statement.indexOf("*/") + 2).trim();
+		}
+		return statement.regionMatches(true, 0, "select", 0, 6) ||
+			   statement.regionMatches(true, 0, "with", 0, 4);
+	}
+	
+}
@@ -0,0 +1,55 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.hibernate.Session;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// replaces the request session by a replica session for handlers marked with @ReadFromReplica.
+// all other requests, including custom REST functions, keep the session of the primary database.
+// the replica session is closed by OpenSessionInViewFilter because it differs from the original session
+@Component
+public class ReplicaSessionInterceptor implements HandlerInterceptor {
+	
+	@Autowired
+	private SessionProvider provider;
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (isReplicaHandler(handler)) {
+			final Session session = provider.getReplicaSession();
+			if (session != null) {
+				request.setAttribute(OpenSessionInViewFilter.ATTR_SESSION, session);
+			}
+		}
+		return true;
+	}
+	
+	public static boolean isReplicaHandler(Object handler) {
+		return handler instanceof HandlerMethod &&
+			   ((HandlerMethod) handler).hasMethodAnnotation(ReadFromReplica.class);
+	}
+	
+}
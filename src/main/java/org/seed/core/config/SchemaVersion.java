@@ -39,7 +39,11 @@ public enum SchemaVersion {
 	V_0_9_34,
 	V_0_9_39,
 	V_0_9_40,
-	V_0_9_41; // add new versions below
+	V_0_9_41,
+	V_0_9_42,
+	V_0_9_43,
+	V_0_9_44,
+	V_0_9_45; // add new versions below
 	
 	public static SchemaVersion currentVersion() {
 		return lastVersion();
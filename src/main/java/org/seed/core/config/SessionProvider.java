@@ -17,6 +17,8 @@
  */
 package org.seed.core.config;
 
+import java.util.List;
+
 import org.hibernate.Session;
 import org.hibernate.stat.Statistics;
 
@@ -26,6 +28,15 @@ public interface SessionProvider {
 	
 	Session getSession();
 	
+	// session for queries that don't modify objects (no snapshots, no automatic flush)
+	Session getReadOnlySession();
+	
+	// read-only session of the read replica or null if no replica is available
+	// or the current user has written recently
+	Session getReplicaSession();
+	
 	Statistics getStatistics();
 	
+	List<CacheRegionStatistic> getCacheRegionStatistics();
+	
 }
@@ -17,10 +17,17 @@
  */
 package org.seed.core.config;
 
+import org.seed.core.task.Task;
+
 public interface UpdatableConfiguration {
 	
 	void updateConfiguration();
 	
 	void updateConfiguration(boolean compileAllClasses);
+	
+	// for changes that don't affect the mapped entities (forms, rest services, transformers)
+	void updateClassConfiguration();
+	
+	void updateTaskConfiguration(Task task);
 
 }
@@ -20,8 +20,10 @@ package org.seed.core.config.changelog;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.seed.C;
 import org.seed.InternalException;
@@ -34,7 +36,6 @@ import org.seed.core.util.UID;
 import org.springframework.util.FastByteArrayOutputStream;
 
 import liquibase.change.Change;
-import liquibase.change.core.AddForeignKeyConstraintChange;
 import liquibase.change.custom.CustomChangeWrapper;
 import liquibase.changelog.ChangeLogChild;
 import liquibase.changelog.ChangeSet;
@@ -71,17 +72,45 @@ public abstract class AbstractChangeLogBuilder<T extends SystemEntity>
 	    
 	}
 	
+	// changeset that runs without transaction, e.g. for concurrent index creation
+	private static class OnlineChangeSet extends ChangeSet {
+		
+		private static final String FIELD_RUN_IN_TRANSACTION = "runInTransaction";
+		
+		OnlineChangeSet() {
+			super(UID.createUID(), C.SEED, false, false, 
+				  null, null, null, false, null, null);
+		}
+		
+		@Override
+		public Set<String> getSerializableFields() {
+			final var fields = new LinkedHashSet<>(super.getSerializableFields());
+			fields.add(FIELD_RUN_IN_TRANSACTION);
+			return fields;
+		}
+		
+		@Override
+		public Object getSerializableFieldValue(String field) {
+			return FIELD_RUN_IN_TRANSACTION.equals(field)
+					? Boolean.FALSE
+					: super.getSerializableFieldValue(field);
+		}
+		
+	}
+	
 	private ChangeSet changeSet;
 	
-	private ReferenceChangeLog referenceChangeLog;
+	private ChangeSet onlineChangeSet;
+	
+	private ModuleChangeLog moduleChangeLog;
 	
 	protected T currentVersionObject;
 	
 	protected T nextVersionObject;
 	
 	@Override
-	public ChangeLogBuilder<T> setReferenceChangeLog(ReferenceChangeLog referenceChangeLog) {
-		this.referenceChangeLog = referenceChangeLog;
+	public ChangeLogBuilder<T> setModuleChangeLog(ModuleChangeLog moduleChangeLog) {
+		this.moduleChangeLog = moduleChangeLog;
 		return this;
 	}
 
@@ -97,9 +126,13 @@ public abstract class AbstractChangeLogBuilder<T extends SystemEntity>
 		return this;
 	}
 	
+	// returns null if the changes are collected by a module changelog
 	@Override
 	public ChangeLog build() {
-		return build(changeSet);
+		if (moduleChangeLog != null) {
+			moduleChangeLog.completeObject();
+		}
+		return build(changeSet, onlineChangeSet);
 	}
 	
 	protected void checkValid() {
@@ -114,15 +147,29 @@ public abstract class AbstractChangeLogBuilder<T extends SystemEntity>
 	protected void addChange(Change change) {
 		Assert.notNull(change, "change");
 		
-		if (referenceChangeLog != null && 
-			change instanceof AddForeignKeyConstraintChange) {
-			referenceChangeLog.addChange(change);
+		if (moduleChangeLog != null) {
+			moduleChangeLog.addChange(change);
 		}
 		else {
 			getChangeSet().addChange(change);
 		}
 	}
 	
+	// online changes are executed after all other changes without transaction
+	protected void addOnlineChange(Change change) {
+		Assert.notNull(change, "change");
+		
+		if (moduleChangeLog != null) {
+			moduleChangeLog.addOnlineChange(change);
+		}
+		else {
+			if (onlineChangeSet == null) {
+				onlineChangeSet = createOnlineChangeSet();
+			}
+			onlineChangeSet.addChange(change);
+		}
+	}
+	
 	protected void addChange(AbstractCustomChange customChange) {
 		Assert.notNull(customChange, "customChange");
 		try {
@@ -130,7 +177,12 @@ public abstract class AbstractChangeLogBuilder<T extends SystemEntity>
 			changeWrapper.setClass(customChange.getClass().getName());
 			changeWrapper.setParam(C.NAME, customChange.getParameterName());
 			changeWrapper.setParam(C.VALUE, customChange.getParameterValue());
-			getChangeSet().addChange(changeWrapper);
+			if (moduleChangeLog != null) {
+				moduleChangeLog.addChange(changeWrapper);
+			}
+			else {
+				getChangeSet().addChange(changeWrapper);
+			}
 		}
 		catch (CustomChangeException ccex) {
 			SystemLog.logError(ccex);
@@ -145,9 +197,16 @@ public abstract class AbstractChangeLogBuilder<T extends SystemEntity>
 		return changeSet;
 	}
 	
-	static ChangeLog build(ChangeSet changeSet) {
-		return changeSet != null 
-				? createChangeLog(changeSet) 
+	static ChangeLog build(ChangeSet changeSet, ChangeSet onlineChangeSet) {
+		final var changeSets = new ArrayList<ChangeSet>(2);
+		if (changeSet != null) {
+			changeSets.add(changeSet);
+		}
+		if (onlineChangeSet != null) {
+			changeSets.add(onlineChangeSet);
+		}
+		return !changeSets.isEmpty() 
+				? createChangeLog(changeSets) 
 				: null;
 	}
 	
@@ -156,10 +215,14 @@ public abstract class AbstractChangeLogBuilder<T extends SystemEntity>
 							 null, null, null, false, null, null);
 	}
 	
-	private static ChangeLog createChangeLog(ChangeSet changeSet) {
+	static ChangeSet createOnlineChangeSet() {
+		return new OnlineChangeSet();
+	}
+	
+	private static ChangeLog createChangeLog(List<ChangeSet> changeSets) {
 		try (var baos = new FastByteArrayOutputStream()) {
 			final var changeLog = new ChangeLog();
-			new JsonChangeLogSerializer().write(Collections.singletonList(changeSet), baos);
+			new JsonChangeLogSerializer().write(changeSets, baos);
 			changeLog.setChangeSet(MiscUtils.toString(baos.toByteArray()));
 			return changeLog;
 		} 
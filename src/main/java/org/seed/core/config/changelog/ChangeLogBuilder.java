@@ -21,7 +21,7 @@ import org.seed.core.data.SystemEntity;
 
 public interface ChangeLogBuilder<T extends SystemEntity> {
 	
-	ChangeLogBuilder<T> setReferenceChangeLog(ReferenceChangeLog referenceChangeLog);
+	ChangeLogBuilder<T> setModuleChangeLog(ModuleChangeLog moduleChangeLog);
 	
 	ChangeLogBuilder<T> setCurrentVersionObject(T currentVersionObject);
 	
@@ -0,0 +1,106 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config.changelog;
+
+import static org.seed.core.util.CollectionUtils.anyMatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.seed.core.util.Assert;
+
+import liquibase.change.Change;
+import liquibase.change.core.AddForeignKeyConstraintChange;
+import liquibase.change.core.CreateTableChange;
+import liquibase.changelog.ChangeSet;
+
+// collects the schema changes of all objects of a module import in a single changeset.
+// the changes of each object remain in sequence, objects that create tables come first 
+// and foreign keys are added last. online changes follow in a changeset without transaction
+public class ModuleChangeLog {
+	
+	private final List<Change> tableChanges = new ArrayList<>();
+	
+	private final List<Change> changes = new ArrayList<>();
+	
+	private final List<Change> referenceChanges = new ArrayList<>();
+	
+	private final List<Change> objectChanges = new ArrayList<>();
+	
+	private final List<Change> onlineChanges = new ArrayList<>();
+	
+	void addChange(Change change) {
+		Assert.notNull(change, "change");
+		
+		if (change instanceof AddForeignKeyConstraintChange) {
+			referenceChanges.add(change);
+		}
+		else {
+			objectChanges.add(change);
+		}
+	}
+	
+	void addOnlineChange(Change change) {
+		Assert.notNull(change, "change");
+		
+		onlineChanges.add(change);
+	}
+	
+	// called when all changes of an object are added
+	void completeObject() {
+		if (anyMatch(objectChanges, CreateTableChange.class::isInstance)) {
+			tableChanges.addAll(objectChanges);
+		}
+		else {
+			changes.addAll(objectChanges);
+		}
+		objectChanges.clear();
+	}
+	
+	public boolean isEmpty() {
+		return tableChanges.isEmpty() && changes.isEmpty() && 
+			   referenceChanges.isEmpty() && onlineChanges.isEmpty();
+	}
+	
+	public int size() {
+		return tableChanges.size() + changes.size() + 
+			   referenceChanges.size() + onlineChanges.size();
+	}
+	
+	public ChangeLog build() {
+		Assert.state(objectChanges.isEmpty(), "incomplete object changes");
+		
+		if (isEmpty()) {
+			return null;
+		}
+		ChangeSet changeSet = null;
+		if (!tableChanges.isEmpty() || !changes.isEmpty() || !referenceChanges.isEmpty()) {
+			changeSet = AbstractChangeLogBuilder.createChangeSet();
+			tableChanges.forEach(changeSet::addChange);
+			changes.forEach(changeSet::addChange);
+			referenceChanges.forEach(changeSet::addChange);
+		}
+		ChangeSet onlineChangeSet = null;
+		if (!onlineChanges.isEmpty()) {
+			onlineChangeSet = AbstractChangeLogBuilder.createOnlineChangeSet();
+			onlineChanges.forEach(onlineChangeSet::addChange);
+		}
+		return AbstractChangeLogBuilder.build(changeSet, onlineChangeSet);
+	}
+	
+}
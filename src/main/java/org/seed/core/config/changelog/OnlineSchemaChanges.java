@@ -0,0 +1,132 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.config.changelog;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+import org.seed.core.util.Assert;
+
+// postgres statements that change tables containing data without blocking writes
+public final class OnlineSchemaChanges {
+	
+	// CREATE INDEX CONCURRENTLY, NOT VALID foreign keys, UNIQUE USING INDEX
+	public static final int MIN_VERSION_CONCURRENT = 10;
+	
+	// COMMIT inside DO blocks
+	public static final int MIN_VERSION_BATCH_COMMIT = 11;
+	
+	// SET NOT NULL skips the table scan if a validated check constraint exists
+	public static final int MIN_VERSION_NOT_NULL_BY_CHECK = 12;
+	
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+	
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+	
+	private OnlineSchemaChanges() {}
+	
+	// updates null values in batches and commits after each batch
+	public static String backfill(String tableName, String columnName, String idColumnName,
+								  String valueLiteral, int batchSize) {
+		Assert.notNull(tableName, "table name");
+		Assert.notNull(columnName, "column name");
+		Assert.notNull(idColumnName, "id column name");
+		Assert.notNull(valueLiteral, "value literal");
+		
+		return "DO $$\nDECLARE updated integer;\nBEGIN\n" +
+			   "  LOOP\n" + 
+			   "    UPDATE " + tableName + " SET " + columnName + " = " + valueLiteral + 
+			   " WHERE " + idColumnName + " IN (SELECT " + idColumnName + 
+			   " FROM " + tableName + " WHERE " + columnName + " IS NULL LIMIT " + batchSize + ");\n" +
+			   "    GET DIAGNOSTICS updated = ROW_COUNT;\n" +
+			   "    EXIT WHEN updated = 0;\n" +
+			   "    COMMIT;\n" +
+			   "  END LOOP;\nEND $$";
+	}
+	
+	// a validated check constraint lets postgres set not null without scanning the table
+	public static List<String> setNotNull(String tableName, String columnName, String constraintName) {
+		Assert.notNull(tableName, "table name");
+		Assert.notNull(columnName, "column name");
+		Assert.notNull(constraintName, "constraint name");
+		
+		return List.of("ALTER TABLE " + tableName + " ADD CONSTRAINT " + constraintName + 
+					   " CHECK (" + columnName + " IS NOT NULL) NOT VALID",
+					   "ALTER TABLE " + tableName + " VALIDATE CONSTRAINT " + constraintName,
+					   "ALTER TABLE " + tableName + " ALTER COLUMN " + columnName + " SET NOT NULL",
+					   "ALTER TABLE " + tableName + " DROP CONSTRAINT " + constraintName);
+	}
+	
+	public static String createIndex(String indexName, String tableName, String columnNames) {
+		Assert.notNull(indexName, "index name");
+		Assert.notNull(tableName, "table name");
+		Assert.notNull(columnNames, "column names");
+		
+		return "CREATE INDEX CONCURRENTLY " + indexName + " ON " + tableName + " (" + columnNames + ')';
+	}
+	
+	// the unique index is built concurrently and then attached as constraint
+	public static List<String> addUniqueConstraint(String constraintName, String tableName, String columnNames) {
+		Assert.notNull(constraintName, "constraint name");
+		Assert.notNull(tableName, "table name");
+		Assert.notNull(columnNames, "column names");
+		
+		return List.of("CREATE UNIQUE INDEX CONCURRENTLY " + constraintName + " ON " + 
+					   tableName + " (" + columnNames + ')',
+					   "ALTER TABLE " + tableName + " ADD CONSTRAINT " + constraintName + 
+					   " UNIQUE USING INDEX " + constraintName);
+	}
+	
+	// the foreign key is validated afterwards without blocking writes
+	public static List<String> addForeignKey(String constraintName, String tableName, String columnName,
+											 String referencedTableName, String referencedColumnName) {
+		Assert.notNull(constraintName, "constraint name");
+		Assert.notNull(tableName, "table name");
+		Assert.notNull(columnName, "column name");
+		Assert.notNull(referencedTableName, "referenced table name");
+		Assert.notNull(referencedColumnName, "referenced column name");
+		
+		return List.of("ALTER TABLE " + tableName + " ADD CONSTRAINT " + constraintName + 
+					   " FOREIGN KEY (" + columnName + ") REFERENCES " + 
+					   referencedTableName + " (" + referencedColumnName + ") NOT VALID",
+					   "ALTER TABLE " + tableName + " VALIDATE CONSTRAINT " + constraintName);
+	}
+	
+	public static String stringLiteral(String value) {
+		Assert.notNull(value, "value");
+		
+		return '\'' + value.replace("'", "''") + '\'';
+	}
+	
+	// rendered in the time zone of the jvm, like the values hibernate binds
+	public static String dateLiteral(Date date) {
+		Assert.notNull(date, "date");
+		
+		return '\'' + DATE_FORMAT.format(date.toInstant().atZone(ZoneId.systemDefault())) + '\'';
+	}
+	
+	// rendered in the time zone of the jvm, like the values hibernate binds
+	public static String timestampLiteral(Date date) {
+		Assert.notNull(date, "date");
+		
+		return '\'' + TIMESTAMP_FORMAT.format(date.toInstant().atZone(ZoneId.systemDefault())) + '\'';
+	}
+	
+}
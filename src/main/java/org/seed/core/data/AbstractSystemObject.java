@@ -42,9 +42,13 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @MappedSuperclass
 public abstract class AbstractSystemObject implements SystemObject {
 	
+	// ids are allocated in blocks (pooled-lo optimizer) so that inserts can be batched,
+	// the increment of seed_id_seq must be equal to the allocation size
+	public static final int ID_ALLOCATION_SIZE = 50;
+	
 	@Id
 	@SequenceGenerator(name = "seqGen", sequenceName = "seed_id_seq", 
-					   initialValue = 1000, allocationSize = 1)
+					   initialValue = 1000, allocationSize = ID_ALLOCATION_SIZE)
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seqGen")
 	private Long id;
 	
@@ -0,0 +1,87 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.Subgraph;
+
+import org.hibernate.Session;
+import org.hibernate.graph.GraphSemantic;
+
+import org.seed.C;
+import org.seed.core.util.Assert;
+
+// associations that are loaded together with the objects of a query,
+// contains only attribute names so it can be kept in cursors and forms
+public final class FetchGraph {
+	
+	public static final String HINT_LOADGRAPH = GraphSemantic.LOAD.getJpaHintName();
+	
+	private final Set<String> attributes = new LinkedHashSet<>();
+	
+	private final Map<String, Set<String>> subgraphs = new LinkedHashMap<>();
+	
+	public boolean isEmpty() {
+		return attributes.isEmpty() && subgraphs.isEmpty();
+	}
+	
+	public Set<String> getAttributes() {
+		return Collections.unmodifiableSet(attributes);
+	}
+	
+	public Set<String> getSubgraphAttributes(String attribute) {
+		final var subAttributes = subgraphs.get(attribute);
+		return subAttributes != null ? Collections.unmodifiableSet(subAttributes) : Collections.emptySet();
+	}
+	
+	public FetchGraph addAttribute(String attribute) {
+		Assert.notNull(attribute, "attribute");
+		
+		attributes.add(attribute);
+		return this;
+	}
+	
+	// a subgraph fetches an association and the given attributes of the associated objects
+	public FetchGraph addSubgraph(String attribute, Set<String> subAttributes) {
+		Assert.notNull(attribute, "attribute");
+		Assert.notNull(subAttributes, "subAttributes");
+		
+		subgraphs.computeIfAbsent(attribute, attr -> new LinkedHashSet<>()).addAll(subAttributes);
+		return this;
+	}
+	
+	public <T> EntityGraph<T> createEntityGraph(Session session, Class<T> entityClass) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entityClass, C.ENTITYCLASS);
+		
+		final EntityGraph<T> graph = session.createEntityGraph(entityClass);
+		attributes.forEach(graph::addAttributeNodes);
+		for (var entry : subgraphs.entrySet()) {
+			final Subgraph<Object> subgraph = graph.addSubgraph(entry.getKey());
+			entry.getValue().forEach(subgraph::addAttributeNodes);
+		}
+		return graph;
+	}
+	
+}
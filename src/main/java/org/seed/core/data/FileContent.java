@@ -0,0 +1,69 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.data;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "sys_file_content")
+public class FileContent {
+	
+	@Id
+	@SequenceGenerator(name = "seqGen", sequenceName = "seed_id_seq", 
+					   initialValue = 1000, allocationSize = AbstractSystemObject.ID_ALLOCATION_SIZE)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seqGen")
+	private Long id;
+	
+	private byte[] content;		// null if content is located in file store
+	
+	private String contentHash;	// sha-256 of content in file store
+	
+	protected FileContent() {
+		// for hibernate
+	}
+	
+	FileContent(byte[] content) {
+		this.content = content;
+	}
+	
+	FileContent(String contentHash) {
+		this.contentHash = contentHash;
+	}
+	
+	public Long getId() {
+		return id;
+	}
+	
+	public byte[] getContent() {
+		return content;
+	}
+	
+	public String getContentHash() {
+		return contentHash;
+	}
+	
+	public boolean isStored() {
+		return contentHash != null;
+	}
+	
+}
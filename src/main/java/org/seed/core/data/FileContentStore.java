@@ -0,0 +1,179 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+import javax.annotation.PostConstruct;
+
+import org.hibernate.Hibernate;
+
+import org.seed.C;
+import org.seed.InternalException;
+import org.seed.Seed;
+import org.seed.core.config.ApplicationProperties;
+import org.seed.core.config.SystemLog;
+import org.seed.core.util.Assert;
+import org.seed.core.util.MiscUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+@Component
+public class FileContentStore {
+	
+	private static final Logger log = LoggerFactory.getLogger(FileContentStore.class);
+	
+	@Autowired
+	private ApplicationProperties applicationProperties;
+	
+	private Path rootDir;	// application.properties file.store.rootdir
+	
+	@PostConstruct
+	private void init() {
+		final String propRootDir = applicationProperties.getProperty(Seed.PROP_FILE_STORE_ROOT_DIR);
+		if (propRootDir == null) {
+			return;
+		}
+		
+		log.info("Enable file store at {}", propRootDir);
+		final Path path = Paths.get(propRootDir);
+		if (Files.isDirectory(path)) {
+			rootDir = path;
+		}
+		else {
+			log.warn("Location {} does not exist or is not a directory", path);
+		}
+	}
+	
+	public boolean isEnabled() {
+		return rootDir != null;
+	}
+	
+	public FileObject createFileObject(String name, String contentType, InputStream inputStream) throws IOException {
+		Assert.notNull(inputStream, "input stream");
+		
+		final var fileObject = new FileObject();
+		fileObject.setName(name);
+		fileObject.setContentType(contentType);
+		try (final var stream = inputStream) {
+			if (isEnabled()) {
+				storeContent(fileObject, stream);
+			}
+			else {
+				fileObject.setContent(StreamUtils.copyToByteArray(stream));
+			}
+		}
+		return fileObject;
+	}
+	
+	// moves new content that was set in memory to the store
+	public void store(FileObject fileObject) {
+		Assert.notNull(fileObject, "file object");
+		if (!isEnabled()) {
+			return;
+		}
+		
+		final var file = (FileObject) Hibernate.unproxy(fileObject);
+		final FileContent fileContent = file.getFileContent();
+		if (fileContent == null || !Hibernate.isInitialized(fileContent) || 
+			fileContent.getId() != null || fileContent.isStored()) {
+			return;
+		}
+		try (final var stream = new ByteArrayInputStream(fileContent.getContent())) {
+			storeContent(file, stream);
+		}
+		catch (IOException ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
+	}
+	
+	public byte[] load(String contentHash) {
+		Assert.notNull(contentHash, "content hash");
+		try {
+			return Files.readAllBytes(getPath(contentHash));
+		}
+		catch (IOException ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
+	}
+	
+	// streams stored files directly from disk, supports http range requests
+	public Resource getResource(FileObject fileObject) {
+		Assert.notNull(fileObject, "file object");
+		
+		final FileContent fileContent = ((FileObject) Hibernate.unproxy(fileObject)).getFileContent();
+		Assert.stateAvailable(fileContent, C.CONTENT);
+		return fileContent.isStored()
+				? new FileSystemResource(getPath(fileContent.getContentHash()))
+				: new ByteArrayResource(fileContent.getContent());
+	}
+	
+	private void storeContent(FileObject fileObject, InputStream inputStream) throws IOException {
+		final MessageDigest digest = MiscUtils.createSha256Digest();
+		final Path tempFile = Files.createTempFile(rootDir, null, ".tmp");
+		try {
+			long size;
+			try (final var stream = new DigestInputStream(inputStream, digest);
+				 final OutputStream outputStream = Files.newOutputStream(tempFile)) {
+				size = StreamUtils.copy(stream, outputStream);
+			}
+			final String contentHash = MiscUtils.toHexString(digest.digest());
+			final Path path = getPath(contentHash);
+			if (!Files.exists(path)) {
+				Files.createDirectories(path.getParent());
+				try {
+					Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch (FileAlreadyExistsException faex) {
+					// stored concurrently with same content
+				}
+			}
+			fileObject.setStoredContent(contentHash, size);
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+	
+	private Path getPath(String contentHash) {
+		Assert.stateAvailable(rootDir, "file store");
+		Assert.state(contentHash.length() > 2, "invalid content hash");
+		
+		return rootDir.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+	}
+	
+}
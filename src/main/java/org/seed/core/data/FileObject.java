@@ -17,10 +17,16 @@
  */
 package org.seed.core.data;
 
+import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
-import org.springframework.util.ObjectUtils;
+import org.seed.Seed;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "sys_file")
@@ -28,7 +34,12 @@ public class FileObject extends AbstractSystemEntity {
 	
 	private String contentType;
 	
-	private byte[] content;
+	private Long contentSize;
+	
+	@OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+	@JoinColumn(name = "content_id")
+	@JsonIgnore
+	private FileContent fileContent;
 
 	public String getContentType() {
 		return contentType;
@@ -37,28 +48,60 @@ public class FileObject extends AbstractSystemEntity {
 	public void setContentType(String contentType) {
 		this.contentType = contentType;
 	}
-
+	
+	public long getContentSize() {
+		return contentSize != null ? contentSize : 0;
+	}
+	
+	// loads the content only on demand
 	public byte[] getContent() {
-		return content;
+		if (fileContent == null) {
+			return null;
+		}
+		return fileContent.isStored()
+				? Seed.getBean(FileContentStore.class).load(fileContent.getContentHash())
+				: fileContent.getContent();
 	}
 
 	public void setContent(byte[] content) {
-		this.content = content;
+		if (fileContent != null && !fileContent.isStored() && 
+			fileContent.getContent() == content) {
+			return;
+		}
+		fileContent = content != null ? new FileContent(content) : null;
+		contentSize = content != null ? Long.valueOf(content.length) : null;
+	}
+	
+	public boolean hasContent() {
+		return fileContent != null;
 	}
 	
 	public boolean isEmpty() {
-		return ObjectUtils.isEmpty(content);
+		return fileContent == null || getContentSize() == 0;
 	}
 	
 	public FileObject copy() {
 		final FileObject copy = new FileObject();
 		copy.setName(getName());
 		copy.contentType = contentType;
-		if (content != null) {
-			copy.content = new byte[content.length];
-			System.arraycopy(content, 0, copy.content, 0, content.length);
+		copy.contentSize = contentSize;
+		if (fileContent != null) {
+			// content array is never modified, so the copy can share it
+			copy.fileContent = fileContent.isStored()
+								? new FileContent(fileContent.getContentHash())
+								: new FileContent(fileContent.getContent());
 		}
 		return copy;
 	}
 	
+	@JsonIgnore
+	FileContent getFileContent() {
+		return fileContent;
+	}
+	
+	void setStoredContent(String contentHash, long contentSize) {
+		this.fileContent = new FileContent(contentHash);
+		this.contentSize = contentSize;
+	}
+	
 }
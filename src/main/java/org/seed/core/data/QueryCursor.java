@@ -39,6 +39,10 @@ public final class QueryCursor<T extends SystemObject> {
 	
 	private int startIndex;
 	
+	private FetchGraph fetchGraph;
+	
+	private boolean readOnly;
+	
 	public QueryCursor(String fullTextQuery, List<Tupel<Long, Long>> fullTextResult, int chunkSize) {
 		Assert.notNull(fullTextQuery, "fullTextQuery");
 		Assert.notNull(fullTextResult, "fullTextResult");
@@ -113,6 +117,23 @@ public final class QueryCursor<T extends SystemObject> {
 		return startIndex;
 	}
 	
+	public FetchGraph getFetchGraph() {
+		return fetchGraph;
+	}
+	
+	public void setFetchGraph(FetchGraph fetchGraph) {
+		this.fetchGraph = fetchGraph;
+	}
+	
+	// objects of a read-only cursor are loaded without snapshots for dirty checking
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+	
 	public void setChunkIndex(int chunkIndex) {
 		Assert.state(chunkIndex >= 0, "illegal chunk index: " + chunkIndex);
 		
@@ -128,7 +149,10 @@ public final class QueryCursor<T extends SystemObject> {
 	}
 	
 	public QueryCursor<T> newCursorFromStart() {
-		return new QueryCursor<>(query, queryText, fullTextResult, totalCount, chunkSize);
+		final var cursor = new QueryCursor<>(query, queryText, fullTextResult, totalCount, chunkSize);
+		cursor.fetchGraph = fetchGraph;
+		cursor.readOnly = readOnly;
+		return cursor;
 	}
 	
 }
@@ -31,12 +31,15 @@ public class SystemObjectEventListener implements SaveOrUpdateEventListener {
 
 	@Override
 	public void onSaveOrUpdate(SaveOrUpdateEvent event) {
-		final var object = (AbstractSystemObject) 
-				(event.getEntity() != null
-					? event.getEntity()
-					: event.getObject());
-		Assert.stateAvailable(object, C.OBJECT);
+		final var entity = event.getEntity() != null
+							? event.getEntity()
+							: event.getObject();
+		Assert.stateAvailable(entity, C.OBJECT);
+		if (!(entity instanceof AbstractSystemObject)) {
+			return; // e.g. FileContent
+		}
 		
+		final var object = (AbstractSystemObject) entity;
 		object.setOrderIndexes();
 		if (object.getCreatedOn() == null) {
 			object.setCreatedOn(new Date());
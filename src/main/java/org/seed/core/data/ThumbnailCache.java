@@ -0,0 +1,312 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.data;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.seed.C;
+import org.seed.InternalException;
+import org.seed.Seed;
+import org.seed.core.config.ApplicationProperties;
+import org.seed.core.config.SystemLog;
+import org.seed.core.util.Assert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FastByteArrayOutputStream;
+
+@Component
+public class ThumbnailCache {
+	
+	private static final Logger log = LoggerFactory.getLogger(ThumbnailCache.class);
+	
+	private static final int MAX_CACHED_THUMBNAILS = 1000;
+	
+	private static final int DEFAULT_MAX_FILES = 10000;
+	
+	private static final String FORMAT_PNG = "png";
+	
+	@Autowired
+	private ApplicationProperties applicationProperties;
+	
+	private Path cacheDir;	// application.properties thumbnail.cache.dir
+	
+	private int maxFiles;	// application.properties thumbnail.cache.max_files
+	
+	@SuppressWarnings("serial")
+	private final Map<String, byte[]> thumbnailMap = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+			return size() > MAX_CACHED_THUMBNAILS;
+		}
+	};
+	
+	@PostConstruct
+	private void init() {
+		final String propCacheDir = applicationProperties.getProperty(Seed.PROP_THUMBNAIL_CACHE_DIR);
+		if (propCacheDir == null) {
+			return;
+		}
+		
+		final String propMaxFiles = applicationProperties.getProperty(Seed.PROP_THUMBNAIL_CACHE_MAX_FILES);
+		initCacheDir(Paths.get(propCacheDir), 
+					 propMaxFiles != null ? Integer.parseInt(propMaxFiles) : DEFAULT_MAX_FILES);
+	}
+	
+	void initCacheDir(Path path, int maxFiles) {
+		Assert.notNull(path, C.PATH);
+		Assert.state(maxFiles > 0, "invalid max files: " + maxFiles);
+		
+		log.info("Enable thumbnail cache at {} (max. {} files)", path, maxFiles);
+		if (Files.isDirectory(path)) {
+			cacheDir = path;
+			this.maxFiles = maxFiles;
+		}
+		else {
+			log.warn("Location {} does not exist or is not a directory", path);
+		}
+	}
+	
+	// the key is unique for object version, field and width and can be used as etag,
+	// the version changes with every change of the object, so the image doesn't need to be hashed
+	public String getKey(SystemObject object, Long fieldId, int width) {
+		Assert.notNull(object, C.OBJECT);
+		Assert.notNull(fieldId, "fieldId");
+		Assert.state(!object.isNew(), "object is new");
+		
+		return object.getId() + "-" + object.getVersion() + '-' + fieldId + '-' + width;
+	}
+	
+	public byte[] getThumbnail(String key, byte[] image, int width) {
+		Assert.notNull(key, "key");
+		Assert.notNull(image, "image");
+		Assert.state(width > 0, "invalid width: " + width);
+		
+		byte[] thumbnail;
+		synchronized (thumbnailMap) {
+			thumbnail = thumbnailMap.get(key);
+		}
+		if (thumbnail == null) {
+			thumbnail = loadThumbnail(key);
+			if (thumbnail == null) {
+				thumbnail = createThumbnail(image, width);
+				saveThumbnail(key, thumbnail);
+			}
+			synchronized (thumbnailMap) {
+				thumbnailMap.put(key, thumbnail);
+			}
+		}
+		return thumbnail;
+	}
+	
+	// removes all thumbnails of an object field, e.g. after the object was deleted
+	public void removeThumbnails(Long objectId, Long fieldId) {
+		Assert.notNull(objectId, "objectId");
+		Assert.notNull(fieldId, "fieldId");
+		
+		final String prefix = objectId + "-";
+		final String suffix = "-" + fieldId + '-';
+		synchronized (thumbnailMap) {
+			thumbnailMap.keySet().removeIf(key -> key.startsWith(prefix) && key.contains(suffix));
+		}
+		if (cacheDir != null) {
+			listFiles(prefix + '*' + suffix + "*." + FORMAT_PNG).forEach(ThumbnailCache::deleteFile);
+		}
+	}
+	
+	// the cache dir would grow without limit because thumbnails of objects 
+	// deleted by set-based bulk operations are never removed,
+	// so the least recently used files are removed if there are too many
+	@Scheduled(fixedRate = 3600000)
+	void pruneCacheDir() {
+		if (cacheDir == null) {
+			return;
+		}
+		final List<Path> files = listFiles("*." + FORMAT_PNG);
+		if (files.size() > maxFiles) {
+			files.sort(Comparator.comparingLong(file -> file.toFile().lastModified()));
+			files.subList(0, files.size() - maxFiles).forEach(ThumbnailCache::deleteFile);
+		}
+	}
+	
+	public static byte[] createThumbnail(byte[] bytes, int thumbnailWidth) {
+		Assert.notNull(bytes, "bytes");
+		
+		final BufferedImage image = readImage(bytes, thumbnailWidth);
+		final double ratio = ((double) thumbnailWidth) / image.getWidth(); 
+		final int thumbnailHeight = Math.max(1, (int) (image.getHeight() * ratio));
+		return getBytes(scale(image, thumbnailWidth, thumbnailHeight));
+	}
+	
+	// halves the size in bilinear steps until the target size is reached,
+	// which is much faster than area averaging and looks nearly the same
+	private static BufferedImage scale(BufferedImage image, int width, int height) {
+		BufferedImage result = image;
+		int currentWidth = image.getWidth();
+		int currentHeight = image.getHeight();
+		do {
+			currentWidth = Math.max(currentWidth / 2, width);
+			currentHeight = Math.max(currentHeight / 2, height);
+			final BufferedImage scaled = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+			final Graphics2D g2d = scaled.createGraphics();
+			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g2d.drawImage(result, 0, 0, currentWidth, currentHeight, null);
+			g2d.dispose();
+			result = scaled;
+		}
+		while (currentWidth != width || currentHeight != height);
+		return result;
+	}
+	
+	// large images are subsampled while decoding
+	private static BufferedImage readImage(byte[] bytes, int thumbnailWidth) {
+		try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+			final var readers = ImageIO.getImageReaders(stream);
+			if (!readers.hasNext()) {
+				throw new IOException("unsupported image format");
+			}
+			final ImageReader reader = readers.next();
+			try {
+				reader.setInput(stream, true, true);
+				final ImageReadParam param = reader.getDefaultReadParam();
+				final int subsampling = reader.getWidth(0) / (thumbnailWidth * 2);
+				if (subsampling > 1) {
+					param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				}
+				return reader.read(0, param);
+			}
+			finally {
+				reader.dispose();
+			}
+		}
+		catch (IOException ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
+	}
+	
+	private byte[] loadThumbnail(String key) {
+		if (cacheDir != null) {
+			final Path path = cacheDir.resolve(key + '.' + FORMAT_PNG);
+			if (Files.exists(path)) {
+				try {
+					// the modification time marks the last use for pruning
+					Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+					return Files.readAllBytes(path);
+				}
+				catch (IOException ex) {
+					log.warn("Failed to read thumbnail {}", path, ex);
+				}
+			}
+		}
+		return null;
+	}
+	
+	private void saveThumbnail(String key, byte[] thumbnail) {
+		if (cacheDir != null) {
+			final Path path = cacheDir.resolve(key + '.' + FORMAT_PNG);
+			Path tempFile = null;
+			try {
+				tempFile = Files.createTempFile(cacheDir, null, ".tmp");
+				Files.write(tempFile, thumbnail);
+				Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				removeOutdatedThumbnails(key);
+			}
+			catch (IOException ex) {
+				log.warn("Failed to write thumbnail {}", path, ex);
+				deleteTempFile(tempFile);
+			}
+		}
+	}
+	
+	// the thumbnails of older object versions are never requested again
+	private void removeOutdatedThumbnails(String key) {
+		// key = id-version-fieldId-width
+		final String[] parts = key.split("-");
+		final int version = Integer.parseInt(parts[1]);
+		listFiles(parts[0] + "-*-" + parts[2] + '-' + parts[3] + '.' + FORMAT_PNG)
+			.stream().filter(file -> getVersion(file) < version)
+			.forEach(ThumbnailCache::deleteFile);
+	}
+	
+	private List<Path> listFiles(String glob) {
+		final List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, glob)) {
+			stream.forEach(files::add);
+		}
+		catch (IOException ex) {
+			log.warn("Failed to list thumbnails in {}", cacheDir, ex);
+		}
+		return files;
+	}
+	
+	private static int getVersion(Path file) {
+		return Integer.parseInt(file.getFileName().toString().split("-")[1]);
+	}
+	
+	private static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			log.warn("Failed to delete {}", file);
+		}
+	}
+	
+	private static void deleteTempFile(Path tempFile) {
+		if (tempFile != null) {
+			deleteFile(tempFile);
+		}
+	}
+	
+	private static byte[] getBytes(BufferedImage image) {
+		try (FastByteArrayOutputStream baos = new FastByteArrayOutputStream()) {
+			ImageIO.write(image, FORMAT_PNG, baos);
+			return baos.toByteArray(); 
+		} 
+		catch (IOException ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
+	}
+	
+}
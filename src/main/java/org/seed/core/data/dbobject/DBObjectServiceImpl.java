@@ -33,6 +33,7 @@ import org.seed.core.application.module.ImportAnalysis;
 import org.seed.core.application.module.Module;
 import org.seed.core.application.module.TransferContext;
 import org.seed.core.config.changelog.ChangeLog;
+import org.seed.core.config.changelog.ModuleChangeLog;
 import org.seed.core.data.AbstractSystemObject;
 import org.seed.core.data.SystemEntity;
 import org.seed.core.data.ValidationException;
@@ -178,10 +179,7 @@ public class DBObjectServiceImpl extends AbstractApplicationEntityService<DBObje
 							Integer.compare(dbObject1.getOrder() != null ? dbObject1.getOrder() : 0, 
 											dbObject2.getOrder() != null ? dbObject2.getOrder() : 0));
 		for (DBObject dbObject : newObjects) {
-			final ChangeLog changeLog = createChangeLog(null, dbObject);
-			if (changeLog != null) {
-				session.saveOrUpdate(changeLog);
-			}
+			createChangeLog(null, dbObject, context.getChangeLog());
 		}
 		
 		final var existingObjects = new ArrayList<DBObject>(context.getExistingDBObjects());
@@ -190,10 +188,7 @@ public class DBObjectServiceImpl extends AbstractApplicationEntityService<DBObje
 												dbObject2.getOrder() != null ? dbObject2.getOrder() : 0));
 		for (DBObject dbObject : existingObjects) {
 			final DBObject currentVersionObject = context.getCurrentVersionDBObject(dbObject.getUid());
-			final ChangeLog changeLog = createChangeLog(currentVersionObject, dbObject);
-			if (changeLog != null) {
-				session.saveOrUpdate(changeLog);
-			}
+			createChangeLog(currentVersionObject, dbObject, context.getChangeLog());
 		}
 	}
 	
@@ -272,10 +267,16 @@ public class DBObjectServiceImpl extends AbstractApplicationEntityService<DBObje
 	}
 	
 	private static ChangeLog createChangeLog(DBObject currentVersionObject, DBObject nextVersionObject) {
-		return new DBObjectChangeLogBuilder()
-						.setCurrentVersionObject(currentVersionObject)
-						.setNextVersionObject(nextVersionObject)
-						.build();
+		return createChangeLog(currentVersionObject, nextVersionObject, null);
+	}
+	
+	private static ChangeLog createChangeLog(DBObject currentVersionObject, DBObject nextVersionObject,
+											 ModuleChangeLog moduleChangeLog) {
+		final var builder = new DBObjectChangeLogBuilder();
+		builder.setModuleChangeLog(moduleChangeLog);
+		return builder.setCurrentVersionObject(currentVersionObject)
+					  .setNextVersionObject(nextVersionObject)
+					  .build();
 	}
 	
 }
@@ -39,8 +39,8 @@ import org.hibernate.envers.RevisionTimestamp;
 public class RevisionEntity implements Revision {
 	
 	@Id
-	@SequenceGenerator(name="seqGen", sequenceName="seed_id_seq", initialValue=1000, allocationSize=1)
-	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="seqGen")
+	@SequenceGenerator(name="revisionSeqGen", sequenceName="seed_revision_seq", initialValue=1000, allocationSize=1)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="revisionSeqGen")
 	@RevisionNumber
 	private int id;
 
@@ -0,0 +1,63 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.data.revision;
+
+import java.util.Date;
+
+public final class RevisionSummary implements Revision {
+	
+	private final int id;
+	
+	private final long revisiontime;
+	
+	private final String author;
+	
+	public RevisionSummary(int id, long revisiontime, String author) {
+		this.id = id;
+		this.revisiontime = revisiontime;
+		this.author = author;
+	}
+	
+	@Override
+	public int getId() {
+		return id;
+	}
+	
+	@Override
+	public Date getRevisionDate() {
+		return new Date(revisiontime);
+	}
+	
+	@Override
+	public String getAuthor() {
+		return author;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this ||
+				(obj instanceof RevisionSummary && 
+				 getId() == ((RevisionSummary) obj).getId());
+	}
+	
+	@Override
+	public int hashCode() {
+		return Integer.valueOf(id).hashCode();
+	}
+	
+}
@@ -35,6 +35,10 @@ public interface Entity
 	
 	boolean isAudited();
 	
+	boolean isCached();
+	
+	boolean hasCacheSettings();
+	
 	boolean hasFields();
 	
 	boolean hasAllFields(); // includes generic fields
@@ -75,6 +79,12 @@ public interface Entity
 	
 	String getDefaultIdentifierPattern();
 	
+	Integer getCacheHeapEntries();
+	
+	Integer getCacheOffHeapSize();
+	
+	Integer getCacheTimeToLive();
+	
 	Entity getGenericEntity();
 	
 	List<EntityField> getFields();
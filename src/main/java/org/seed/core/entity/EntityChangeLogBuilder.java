@@ -30,6 +30,7 @@ import org.seed.core.config.DatabaseInfo;
 import org.seed.core.config.Limits;
 import org.seed.core.config.changelog.AbstractChangeLogBuilder;
 import org.seed.core.config.changelog.ChangeLog;
+import org.seed.core.config.changelog.OnlineSchemaChanges;
 import org.seed.core.data.FieldType;
 import org.seed.core.data.FileObject;
 import org.seed.core.data.SystemField;
@@ -55,6 +56,7 @@ import liquibase.change.core.DropNotNullConstraintChange;
 import liquibase.change.core.DropTableChange;
 import liquibase.change.core.DropUniqueConstraintChange;
 import liquibase.change.core.ModifyDataTypeChange;
+import liquibase.change.core.RawSQLChange;
 import liquibase.change.core.RenameColumnChange;
 import liquibase.change.core.RenameTableChange;
 
@@ -64,10 +66,15 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 	private static final String PREFIX_FOREIGN_KEY = "fk_";
 	private static final String PREFIX_UNIQUE_KEY  = "uni_";
 	private static final String PREFIX_INDEX       = "idx_";
+	private static final String PREFIX_CHECK       = "chk_";
 	private static final String SUFFIX_STATUS      = "_status";
 	private static final String SUFFIX_AUDIT       = "_aud";
 	private static final String SUFFIX_REV         = "_rev";
 	
+	private static final String DBMS_POSTGRES = "postgresql";
+	
+	private static final int BACKFILL_BATCH_SIZE = 10000;
+	
 	private final EntityUsage entityUsage;
 	
 	private final DatabaseInfo databaseInfo;
@@ -422,6 +429,10 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		Assert.notNull(entity, C.ENTITY);
 		Assert.notNull(field, C.FIELD);
 		
+		if (isOnlineChange(OnlineSchemaChanges.MIN_VERSION_NOT_NULL_BY_CHECK)) {
+			addOnlineMandatoryConstraintChanges(entity, field);
+			return;
+		}
 		final var addNotNullConstraintChange = new AddNotNullConstraintChange();
 		addNotNullConstraintChange.setTableName(entity.getEffectiveTableName());
 		addNotNullConstraintChange.setColumnName(field.getEffectiveColumnName());
@@ -460,6 +471,10 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		Assert.notNull(entity, C.ENTITY);
 		Assert.notNull(fields, "fields");
 		
+		if (isOnlineChange(OnlineSchemaChanges.MIN_VERSION_CONCURRENT)) {
+			addOnlineUniqueConstraintChanges(entity, fields);
+			return;
+		}
 		final var addUniqueConstraintChange = new AddUniqueConstraintChange();
 		addUniqueConstraintChange.setTableName(entity.getEffectiveTableName());
 		addUniqueConstraintChange.setConstraintName(getUniqueConstraintName(entity, fields[0]));
@@ -515,13 +530,60 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		
 		final var columnConfig = new AddColumnConfig();
 		initColumn(columnConfig, entity, field, isAuditTable);
+		// adding a column with a constant default is metadata-only on postgres 11+,
+		// only the unique index is built concurrently
+		final boolean isOnlineUnique = !isAuditTable && field.isUnique() && 
+									   isOnlineChange(OnlineSchemaChanges.MIN_VERSION_CONCURRENT);
+		if (isOnlineUnique) {
+			columnConfig.getConstraints().setUnique((Boolean) null);
+			columnConfig.getConstraints().setUniqueConstraintName(null);
+		}
 		addChange(createAddColumnChange(entity, columnConfig, isAuditTable));
+		if (isOnlineUnique) {
+			addOnlineUniqueConstraintChanges(entity, field);
+		}
 		if (!isAuditTable && 
 			(field.getType().isReference() || field.getType().isFile() || field.isIndexed())) {
 			addFieldConstraintsAndIndex(entity, field);
 		}
 	}
 	
+	// a validated check constraint lets postgres set not null without scanning the table
+	private void addOnlineMandatoryConstraintChanges(Entity entity, EntityField field) {
+		final String tableName = entity.getEffectiveTableName();
+		final String columnName = field.getEffectiveColumnName();
+		final String defaultValue = getDefaultValueLiteral(field);
+		if (defaultValue != null) {
+			addOnlineSql(OnlineSchemaChanges.backfill(tableName, columnName, SystemField.ID.columName, 
+													  defaultValue, BACKFILL_BATCH_SIZE));
+		}
+		addOnlineSql(OnlineSchemaChanges.setNotNull(tableName, columnName, 
+													getCheckConstraintName(entity, field)));
+	}
+	
+	private void addOnlineUniqueConstraintChanges(Entity entity, EntityField ...fields) {
+		addOnlineSql(OnlineSchemaChanges.addUniqueConstraint(getUniqueConstraintName(entity, fields[0]), 
+															 entity.getEffectiveTableName(), 
+															 createColumnNameList(fields)));
+	}
+	
+	private void addOnlineSql(List<String> statements) {
+		statements.forEach(this::addOnlineSql);
+	}
+	
+	private void addOnlineSql(String sql) {
+		final var sqlChange = new RawSQLChange(sql);
+		sqlChange.setDbms(DBMS_POSTGRES);
+		sqlChange.setSplitStatements(Boolean.FALSE);
+		addOnlineChange(sqlChange);
+	}
+	
+	// on postgres, changes to tables that contain data are made without blocking writes,
+	// if the server version supports the online variant
+	private boolean isOnlineChange(int minPostgresVersion) {
+		return existValueObjects && databaseInfo.isPostgres(minPostgresVersion);
+	}
+	
 	private void buildRelationChanges() {
 		filterAndForEach(currentVersionObject.getAllRelations(), 
 						 rel -> nextVersionObject.getRelationByUid(rel.getUid()) == null, 
@@ -850,6 +912,12 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		Assert.notNull(entity, C.ENTITY);
 		Assert.notNull(field, C.FIELD);
 		
+		if (isOnlineChange(OnlineSchemaChanges.MIN_VERSION_CONCURRENT)) {
+			addOnlineSql(OnlineSchemaChanges.createIndex(getIndexName(entity, field), 
+														 entity.getEffectiveTableName(), 
+														 field.getEffectiveColumnName()));
+			return;
+		}
 		final var createIndexChange = new CreateIndexChange();
 		createIndexChange.setTableName(entity.getEffectiveTableName());
 		createIndexChange.setIndexName(getIndexName(entity, field));
@@ -866,7 +934,11 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		Assert.notNull(field, C.FIELD);
 		
 		// reference / file field
-		if (field.getType().isReference() || field.getType().isFile()) {
+		if ((field.getType().isReference() || field.getType().isFile()) && 
+			isOnlineChange(OnlineSchemaChanges.MIN_VERSION_CONCURRENT)) {
+			addOnlineForeignKeyChanges(entity, field);
+		}
+		else if (field.getType().isReference() || field.getType().isFile()) {
 			final var addFKConstraintChange = new AddForeignKeyConstraintChange();
 			addFKConstraintChange.setConstraintName(getForeignKeyConstraintName(entity, field));
 			addFKConstraintChange.setBaseTableName(entity.getEffectiveTableName());
@@ -887,6 +959,16 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		}
 	}
 	
+	private void addOnlineForeignKeyChanges(Entity entity, EntityField field) {
+		final String referencedTableName = field.getType().isReference()
+											? field.getReferenceEntity().getEffectiveTableName()
+											: FileObject.class.getAnnotation(Table.class).name();
+		addOnlineSql(OnlineSchemaChanges.addForeignKey(getForeignKeyConstraintName(entity, field), 
+													   entity.getEffectiveTableName(), 
+													   field.getEffectiveColumnName(), 
+													   referencedTableName, SystemField.ID.columName));
+	}
+	
 	private void addRelationConstraints(EntityRelation relation) {
 		Assert.notNull(relation, C.RELATION);
 		
@@ -966,10 +1048,35 @@ class EntityChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
 		return PREFIX_INDEX.concat(getConstraintKey(entity, field));
 	}
 	
+	private static String getCheckConstraintName(Entity entity, EntityField field) {
+		return PREFIX_CHECK.concat(getConstraintKey(entity, field));
+	}
+	
 	private static String getStatusIndexName(Entity entity) {
 		return PREFIX_INDEX + TinyId.get(entity.getId()) + SUFFIX_STATUS;
 	}
 	
+	private static String getDefaultValueLiteral(EntityField field) {
+		if (field.getType().isBoolean()) {
+			return Boolean.FALSE.toString();
+		}
+		if (field.getDefaultString() != null) {
+			return OnlineSchemaChanges.stringLiteral(field.getDefaultString());
+		}
+		if (field.getDefaultNumber() != null) {
+			return field.getDefaultNumber().toString();
+		}
+		if (field.getDefaultDate() != null) {
+			return field.getType().isDate() 
+					? OnlineSchemaChanges.dateLiteral(field.getDefaultDate()) 
+					: OnlineSchemaChanges.timestampLiteral(field.getDefaultDate());
+		}
+		if (field.getDefaultObject() != null) {
+			return field.getDefaultObject().getId().toString();
+		}
+		return null;
+	}
+	
 	private static ConstraintsConfig notNullConstraint() {
 		return new ConstraintsConfig().setNullable(Boolean.FALSE);
 	}
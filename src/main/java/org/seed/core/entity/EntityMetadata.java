@@ -147,6 +147,12 @@ public class EntityMetadata extends AbstractApplicationEntity
 	
 	private boolean isAudited;
 	
+	private Integer cacheHeapEntries;
+	
+	private Integer cacheOffHeapSize; // MB
+	
+	private Integer cacheTimeToLive; // seconds
+	
 	@Transient
 	private String genericEntityUid;
 	
@@ -155,6 +161,9 @@ public class EntityMetadata extends AbstractApplicationEntity
 	
 	@Transient
 	private EntityField uidField;
+	
+	@Transient
+	private List<EntityField> snapshotFields;
 
 	@Override
 	@XmlAttribute
@@ -246,6 +255,48 @@ public class EntityMetadata extends AbstractApplicationEntity
 	public void setIdentifierPattern(String identifierPattern) {
 		this.identifierPattern = identifierPattern;
 	}
+	
+	@Override
+	@XmlAttribute
+	public Integer getCacheHeapEntries() {
+		return cacheHeapEntries;
+	}
+
+	public void setCacheHeapEntries(Integer cacheHeapEntries) {
+		this.cacheHeapEntries = cacheHeapEntries;
+	}
+	
+	@Override
+	@XmlAttribute
+	public Integer getCacheOffHeapSize() {
+		return cacheOffHeapSize;
+	}
+
+	public void setCacheOffHeapSize(Integer cacheOffHeapSize) {
+		this.cacheOffHeapSize = cacheOffHeapSize;
+	}
+	
+	@Override
+	@XmlAttribute
+	public Integer getCacheTimeToLive() {
+		return cacheTimeToLive;
+	}
+
+	public void setCacheTimeToLive(Integer cacheTimeToLive) {
+		this.cacheTimeToLive = cacheTimeToLive;
+	}
+	
+	@Override
+	public boolean hasCacheSettings() {
+		return cacheHeapEntries != null || cacheOffHeapSize != null || cacheTimeToLive != null;
+	}
+	
+	// master data is always cached, other entities only if configured
+	@Override
+	@JsonIgnore
+	public boolean isCached() {
+		return !isGeneric && (isTransferable || hasCacheSettings());
+	}
 
 	@Override
 	public Date getLastModified() {
@@ -281,6 +332,9 @@ public class EntityMetadata extends AbstractApplicationEntity
 	@Override
 	@JsonIgnore
 	public List<EntityField> getAllFields() {
+		if (snapshotFields != null) {
+			return snapshotFields;
+		}
 		final List<EntityField> result = new ArrayList<>();
 		if (genericEntity != null && genericEntity.hasFields()) {
 			result.addAll(genericEntity.getFields());
@@ -291,6 +345,12 @@ public class EntityMetadata extends AbstractApplicationEntity
 		return result;
 	}
 	
+	// entities of a metadata snapshot are never modified,
+	// so their field list is built only once and shared
+	public void initSnapshotFields() {
+		snapshotFields = List.copyOf(getAllFields());
+	}
+	
 	// includes generic fields
 	@Override
 	public List<EntityField> getAllFieldsByGroup(EntityFieldGroup fieldGroup) {
@@ -943,6 +1003,9 @@ public class EntityMetadata extends AbstractApplicationEntity
 				.append(isGeneric, otherEntity.isGeneric())
 				.append(isTransferable, otherEntity.isTransferable())
 				.append(isAudited, otherEntity.isAudited())
+				.append(cacheHeapEntries, otherEntity.getCacheHeapEntries())
+				.append(cacheOffHeapSize, otherEntity.getCacheOffHeapSize())
+				.append(cacheTimeToLive, otherEntity.getCacheTimeToLive())
 				.isEquals()) {
 			return false;
 		}
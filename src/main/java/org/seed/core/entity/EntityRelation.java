@@ -56,6 +56,10 @@ public class EntityRelation extends AbstractOrderedTransferableObject {
 	
 	private String name;
 	
+	private Integer fetchBatchSize;
+	
+	private boolean isFetchSubselect;
+	
 	@Transient
 	@JsonIgnore
 	private String relatedEntityUid;
@@ -86,6 +90,24 @@ public class EntityRelation extends AbstractOrderedTransferableObject {
 	public void setName(String name) {
 		this.name = name;
 	}
+	
+	@XmlAttribute
+	public Integer getFetchBatchSize() {
+		return fetchBatchSize;
+	}
+
+	public void setFetchBatchSize(Integer fetchBatchSize) {
+		this.fetchBatchSize = fetchBatchSize;
+	}
+	
+	@XmlAttribute
+	public boolean isFetchSubselect() {
+		return isFetchSubselect;
+	}
+
+	public void setFetchSubselect(boolean fetchSubselect) {
+		this.isFetchSubselect = fetchSubselect;
+	}
 
 	@XmlAttribute
 	public String getRelatedEntityUid() {
@@ -139,6 +161,8 @@ public class EntityRelation extends AbstractOrderedTransferableObject {
 			.append(getOrder(), otherRelation.getOrder())
 			.append(name, otherRelation.getName())
 			.append(relatedEntityUid, otherRelation.getRelatedEntityUid())
+			.append(fetchBatchSize, otherRelation.getFetchBatchSize())
+			.append(isFetchSubselect, otherRelation.isFetchSubselect())
 			.isEquals();
 	}
 	
@@ -17,18 +17,26 @@
  */
 package org.seed.core.entity;
 
+import static org.seed.core.util.CollectionUtils.firstMatch;
+
 import java.util.List;
 
 import org.hibernate.Session;
 
 import org.seed.C;
 import org.seed.core.application.AbstractRestController;
+import org.seed.core.config.CacheRegionStatistic;
 import org.seed.core.config.OpenSessionInViewFilter;
+import org.seed.core.config.ReadFromReplica;
+import org.seed.core.config.SessionProvider;
+import org.seed.core.data.ValidationException;
+import org.seed.core.user.Authorisation;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -43,6 +51,12 @@ public class EntityRestController extends AbstractRestController<Entity> {
 	@Autowired
 	private EntityService entityService;
 	
+	@Autowired
+	private SessionProvider sessionProvider;
+	
+	@Autowired
+	private IndexAdvisor indexAdvisor;
+	
 	@Override
 	protected EntityService getService() {
 		return entityService;
@@ -51,6 +65,7 @@ public class EntityRestController extends AbstractRestController<Entity> {
 	@Override
 	@ApiOperation(value = "getAllEntities", notes = "returns a list of all authorized entities")
 	@GetMapping
+	@ReadFromReplica
 	public List<Entity> getAll(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session) {
 		return getAll(session, entity -> checkPermissions(session, entity, EntityAccess.READ));
 	}
@@ -58,6 +73,7 @@ public class EntityRestController extends AbstractRestController<Entity> {
 	@Override
 	@ApiOperation(value = "getEntityById", notes = "returns the entity with the given id")
 	@GetMapping(value = "/{id}")
+	@ReadFromReplica
 	public Entity get(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 					  @PathVariable(C.ID) Long id) {
 		final Entity entity = super.get(session, id);
@@ -66,5 +82,44 @@ public class EntityRestController extends AbstractRestController<Entity> {
 		}
 		return entity;
 	}
+	
+	@ApiOperation(value = "getCacheStatistics", notes = "returns hit, miss and eviction statistics of every cache region")
+	@GetMapping(value = "/cachestatistics")
+	public List<CacheRegionStatistic> getCacheStatistics(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session) {
+		if (!isAuthorised(session, Authorisation.SYSTEMINFO)) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+		}
+		return sessionProvider.getCacheRegionStatistics();
+	}
+	
+	@ApiOperation(value = "getIndexRecommendations", notes = "returns fields without index that are used by filters, sorting or joins")
+	@GetMapping(value = "/indexrecommendations")
+	public List<IndexRecommendation> getIndexRecommendations(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session) {
+		if (!isAuthorised(session, Authorisation.SYSTEMINFO)) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+		}
+		return indexAdvisor.getRecommendations();
+	}
+	
+	@ApiOperation(value = "createIndex", notes = "creates the recommended index for the field with the given id")
+	@PostMapping(value = "/indexrecommendations/{id}")
+	public IndexRecommendation createIndex(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
+										   @PathVariable(C.ID) Long fieldId) {
+		if (!isAuthorised(session, Authorisation.ADMIN_ENTITY)) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+		}
+		final IndexRecommendation recommendation = firstMatch(indexAdvisor.getRecommendations(), 
+															  rec -> rec.getFieldId().equals(fieldId));
+		if (recommendation == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, C.FIELD + ' ' + fieldId);
+		}
+		try {
+			indexAdvisor.createIndex(recommendation);
+		}
+		catch (ValidationException vex) {
+			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, vex.getMessage());
+		}
+		return recommendation;
+	}
 
 }
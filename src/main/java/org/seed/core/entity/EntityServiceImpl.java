@@ -19,9 +19,7 @@ package org.seed.core.entity;
 
 import static org.seed.core.util.CollectionUtils.*;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -45,7 +43,7 @@ import org.seed.core.config.Limits;
 import org.seed.core.config.SchemaManager;
 import org.seed.core.config.SchemaVersion;
 import org.seed.core.config.changelog.ChangeLog;
-import org.seed.core.config.changelog.ReferenceChangeLog;
+import org.seed.core.config.changelog.ModuleChangeLog;
 import org.seed.core.data.AbstractSystemObject;
 import org.seed.core.data.FieldType;
 import org.seed.core.data.Options;
@@ -627,30 +625,18 @@ public class EntityServiceImpl extends AbstractApplicationEntityService<Entity>
 		Assert.notNull(context, C.CONTEXT);
 		Assert.notNull(session, C.SESSION);
 		
-		final var referenceChangeLog = new ReferenceChangeLog();
-		final var changeLogs = new ArrayList<ChangeLog>();
+		// changes are collected by the module changelog
 		for (Entity entity : context.getNewEntities()) {
 			if (!entity.isGeneric()) {
-				final ChangeLog changeLog = createChangeLog(null, entity, session, referenceChangeLog);
-				if (changeLog != null) {
-					changeLogs.add(changeLog);
-				}
+				createChangeLog(null, entity, session, context.getChangeLog());
 			}
 		}
 		for (Entity entity : context.getExistingEntities()) {
 			if (!entity.isGeneric()) {
 				final Entity currentVersionEntity = context.getCurrentVersionEntity(entity.getUid());
-				final ChangeLog changeLog = createChangeLog(currentVersionEntity, entity, session, referenceChangeLog);
-				if (changeLog != null) {
-					changeLogs.add(changeLog);
-				}
+				createChangeLog(currentVersionEntity, entity, session, context.getChangeLog());
 			}
 		}
-		changeLogs.sort(changeLogComparator);
-		if (!referenceChangeLog.isEmpty()) {
-			changeLogs.add(referenceChangeLog.build());
-		}
-		changeLogs.forEach(session::saveOrUpdate);
 	}
 	
 	@Override
@@ -1236,11 +1222,11 @@ public class EntityServiceImpl extends AbstractApplicationEntityService<Entity>
 	}
 	
 	private ChangeLog createChangeLog(Entity currentVersionEntity, Entity nextVersionEntity,
-									  Session session, @Nullable ReferenceChangeLog referenceChangeLog) {
+									  Session session, @Nullable ModuleChangeLog moduleChangeLog) {
 		final var builder = new EntityChangeLogBuilder(schemaManager.getDatabaseInfo(), limits);
 		builder.setCurrentVersionObject(currentVersionEntity);
 		builder.setNextVersionObject(nextVersionEntity);
-		builder.setReferenceChangeLog(referenceChangeLog);
+		builder.setModuleChangeLog(moduleChangeLog);
 		// generic
 		if (currentVersionEntity != null && currentVersionEntity.isGeneric()) {
 			builder.setDescendants(findDescendants(currentVersionEntity, session));
@@ -1284,17 +1270,6 @@ public class EntityServiceImpl extends AbstractApplicationEntityService<Entity>
 		return permission;
 	}
 	
-	private static final Comparator<ChangeLog> changeLogComparator = new Comparator<>() {
-		@Override
-		public int compare(ChangeLog changeLog1, ChangeLog changeLog2) {
-			return Integer.compare(getPriority(changeLog1), getPriority(changeLog2));
-		}
-		
-		private int getPriority(ChangeLog changeLog) {
-			return changeLog.getChangeSet().contains("createTable") ? 1 : 2;
-		}
-	};
-	
 	// mask table and column names that equals SQL keywords
 	private class SchemaUpdateHandler0933 {
 		
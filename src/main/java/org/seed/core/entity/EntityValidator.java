@@ -84,6 +84,11 @@ public class EntityValidator extends AbstractSystemEntityValidator<Entity> {
 			errors.addOverlongField("label.identifier", getMaxNameLength());
 		}
 		
+		// cache
+		validatePositiveValue("label.cacheheapentries", entity.getCacheHeapEntries(), errors);
+		validatePositiveValue("label.cacheoffheapsize", entity.getCacheOffHeapSize(), errors);
+		validatePositiveValue("label.cachetimetolive", entity.getCacheTimeToLive(), errors);
+		
 		// field groups
 		if (entity.hasFieldGroups()) {
 			validateFieldGroups(entity, errors);
@@ -380,6 +385,12 @@ public class EntityValidator extends AbstractSystemEntityValidator<Entity> {
 		}
 	}
 	
+	private static void validatePositiveValue(String fieldLabelKey, Integer value, final ValidationErrors errors) {
+		if (value != null && value <= 0) {
+			errors.addIllegalField(fieldLabelKey, value.toString());
+		}
+	}
+	
 	private void validateTableName(Entity entity, final ValidationErrors errors) {
 		if (entity.getTableName() != null) {
 			if (!entity.getTableName().equals(NameUtils.getInternalName(entity.getTableName())) ||
@@ -529,6 +540,7 @@ public class EntityValidator extends AbstractSystemEntityValidator<Entity> {
 			if (isEmpty(nested.getReferenceField())) {
 				errors.addEmptyField("label.reffield");
 			}
+			validatePositiveValue("label.fetchbatchsize", nested.getFetchBatchSize(), errors);
 		}
 	}
 	
@@ -551,6 +563,7 @@ public class EntityValidator extends AbstractSystemEntityValidator<Entity> {
 			if (isEmpty(relation.getRelatedEntity())) {
 				errors.addEmptyField("label.relatedentity");
 			}
+			validatePositiveValue("label.fetchbatchsize", relation.getFetchBatchSize(), errors);
 		}
 	}
 	
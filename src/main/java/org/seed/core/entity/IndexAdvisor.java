@@ -0,0 +1,235 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.seed.C;
+import org.seed.Seed;
+import org.seed.core.application.MetadataProvider;
+import org.seed.core.config.ApplicationProperties;
+import org.seed.core.config.SessionProvider;
+import org.seed.core.data.Sort;
+import org.seed.core.data.ValidationException;
+import org.seed.core.entity.QueryPattern.FieldUsage;
+import org.seed.core.entity.QueryPattern.UsageType;
+import org.seed.core.entity.filter.Filter;
+import org.seed.core.entity.filter.FilterCriterion;
+import org.seed.core.util.Assert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Records the fields used by filter and sort queries and recommends indexes 
+ * for fields without index, based on the hibernate query statistics.
+ */
+@Component
+public class IndexAdvisor {
+	
+	private static final Logger log = LoggerFactory.getLogger(IndexAdvisor.class);
+	
+	private static final int DEFAULT_SLOW_QUERY_TIME = 500; // ms
+	
+	private static final int MAX_QUERY_PATTERNS = 1000;
+	
+	@Autowired
+	private ApplicationProperties applicationProperties;
+	
+	@Autowired
+	private SessionProvider sessionProvider;
+	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
+	// query patterns by key
+	private final Map<String, QueryPattern> queryPatterns = new ConcurrentHashMap<>();
+	
+	private Integer slowQueryTime;
+	
+	// query strings are only requested for unknown patterns
+	public void recordQuery(Entity entity, @Nullable Filter filter, 
+							Sort[] sorts, Supplier<List<String>> queryStringSupplier) {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(queryStringSupplier, "queryStringSupplier");
+		
+		if ((filter == null || !filter.hasCriteria()) && ObjectUtils.isEmpty(sorts)) {
+			return;
+		}
+		final String key = createKey(entity, filter, sorts);
+		QueryPattern pattern = queryPatterns.get(key);
+		if (pattern == null) {
+			if (queryPatterns.size() >= MAX_QUERY_PATTERNS) {
+				return;
+			}
+			pattern = queryPatterns.computeIfAbsent(key, k -> createPattern(entity, filter, sorts, 
+																			queryStringSupplier.get()));
+		}
+		pattern.incUsageCount();
+	}
+	
+	public List<QueryPattern> getQueryPatterns() {
+		return getQueryPatterns(sessionProvider.getStatistics());
+	}
+	
+	// statistics of queries that only differ in literal values are aggregated
+	public List<QueryPattern> getQueryPatterns(Statistics statistics) {
+		Assert.notNull(statistics, "statistics");
+		
+		final var statisticsMap = new HashMap<String, List<QueryStatistics>>();
+		for (String queryString : statistics.getQueries()) {
+			statisticsMap.computeIfAbsent(QueryPattern.normalizeQuery(queryString), key -> new ArrayList<>())
+						 .add(statistics.getQueryStatistics(queryString));
+		}
+		final var patterns = new ArrayList<QueryPattern>(queryPatterns.values());
+		patterns.forEach(pattern -> pattern.updateStatistics(statisticsMap));
+		patterns.sort(Comparator.comparingLong(QueryPattern::getExecutionTime).reversed());
+		return patterns;
+	}
+	
+	public boolean isSlow(QueryPattern pattern) {
+		Assert.notNull(pattern, "pattern");
+		
+		return pattern.getMaxExecutionTime() >= getSlowQueryTime();
+	}
+	
+	public List<IndexRecommendation> getRecommendations() {
+		final var snapshot = metadataProvider.getSnapshot();
+		final var mapRecommendations = new HashMap<Long, IndexRecommendation>();
+		for (QueryPattern pattern : getQueryPatterns()) {
+			final boolean isSlow = isSlow(pattern);
+			for (FieldUsage usage : pattern.getFieldUsages()) {
+				final Entity entity = snapshot.getEntityById(usage.entityId);
+				final EntityField field = entity != null ? entity.getFieldById(usage.fieldId) : null;
+				if (field != null && !field.isIndexed() && !field.isUnique() && !field.isCalculated()) {
+					mapRecommendations.computeIfAbsent(field.getId(), id -> new IndexRecommendation(field))
+									  .addUsage(pattern, usage.type, isSlow);
+				}
+			}
+		}
+		final var recommendations = new ArrayList<IndexRecommendation>(mapRecommendations.values());
+		recommendations.sort(Comparator.comparing(IndexRecommendation::isSlow)
+									   .thenComparingLong(IndexRecommendation::getExecutionTime)
+									   .thenComparingLong(IndexRecommendation::getUsageCount)
+									   .reversed());
+		return recommendations;
+	}
+	
+	// sets the field to indexed, the index is created by the entity changelog
+	public void createIndex(IndexRecommendation recommendation) throws ValidationException {
+		Assert.notNull(recommendation, "recommendation");
+		
+		final EntityService entityService = Seed.getBean(EntityService.class);
+		final Entity entity = entityService.getObject(recommendation.getEntityId());
+		Assert.stateAvailable(entity, C.ENTITY + ' ' + recommendation.getEntityName());
+		final EntityField field = entity.getFieldById(recommendation.getFieldId());
+		Assert.stateAvailable(field, C.FIELD + ' ' + recommendation.getFieldName());
+		if (!field.isIndexed()) {
+			log.info("Create index for {}.{}", entity.getName(), field.getName());
+			field.setIndexed(true);
+			entityService.saveObject(entity);
+		}
+	}
+	
+	private int getSlowQueryTime() {
+		if (slowQueryTime == null) {
+			final Integer propSlowQueryTime = applicationProperties.getIntegerProperty(Seed.PROP_INDEX_SLOW_QUERY_TIME);
+			slowQueryTime = propSlowQueryTime != null ? propSlowQueryTime : DEFAULT_SLOW_QUERY_TIME;
+		}
+		return slowQueryTime;
+	}
+	
+	private static QueryPattern createPattern(Entity entity, @Nullable Filter filter, 
+											  Sort[] sorts, List<String> queryStrings) {
+		final var fieldUsages = new ArrayList<FieldUsage>();
+		final var buf = new StringBuilder();
+		if (filter != null && filter.hasCriteria()) {
+			for (FilterCriterion criterion : filter.getCriteria()) {
+				appendSeparator(buf).append(getCriterionName(criterion)).append(' ')
+									.append(criterion.getOperator());
+				final EntityField field = criterion.getEntityField();
+				if (field == null) {
+					continue;
+				}
+				fieldUsages.add(new FieldUsage(field.getEntity().getId(), field.getId(), UsageType.FILTER));
+				// nested entity join
+				final NestedEntity nested = !field.getEntity().equals(entity) 
+											 ? entity.getNestedByEntityId(field.getEntity().getId()) 
+											 : null;
+				if (nested != null) {
+					fieldUsages.add(new FieldUsage(nested.getNestedEntity().getId(), 
+												   nested.getReferenceField().getId(), UsageType.JOIN));
+				}
+			}
+		}
+		if (!ObjectUtils.isEmpty(sorts)) {
+			for (Sort sort : sorts) {
+				appendSeparator(buf).append(sort.getColumnName())
+									.append(sort.isAscending() ? " ASC" : " DESC");
+				final EntityField field = entity.getFieldByName(sort.getColumnName());
+				if (field != null) {
+					fieldUsages.add(new FieldUsage(field.getEntity().getId(), field.getId(), UsageType.SORT));
+				}
+			}
+		}
+		return new QueryPattern(entity.getId(), entity.getName(), buf.toString(), fieldUsages, queryStrings);
+	}
+	
+	private static String createKey(Entity entity, @Nullable Filter filter, Sort[] sorts) {
+		final var buf = new StringBuilder().append(entity.getId());
+		if (filter != null && filter.hasCriteria()) {
+			for (FilterCriterion criterion : filter.getCriteria()) {
+				buf.append('|').append(criterion.getEntityField() != null 
+										? criterion.getEntityField().getUid() 
+										: criterion.getSystemField())
+				   .append(':').append(criterion.getOperator());
+			}
+		}
+		if (!ObjectUtils.isEmpty(sorts)) {
+			for (Sort sort : sorts) {
+				buf.append('#').append(sort.getColumnName()).append(':').append(sort.isAscending());
+			}
+		}
+		return buf.toString();
+	}
+	
+	private static String getCriterionName(FilterCriterion criterion) {
+		if (criterion.getEntityField() != null) {
+			return criterion.getEntityField().getName();
+		}
+		return String.valueOf(criterion.getSystemField());
+	}
+	
+	private static StringBuilder appendSeparator(StringBuilder buf) {
+		return buf.length() > 0 ? buf.append(", ") : buf;
+	}
+	
+}
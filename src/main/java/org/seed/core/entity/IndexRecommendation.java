@@ -0,0 +1,128 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity;
+
+import org.seed.C;
+import org.seed.core.util.Assert;
+
+// non-indexed field that is used in filters, sorting or joins
+public final class IndexRecommendation {
+	
+	private final Long entityId;
+	
+	private final String entityName;
+	
+	private final Long fieldId;
+	
+	private final String fieldName;
+	
+	private long filterCount;
+	
+	private long sortCount;
+	
+	private long joinCount;
+	
+	private long executionCount;
+	
+	private long executionTime;
+	
+	private long maxExecutionTime;
+	
+	private boolean slow;
+	
+	IndexRecommendation(EntityField field) {
+		Assert.notNull(field, C.FIELD);
+		
+		entityId = field.getEntity().getId();
+		entityName = field.getEntity().getName();
+		fieldId = field.getId();
+		fieldName = field.getName();
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	public Long getFieldId() {
+		return fieldId;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public long getFilterCount() {
+		return filterCount;
+	}
+
+	public long getSortCount() {
+		return sortCount;
+	}
+
+	public long getJoinCount() {
+		return joinCount;
+	}
+	
+	public long getUsageCount() {
+		return filterCount + sortCount + joinCount;
+	}
+
+	public long getExecutionCount() {
+		return executionCount;
+	}
+	
+	// total execution time in milliseconds of all queries using the field
+	public long getExecutionTime() {
+		return executionTime;
+	}
+
+	public long getMaxExecutionTime() {
+		return maxExecutionTime;
+	}
+	
+	// true if a query using the field exceeded the slow query time
+	public boolean isSlow() {
+		return slow;
+	}
+	
+	void addUsage(QueryPattern pattern, QueryPattern.UsageType usageType, boolean isSlow) {
+		final long usageCount = pattern.getUsageCount();
+		switch (usageType) {
+			case FILTER:
+				filterCount += usageCount;
+				break;
+			case SORT:
+				sortCount += usageCount;
+				break;
+			case JOIN:
+				joinCount += usageCount;
+				break;
+			default:
+				throw new UnsupportedOperationException(usageType.name());
+		}
+		executionCount += pattern.getExecutionCount();
+		executionTime += pattern.getExecutionTime();
+		maxExecutionTime = Math.max(maxExecutionTime, pattern.getMaxExecutionTime());
+		slow |= isSlow;
+	}
+	
+}
@@ -64,6 +64,10 @@ public class NestedEntity extends AbstractOrderedTransferableObject {
 	
 	private boolean isReadonly;
 	
+	private Integer fetchBatchSize;
+	
+	private boolean isFetchSubselect;
+	
 	@Transient
 	@JsonIgnore
 	private String nestedEntityUid;
@@ -89,6 +93,24 @@ public class NestedEntity extends AbstractOrderedTransferableObject {
 	public void setReadonly(boolean readonly) {
 		this.isReadonly = readonly;
 	}
+	
+	@XmlAttribute
+	public Integer getFetchBatchSize() {
+		return fetchBatchSize;
+	}
+
+	public void setFetchBatchSize(Integer fetchBatchSize) {
+		this.fetchBatchSize = fetchBatchSize;
+	}
+	
+	@XmlAttribute
+	public boolean isFetchSubselect() {
+		return isFetchSubselect;
+	}
+
+	public void setFetchSubselect(boolean fetchSubselect) {
+		this.isFetchSubselect = fetchSubselect;
+	}
 
 	@JsonIgnore
 	public String getInternalName() {
@@ -169,6 +191,8 @@ public class NestedEntity extends AbstractOrderedTransferableObject {
 			.append(referenceFieldUid, otherNested.getReferenceFieldUid())
 			.append(name, otherNested.getName())
 			.append(isReadonly, otherNested.isReadonly())
+			.append(fetchBatchSize, otherNested.getFetchBatchSize())
+			.append(isFetchSubselect, otherNested.isFetchSubselect())
 			.isEquals();
 	}
 	
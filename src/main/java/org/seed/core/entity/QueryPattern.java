@@ -0,0 +1,167 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity;
+
+import static org.seed.core.util.CollectionUtils.convertedList;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.hibernate.stat.QueryStatistics;
+
+import org.seed.C;
+import org.seed.core.util.Assert;
+
+// filter, sort and join columns of a query shape and its execution statistics
+public final class QueryPattern {
+	
+	// field used by a query, may belong to a nested entity
+	static final class FieldUsage {
+		
+		final Long entityId;
+		
+		final Long fieldId;
+		
+		final UsageType type;
+		
+		FieldUsage(Long entityId, Long fieldId, UsageType type) {
+			this.entityId = entityId;
+			this.fieldId = fieldId;
+			this.type = type;
+		}
+		
+	}
+	
+	enum UsageType {
+		
+		FILTER,
+		SORT,
+		JOIN
+		
+	}
+	
+	// literal values that are rendered into the query string
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	
+	private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+	
+	private final Long entityId;
+	
+	private final String entityName;
+	
+	private final String description;
+	
+	private final List<FieldUsage> fieldUsages;
+	
+	private final List<String> queryStrings;
+	
+	private final LongAdder usageCount = new LongAdder();
+	
+	private long executionCount;
+	
+	private long executionTime;
+	
+	private long maxExecutionTime;
+	
+	QueryPattern(Long entityId, String entityName, String description, 
+				 List<FieldUsage> fieldUsages, List<String> queryStrings) {
+		Assert.notNull(entityId, C.ENTITY);
+		Assert.notNull(description, "description");
+		Assert.notNull(fieldUsages, "fieldUsages");
+		Assert.notNull(queryStrings, "queryStrings");
+		
+		this.entityId = entityId;
+		this.entityName = entityName;
+		this.description = description;
+		this.fieldUsages = fieldUsages;
+		this.queryStrings = convertedList(queryStrings, QueryPattern::normalizeQuery);
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public String getEntityName() {
+		return entityName;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public long getUsageCount() {
+		return usageCount.sum();
+	}
+
+	public long getExecutionCount() {
+		return executionCount;
+	}
+	
+	// milliseconds
+	public long getExecutionTime() {
+		return executionTime;
+	}
+	
+	public long getAvgExecutionTime() {
+		return executionCount > 0 ? executionTime / executionCount : 0;
+	}
+
+	public long getMaxExecutionTime() {
+		return maxExecutionTime;
+	}
+	
+	List<FieldUsage> getFieldUsages() {
+		return Collections.unmodifiableList(fieldUsages);
+	}
+	
+	void incUsageCount() {
+		usageCount.increment();
+	}
+	
+	// execution times are collected by hibernate (hibernate.generate_statistics),
+	// statistics are mapped by normalized query string
+	synchronized void updateStatistics(Map<String, List<QueryStatistics>> statisticsMap) {
+		Assert.notNull(statisticsMap, "statisticsMap");
+		
+		long count = 0;
+		long time = 0;
+		long maxTime = 0;
+		for (String queryString : queryStrings) {
+			for (QueryStatistics queryStatistics : statisticsMap.getOrDefault(queryString, Collections.emptyList())) {
+				count += queryStatistics.getExecutionCount();
+				time += queryStatistics.getExecutionTotalTime();
+				maxTime = Math.max(maxTime, queryStatistics.getExecutionMaxTime());
+			}
+		}
+		executionCount = count;
+		executionTime = time;
+		maxExecutionTime = maxTime;
+	}
+	
+	// queries that only differ in literal values have the same normalized query string
+	static String normalizeQuery(String queryString) {
+		Assert.notNull(queryString, "queryString");
+		
+		final String result = STRING_LITERAL.matcher(queryString).replaceAll("?");
+		return NUMERIC_LITERAL.matcher(result).replaceAll("?");
+	}
+	
+}
@@ -39,8 +39,11 @@ import javax.persistence.MappedSuperclass;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.Formula;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.NotAudited;
@@ -284,9 +287,12 @@ class EntitySourceCodeBuilder extends AbstractSourceCodeBuilder {
 			annotationParamMap.put(C.CASCADE, CascadeType.ALL);
 			annotationParamMap.put(C.FETCH, FetchType.LAZY);
 			annotationParamMap.put("orphanRemoval", true);
+			final var annotations = new ArrayList<AnnotationMetadata>(3);
+			annotations.add(newAnnotation(OneToMany.class, annotationParamMap));
+			addFetchAnnotations(annotations, nested.getFetchBatchSize(), nested.isFetchSubselect());
 			addMember(nested.getInternalName(), 
 					  newTypeClass(nested.getNestedEntity(), List.class), 
-					  newAnnotation(OneToMany.class, annotationParamMap));
+					  annotations.toArray(new AnnotationMetadata[annotations.size()]));
 		}
 	}
 	
@@ -308,10 +314,25 @@ class EntitySourceCodeBuilder extends AbstractSourceCodeBuilder {
 			annotationParamMapJoin.put(C.NAME, quote(descendantRelation.getJoinTableName()));
 			annotationParamMapJoin.put("joinColumns", joinColumns);
 			annotationParamMapJoin.put("inverseJoinColumns", inverseJoinColumns);
+			final var annotations = new ArrayList<AnnotationMetadata>(4);
+			annotations.add(newAnnotation(ManyToMany.class, annotationParamMapM2M));
+			annotations.add(newAnnotation(JoinTable.class, annotationParamMapJoin));
+			addFetchAnnotations(annotations, relation.getFetchBatchSize(), relation.isFetchSubselect());
 			addMember(relation.getInternalName(), 
 					  newTypeClass(relation.getRelatedEntity(), Set.class), 
-					  newAnnotation(ManyToMany.class, annotationParamMapM2M),
-					  newAnnotation(JoinTable.class, annotationParamMapJoin));
+					  annotations.toArray(new AnnotationMetadata[annotations.size()]));
+		}
+	}
+	
+	// without explicit options, collections are loaded in batches 
+	// of the global default size (hibernate.default_batch_fetch_size)
+	private static void addFetchAnnotations(List<AnnotationMetadata> annotations, 
+											Integer batchSize, boolean subselect) {
+		if (subselect) {
+			annotations.add(newAnnotation(Fetch.class, C.VALUE, FetchMode.SUBSELECT));
+		}
+		else if (batchSize != null) {
+			annotations.add(newAnnotation(BatchSize.class, "size", batchSize));
 		}
 	}
 	
@@ -425,7 +446,7 @@ class EntitySourceCodeBuilder extends AbstractSourceCodeBuilder {
 			annotations.add(newAnnotation(MappedSuperclass.class));
 		}
 		else {
-			if (entity.isTransferable()) {
+			if (entity.isCached()) {
 				annotations.add(newAnnotation(Cache.class, "usage", CacheConcurrencyStrategy.READ_WRITE));
 			}
 			if (entity.getTableName() != null) {
@@ -31,6 +31,7 @@ import org.seed.C;
 import org.seed.core.application.AbstractApplicationEntityService;
 import org.seed.core.application.ApplicationEntity;
 import org.seed.core.application.ApplicationEntityService;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.application.TransferableObject;
 import org.seed.core.application.module.ImportAnalysis;
 import org.seed.core.application.module.Module;
@@ -74,6 +75,9 @@ public class FilterServiceImpl extends AbstractApplicationEntityService<Filter>
 	@Autowired
 	private FilterRepository filterRepository;
 	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
 	@Autowired
 	private FilterValidator validator;
 	
@@ -301,12 +305,14 @@ public class FilterServiceImpl extends AbstractApplicationEntityService<Filter>
 			}
 		}
 		super.saveObject(filter);
+		metadataProvider.invalidate();
 	}
 	
 	@Override
 	@Secured("ROLE_ADMIN_ENTITY")
 	public void deleteObject(Filter filter) throws ValidationException {
 		super.deleteObject(filter);
+		metadataProvider.invalidate();
 	}
 	
 	@Override
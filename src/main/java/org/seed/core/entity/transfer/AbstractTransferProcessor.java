@@ -40,6 +40,7 @@ import org.seed.C;
 import org.seed.InternalException;
 import org.seed.LabelProvider;
 import org.seed.core.config.SystemLog;
+import org.seed.core.data.BatchCursor;
 import org.seed.core.data.QueryCursor;
 import org.seed.core.data.ValidationException;
 import org.seed.core.entity.EntityField;
@@ -360,11 +361,18 @@ abstract class AbstractTransferProcessor implements TransferProcessor {
 		Session session = null;
 		Transaction tx = null;
 		try {
+			BatchCursor batchCursor = null;
 			if (options.isAllOrNothing()) {
 				session = valueObjectService.openSession();
 				tx = session.beginTransaction();
+				batchCursor = new BatchCursor(valueObjectService.getBatchSize());
 			}
 			for (ValueObject object : objects) {
+				// flush inserts as jdbc batches, the session is not cleared 
+				// because references and lookups resolved earlier must stay attached
+				if (batchCursor != null && batchCursor.flushNeeded()) {
+					session.flush();
+				}
 				processObject(object, options, identifierField, result, keys, session);
 			}
 			if (tx != null) {
@@ -238,7 +238,7 @@ public class TransformerServiceImpl extends AbstractApplicationEntityService<Tra
 			}
 		}
 		if (transformer.hasFunctions()) {
-			updateConfiguration();
+			updateClassConfiguration();
 		}
 	}
 	
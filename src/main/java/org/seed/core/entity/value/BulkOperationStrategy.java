@@ -0,0 +1,87 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import static org.seed.core.util.CollectionUtils.*;
+
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.seed.C;
+import org.seed.core.data.FieldType;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityStatus;
+import org.seed.core.entity.EntityStatusTransition;
+import org.seed.core.entity.filter.Filter;
+import org.seed.core.util.Assert;
+
+// decides whether a bulk operation runs as a single statement or object by object.
+// set-based statements skip everything that is done per object: 
+// validation of the object, status dependent field access, callbacks, auditing, 
+// full-text indexing and the notifications of ValueObjectChangeAware services.
+// they are only chosen if none of these apply to the entity
+public final class BulkOperationStrategy {
+	
+	private BulkOperationStrategy() {}
+	
+	public static boolean isSetBasedUpdate(Entity entity, @Nullable Filter filter, boolean hasCallbacks) {
+		Assert.notNull(entity, C.ENTITY);
+		
+		// field access can depend on the status of each object
+		return isSetBased(entity, filter, hasCallbacks) && 
+			   !entity.hasFieldConstraints();
+	}
+	
+	public static boolean isSetBasedStatusChange(Entity entity, @Nullable Filter filter, 
+												 EntityStatus targetStatus, boolean hasCallbacks,
+												 Predicate<EntityStatusTransition> hasTransitionCallbacks) {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(targetStatus, "targetStatus");
+		Assert.notNull(hasTransitionCallbacks, "hasTransitionCallbacks");
+		
+		// mandatory constraints of the target status have to be validated per object
+		return isSetBased(entity, filter, hasCallbacks) &&
+			   !anyMatch(entity.getStatusTransitions(), 
+					  	 transition -> targetStatus.equals(transition.getTargetStatus()) && 
+					  				   hasTransitionCallbacks.test(transition)) &&
+			   !anyMatch(entity.getFieldConstraints(), 
+					  	 constraint -> constraint.isMandatory() && targetStatus.equals(constraint.getStatus()));
+	}
+	
+	public static boolean isSetBasedDelete(Entity entity, @Nullable Filter filter, 
+										   boolean hasCallbacks, boolean isReferenced) {
+		Assert.notNull(entity, C.ENTITY);
+		
+		// nesteds, relations, files and references need per-object handling
+		return isSetBased(entity, filter, hasCallbacks) &&
+			   !entity.isTransferable() && 
+			   !entity.hasNesteds() && 
+			   !entity.hasAllRelations() &&
+			   entity.getAllFieldsByType(FieldType.FILE).isEmpty() && 
+			   !isReferenced;
+	}
+	
+	private static boolean isSetBased(Entity entity, @Nullable Filter filter, boolean hasCallbacks) {
+		return !entity.isAudited() && 
+			   !entity.hasFullTextSearchFields() && 
+			   ValueObjectRepository.isSetBasedFilter(filter) &&
+			   !hasCallbacks;
+	}
+	
+}
@@ -0,0 +1,141 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import org.seed.C;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.util.Assert;
+
+/**
+ * Compiled form of an entity identifier pattern.
+ * The pattern is split once into literal and field segments, 
+ * so resolving an identifier is a single pass over the segments.
+ */
+public final class IdentifierPattern {
+	
+	private static final String KEY_ENTITY = "entity";
+	
+	private final String pattern;
+	
+	private final String entityName;
+	
+	private final int entityVersion;
+	
+	// inherited fields don't change the version of the entity
+	private final int genericEntityVersion;
+	
+	// a segment is either a literal string or an entity field
+	private final List<Object> segments;
+	
+	private IdentifierPattern(Entity entity, List<Object> segments) {
+		this.pattern = entity.getIdentifierPattern();
+		this.entityName = entity.getName();
+		this.entityVersion = entity.getVersion();
+		this.genericEntityVersion = getGenericEntityVersion(entity);
+		this.segments = Collections.unmodifiableList(segments);
+	}
+	
+	public boolean isCompiledFrom(Entity entity) {
+		return entityVersion == entity.getVersion() &&
+			   genericEntityVersion == getGenericEntityVersion(entity) &&
+			   pattern.equals(entity.getIdentifierPattern()) &&
+			   Objects.equals(entityName, entity.getName());
+	}
+	
+	public String resolve(ValueObject object, BiFunction<ValueObject, EntityField, Object> valueFunction) {
+		final StringBuilder buf = new StringBuilder();
+		for (Object segment : segments) {
+			if (segment instanceof EntityField) {
+				final Object value = valueFunction.apply(object, (EntityField) segment);
+				if (value != null) {
+					buf.append(value);
+				}
+			}
+			else {
+				buf.append((String) segment);
+			}
+		}
+		return buf.toString();
+	}
+	
+	public static IdentifierPattern compile(Entity entity) {
+		Assert.notNull(entity, C.ENTITY);
+		final String pattern = entity.getIdentifierPattern();
+		Assert.notNull(pattern, "identifier pattern");
+		
+		final Map<String, EntityField> fieldMap = new HashMap<>();
+		if (entity.hasAllFields()) {
+			for (EntityField field : entity.getAllFields()) {
+				fieldMap.putIfAbsent(field.getName(), field);
+			}
+		}
+		final List<Object> segments = new ArrayList<>();
+		final StringBuilder literal = new StringBuilder();
+		int pos = 0;
+		while (pos < pattern.length()) {
+			final int start = pattern.indexOf('{', pos);
+			final int end = start >= 0 ? pattern.indexOf('}', start + 1) : -1;
+			if (end < 0) {
+				literal.append(pattern, pos, pattern.length());
+				break;
+			}
+			literal.append(pattern, pos, start);
+			final String key = pattern.substring(start + 1, end);
+			final EntityField field = fieldMap.get(key);
+			if (KEY_ENTITY.equals(key)) {
+				literal.append(entity.getName());
+				pos = end + 1;
+			}
+			else if (field != null) {
+				addLiteral(segments, literal);
+				segments.add(field);
+				pos = end + 1;
+			}
+			else {
+				// no placeholder, continue after the opening brace
+				literal.append('{');
+				pos = start + 1;
+			}
+		}
+		addLiteral(segments, literal);
+		return new IdentifierPattern(entity, segments);
+	}
+	
+	private static int getGenericEntityVersion(Entity entity) {
+		return entity.getGenericEntity() != null 
+				? entity.getGenericEntity().getVersion() 
+				: -1;
+	}
+	
+	private static void addLiteral(List<Object> segments, StringBuilder literal) {
+		if (literal.length() > 0) {
+			segments.add(literal.toString());
+			literal.setLength(0);
+		}
+	}
+	
+}
@@ -0,0 +1,121 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.seed.InternalException;
+import org.seed.core.data.ValidationException;
+import org.seed.core.util.Assert;
+
+// runs the partitions of a partitioned batch operation on a bounded pool,
+// partitioned operations started within a partition run on the calling thread 
+// because waiting for them on the bounded pool could block all of its threads
+public final class PartitionExecutor {
+	
+	private static final ThreadLocal<Boolean> partitionThread = new ThreadLocal<>();
+	
+	private final ExecutorService executor;
+	
+	private final int numThreads;
+	
+	public PartitionExecutor(int numThreads) {
+		Assert.greaterThanZero(numThreads, "partition threads");
+		
+		this.numThreads = numThreads;
+		executor = Executors.newFixedThreadPool(numThreads);
+	}
+	
+	public int getNumThreads() {
+		return numThreads;
+	}
+	
+	// returns the sum of the partition results,
+	// the first failed partition cancels all partitions that are not completed yet
+	public long execute(List<Callable<Long>> partitions) throws ValidationException {
+		Assert.notNull(partitions, "partitions");
+		
+		if (Boolean.TRUE.equals(partitionThread.get())) {
+			return executeNested(partitions);
+		}
+		final var completionService = new ExecutorCompletionService<Long>(executor);
+		final var futures = new ArrayList<Future<Long>>(partitions.size());
+		for (Callable<Long> partition : partitions) {
+			futures.add(completionService.submit(() -> runPartition(partition)));
+		}
+		try {
+			long count = 0;
+			for (int i = 0; i < futures.size(); i++) {
+				count += completionService.take().get();
+			}
+			return count;
+		}
+		catch (InterruptedException iex) {
+			Thread.currentThread().interrupt();
+			throw new InternalException(iex);
+		}
+		catch (ExecutionException eex) {
+			if (eex.getCause() instanceof ValidationException) {
+				throw (ValidationException) eex.getCause();
+			}
+			throw new InternalException(eex.getCause());
+		}
+		finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+	
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	// the calling thread is already a partition thread
+	private static long executeNested(List<Callable<Long>> partitions) throws ValidationException {
+		long count = 0;
+		for (Callable<Long> partition : partitions) {
+			try {
+				count += partition.call();
+			}
+			catch (ValidationException | InternalException ex) {
+				throw ex;
+			}
+			catch (Exception ex) {
+				throw new InternalException(ex);
+			}
+		}
+		return count;
+	}
+	
+	private static Long runPartition(Callable<Long> partition) throws Exception {
+		partitionThread.set(Boolean.TRUE);
+		try {
+			return partition.call();
+		}
+		finally {
+			partitionThread.remove();
+		}
+	}
+	
+}
@@ -0,0 +1,86 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.util.Assert;
+
+/**
+ * Native query that finds the entities referring to objects of an entity.
+ * One select per reference field, combined with union all, 
+ * each select returns the index of the referencing entity and the referenced object id.
+ */
+final class ReferencingEntitiesQuery {
+	
+	private final List<Entity> referencingEntities = new ArrayList<>();
+	
+	private final String queryString;
+	
+	// quoter renders a table or column name as quoted identifier of the database
+	ReferencingEntitiesQuery(Entity entity, Map<Entity, List<EntityField>> referenceFields, 
+							 UnaryOperator<String> quoter) {
+		Assert.notNull(entity, "entity");
+		Assert.notNull(referenceFields, "referenceFields");
+		Assert.notNull(quoter, "quoter");
+		
+		final StringBuilder buf = new StringBuilder();
+		for (var entry : referenceFields.entrySet()) {
+			final Entity referencingEntity = entry.getKey();
+			if (referencingEntity.equals(entity)) {
+				continue;
+			}
+			final String tableName = quoter.apply(referencingEntity.getEffectiveTableName());
+			for (EntityField field : entry.getValue()) {
+				final String columnName = quoter.apply(field.getEffectiveColumnName());
+				if (buf.length() > 0) {
+					buf.append(" union all ");
+				}
+				buf.append(String.format("select distinct %d, %s from %s where %s in (:ids)", 
+										 referencingEntities.size(), columnName, tableName, columnName));
+			}
+			referencingEntities.add(referencingEntity);
+		}
+		queryString = buf.toString();
+	}
+	
+	boolean isEmpty() {
+		return queryString.isEmpty();
+	}
+	
+	String getQueryString() {
+		return queryString;
+	}
+	
+	// adds the referencing entities of the result rows to the result map by object id
+	void addResult(Map<Long, Set<Entity>> result, List<?> rows) {
+		for (Object row : rows) {
+			final Object[] columns = (Object[]) row;
+			result.computeIfAbsent(((Number) columns[1]).longValue(), id -> new LinkedHashSet<>())
+				  .add(referencingEntities.get(((Number) columns[0]).intValue()));
+		}
+	}
+	
+}
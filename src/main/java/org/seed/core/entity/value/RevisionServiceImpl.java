@@ -21,19 +21,21 @@ import static org.seed.core.util.CollectionUtils.convertedList;
 
 import java.util.List;
 
+import org.hibernate.Hibernate;
 import org.hibernate.ObjectNotFoundException;
 import org.hibernate.Session;
 import org.hibernate.envers.AuditReader;
 import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
 
 import org.seed.C;
 import org.seed.core.codegen.CodeManager;
-import org.seed.core.codegen.GeneratedCode;
 import org.seed.core.config.SessionProvider;
 import org.seed.core.data.FieldType;
 import org.seed.core.data.SystemField;
 import org.seed.core.data.revision.Revision;
-import org.seed.core.data.revision.RevisionEntity;
+import org.seed.core.data.revision.RevisionSummary;
 import org.seed.core.entity.Entity;
 import org.seed.core.entity.EntityField;
 import org.seed.core.entity.EntityRelation;
@@ -61,8 +63,7 @@ public class RevisionServiceImpl implements RevisionService {
 		checkEntity(entity);
 		
 		try (Session session = sessionProvider.getSession()) {
-			return convertedList(getRevisionNumbers(session, codeManager.getGeneratedClass(entity), id), 
-								 number -> getRevision(session, number.intValue()));
+			return loadRevisions(createRevisionQuery(session, entity, id));
 		}
 	}
 	
@@ -96,7 +97,7 @@ public class RevisionServiceImpl implements RevisionService {
 		final Object status = valueObjectAccess.getValue(object, SystemField.ENTITYSTATUS);
 		if (status != null) {
 			try {
-				status.toString(); // to really load entity status
+				Hibernate.initialize(status);
 			}
 			catch (ObjectNotFoundException onfex) {
 				// set null if status not exists
@@ -110,7 +111,7 @@ public class RevisionServiceImpl implements RevisionService {
 			final Object reference = valueObjectAccess.getValue(object, referenceField);
 			if (reference != null) {
 				try {
-					reference.toString(); // to really load reference object
+					Hibernate.initialize(reference);
 				}
 				catch (ObjectNotFoundException onfex) {
 					// set null if reference not exists
@@ -125,7 +126,7 @@ public class RevisionServiceImpl implements RevisionService {
 			final var nestedObjects = valueObjectAccess.getNestedObjects(object, nested);
 			if (nestedObjects != null) {
 				try {
-					nestedObjects.forEach(ValueObject::toString); // to really load nested object
+					Hibernate.initialize(nestedObjects);
 				}
 				catch (ObjectNotFoundException onfex) {
 					nestedObjects.clear();
@@ -139,7 +140,7 @@ public class RevisionServiceImpl implements RevisionService {
 			final var relatedObjects = valueObjectAccess.getRelatedObjects(object, relation);
 			if (relatedObjects != null) {
 				try {
-					relatedObjects.forEach(ValueObject::toString); // to really load related object
+					Hibernate.initialize(relatedObjects);
 				}
 				catch (ObjectNotFoundException onfex) {
 					relatedObjects.clear();
@@ -154,12 +155,24 @@ public class RevisionServiceImpl implements RevisionService {
 		Assert.state(entity.isAudited(), "entity is not audited");
 	}
 	
-	private static Revision getRevision(Session session, Integer id) {
-		return session.get(RevisionEntity.class, id);
+	// selects the revision properties of all revisions of an object in a single query
+	private AuditQuery createRevisionQuery(Session session, Entity entity, Long id) {
+		return createAuditReader(session)
+				.createQuery()
+				.forRevisionsOfEntity(codeManager.getGeneratedClass(entity), false, true)
+				.add(AuditEntity.id().eq(id))
+				.addProjection(AuditEntity.revisionNumber())
+				.addProjection(AuditEntity.revisionProperty("revisiontime"))
+				.addProjection(AuditEntity.revisionProperty("author"))
+				.addOrder(AuditEntity.revisionNumber().asc());
 	}
 	
-	private static List<Number> getRevisionNumbers(Session session, Class<GeneratedCode> entityClass, Long id) {
-		return createAuditReader(session).getRevisions(entityClass, id);
+	@SuppressWarnings("unchecked")
+	private static List<Revision> loadRevisions(AuditQuery query) {
+		return convertedList((List<Object[]>) query.getResultList(), 
+							 row -> new RevisionSummary(((Number) row[0]).intValue(), 
+									 					((Number) row[1]).longValue(), 
+									 					(String) row[2]));
 	}
 	
 	private static AuditReader createAuditReader(Session session) {
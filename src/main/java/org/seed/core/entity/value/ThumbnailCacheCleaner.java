@@ -0,0 +1,59 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import org.hibernate.Session;
+
+import org.seed.core.data.FieldType;
+import org.seed.core.data.ThumbnailCache;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// removes the cached thumbnails of deleted objects,
+// thumbnails of older versions are replaced by the cache itself
+@Component
+class ThumbnailCacheCleaner implements ValueObjectChangeAware {
+	
+	@Autowired
+	private ThumbnailCache thumbnailCache;
+	
+	@Autowired
+	private ValueObjectRepository repository;
+	
+	@Override
+	public void notifyCreate(ValueObject object, Session session) {
+		// do nothing
+	}
+	
+	@Override
+	public void notifyChange(ValueObject object, Session session) {
+		// do nothing
+	}
+	
+	@Override
+	public void notifyDelete(ValueObject object, Session session) {
+		final Entity entity = repository.getEntity(session, object);
+		for (EntityField field : entity.getAllFieldsByType(FieldType.BINARY)) {
+			thumbnailCache.removeThumbnails(object.getId(), field.getId());
+		}
+	}
+	
+}
@@ -17,7 +17,9 @@
  */
 package org.seed.core.entity.value;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Session;
 
@@ -27,4 +29,17 @@ public interface ValueObjectDependent<T extends SystemEntity> {
 	
 	List<T> findUsage(Session session, ValueObject object);
 	
+	// batched variant for multiple objects, 
+	// implementations can override it to check all objects at once
+	default Map<ValueObject, List<T>> findUsage(Session session, List<ValueObject> objects) {
+		final Map<ValueObject, List<T>> result = new LinkedHashMap<>();
+		for (ValueObject object : objects) {
+			final List<T> usage = findUsage(session, object);
+			if (!usage.isEmpty()) {
+				result.put(object, usage);
+			}
+		}
+		return result;
+	}
+	
 }
@@ -0,0 +1,174 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import org.seed.C;
+import org.seed.Seed;
+import org.seed.core.api.BatchPartitionFunction;
+import org.seed.core.api.JobContext;
+import org.seed.core.config.ApplicationProperties;
+import org.seed.core.data.ValidationException;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.value.event.ValueObjectFunctionContext;
+import org.seed.core.util.Assert;
+import org.seed.core.util.Tupel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ValueObjectPartitionProcessor {
+	
+	private static final Logger log = LoggerFactory.getLogger(ValueObjectPartitionProcessor.class);
+	
+	@Autowired
+	private ApplicationProperties applicationProperties;
+	
+	@Autowired
+	private ValueObjectRepository repository;
+	
+	private ValueObjectService valueObjectService;
+	
+	private PartitionExecutor executor;
+	
+	@PostConstruct
+	private void init() {
+		final Integer threads = applicationProperties.getIntegerProperty(Seed.PROP_BATCH_PARTITION_THREADS);
+		executor = new PartitionExecutor(threads != null ? threads : Runtime.getRuntime().availableProcessors());
+	}
+	
+	@PreDestroy
+	private void shutdown() {
+		executor.shutdown();
+	}
+	
+	public int getNumThreads() {
+		return executor.getNumThreads();
+	}
+	
+	// partitions commit independently, a failed partition only rolls back itself
+	// and the partitions that are still running, completed partitions stay committed
+	long process(Entity entity, int numPartitions, BatchPartitionFunction<ValueObject> function, 
+				 ValueObjectFunctionContext functionContext) throws ValidationException {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.greaterThanZero(numPartitions, "number of partitions");
+		Assert.notNull(function, C.FUNCTION);
+		Assert.notNull(functionContext, C.CONTEXT);
+		
+		final Class<ValueObject> entityClass = repository.getEntityClass(functionContext.getSession(), entity);
+		final var partitions = createPartitions(functionContext.getSession(), entityClass, numPartitions);
+		final var tasks = new ArrayList<Callable<Long>>(partitions.size());
+		for (Tupel<Long, Long> partition : partitions) {
+			tasks.add(() -> processPartition(entityClass, partition, function, functionContext));
+		}
+		return executor.execute(tasks);
+	}
+	
+	private long processPartition(Class<ValueObject> entityClass, Tupel<Long, Long> partition,
+								  BatchPartitionFunction<ValueObject> function, 
+								  ValueObjectFunctionContext functionContext) throws ValidationException {
+		final int chunkSize = getChunkSize();
+		final String queryText = "from " + entityClass.getName() + 
+								 " where id > :lastId and id <= :maxId order by id";
+		long count = 0;
+		try (Session session = repository.getSession()) {
+			final var partitionContext = new ValueObjectFunctionContext(session, functionContext.getModule());
+			Transaction tx = null;
+			try {
+				tx = session.beginTransaction();
+				Long lastId = partition.x - 1;
+				List<ValueObject> chunk;
+				do {
+					chunk = session.createQuery(queryText, entityClass)
+								   .setParameter("lastId", lastId)
+								   .setParameter("maxId", partition.y)
+								   .setMaxResults(chunkSize)
+								   .getResultList();
+					for (ValueObject object : chunk) {
+						function.process(object, partitionContext);
+						getValueObjectService().saveObject(object, null, partitionContext);
+						lastId = object.getId();
+					}
+					session.flush();
+					session.clear();
+					count += chunk.size();
+					reportProgress(functionContext, chunk.size());
+					// another partition failed
+					Assert.state(!Thread.currentThread().isInterrupted(), "partition cancelled");
+				}
+				while (chunk.size() == chunkSize);
+				tx.commit();
+			}
+			catch (Exception ex) {
+				if (tx != null) {
+					tx.rollback();
+				}
+				throw ex;
+			}
+		}
+		log.debug("partition {}-{} of {} processed: {} objects", partition.x, partition.y, entityClass.getName(), count);
+		return count;
+	}
+	
+	int getChunkSize() {
+		final Integer batchSize = applicationProperties.getIntegerProperty(Seed.PROP_BATCH_SIZE);
+		return batchSize != null ? batchSize : ValueObjectRepository.DEFAULT_CHUNK_SIZE;
+	}
+	
+	private ValueObjectService getValueObjectService() {
+		if (valueObjectService == null) {
+			valueObjectService = Seed.getBean(ValueObjectService.class);
+		}
+		return valueObjectService;
+	}
+	
+	private static List<Tupel<Long, Long>> createPartitions(Session session, Class<ValueObject> entityClass, int numPartitions) {
+		final Object[] range = session.createQuery("select min(id), max(id) from " + entityClass.getName(), Object[].class)
+									  .getSingleResult();
+		final var partitions = new ArrayList<Tupel<Long, Long>>(numPartitions);
+		if (range[0] == null) { // no objects
+			return partitions;
+		}
+		final long minId = (Long) range[0];
+		final long maxId = (Long) range[1];
+		final long size = Math.max(1L, (maxId - minId + numPartitions) / numPartitions);
+		for (long start = minId; start <= maxId; start += size) {
+			partitions.add(new Tupel<>(start, Math.min(maxId, start + size - 1)));
+		}
+		return partitions;
+	}
+	
+	private static void reportProgress(ValueObjectFunctionContext functionContext, int count) {
+		if (functionContext instanceof JobContext) {
+			((JobContext) functionContext).addProcessedObjects(count);
+		}
+	}
+	
+}
@@ -20,32 +20,45 @@ package org.seed.core.entity.value;
 import static org.seed.core.util.CollectionUtils.*;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.query.Query;
 
 import org.seed.C;
 import org.seed.InternalException;
 import org.seed.core.api.CallbackEventType;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.codegen.CodeManager;
 import org.seed.core.config.SessionProvider;
 import org.seed.core.config.SystemLog;
 import org.seed.core.data.QueryCursor;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.FieldType;
 import org.seed.core.data.FileObject;
 import org.seed.core.data.Sort;
@@ -57,6 +70,7 @@ import org.seed.core.entity.EntityRelation;
 import org.seed.core.entity.EntityRepository;
 import org.seed.core.entity.EntityStatus;
 import org.seed.core.entity.EntityStatusTransition;
+import org.seed.core.entity.IndexAdvisor;
 import org.seed.core.entity.NestedEntity;
 import org.seed.core.entity.autonum.AutonumberService;
 import org.seed.core.entity.filter.CriterionOperator;
@@ -80,12 +94,17 @@ public class ValueObjectRepository {
 	
 	public static final int DEFAULT_CHUNK_SIZE = 50;
 	
+	private static final int MAX_IN_PARAMETERS = 500;
+	
 	@Autowired
 	private SessionProvider sessionProvider;
 	
 	@Autowired
 	private EntityRepository entityRepository;
 	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
 	@Autowired
 	private AutonumberService autonumService;
 	
@@ -98,6 +117,12 @@ public class ValueObjectRepository {
 	@Autowired
 	private CodeManager codeManager;
 	
+	@Autowired
+	private IndexAdvisor indexAdvisor;
+	
+	// compiled identifier patterns by entity id
+	private final Map<Long, IdentifierPattern> identifierPatterns = new ConcurrentHashMap<>();
+	
 	ValueObject get(Session session, Entity entity, Long id) {
 		Assert.notNull(entity, C.ENTITY);
 		checkGeneric(entity);
@@ -105,6 +130,21 @@ public class ValueObjectRepository {
 		return get(session, getEntityClass(session, entity), id);
 	}
 	
+	// loads the object together with the associations of the fetch graph
+	ValueObject get(Session session, Entity entity, Long id, @Nullable FetchGraph fetchGraph) {
+		if (fetchGraph == null || fetchGraph.isEmpty()) {
+			return get(session, entity, id);
+		}
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(id, C.ID);
+		checkGeneric(entity);
+		
+		final var entityClass = getEntityClass(session, entity);
+		return session.find(entityClass, id, Collections.singletonMap(FetchGraph.HINT_LOADGRAPH, 
+											 fetchGraph.createEntityGraph(session, entityClass)));
+	}
+	
 	ValueObject get(Session session, Class<ValueObject> entityClass, Long id) {
 		Assert.notNull(session, C.SESSION);
 		Assert.notNull(entityClass, C.ENTITYCLASS);
@@ -187,7 +227,9 @@ public class ValueObjectRepository {
 						  					 .setCacheable(true)
 						  					 .list());
 		}
-		return find(session, buildQuery(session, entity, filter, sorts));
+		final var query = buildQuery(session, entity, filter, sorts);
+		indexAdvisor.recordQuery(entity, filter, sorts, () -> List.of(getQueryString(session, query)));
+		return find(session, query);
 	}
 	
 	List<ValueObject> find(Session session, CriteriaQuery<ValueObject> query) {
@@ -199,6 +241,53 @@ public class ValueObjectRepository {
 					  .getResultList();
 	}
 	
+	// selects only the id, the status id and the given fields, 
+	// references and files are represented by their ids
+	List<Map<String, Object>> findProjection(Session session, Entity entity, @Nullable Filter filter, 
+											 List<EntityField> fields, int firstResult, int maxResults, 
+											 Sort ...sorts) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(fields, "fields");
+		Assert.state(filter == null || filter.getHqlQuery() == null, "hql filter not supported by projection");
+		
+		final var builder = session.getCriteriaBuilder();
+		final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		final Root<ValueObject> root = buildQuery(builder, entity, session, filter, query, sorts);
+		final var names = new ArrayList<String>(fields.size() + 2);
+		final var selections = new ArrayList<Selection<?>>(fields.size() + 2);
+		names.add(SystemField.ID.property);
+		selections.add(root.get(SystemField.ID.property));
+		if (entity.hasStatus()) {
+			names.add(SystemField.ENTITYSTATUS.property);
+			selections.add(root.get(SystemField.ENTITYSTATUS.property).get(C.ID));
+		}
+		for (EntityField field : fields) {
+			Assert.state(!field.getType().isBinary(), "binary field not supported by projection");
+			final Path<Object> path = root.get(field.getInternalName());
+			names.add(field.getInternalName());
+			selections.add(field.getType().isReference() || field.getType().isFile() 
+							? path.get(C.ID) 
+							: path);
+		}
+		query.multiselect(selections);
+		if (ObjectUtils.isEmpty(sorts)) {
+			query.orderBy(builder.asc(root.get(SystemField.ID.property)));
+		}
+		final List<Tuple> tuples = session.createQuery(query)
+										  .setReadOnly(true)
+										  .setFirstResult(firstResult)
+										  .setMaxResults(maxResults)
+										  .getResultList();
+		return convertedList(tuples, tuple -> {
+			final var valueMap = new LinkedHashMap<String, Object>(names.size() * 2);
+			for (int i = 0; i < names.size(); i++) {
+				valueMap.put(names.get(i), tuple.get(i));
+			}
+			return valueMap;
+		});
+	}
+	
 	List<ValueObject> findByIds(Session session, Class<ValueObject> entityClass, Long ...ids) {
 		Assert.notNull(session, C.SESSION);
 		Assert.notNull(entityClass, C.ENTITYCLASS);
@@ -229,6 +318,39 @@ public class ValueObjectRepository {
 		return notEmpty(result);
 	}
 	
+	// returns the entities that refer to the given objects, by object id
+	Map<Long, Set<Entity>> findReferencingEntities(Session session, Entity entity, Collection<Long> objectIds) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(objectIds, "objectIds");
+		
+		final var jdbcEnvironment = session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+										   .getJdbcServices().getJdbcEnvironment();
+		final var query = new ReferencingEntitiesQuery(entity, 
+				metadataProvider.getSnapshot().getReferenceFields(entity), 
+				name -> quoteIdentifier(jdbcEnvironment, name));
+		if (query.isEmpty() || objectIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		
+		final Map<Long, Set<Entity>> result = new HashMap<>();
+		final List<Long> idList = new ArrayList<>(objectIds);
+		for (int i = 0; i < idList.size(); i += MAX_IN_PARAMETERS) {
+			final var ids = idList.subList(i, Math.min(i + MAX_IN_PARAMETERS, idList.size()));
+			query.addResult(result, session.createNativeQuery(query.getQueryString())
+										   .setParameterList("ids", ids)
+										   .getResultList());
+		}
+		return result;
+	}
+	
+	// quoted in the case in which the database stores unquoted identifiers
+	private static String quoteIdentifier(JdbcEnvironment jdbcEnvironment, String name) {
+		final var identifierHelper = jdbcEnvironment.getIdentifierHelper();
+		final String metaDataName = identifierHelper.toMetaDataObjectName(identifierHelper.toIdentifier(name));
+		return Identifier.toIdentifier(metaDataName, true).render(jdbcEnvironment.getDialect());
+	}
+	
 	ValueObject findUnique(Entity entity, Filter filter) {
 		try (Session session = getSession()) {
 			return findUnique(session, entity, filter);
@@ -312,6 +434,114 @@ public class ValueObjectRepository {
 		fireEvent(eventTypeAfter, object, session, functionContext);
 	}
 	
+	// returns the ids of all objects that match the filter
+	@SuppressWarnings("unchecked")
+	List<Long> findIds(Session session, Entity entity, @Nullable Filter filter) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		
+		if (filter != null && filter.getHqlQuery() != null) {
+			final StringBuilder queryBuilder = new StringBuilder("select id ").append(filter.getHqlQuery());
+			return session.createQuery(queryBuilder.toString()).list();
+		}
+		final var builder = session.getCriteriaBuilder();
+		final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		final Root<ValueObject> root = buildQuery(builder, entity, session, filter, query);
+		return session.createQuery(query.select(root.get(SystemField.ID.property)))
+					  .getResultList();
+	}
+	
+	// true if a reference field of any entity refers to the entity
+	boolean isReferenced(Entity entity) {
+		Assert.notNull(entity, C.ENTITY);
+		
+		return !metadataProvider.getSnapshot().getReferenceFields(entity).isEmpty();
+	}
+	
+	// set-based update of all objects that match the filter, 
+	// returns the number of updated objects
+	int updateAll(Session session, Entity entity, @Nullable Filter filter, Map<EntityField, Object> valueMap) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(valueMap, "valueMap");
+		checkSetBasedFilter(entity, filter);
+		
+		final var builder = session.getCriteriaBuilder();
+		final var entityClass = getEntityClass(session, entity);
+		final CriteriaUpdate<ValueObject> update = builder.createCriteriaUpdate(entityClass);
+		final Root<ValueObject> root = update.from(entityClass);
+		valueMap.forEach((field, value) -> update.set(root.get(field.getInternalName()), value));
+		setModified(builder, update, root);
+		final Predicate restriction = buildRestriction(builder, root, filter);
+		if (restriction != null) {
+			update.where(restriction);
+		}
+		return session.createQuery(update).executeUpdate();
+	}
+	
+	// set-based status change of all objects that match the filter, 
+	// returns the number of changed objects
+	int changeStatusAll(Session session, Entity entity, @Nullable Filter filter, EntityStatus targetStatus) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(targetStatus, "targetStatus");
+		checkSetBasedFilter(entity, filter);
+		
+		// every object needs a transition to the target status
+		final var sourceStatuses = convertedList(subList(entity.getStatusTransitions(), 
+														 transition -> targetStatus.equals(transition.getTargetStatus())), 
+												 EntityStatusTransition::getSourceStatus);
+		final var builder = session.getCriteriaBuilder();
+		final var entityClass = getEntityClass(session, entity);
+		final CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
+		final Root<ValueObject> countRoot = countQuery.from(entityClass);
+		Predicate invalidStatus = sourceStatuses.isEmpty() 
+									? builder.conjunction() 
+									: builder.not(countRoot.get(SystemField.ENTITYSTATUS.property).in(sourceStatuses));
+		final Predicate countRestriction = buildRestriction(builder, countRoot, filter);
+		if (countRestriction != null) {
+			invalidStatus = builder.and(countRestriction, invalidStatus);
+		}
+		if (querySingleResult(session, countQuery.select(builder.count(countRoot)).where(invalidStatus)) > 0) {
+			throw new IllegalStateException("transition not found: " + targetStatus.getStatusNumber());
+		}
+		
+		final CriteriaUpdate<ValueObject> update = builder.createCriteriaUpdate(entityClass);
+		final Root<ValueObject> root = update.from(entityClass);
+		update.set(root.get(SystemField.ENTITYSTATUS.property), targetStatus);
+		setModified(builder, update, root);
+		final Predicate restriction = buildRestriction(builder, root, filter);
+		if (restriction != null) {
+			update.where(restriction);
+		}
+		return session.createQuery(update).executeUpdate();
+	}
+	
+	// set-based delete of all objects that match the filter, 
+	// returns the number of deleted objects
+	int deleteAll(Session session, Entity entity, @Nullable Filter filter) {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(entity, C.ENTITY);
+		checkSetBasedFilter(entity, filter);
+		
+		final var builder = session.getCriteriaBuilder();
+		final var entityClass = getEntityClass(session, entity);
+		final CriteriaDelete<ValueObject> delete = builder.createCriteriaDelete(entityClass);
+		final Root<ValueObject> root = delete.from(entityClass);
+		final Predicate restriction = buildRestriction(builder, root, filter);
+		if (restriction != null) {
+			delete.where(restriction);
+		}
+		return session.createQuery(delete).executeUpdate();
+	}
+	
+	// set-based statements have no joins, 
+	// so they only support filters without hql and nested criteria
+	static boolean isSetBasedFilter(@Nullable Filter filter) {
+		return filter == null || 
+			   (filter.getHqlQuery() == null && getNestedEntities(filter).isEmpty());
+	}
+	
 	protected CriteriaQuery<Long> buildCountQuery(Session session, Entity entity, @Nullable Filter filter) {
 		Assert.notNull(session, C.SESSION);
 		Assert.notNull(entity, C.ENTITY);
@@ -402,6 +632,15 @@ public class ValueObjectRepository {
 		return sessionProvider.getSession();
 	}
 	
+	protected Session getReadOnlySession() {
+		return sessionProvider.getReadOnlySession();
+	}
+	
+	// query string of a criteria query, used as key of the hibernate query statistics
+	private static String getQueryString(Session session, CriteriaQuery<?> query) {
+		return session.createQuery(query).getQueryString();
+	}
+	
 	protected <T> T querySingleResult(Session session, CriteriaQuery<T> query) {
 		return session.createQuery(query)
 					  .setCacheable(true)
@@ -428,9 +667,10 @@ public class ValueObjectRepository {
 	protected Entity getEntity(Long entityId, @Nullable Session session) {
 		Assert.notNull(entityId, "entityId");
 		
+		// without session the shared metadata snapshot is sufficient
 		final Entity entity = session != null 
 				? entityRepository.get(entityId, session)
-				: entityRepository.get(entityId);
+				: metadataProvider.getSnapshot().getEntityById(entityId);
 		Assert.state(entity != null, "entity not available id:" + entityId);
 		return entity;
 	}
@@ -478,30 +718,30 @@ public class ValueObjectRepository {
 	}
 	
 	private String resolveIdentifierPattern(Entity entity, ValueObject object) {
-		String pattern = entity.getIdentifierPattern();
-		pattern = pattern.replace("{entity}", entity.getName());
-		if (entity.hasAllFields()) {
-			for (EntityField field : entity.getAllFields()) {
-				pattern = resolveFieldPattern(field, pattern, object);
-			}
-		}
-		if (StringUtils.hasText(pattern)) {
-			return pattern;
+		final String identifier = getIdentifierPattern(entity).resolve(object, this::getIdentifierValue);
+		if (StringUtils.hasText(identifier)) {
+			return identifier;
 		}
 		else {
 			return object.isNew() ? null : "";
 		}
 	}
 	
-	private String resolveFieldPattern(EntityField field, String pattern, ValueObject object) {
-		final String key = '{' + field.getName() + '}';
-		if (pattern.contains(key)) {
-			Object value = objectAccess.getValue(object, field);
-			if (value != null && field.getType().isReference()) {
-				value = getIdentifier((ValueObject) value);
-			}
-			// replace key -> value
-			pattern = pattern.replace(key, value != null ? value.toString() : "");
+	private Object getIdentifierValue(ValueObject object, EntityField field) {
+		final Object value = objectAccess.getValue(object, field);
+		return value != null && field.getType().isReference()
+				? getIdentifier((ValueObject) value)
+				: value;
+	}
+	
+	private IdentifierPattern getIdentifierPattern(Entity entity) {
+		if (entity.isNew()) {
+			return IdentifierPattern.compile(entity);
+		}
+		IdentifierPattern pattern = identifierPatterns.get(entity.getId());
+		if (pattern == null || !pattern.isCompiledFrom(entity)) {
+			pattern = IdentifierPattern.compile(entity);
+			identifierPatterns.put(entity.getId(), pattern);
 		}
 		return pattern;
 	}
@@ -608,6 +848,8 @@ public class ValueObjectRepository {
 		final var countQuery = buildCountQuery(session, entity, filter); 
 		final Long totalSize = querySingleResult(session, countQuery);
 		final var query = buildQuery(session, entity, filter, sort);
+		indexAdvisor.recordQuery(entity, filter, sort, () -> List.of(getQueryString(session, countQuery), 
+																	 getQueryString(session, query)));
 		return new QueryCursor<>(query, totalSize.intValue(), chuckSize);
 	}
 	
@@ -803,6 +1045,23 @@ public class ValueObjectRepository {
 		return restrictions;
 	}
 	
+	private static Predicate buildRestriction(CriteriaBuilder builder, Root<ValueObject> root, @Nullable Filter filter) {
+		if (filter == null || !filter.hasCriteria()) {
+			return null;
+		}
+		return filter.getCriteria().size() == 1
+				? createRestriction(builder, root, filter.getCriteria().get(0), null)
+				: builder.and(buildCriteria(filter, builder, root, null));
+	}
+	
+	// version and modification fields are not maintained by hibernate for bulk statements 
+	private static void setModified(CriteriaBuilder builder, CriteriaUpdate<ValueObject> update, Root<ValueObject> root) {
+		final Path<Integer> version = root.get(SystemField.VERSION.property);
+		update.set(version, builder.sum(version, 1));
+		update.set(root.get(SystemField.MODIFIEDON.property), new Date());
+		update.set(root.get(SystemField.MODIFIEDBY.property), MiscUtils.getUserName());
+	}
+	
 	private static Order createOrder(CriteriaBuilder builder, Root<ValueObject> root, Sort sort) {
 		return sort.isAscending() 
 						? builder.asc(root.get(sort.getColumnName())) 
@@ -866,6 +1125,13 @@ public class ValueObjectRepository {
 		Assert.state(entity.equals(filter.getEntity()), "filter is not suitable for  " + entity.getName());
 	}
 	
+	private static void checkSetBasedFilter(Entity entity, @Nullable Filter filter) {
+		if (filter != null) {
+			checkFilter(entity, filter);
+			Assert.state(isSetBasedFilter(filter), "filter is not suitable for set-based operations");
+		}
+	}
+	
 	private static void checkGeneric(Entity entity) {
 		Assert.state(!entity.isGeneric(), "entity is generic");
 	}
@@ -17,18 +17,28 @@
  */
 package org.seed.core.entity.value;
 
+import static org.seed.core.util.CollectionUtils.*;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import org.seed.C;
 import org.seed.core.application.AbstractRestController;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.config.OpenSessionInViewFilter;
+import org.seed.core.config.ReadFromReplica;
 import org.seed.core.data.FieldAccess;
+import org.seed.core.data.FileContentStore;
 import org.seed.core.data.FileObject;
 import org.seed.core.data.QueryCursor;
+import org.seed.core.data.SystemField;
+import org.seed.core.data.ThumbnailCache;
 import org.seed.core.data.ValidationException;
 import org.seed.core.entity.Entity;
 import org.seed.core.entity.EntityAccess;
@@ -41,12 +51,15 @@ import org.seed.core.entity.filter.FilterService;
 import org.seed.core.entity.transform.Transformer;
 import org.seed.core.entity.transform.TransformerService;
 import org.seed.core.user.User;
+import org.seed.core.user.UserAuthorisations;
 import org.seed.core.user.UserService;
 import org.seed.core.util.Assert;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -57,6 +70,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -69,6 +83,9 @@ public class ValueObjectRestController {
 	@Autowired
 	private EntityService entityService;
 	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
 	@Autowired
 	private FilterService filterService;
 	
@@ -81,9 +98,16 @@ public class ValueObjectRestController {
 	@Autowired
 	private ValueObjectService service;
 	
+	@Autowired
+	private FileContentStore fileContentStore;
+	
+	@Autowired
+	private ThumbnailCache thumbnailCache;
+	
 	@ApiOperation(value = "findByEntityName", 
 				  notes = "returns a list of all objects of entity with the specified name")
 	@GetMapping(value = "/{name}")
+	@ReadFromReplica
 	public List<ValueObject> getObjects(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 										@PathVariable(C.NAME) String name) {
 		Assert.notNull(session, C.SESSION);
@@ -101,6 +125,7 @@ public class ValueObjectRestController {
 	@ApiOperation(value = "loadChunkByEntityName", 
 				  notes = "returns a chunk of objects of entity with the specified name starting from the specified index with the specified size")
 	@GetMapping(value = "/{name}/{index}/{size}")
+	@ReadFromReplica
 	public List<ValueObject> getObjectChunk(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 											@PathVariable(C.NAME) String name,
 											@PathVariable("index") Integer index,
@@ -128,9 +153,51 @@ public class ValueObjectRestController {
 		}
 	}
 	
+	@ApiOperation(value = "loadProjectionByEntityName", 
+				  notes = "returns a chunk of value maps of entity with the specified name starting from the specified index with the specified size. " +
+				  		  "a value map contains the id, the status id and the specified fields (default: all non-binary fields), " + 
+				  		  "references and files are represented by their ids")
+	@GetMapping(value = "/{name}/projection/{index}/{size}")
+	@ReadFromReplica
+	public List<Map<String, Object>> getProjectionChunk(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
+														@PathVariable(C.NAME) String name,
+														@PathVariable("index") Integer index,
+														@PathVariable("size") Integer size,
+														@RequestParam(value = "fields", required = false) List<String> fieldNames) {
+		Assert.notNull(session, C.SESSION);
+		final Entity entity = getEntity(session, name);
+		final User user = getUser(session);
+		final List<EntityField> fields = getProjectionFields(entity, fieldNames);
+		if (index < 0 || size <= 0) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Illegal index or size " + index + ' ' + size);
+		}
+		
+		long totalCount;
+		try {
+			totalCount = service.count(entity, session);
+		}
+		catch (Exception ex) {
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+		}
+		if (index >= totalCount) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Index is too big " + index);
+		}
+		try {
+			final var valueMaps = service.loadProjection(entity, null, fields, index, size);
+			if (entity.hasFieldConstraints()) {
+				removeInvisibleValues(valueMaps, entity, fields, user);
+			}
+			return valueMaps;
+		}
+		catch (Exception ex) {
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+		}
+	}
+	
 	@ApiOperation(value = "countByEntityName", 
 			  notes = "returns the total number of all objects of entity with the specified name")
 	@GetMapping(value = "/{name}/count")
+	@ReadFromReplica
 	public Long countObjects(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 							 @PathVariable(C.NAME) String name) {
 		Assert.notNull(session, C.SESSION);
@@ -147,6 +214,7 @@ public class ValueObjectRestController {
 	@ApiOperation(value = "findFilteredByEntityName", 
 				  notes = "returns a list of entity objects with the specified name filtered by the filter with the given filter id")
 	@GetMapping(value = "/{name}/filter/{filterid}")
+	@ReadFromReplica
 	public List<ValueObject> findObjects(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 										 @PathVariable(C.NAME) String name, 
 										 @PathVariable("filterid") Long filterid) {
@@ -205,6 +273,7 @@ public class ValueObjectRestController {
 	@ApiOperation(value = "getByNameAndId", 
 				  notes = "returns an entity object with specified id and entity name")
 	@GetMapping(value = "/{name}/{id}")
+	@ReadFromReplica
 	public ValueObject getObject(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 								 @PathVariable(C.NAME) String name, 
 								 @PathVariable(C.ID) Long id) {
@@ -223,7 +292,8 @@ public class ValueObjectRestController {
 	@ApiOperation(value = "getObjectContent",
 			      notes = "streams the file contents of the field with the specified field name of the entity with the specified name and id")
 	@GetMapping(value = "/{name}/{id}/content/{fieldname}")
-	public ResponseEntity<ByteArrayResource> getFieldContent(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
+	@ReadFromReplica
+	public ResponseEntity<Resource> getFieldContent(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 			 												 @PathVariable(C.NAME) String name, 
 			 												 @PathVariable(C.ID) Long id,
 			 												 @PathVariable("fieldname") String fieldName) {
@@ -233,13 +303,46 @@ public class ValueObjectRestController {
 	@ApiOperation(value = "downloadObjectFile", 
 				  notes = "downloads the file of the field with the specified field name of the entity with the specified name and id")
 	@GetMapping(value = "/{name}/{id}/file/{fieldname}")
-	public ResponseEntity<ByteArrayResource> getFieldFile(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
+	@ReadFromReplica
+	public ResponseEntity<Resource> getFieldFile(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
 			 											  @PathVariable(C.NAME) String name, 
 			 											  @PathVariable(C.ID) Long id,
 			 											  @PathVariable("fieldname") String fieldName) {
 		return stream(session, name, id, fieldName, true);
 	}
 	
+	@ApiOperation(value = "getObjectThumbnail", 
+				  notes = "returns a thumbnail of the image of the field with the specified field name of the entity with the specified name and id")
+	@GetMapping(value = "/{name}/{id}/thumbnail/{fieldname}")
+	@ReadFromReplica
+	public ResponseEntity<Resource> getFieldThumbnail(@RequestAttribute(OpenSessionInViewFilter.ATTR_SESSION) Session session,
+													  @PathVariable(C.NAME) String name, 
+													  @PathVariable(C.ID) Long id,
+													  @PathVariable("fieldname") String fieldName,
+													  @RequestParam("width") int width,
+													  WebRequest request) {
+		final EntityField field = getEntityField(session, name, fieldName);
+		if (!field.getType().isBinary() || width <= 0) {
+			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE);
+		}
+		final ValueObject object = getObjectByNameAndId(session, name, id);
+		final User user = getUser(session);
+		checkFieldAccess(field.getEntity(), field, object, user, FieldAccess.READ);
+		
+		final byte[] image = service.getValue(object, field);
+		if (image == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no image available");
+		}
+		final String key = thumbnailCache.getKey(object, field.getId(), width);
+		if (request.checkNotModified(key)) {
+			return null;
+		}
+		return ResponseEntity.ok()
+				.eTag(key)
+				.contentType(MediaType.IMAGE_PNG)
+				.body(new ByteArrayResource(thumbnailCache.getThumbnail(key, image, width)));
+	}
+	
 	@ApiOperation(value = "uploadObjectFile", 
 		  	  	  notes = "uploads the file specified by parameter 'file' in the field with specific field name of the entity with specified name and id")
 	@PostMapping(value = "/{name}/{id}/file/{fieldname}")
@@ -262,7 +365,10 @@ public class ValueObjectRestController {
 		checkFieldAccess(field.getEntity(), field, object, user, FieldAccess.WRITE);
 		
 		try {
-			return service.saveFieldContent(object, field, AbstractRestController.toFileObject(file), session);
+			final FileObject fileObject = fileContentStore.createFileObject(file.getOriginalFilename(), 
+																			file.getContentType(), 
+																			file.getInputStream());
+			return service.saveFieldContent(object, field, fileObject, session);
 		}
 		catch (ValidationException vex) {
 			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, vex.getMessage());
@@ -454,7 +560,7 @@ public class ValueObjectRestController {
 		}
 	}
 	
-	private ResponseEntity<ByteArrayResource> stream(Session session, String name, Long id, String fieldName, boolean download) {
+	private ResponseEntity<Resource> stream(Session session, String name, Long id, String fieldName, boolean download) {
 		final EntityField field = getEntityField(session, name, fieldName);
 		if (!field.getType().isFile()) {
 			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE);
@@ -464,16 +570,17 @@ public class ValueObjectRestController {
 		checkFieldAccess(field.getEntity(), field, object, user, FieldAccess.READ);
 		
 		final FileObject file = service.getValue(object, field);
-		if (file == null) {
+		if (file == null || !file.hasContent()) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no file available");
 		}
+		final Resource resource = fileContentStore.getResource(file);
 		return download 
-				? AbstractRestController.download(file.getName(), file.getContent())
-				: AbstractRestController.stream(file.getContentType(), file.getContent());
+				? AbstractRestController.download(file.getName(), resource)
+				: AbstractRestController.stream(file.getContentType(), resource);
 	}
 	
 	private EntityField getEntityField(Session session, String name, String fieldName) {
-		final EntityField field = getEntity(session, name).getFieldByName(fieldName);
+		final EntityField field = metadataProvider.getSnapshot().getFieldByName(getEntity(session, name), fieldName);
 		if (field == null) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND, C.FIELD + ' ' + fieldName);
 		}
@@ -497,9 +604,11 @@ public class ValueObjectRestController {
 	}
 	
 	private Entity getEntity(Session session, String name) {
-		Entity entity = null;
+		Entity entity = metadataProvider.getSnapshot().getEntityByName(name);
 		try {
-			entity = entityService.findByName(name, session);
+			if (entity == null) {
+				entity = entityService.findByName(name, session);
+			}
 		}
 		catch (Exception ex) {
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
@@ -575,7 +684,8 @@ public class ValueObjectRestController {
 	}
 	
 	private void checkEntityAccess(Session session, Entity entity, EntityAccess access) {
-		if (!entity.checkPermissions(getUser(session), access)) {
+		final UserAuthorisations authorisations = userService.getCurrentAuthorisations();
+		if (authorisations == null || !authorisations.checkPermissions(entity, access)) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, entity.getName());
 		}
 	}
@@ -591,4 +701,31 @@ public class ValueObjectRestController {
 		return objects;
 	}
 	
+	static List<EntityField> getProjectionFields(Entity entity, @Nullable List<String> fieldNames) {
+		if (fieldNames == null || fieldNames.isEmpty()) {
+			return subList(entity.getAllFields(), field -> !field.getType().isBinary());
+		}
+		final var fields = new ArrayList<EntityField>(fieldNames.size());
+		for (String fieldName : fieldNames) {
+			final EntityField field = firstMatch(entity.getAllFields(), 
+												 entityField -> fieldName.equals(entityField.getInternalName()));
+			if (field == null || field.getType().isBinary()) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, C.FIELD + ' ' + fieldName);
+			}
+			fields.add(field);
+		}
+		return fields;
+	}
+	
+	static void removeInvisibleValues(List<Map<String, Object>> valueMaps, Entity entity, 
+									  List<EntityField> fields, User user) {
+		for (var valueMap : valueMaps) {
+			final Long statusId = (Long) valueMap.get(SystemField.ENTITYSTATUS.property);
+			final EntityStatus status = statusId != null ? entity.getStatusById(statusId) : null;
+			filterAndForEach(fields, 
+							 field -> !entity.checkFieldAccess(field, user, status, FieldAccess.READ), 
+							 field -> valueMap.put(field.getInternalName(), null));
+		}
+	}
+	
 }
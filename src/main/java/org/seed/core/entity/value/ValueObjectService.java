@@ -25,7 +25,9 @@ import javax.persistence.criteria.CriteriaQuery;
 
 import org.hibernate.Session;
 
+import org.seed.core.api.BatchPartitionFunction;
 import org.seed.core.data.QueryCursor;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.FileObject;
 import org.seed.core.data.Sort;
 import org.seed.core.data.ValidationException;
@@ -70,8 +72,18 @@ public interface ValueObjectService extends EntityUsage {
 	
 	List<FullTextResult> loadFullTextChunk(QueryCursor<FullTextResult> cursor);
 	
+	List<Map<String, Object>> loadProjection(Entity entity, @Nullable Filter filter, List<EntityField> fields, 
+											 int firstResult, int maxResults, Sort ...sort);
+	
 	void indexAllObjects();
 	
+	long processPartitioned(Entity entity, int numPartitions, BatchPartitionFunction<ValueObject> function, 
+							ValueObjectFunctionContext functionContext) throws ValidationException;
+	
+	int getDefaultNumPartitions();
+	
+	int getBatchSize();
+	
 	boolean notifyChange(ValueObject object);
 	
 	void changeStatus(ValueObject object, EntityStatus targetStatus, Session session) throws ValidationException;
@@ -117,6 +129,8 @@ public interface ValueObjectService extends EntityUsage {
 	
 	ValueObject getObject(Session session, Entity entity, Long id);
 	
+	ValueObject getObject(Session session, Entity entity, Long id, @Nullable FetchGraph fetchGraph);
+	
 	ValueObject getObject(Session session, Class<ValueObject> entityClass, Long id);
 	
 	List<ValueObject> getAllObjects(Session session, Entity entity);
@@ -144,6 +158,20 @@ public interface ValueObjectService extends EntityUsage {
 	void deleteObject(ValueObject object, Session session, ValueObjectFunctionContext functionContext) 
 			throws ValidationException;
 	
+	void deleteObjects(List<ValueObject> objects, Session session, ValueObjectFunctionContext functionContext) 
+			throws ValidationException;
+	
+	int updateObjects(Entity entity, @Nullable Filter filter, Map<EntityField, Object> valueMap, 
+					  Session session, ValueObjectFunctionContext functionContext) throws ValidationException;
+	
+	int changeStatus(Entity entity, @Nullable Filter filter, EntityStatus targetStatus, 
+					 Session session, ValueObjectFunctionContext functionContext) throws ValidationException;
+	
+	int deleteObjects(Entity entity, @Nullable Filter filter) throws ValidationException;
+	
+	int deleteObjects(Entity entity, @Nullable Filter filter, 
+					  Session session, ValueObjectFunctionContext functionContext) throws ValidationException;
+	
 	ValueObject updateObject(Session session, Entity entity, Long objectId, Map<String,Object> valueMap) throws ValidationException;
 	
 	void saveObject(ValueObject object) throws ValidationException;
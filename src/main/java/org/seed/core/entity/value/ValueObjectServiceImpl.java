@@ -22,6 +22,8 @@ import static org.seed.core.util.CollectionUtils.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -31,17 +33,22 @@ import javax.annotation.Nullable;
 import javax.persistence.PersistenceException;
 import javax.persistence.criteria.CriteriaQuery;
 
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.exception.ConstraintViolationException;
 
 import org.seed.C;
 import org.seed.InternalException;
+import org.seed.core.api.BatchPartitionFunction;
+import org.seed.core.api.CallbackEventType;
 import org.seed.core.config.SystemLog;
 import org.seed.core.data.AbstractSystemEntity;
 import org.seed.core.data.FieldAccess;
 import org.seed.core.data.QueryCursor;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.FieldType;
+import org.seed.core.data.FileContentStore;
 import org.seed.core.data.FileObject;
 import org.seed.core.data.Sort;
 import org.seed.core.data.SystemEntity;
@@ -113,6 +120,12 @@ public class ValueObjectServiceImpl
 	@Autowired
 	private FullTextSearch fullTextSearch;
 	
+	@Autowired
+	private ValueObjectPartitionProcessor partitionProcessor;
+	
+	@Autowired
+	private FileContentStore fileContentStore;
+	
 	@Override
 	public ValueObject createInstance(Entity entity, Session session, ValueObjectFunctionContext functionContext) {
 		return repository.createInstance(entity, session, functionContext);
@@ -276,6 +289,22 @@ public class ValueObjectServiceImpl
 		}
 	}
 	
+	@Override
+	public long processPartitioned(Entity entity, int numPartitions, BatchPartitionFunction<ValueObject> function, 
+								   ValueObjectFunctionContext functionContext) throws ValidationException {
+		return partitionProcessor.process(entity, numPartitions, function, functionContext);
+	}
+	
+	@Override
+	public int getDefaultNumPartitions() {
+		return partitionProcessor.getNumThreads();
+	}
+	
+	@Override
+	public int getBatchSize() {
+		return partitionProcessor.getChunkSize();
+	}
+	
 	@Override
 	public List<ValueObject> loadChunk(QueryCursor<ValueObject> cursor) {
 		Assert.notNull(cursor, C.CURSOR);
@@ -283,7 +312,7 @@ public class ValueObjectServiceImpl
 		if (cursor.isFullTextSearch()) {
 			return loadFullTextObjects(cursor);
 		}
-		try (Session session = repository.getSession()) {
+		try (Session session = repository.getReadOnlySession()) {
 			return loadChunk(session, cursor);
 		}
 	}
@@ -293,6 +322,15 @@ public class ValueObjectServiceImpl
 		final var query = cursor.getQueryText() != null
 							? session.createQuery(cursor.getQueryText())
 							: session.createQuery(cursor.getQuery());
+		final FetchGraph fetchGraph = cursor.getFetchGraph();
+		if (cursor.getQuery() != null && fetchGraph != null && !fetchGraph.isEmpty()) {
+			query.setHint(FetchGraph.HINT_LOADGRAPH, 
+						  fetchGraph.createEntityGraph(session, cursor.getQuery().getResultType()));
+		}
+		if (cursor.isReadOnly()) {
+			query.setReadOnly(true);
+			query.setHibernateFlushMode(FlushMode.MANUAL);
+		}
 		query.setFirstResult(cursor.getStartIndex());
 		query.setMaxResults(cursor.getChunkSize());
 		query.setCacheable(true);
@@ -308,6 +346,17 @@ public class ValueObjectServiceImpl
 		return convertedList(listObjects, obj -> new FullTextResult(obj, getIdentifier(obj), mapTexts.get(obj.getId())));
 	}
 	
+	@Override
+	public List<Map<String, Object>> loadProjection(Entity entity, @Nullable Filter filter, List<EntityField> fields, 
+													int firstResult, int maxResults, Sort ...sort) {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(fields, "fields");
+		
+		try (Session session = repository.getReadOnlySession()) {
+			return repository.findProjection(session, entity, filter, fields, firstResult, maxResults, sort);
+		}
+	}
+	
 	@Override
 	public List<FileObject> getFileObjects(ValueObject object, Session session) {
 		Assert.notNull(object, C.OBJECT);
@@ -405,6 +454,11 @@ public class ValueObjectServiceImpl
 		return repository.get(session, entity, id);
 	}
 	
+	@Override
+	public ValueObject getObject(Session session, Entity entity, Long id, @Nullable FetchGraph fetchGraph) {
+		return repository.get(session, entity, id, fetchGraph);
+	}
+	
 	@Override
 	public ValueObject getObject(Session session, Class<ValueObject> entityClass, Long id) {
 		return repository.get(session, entityClass, id);
@@ -714,26 +768,181 @@ public class ValueObjectServiceImpl
 	
 	@Override
 	public List<Entity> findUsage(Session session, ValueObject object) {
+		Assert.notNull(object, C.OBJECT);
+		
+		final var usage = findUsage(session, Collections.singletonList(object)).get(object);
+		return usage != null ? usage : Collections.emptyList();
+	}
+	
+	@Override
+	public Map<ValueObject, List<Entity>> findUsage(Session session, List<ValueObject> objects) {
 		Assert.notNull(session, C.SESSION);
-		final var result = new ArrayList<Entity>();
-		final Entity entity = repository.getEntity(session, object);
-		for (Entity otherEntity : subList(entityService.findNonGenericEntities(session), not(entity::equals))) {
-			for (EntityField otherRefField : otherEntity.getReferenceFields(entity)) {
-				final Filter filter = filterService.createFieldFilter(otherEntity, otherRefField, object);
-				if (repository.exist(session, otherEntity, filter)) {
-					result.add(otherEntity);
-					break;
+		Assert.notNull(objects, "objects");
+		
+		final Map<ValueObject, List<Entity>> result = new LinkedHashMap<>();
+		// one query per entity for all objects of that entity
+		for (var entry : groupByEntity(objects).entrySet()) {
+			final Entity entity = repository.getEntity(entry.getKey(), session);
+			final var references = repository.findReferencingEntities(session, entity, 
+											convertedList(entry.getValue(), ValueObject::getId));
+			for (ValueObject object : entry.getValue()) {
+				final var referencingEntities = references.get(object.getId());
+				if (referencingEntities != null) {
+					result.put(object, new ArrayList<>(referencingEntities));
 				}
 			}
 		}
 		return result;
 	}
 	
+	@Override
+	public void deleteObjects(List<ValueObject> objects, Session session, ValueObjectFunctionContext functionContext) 
+			throws ValidationException {
+		Assert.notNull(objects, "objects");
+		final Session localSession = functionContext != null 
+				? functionContext.getSession() 
+				: session;
+		
+		validator.validateDelete(localSession, objects);
+		for (ValueObject object : objects) {
+			repository.delete(object, session, functionContext);
+			changeAwareObjects.forEach(changeAware -> changeAware.notifyDelete(object, localSession));
+		}
+	}
+	
+	@Override
+	public int updateObjects(Entity entity, @Nullable Filter filter, Map<EntityField, Object> valueMap, 
+							 Session session, ValueObjectFunctionContext functionContext) throws ValidationException {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(valueMap, "valueMap");
+		final Session localSession = getLocalSession(session, functionContext);
+		final User user = getUser(localSession);
+		
+		validator.validateBulkAccess(entity, user, EntityAccess.WRITE, null);
+		validator.validateUpdate(entity, valueMap);
+		if (BulkOperationStrategy.isSetBasedUpdate(entity, filter, 
+				eventHandler.hasCallbacks(entity, CallbackEventType.BEFOREUPDATE, CallbackEventType.AFTERUPDATE))) {
+			return repository.updateAll(localSession, entity, filter, valueMap);
+		}
+		return processChunked(entity, filter, localSession, chunk -> {
+			for (ValueObject object : chunk) {
+				validator.validateFieldAccess(object, entity, user, valueMap.keySet());
+				valueMap.forEach((field, value) -> objectAccess.setValue(object, field, value));
+				saveObject(object, session, functionContext);
+			}
+		});
+	}
+	
+	@Override
+	public int changeStatus(Entity entity, @Nullable Filter filter, EntityStatus targetStatus, 
+							Session session, ValueObjectFunctionContext functionContext) throws ValidationException {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(targetStatus, "targetStatus");
+		final Session localSession = getLocalSession(session, functionContext);
+		
+		validator.validateBulkAccess(entity, getUser(localSession), EntityAccess.WRITE, targetStatus);
+		if (BulkOperationStrategy.isSetBasedStatusChange(entity, filter, targetStatus, 
+				eventHandler.hasCallbacks(entity, CallbackEventType.BEFOREUPDATE, CallbackEventType.AFTERUPDATE),
+				eventHandler::hasCallbacks)) {
+			return repository.changeStatusAll(localSession, entity, filter, targetStatus);
+		}
+		return processChunked(entity, filter, localSession, chunk -> {
+			for (ValueObject object : chunk) {
+				changeStatus(object, targetStatus, session, functionContext);
+			}
+		});
+	}
+	
+	@Override
+	public int deleteObjects(Entity entity, @Nullable Filter filter) throws ValidationException {
+		int count = 0;
+		try (Session session = repository.getSession()) {
+			Transaction tx = null;
+			try {
+				tx = session.beginTransaction();
+				count = deleteObjects(entity, filter, session, null);
+				tx.commit();
+			}
+			catch (Exception ex) {
+				handleException(tx, ex);
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public int deleteObjects(Entity entity, @Nullable Filter filter, 
+							 Session session, ValueObjectFunctionContext functionContext) throws ValidationException {
+		Assert.notNull(entity, C.ENTITY);
+		final Session localSession = getLocalSession(session, functionContext);
+		
+		validator.validateBulkAccess(entity, getUser(localSession), EntityAccess.DELETE, null);
+		if (BulkOperationStrategy.isSetBasedDelete(entity, filter, 
+				eventHandler.hasCallbacks(entity, CallbackEventType.BEFOREDELETE, CallbackEventType.AFTERDELETE),
+				repository.isReferenced(entity))) {
+			return repository.deleteAll(localSession, entity, filter);
+		}
+		return processChunked(entity, filter, localSession, 
+							  chunk -> deleteObjects(chunk, session, functionContext));
+	}
+	
+	// processes the matching objects chunk by chunk within the transaction of the caller.
+	// after each chunk the session is flushed and the objects of the chunk are evicted,
+	// other objects of the session stay attached
+	private int processChunked(Entity entity, @Nullable Filter filter, Session session, 
+							   ChunkFunction function) throws ValidationException {
+		final var entityClass = repository.getEntityClass(session, entity);
+		final var ids = repository.findIds(session, entity, filter);
+		final int chunkSize = getBatchSize();
+		for (int i = 0; i < ids.size(); i += chunkSize) {
+			final var chunkIds = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+			final var chunk = repository.findByIds(session, entityClass, chunkIds);
+			function.process(chunk);
+			session.flush();
+			filterAndForEach(chunk, session::contains, session::evict);
+		}
+		return ids.size();
+	}
+	
+	private static Session getLocalSession(Session session, ValueObjectFunctionContext functionContext) {
+		final Session localSession = functionContext != null 
+				? functionContext.getSession() 
+				: session;
+		Assert.notNull(localSession, C.SESSION);
+		return localSession;
+	}
+	
+	private static void handleException(Transaction tx, Exception ex) throws ValidationException {
+		if (tx != null) {
+			tx.rollback();
+		}
+		if (ex instanceof ValidationException) {
+			throw (ValidationException) ex;
+		}
+		SystemLog.logError(ex);
+		if (ex instanceof RuntimeException) {
+			throw (RuntimeException) ex;
+		}
+		throw new InternalException(ex);
+	}
+	
+	private static Map<Long, List<ValueObject>> groupByEntity(List<ValueObject> objects) {
+		final Map<Long, List<ValueObject>> map = new LinkedHashMap<>();
+		for (ValueObject object : objects) {
+			Assert.state(!object.isNew(), "object is new");
+			map.computeIfAbsent(object.getEntityId(), id -> new ArrayList<>()).add(object);
+		}
+		return map;
+	}
+	
 	@Override
 	public void sortObjects(List<ValueObject> objectList) {
 		Assert.notNull(objectList, "object list");
 		
-		objectList.sort((ValueObject vo1, ValueObject vo2) -> getIdentifier(vo1).compareTo(getIdentifier(vo2)));
+		// resolve each identifier only once
+		final Map<ValueObject, String> identifiers = new IdentityHashMap<>(objectList.size());
+		objectList.forEach(object -> identifiers.put(object, getIdentifier(object)));
+		objectList.sort((ValueObject vo1, ValueObject vo2) -> identifiers.get(vo1).compareTo(identifiers.get(vo2)));
 	}
 	
 	@Override
@@ -823,7 +1032,7 @@ public class ValueObjectServiceImpl
 	
 	private List<ValueObject> loadFullTextObjects(QueryCursor<?> cursor) {
 		final var result = new ArrayList<ValueObject>(cursor.getChunkSize());
-		try (Session session = repository.getSession()) {
+		try (Session session = repository.getReadOnlySession()) {
 			Entity entity = null;
 			for (int i = cursor.getStartIndex(); i < Math.min(cursor.getStartIndex() + cursor.getChunkSize(), cursor.getTotalCount()); i++) {
 				final var fullTextResult = cursor.getFullTextResult(i);
@@ -945,7 +1154,7 @@ public class ValueObjectServiceImpl
 	private void collectFileObjects(ValueObject object, Entity entity, List<FileObject> fileObjects) {
 		for (EntityField fileField : entity.getAllFieldsByType(FieldType.FILE)) {
 			final FileObject fileObject = getValue(object, fileField);
-			if (fileObject != null && fileObject.getContent() != null && !fileObject.isNew()) {
+			if (fileObject != null && fileObject.hasContent() && !fileObject.isNew()) {
 				fileObjects.add(fileObject);
 			}
 		}
@@ -964,9 +1173,12 @@ public class ValueObjectServiceImpl
 		for (EntityField fileField : entity.getAllFieldsByType(FieldType.FILE)) {
 			if (!createObject) {
 				final FileObject fileObject = getValue(object, fileField);
-				if (fileObject != null && fileObject.getContent() == null) {
+				if (fileObject != null && !fileObject.hasContent()) {
 					setValue(object, fileField, null);
 				}
+				else if (fileObject != null) {
+					fileContentStore.store(fileObject);
+				}
 			}
 			else if (isEmpty(object, fileField)) {
 				setValue(object, fileField, new FileObject());
@@ -1005,4 +1217,11 @@ public class ValueObjectServiceImpl
 		return value;
 	}
 	
+	@FunctionalInterface
+	private interface ChunkFunction {
+		
+		void process(List<ValueObject> chunk) throws ValidationException;
+		
+	}
+	
 }
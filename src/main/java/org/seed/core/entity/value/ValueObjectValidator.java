@@ -17,25 +17,34 @@
  */
 package org.seed.core.entity.value;
 
+import static org.seed.core.util.CollectionUtils.anyMatch;
 import static org.seed.core.util.CollectionUtils.filterAndForEach;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
 
 import org.hibernate.Session;
 
 import org.seed.C;
 import org.seed.core.application.ApplicationEntity;
 import org.seed.core.config.Limits;
+import org.seed.core.data.FieldAccess;
 import org.seed.core.data.ValidationErrors;
 import org.seed.core.data.ValidationException;
 import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityAccess;
 import org.seed.core.entity.EntityField;
 import org.seed.core.entity.EntityFieldConstraint;
 import org.seed.core.entity.EntityRepository;
 import org.seed.core.entity.EntityStatus;
 import org.seed.core.entity.NestedEntity;
 import org.seed.core.entity.filter.Filter;
+import org.seed.core.user.User;
 import org.seed.core.util.Assert;
 import org.seed.core.util.BeanUtils;
 import org.seed.core.util.MiscUtils;
@@ -83,24 +92,21 @@ public class ValueObjectValidator implements ApplicationContextAware {
 	}
 	
 	public void validateDelete(Session session, ValueObject object) throws ValidationException {
-		Assert.notNull(session, C.SESSION);
 		Assert.notNull(object, C.OBJECT);
-		final Entity objectEntity = entityRepository.get(object.getEntityId(), session);
+		
+		validateDelete(session, Collections.singletonList(object));
+	}
+	
+	public void validateDelete(Session session, List<ValueObject> objects) throws ValidationException {
+		Assert.notNull(session, C.SESSION);
+		Assert.notNull(objects, "objects");
 		final var errors = new ValidationErrors();
 		
 		for (var dependent : getValueObjectDependents()) {
-			for (var dependentEntity : dependent.findUsage(session, object)) {
-				if (dependentEntity instanceof Entity) {
-					final Entity entity = (Entity) dependentEntity;
-					if (!objectEntity.isNestedEntity(entity)) {
-						errors.addError("val.inuse.valueobject", entity.getName());
-					}
-				}
-				else if (dependentEntity instanceof Filter) {
-					errors.addError("val.inuse.valueobjectfilter", dependentEntity.getName());
-				}
-				else {
-					throw new UnsupportedOperationException(dependentEntity.getName());
+			for (var usage : dependent.findUsage(session, objects).entrySet()) {
+				final Entity objectEntity = entityRepository.get(usage.getKey().getEntityId(), session);
+				for (var dependentEntity : usage.getValue()) {
+					validateDeleteUsage(objectEntity, dependentEntity, errors);
 				}
 			}
 		}
@@ -137,6 +143,72 @@ public class ValueObjectValidator implements ApplicationContextAware {
 		}
 	}
 	
+	public void validateUpdate(Entity entity, Map<EntityField, Object> valueMap) throws ValidationException {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(valueMap, "valueMap");
+		final var errors = new ValidationErrors();
+		
+		for (var entry : valueMap.entrySet()) {
+			final EntityField field = entry.getKey();
+			Assert.state(entity.getAllFields().contains(field), "field is not suitable for " + entity.getName());
+			Assert.state(!(field.isCalculated() || field.getType().isAutonum() || field.getType().isFile()), 
+						 "field is not updatable: " + field.getName());
+			
+			if (field.isMandatory() && isEmpty(entry.getValue())) {
+				errors.addEmptyField(field.getName());
+			}
+			else if (!isEmpty(entry.getValue())) {
+				validateField(field, entry.getValue(), errors);
+			}
+		}
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors);
+		}
+	}
+	
+	// bulk operations check the permissions up front, 
+	// there is no user if they are called by jobs
+	public void validateBulkAccess(Entity entity, @Nullable User user, EntityAccess access, 
+								   @Nullable EntityStatus targetStatus) throws ValidationException {
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(access, "access");
+		if (user == null) {
+			return;
+		}
+		final var errors = new ValidationErrors();
+		
+		if (!entity.checkPermissions(user, access)) {
+			errors.addError("val.noaccess.entity", entity.getName());
+		}
+		else if (targetStatus != null &&
+				 anyMatch(entity.getStatusTransitions(), 
+						  transition -> targetStatus.equals(transition.getTargetStatus()) && 
+						  				!transition.isAuthorized(user))) {
+			errors.addError("val.noaccess.transition", targetStatus.getNumberAndName());
+		}
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors);
+		}
+	}
+	
+	public void validateFieldAccess(ValueObject object, Entity entity, @Nullable User user, 
+									Collection<EntityField> fields) throws ValidationException {
+		Assert.notNull(object, C.OBJECT);
+		Assert.notNull(entity, C.ENTITY);
+		Assert.notNull(fields, "fields");
+		if (user == null) {
+			return;
+		}
+		final var errors = new ValidationErrors();
+		
+		filterAndForEach(fields, 
+						 field -> !entity.checkFieldAccess(field, user, object.getEntityStatus(), FieldAccess.WRITE), 
+						 field -> errors.addError("val.noaccess.field", field.getName()));
+		if (!errors.isEmpty()) {
+			throw new ValidationException(errors);
+		}
+	}
+	
 	private int getMaxFieldLength(EntityField field) {
 		return field.getLength() != null 
 				? field.getLength() 
@@ -190,6 +262,21 @@ public class ValueObjectValidator implements ApplicationContextAware {
 		}
 	}
 	
+	private static void validateDeleteUsage(Entity objectEntity, ApplicationEntity dependentEntity, ValidationErrors errors) {
+		if (dependentEntity instanceof Entity) {
+			final Entity entity = (Entity) dependentEntity;
+			if (!objectEntity.isNestedEntity(entity)) {
+				errors.addError("val.inuse.valueobject", entity.getName());
+			}
+		}
+		else if (dependentEntity instanceof Filter) {
+			errors.addError("val.inuse.valueobjectfilter", dependentEntity.getName());
+		}
+		else {
+			throw new UnsupportedOperationException(dependentEntity.getName());
+		}
+	}
+	
 	private List<ValueObjectDependent<? extends ApplicationEntity>> getValueObjectDependents() {
 		if (valueObjectDependents == null) {
 			valueObjectDependents = MiscUtils.castList(
@@ -0,0 +1,191 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value.event;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.seed.core.api.CallbackEventType;
+import org.seed.core.api.CallbackFunction;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityFunction;
+import org.seed.core.entity.EntityStatusTransition;
+import org.seed.core.entity.EntityStatusTransitionFunction;
+import org.seed.core.entity.value.ValueObject;
+import org.seed.core.util.Assert;
+import org.seed.core.util.BeanUtils;
+
+/**
+ * Callback functions of all entities and status transitions by event type,
+ * built from the entities of a metadata snapshot. 
+ * The constructors of the generated classes are looked up once, 
+ * each dispatch gets a new callback instance.
+ */
+public final class CallbackDispatchTable {
+	
+	private static final Map<CallbackEventType, EntityFunction> NO_FUNCTIONS = 
+			new EnumMap<>(CallbackEventType.class);
+	
+	private final long version;
+	
+	private final Map<Long, Map<CallbackEventType, EntityFunction>> entityFunctions = new HashMap<>();
+	
+	private final Map<Long, Map<CallbackEventType, EntityFunction>> transitionFunctions = new HashMap<>();
+	
+	private final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+	
+	public CallbackDispatchTable(long version, Collection<Entity> entities) {
+		Assert.notNull(entities, "entities");
+		
+		this.version = version;
+		for (Entity entity : entities) {
+			entityFunctions.put(entity.getId(), buildEntityFunctions(entity));
+			if (entity.hasStatusTransitions()) {
+				for (EntityStatusTransition transition : entity.getStatusTransitions()) {
+					transitionFunctions.put(transition.getId(), buildTransitionFunctions(transition));
+				}
+			}
+		}
+	}
+	
+	public long getVersion() {
+		return version;
+	}
+	
+	public boolean containsEntity(Long entityId) {
+		return entityFunctions.containsKey(entityId);
+	}
+	
+	public boolean containsTransition(Long transitionId) {
+		return transitionFunctions.containsKey(transitionId);
+	}
+	
+	public EntityFunction getEntityFunction(Long entityId, CallbackEventType eventType) {
+		return entityFunctions.getOrDefault(entityId, NO_FUNCTIONS).get(eventType);
+	}
+	
+	public EntityFunction getTransitionFunction(Long transitionId, CallbackEventType eventType) {
+		return transitionFunctions.getOrDefault(transitionId, NO_FUNCTIONS).get(eventType);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public CallbackFunction<ValueObject> getCallback(Class<?> functionClass) {
+		return (CallbackFunction<ValueObject>) BeanUtils.instantiate(
+				constructors.computeIfAbsent(functionClass, BeanUtils::getDefaultConstructor));
+	}
+	
+	public static boolean isActive(EntityFunction function, CallbackEventType eventType) {
+		switch (eventType) {
+			case CREATE:
+				return function.isActiveOnCreate();
+				
+			case MODIFY:
+				return function.isActiveOnModify();
+				
+			case BEFOREINSERT:
+				return function.isActiveBeforeInsert();
+				
+			case AFTERINSERT:
+				return function.isActiveAfterInsert();
+				
+			case BEFOREUPDATE:
+				return function.isActiveBeforeUpdate();
+				
+			case AFTERUPDATE:
+				return function.isActiveAfterUpdate();
+				
+			case BEFOREDELETE:
+				return function.isActiveBeforeDelete();
+				
+			case AFTERDELETE:
+				return function.isActiveAfterDelete();
+				
+			default:
+				throw new UnsupportedOperationException(eventType.name());
+		}
+	}
+	
+	public static boolean isActive(EntityStatusTransitionFunction transitionFunction, CallbackEventType eventType) {
+		switch (eventType) {
+			case BEFORETRANSITION:
+				return transitionFunction.isActiveBeforeTransition();
+				
+			case AFTERTRANSITION:
+				return transitionFunction.isActiveAfterTransition();
+				
+			default:
+				throw new UnsupportedOperationException(eventType.name());
+		}
+	}
+	
+	// the first active function of each event type is executed
+	private static Map<CallbackEventType, EntityFunction> buildEntityFunctions(Entity entity) {
+		final Map<CallbackEventType, EntityFunction> functionMap = new EnumMap<>(CallbackEventType.class);
+		if (entity.hasFunctions()) {
+			for (EntityFunction function : entity.getFunctions()) {
+				if (function.isActive()) {
+					for (CallbackEventType eventType : CallbackEventType.values()) {
+						if (isEntityEvent(eventType) && isActive(function, eventType)) {
+							functionMap.putIfAbsent(eventType, function);
+						}
+					}
+				}
+			}
+		}
+		return functionMap;
+	}
+	
+	private static Map<CallbackEventType, EntityFunction> buildTransitionFunctions(EntityStatusTransition transition) {
+		final Map<CallbackEventType, EntityFunction> functionMap = new EnumMap<>(CallbackEventType.class);
+		if (transition.hasFunctions()) {
+			for (EntityStatusTransitionFunction transitionFunction : transition.getFunctions()) {
+				if (transitionFunction.getFunction().isActive()) {
+					if (isActive(transitionFunction, CallbackEventType.BEFORETRANSITION)) {
+						functionMap.putIfAbsent(CallbackEventType.BEFORETRANSITION, transitionFunction.getFunction());
+					}
+					if (isActive(transitionFunction, CallbackEventType.AFTERTRANSITION)) {
+						functionMap.putIfAbsent(CallbackEventType.AFTERTRANSITION, transitionFunction.getFunction());
+					}
+				}
+			}
+		}
+		return functionMap;
+	}
+	
+	private static boolean isEntityEvent(CallbackEventType eventType) {
+		switch (eventType) {
+			case CREATE:
+			case MODIFY:
+			case BEFOREINSERT:
+			case AFTERINSERT:
+			case BEFOREUPDATE:
+			case AFTERUPDATE:
+			case BEFOREDELETE:
+			case AFTERDELETE:
+				return true;
+				
+			default:
+				return false;
+		}
+	}
+	
+}
@@ -17,14 +17,17 @@
  */
 package org.seed.core.entity.value.event;
 
-import static org.seed.core.util.CollectionUtils.subList;
+import static org.seed.core.util.CollectionUtils.anyMatch;
+import static org.seed.core.util.CollectionUtils.firstMatch;
 
 import org.hibernate.Session;
 
+import org.seed.C;
 import org.seed.InternalException;
 import org.seed.core.api.ApplicationException;
 import org.seed.core.api.CallbackEventType;
-import org.seed.core.api.CallbackFunction;
+import org.seed.core.application.MetadataProvider;
+import org.seed.core.application.MetadataSnapshot;
 import org.seed.core.codegen.CodeManager;
 import org.seed.core.config.SystemLog;
 import org.seed.core.entity.Entity;
@@ -33,7 +36,6 @@ import org.seed.core.entity.EntityRepository;
 import org.seed.core.entity.EntityStatusTransition;
 import org.seed.core.entity.value.ValueObject;
 import org.seed.core.util.Assert;
-import org.seed.core.util.BeanUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +53,11 @@ public class ValueObjectEventHandler {
 	@Autowired
 	private CodeManager codeManager;
 	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
+	private volatile CallbackDispatchTable dispatchTable;
+	
 	public boolean processEvent(ValueObjectEvent event) {
 		Assert.notNull(event, "event");
 		Assert.state(event.type != CallbackEventType.USERACTION, "use processUserEvent instead");
@@ -65,6 +72,30 @@ public class ValueObjectEventHandler {
 		}
 	}
 	
+	// true if an active callback function of the entity reacts to one of the event types
+	public boolean hasCallbacks(Entity entity, CallbackEventType ...eventTypes) {
+		Assert.notNull(entity, C.ENTITY);
+		
+		for (CallbackEventType eventType : eventTypes) {
+			if (anyMatch(entity.getFunctions(), 
+						 func -> func.isCallback() && func.isActive() && 
+						 		 CallbackDispatchTable.isActive(func, eventType))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	// true if an active function is called before or after the status transition
+	public boolean hasCallbacks(EntityStatusTransition statusTransition) {
+		Assert.notNull(statusTransition, "status transition");
+		
+		return anyMatch(statusTransition.getFunctions(), 
+						transFunction -> transFunction.getFunction().isActive() && 
+										 (CallbackDispatchTable.isActive(transFunction, CallbackEventType.BEFORETRANSITION) ||
+										  CallbackDispatchTable.isActive(transFunction, CallbackEventType.AFTERTRANSITION)));
+	}
+	
 	public String processUserEvent(ValueObjectEvent event) {
 		Assert.notNull(event, "event");
 		final EntityFunction entityFunction = event.entityFunction;
@@ -81,82 +112,64 @@ public class ValueObjectEventHandler {
 		final EntityStatusTransition statusTransition = event.statusTransition;
 		Assert.stateAvailable(statusTransition, "status transition");
 		final Entity entity = statusTransition.getEntity();
+		final CallbackDispatchTable table = getDispatchTable();
 		
-		for (var transitionFunction : subList(statusTransition.getFunctions(), 
-											  function -> function.getFunction().isActive())) {
-			boolean execute = false;
-			switch (event.type) {
-				case BEFORETRANSITION:
-					execute = transitionFunction.isActiveBeforeTransition();
-					break;
-					
-				case AFTERTRANSITION:
-					execute = transitionFunction.isActiveAfterTransition();
-					break;
-					
-				default:
-					throw new UnsupportedOperationException(event.type.name());
-			}
-			if (execute) {
-				callFunction(entity, transitionFunction.getFunction(), event.type, event.object, 
-							 event.session, event.functionContext, statusTransition);
-				return true;
-			}
+		EntityFunction function = null;
+		if (table.containsTransition(statusTransition.getId())) {
+			function = table.getTransitionFunction(statusTransition.getId(), event.type);
+		}
+		else {
+			final var transitionFunction = firstMatch(statusTransition.getFunctions(), 
+					transFunction -> transFunction.getFunction().isActive() && 
+									 CallbackDispatchTable.isActive(transFunction, event.type));
+			function = transitionFunction != null ? transitionFunction.getFunction() : null;
+		}
+		if (function != null) {
+			callFunction(entity, function, event.type, event.object, 
+						 event.session, event.functionContext, statusTransition);
+			return true;
 		}
 		return false;
 	}
 	
 	private boolean processEntityEvent(ValueObjectEvent event) {
-		final Entity entity = entityRepository.get(event.object.getEntityId(), event.getSession());
+		final Long entityId = event.object.getEntityId();
+		final MetadataSnapshot snapshot = metadataProvider.getSnapshot();
+		final CallbackDispatchTable table = getDispatchTable(snapshot);
 		
-		for (EntityFunction function : subList(entity.getFunctions(), EntityFunction::isActive)) {
-			boolean execute = false;
-			switch (event.type) {
-				case CREATE:
-					execute = function.isActiveOnCreate();
-					break;
-					
-				case MODIFY:
-					execute = function.isActiveOnModify();
-					break;
-					
-				case BEFOREINSERT:
-					execute = function.isActiveBeforeInsert();
-					break;
-					
-				case AFTERINSERT:
-					execute = function.isActiveAfterInsert();
-					break;
-					
-				case BEFOREUPDATE:
-					execute = function.isActiveBeforeUpdate();
-					break;
-					
-				case AFTERUPDATE:
-					execute = function.isActiveAfterUpdate();
-					break;
-					
-				case BEFOREDELETE:
-					execute = function.isActiveBeforeDelete();
-					break;
-					
-				case AFTERDELETE:
-					execute = function.isActiveAfterDelete();
-					break;
-					
-				default:
-					throw new UnsupportedOperationException(event.type.name());
-			}
-			if (execute) {
-				callFunction(entity, function, event.type, event.object, 
-							 event.session, event.functionContext, null);
-				return true;
-			}
+		Entity entity;
+		EntityFunction function;
+		if (table.containsEntity(entityId)) {
+			entity = snapshot.getEntityById(entityId);
+			function = table.getEntityFunction(entityId, event.type);
+		}
+		else {
+			// entity is not part of the dispatch table yet
+			entity = entityRepository.get(entityId, event.getSession());
+			function = firstMatch(entity.getFunctions(), 
+								  func -> func.isActive() && CallbackDispatchTable.isActive(func, event.type));
+		}
+		if (function != null) {
+			callFunction(entity, function, event.type, event.object, 
+						 event.session, event.functionContext, null);
+			return true;
 		}
 		return false;
 	}
 	
-	@SuppressWarnings("unchecked")
+	private CallbackDispatchTable getDispatchTable() {
+		return getDispatchTable(metadataProvider.getSnapshot());
+	}
+	
+	private CallbackDispatchTable getDispatchTable(MetadataSnapshot snapshot) {
+		CallbackDispatchTable table = dispatchTable;
+		if (table == null || table.getVersion() != snapshot.getVersion()) {
+			table = new CallbackDispatchTable(snapshot.getVersion(), snapshot.getEntities());
+			dispatchTable = table;
+		}
+		return table;
+	}
+	
 	private String callFunction(Entity entity, EntityFunction function, CallbackEventType eventType, 
 								ValueObject object, Session session, ValueObjectFunctionContext functionContext, 
 								EntityStatusTransition statusTransition) {
@@ -168,7 +181,7 @@ public class ValueObjectEventHandler {
 		Assert.stateAvailable(functionClass, "function class: " + function.getGeneratedPackage() + '.' + 
 																  function.getGeneratedClass());
 		try {
-			final var callbackFunction = (CallbackFunction<ValueObject>) BeanUtils.instantiate(functionClass);
+			final var callbackFunction = getDispatchTable().getCallback(functionClass);
 			if (functionContext == null) {
 				functionContext = new ValueObjectFunctionContext(session, entity.getModule(), statusTransition);
 			}
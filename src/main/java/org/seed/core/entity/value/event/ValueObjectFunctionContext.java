@@ -81,6 +81,10 @@ public class ValueObjectFunctionContext extends AbstractFunctionContext
 		this.statusTransition = statusTransition;
 	}
 	
+	public Module getModule() {
+		return module;
+	}
+	
 	public CallbackEventType getEventType() {
 		return eventType;
 	}
@@ -17,7 +17,9 @@
  */
 package org.seed.core.entity.value.event;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nullable;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -27,6 +29,7 @@ import org.seed.C;
 import org.seed.InternalException;
 import org.seed.Seed;
 import org.seed.core.api.BatchOperation;
+import org.seed.core.api.BatchPartitionFunction;
 import org.seed.core.api.DBCursor;
 import org.seed.core.api.EntityFilter;
 import org.seed.core.api.EntityObject;
@@ -39,6 +42,7 @@ import org.seed.core.data.BatchCursor;
 import org.seed.core.data.QueryCursor;
 import org.seed.core.data.ValidationException;
 import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
 import org.seed.core.entity.EntityService;
 import org.seed.core.entity.EntityStatus;
 import org.seed.core.entity.filter.Filter;
@@ -187,6 +191,22 @@ class ValueObjectProvider implements EntityObjectProvider {
 		return new BatchCursor(batchSize);
 	}
 	
+	@Override
+	public <T extends EntityObject> long processPartitioned(Class<T> objectClass, BatchPartitionFunction<T> function) throws ValidationException {
+		return processPartitioned(objectClass, valueObjectService.getDefaultNumPartitions(), function);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends EntityObject> long processPartitioned(Class<T> objectClass, int numPartitions, BatchPartitionFunction<T> function) throws ValidationException {
+		Assert.notNull(objectClass, C.OBJECTCLASS);
+		Assert.notNull(function, C.FUNCTION);
+		
+		final Entity entity = getEntity((Class<ValueObject>) objectClass);
+		return valueObjectService.processPartitioned(entity, numPartitions, 
+				(BatchPartitionFunction<ValueObject>) function, functionContext);
+	}
+	
 	@Override
 	public CriteriaBuilder getCriteriaBuilder() {
 		return functionContext.getSession().getCriteriaBuilder();
@@ -205,6 +225,45 @@ class ValueObjectProvider implements EntityObjectProvider {
 		valueObjectService.changeStatus((ValueObject) entityObject, (EntityStatus) targetStatus, null, functionContext);
 	}
 	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends EntityObject> int updateAll(Class<T> objectClass, @Nullable EntityFilter filter, 
+												  Map<String, Object> valueMap) throws ValidationException {
+		Assert.notNull(objectClass, C.OBJECTCLASS);
+		Assert.notNull(valueMap, "value map");
+		
+		final Entity entity = getEntity((Class<ValueObject>) objectClass);
+		final Map<EntityField, Object> fieldValueMap = new LinkedHashMap<>();
+		for (var entry : valueMap.entrySet()) {
+			final EntityField field = entity.getFieldByName(entry.getKey());
+			Assert.state(field != null, "field " + entry.getKey() + " not available for " + entity.getName());
+			fieldValueMap.put(field, entry.getValue());
+		}
+		return valueObjectService.updateObjects(entity, (Filter) filter, fieldValueMap, null, functionContext);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends EntityObject> int changeStatusAll(Class<T> objectClass, @Nullable EntityFilter filter, 
+														Integer statusNumber) throws ValidationException {
+		Assert.notNull(objectClass, C.OBJECTCLASS);
+		Assert.notNull(statusNumber, "status number");
+		
+		final Entity entity = getEntity((Class<ValueObject>) objectClass);
+		final EntityStatus status = entity.getStatusByNumber(statusNumber); 
+		Assert.state(status != null, "status " + statusNumber + " not available for " + entity.getName());
+		return valueObjectService.changeStatus(entity, (Filter) filter, status, null, functionContext);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends EntityObject> int deleteAll(Class<T> objectClass, @Nullable EntityFilter filter) throws ValidationException {
+		Assert.notNull(objectClass, C.OBJECTCLASS);
+		
+		final Entity entity = getEntity((Class<ValueObject>) objectClass);
+		return valueObjectService.deleteObjects(entity, (Filter) filter, null, functionContext);
+	}
+	
 	@Override
 	public <T extends EntityObject,U extends EntityObject> void transform(EntityTransformer transformer, T sourceObject, U targetObject) {
 		Assert.notNull(transformer, C.TRANSFORMER);
@@ -37,7 +37,9 @@ public enum FormActionType {
 	STATUS		(true,  false, true,  true,  false, Template.STATUS,	Template.STATUS,	null),
 	TRANSFORM	(true,  false, true,  true,  false, Template.TRANSFORM, Template.TRANSFORM, null),
 	SELECTCOLS	(true,	false, true,  false, false, null,		 		null,		  		"z-icon-columns"),
-	EXPORTLIST	(false, true,  true,  false, false, null,				null,				"z-icon-download");
+	EXPORTLIST	(false, true,  true,  false, false, null,				null,				"z-icon-download"),
+	DELETELIST	(false, false, true,  false, false, null,				null,				"z-icon-trash-o"),
+	PRINTLIST	(false, false, true,  false, false, Template.PRINTLIST,	null,				"z-icon-print");
 	
 	// if true, action is always present and can't be deseleted 
 	public final boolean isDefault;
@@ -103,6 +105,7 @@ public enum FormActionType {
 		DIRTY,
 		NOTNEW,
 		PRINT,
+		PRINTLIST,
 		SEARCH,
 		SELECT,
 		STATUS,
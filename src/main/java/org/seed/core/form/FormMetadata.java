@@ -657,6 +657,7 @@ public class FormMetadata extends AbstractApplicationEntity implements Form {
 			case NEWOBJECT:
 				return entity.checkPermissions(user, EntityAccess.CREATE);
 			case DELETE:
+			case DELETELIST:
 				return entity.checkPermissions(user, EntityAccess.DELETE);
 			default:
 				return true;
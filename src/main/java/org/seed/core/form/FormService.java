@@ -23,6 +23,7 @@ import org.hibernate.Session;
 
 import org.seed.core.application.ApplicationEntityService;
 import org.seed.core.codegen.GeneratedCode;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.ValidationException;
 import org.seed.core.entity.Entity;
 import org.seed.core.entity.EntityRelation;
@@ -59,6 +60,10 @@ public interface FormService extends ApplicationEntityService<Form> {
 	
 	List<FormAction> getDetailFormActions(Form form);
 	
+	FetchGraph getListFetchGraph(Form form);
+	
+	FetchGraph getDetailFetchGraph(Form form);
+	
 	Class<GeneratedCode> getFunctionClass(Form form, String functionName);
 	
 }
@@ -41,6 +41,7 @@ import org.seed.core.codegen.CodeUtils;
 import org.seed.core.codegen.GeneratedCode;
 import org.seed.core.config.SystemLog;
 import org.seed.core.data.AbstractSystemObject;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.SystemField;
 import org.seed.core.data.ValidationException;
 import org.seed.core.entity.Entity;
@@ -341,6 +342,50 @@ public class FormServiceImpl extends AbstractApplicationEntityService<Form>
 		return getFormActions(form, false);
 	}
 	
+	// references shown as list columns
+	@Override
+	public FetchGraph getListFetchGraph(Form form) {
+		Assert.notNull(form, C.FORM);
+		
+		final var fetchGraph = new FetchGraph();
+		for (FormField field : form.getFields()) {
+			if (field.getEntityField() != null && isAssociation(field.getEntityField())) {
+				fetchGraph.addAttribute(field.getEntityField().getInternalName());
+			}
+			else if (field.getSystemField() == SystemField.ENTITYSTATUS) {
+				fetchGraph.addAttribute(SystemField.ENTITYSTATUS.property);
+			}
+		}
+		return fetchGraph;
+	}
+	
+	// references of the layout and the first subform with its references,
+	// hibernate can't fetch more than one list (bag) in a single query
+	@Override
+	public FetchGraph getDetailFetchGraph(Form form) {
+		Assert.notNull(form, C.FORM);
+		
+		final var fetchGraph = new FetchGraph();
+		if (form.getEntity().hasStatus()) {
+			fetchGraph.addAttribute(SystemField.ENTITYSTATUS.property);
+		}
+		if (form.getLayout() != null) {
+			final Set<String> fieldIds = getLayoutService().getIdSet(form.getLayout());
+			filterAndForEach(form.getEntity().getAllFields(), 
+							 field -> isAssociation(field) && fieldIds.contains(field.getUid()), 
+							 field -> fetchGraph.addAttribute(field.getInternalName()));
+		}
+		if (form.hasSubForms()) {
+			final SubForm subForm = form.getSubForms().get(0);
+			fetchGraph.addSubgraph(subForm.getNestedEntity().getInternalName(), 
+								   convertedSet(subList(subForm.getFields(), 
+										   				field -> field.getEntityField() != null && 
+										   						 isAssociation(field.getEntityField())), 
+										   		field -> field.getEntityField().getInternalName()));
+		}
+		return fetchGraph;
+	}
+	
 	@Override
 	public Class<GeneratedCode> getFunctionClass(Form form, String functionName) {
 		Assert.notNull(form, C.FORM);
@@ -501,7 +546,7 @@ public class FormServiceImpl extends AbstractApplicationEntityService<Form>
 			}
 		}
 		
-		updateConfiguration();
+		updateClassConfiguration();
 	}
 	
 	@Override
@@ -961,6 +1006,10 @@ public class FormServiceImpl extends AbstractApplicationEntityService<Form>
 						 field -> field.setThumbnailWidth(null));
 	}
 	
+	private static boolean isAssociation(EntityField field) {
+		return field.getType().isReference() || field.getType().isFile();
+	}
+	
 	private LayoutService getLayoutService() {
 		return getBean(LayoutService.class);
 	}
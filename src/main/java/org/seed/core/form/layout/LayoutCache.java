@@ -20,25 +20,20 @@ package org.seed.core.form.layout;
 import static org.seed.core.util.CollectionUtils.filterAndForEach;
 
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
 
+// holds layouts while they are edited, abandoned layouts are removed 
+// when a new layout is registered
 class LayoutCache {
 	
-	private static final long TIMER_CHECK_INTERVAL		 =  60 * 60 * 1000l; // 1h
 	private static final long MAX_TIME_SINCE_LAST_ACCESS = 180 * 60 * 1000l; // 3h
 	
 	private final Map<String, Long> timestampMap = new ConcurrentHashMap<>();
 	
 	private final Map<String, LayoutElement> layoutMap = new ConcurrentHashMap<>();
 	
-	LayoutCache() {
-		new Timer("LayoutCacheTask").schedule(new RemoveAbandonedTask(), 
-											  TIMER_CHECK_INTERVAL, TIMER_CHECK_INTERVAL);
-	}
-	
 	void registerLayout(String name, LayoutElement root) {
+		removeAbandonedLayouts();
 		updateTimestamp(name);
 		layoutMap.put(name, root);
 	}
@@ -59,16 +54,11 @@ class LayoutCache {
 		timestampMap.put(name, System.currentTimeMillis());
 	}
 	
-	private class RemoveAbandonedTask extends TimerTask {
-		
-		@Override
-		public void run() {
-			final long minTime = System.currentTimeMillis() - MAX_TIME_SINCE_LAST_ACCESS;
-			filterAndForEach(timestampMap.entrySet(), 
-							 entry -> entry.getValue() < minTime, 
-							 entry -> removeLayout(entry.getKey()));
-		}
-		
+	private void removeAbandonedLayouts() {
+		final long minTime = System.currentTimeMillis() - MAX_TIME_SINCE_LAST_ACCESS;
+		filterAndForEach(timestampMap.entrySet(), 
+						 entry -> entry.getValue() < minTime, 
+						 entry -> removeLayout(entry.getKey()));
 	}
 
 }
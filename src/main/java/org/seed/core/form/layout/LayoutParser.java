@@ -37,7 +37,10 @@ import org.xml.sax.helpers.DefaultHandler;
 
 class LayoutParser {
 	
-	private SAXParserFactory parserFactory;
+	private final SAXParserFactory parserFactory = SAXParserFactory.newInstance();
+	
+	// sax parsers aren't thread-safe but can be reused after reset
+	private final ThreadLocal<SAXParser> parsers = new ThreadLocal<>();
 	
 	LayoutElement parse(String content) throws SAXException, IOException, ParserConfigurationException {
 		Assert.notNull(content, C.CONTENT);
@@ -49,15 +52,23 @@ class LayoutParser {
 		Assert.notNull(inputStream, "inputStream");
 		
 		final LayoutHandler layoutHandler = new LayoutHandler();
-		getParser().parse(inputStream, layoutHandler);
+		final SAXParser parser = getParser();
+		try {
+			parser.parse(inputStream, layoutHandler);
+		}
+		finally {
+			parser.reset();
+		}
 		return layoutHandler.rootElement;
 	}
 	
 	private SAXParser getParser() throws SAXException, ParserConfigurationException {
-		if (parserFactory == null) {
-			parserFactory = SAXParserFactory.newInstance();
+		SAXParser parser = parsers.get();
+		if (parser == null) {
+			parser = parserFactory.newSAXParser();
+			parsers.set(parser);
 		}
-		return parserFactory.newSAXParser();
+		return parser;
 	}
 	
 	private class LayoutHandler extends DefaultHandler {
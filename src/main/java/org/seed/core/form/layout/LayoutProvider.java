@@ -23,4 +23,7 @@ public interface LayoutProvider {
 	
 	String getLayout(String path, FormSettings settings);
 	
+	// returns null if the layout must not be cached
+	String getLayoutKey(String path, FormSettings settings);
+	
 }
@@ -22,6 +22,7 @@ import static org.seed.core.form.layout.LayoutUtils.*;
 import static org.seed.core.util.CollectionUtils.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -31,6 +32,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.seed.C;
 import org.seed.InternalException;
 import org.seed.LabelProvider;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.config.SystemLog;
 import org.seed.core.data.SystemField;
 import org.seed.core.data.ValidationException;
@@ -87,6 +89,9 @@ public class LayoutServiceImpl implements LayoutService, LayoutProvider {
 	@Autowired
 	private LabelProvider labelProvider;
 	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
 	private final LayoutParser layoutParser = new LayoutParser();
 	
 	private final LayoutBuilder layoutBuilder = new LayoutBuilder();
@@ -139,6 +144,41 @@ public class LayoutServiceImpl implements LayoutService, LayoutProvider {
 		return content;
 	}
 	
+	@Override
+	public String getLayoutKey(String path, FormSettings settings) {
+		Assert.notNull(path, C.PATH);
+		
+		final Long formId;
+		final StringBuilder buf = new StringBuilder();
+		if (path.startsWith(PATH_LIST)) {
+			formId = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+			buf.append(PATH_LIST);
+		}
+		else if (path.startsWith(PATH_DETAIL)) {
+			formId = Long.parseLong(path.substring(PATH_DETAIL.length()));
+			buf.append(PATH_DETAIL);
+		}
+		else if (path.startsWith(PATH_SEARCH)) {
+			formId = Long.parseLong(path.substring(PATH_SEARCH.length()));
+			buf.append(PATH_SEARCH);
+		}
+		else { // edit layouts change while editing
+			return null;
+		}
+		
+		final Form form = getForm(formId);
+		buf.append(formId).append(':').append(form.getVersion())
+		   .append(':').append(metadataProvider.getSnapshot().getVersion());
+		// list layouts depend on the column settings of the user
+		if (path.startsWith(PATH_LIST)) {
+			Assert.notNull(settings, "form settings");
+			for (FormField field : getVisibleFields(form, settings)) {
+				buf.append(':').append(field.getId());
+			}
+		}
+		return buf.toString();
+	}
+	
 	@Override
 	public LayoutElement getEditLayout(String editLayoutUid) {
 		Assert.notNull(editLayoutUid, EDITLAYOUT_UID);
@@ -749,7 +789,10 @@ public class LayoutServiceImpl implements LayoutService, LayoutProvider {
 	}
 	
 	private Form getForm(Long formId) {
-		final Form form = formService.getObject(formId);
+		Form form = metadataProvider.getSnapshot().getFormById(formId);
+		if (form == null) {
+			form = formService.getObject(formId);
+		}
 		Assert.stateAvailable(form, C.FORM + ' ' + formId);
 		return form;
 	}
@@ -809,18 +852,28 @@ public class LayoutServiceImpl implements LayoutService, LayoutProvider {
 		redecorateLayout(form, layoutRoot);
 	}
 	
+	// sorts a copy, forms can be shared
+	private static List<FormField> getVisibleFields(Form form, FormSettings formSettings) {
+		if (!form.hasFields()) {
+			return Collections.emptyList();
+		}
+		final List<FormField> fields = new ArrayList<>(form.getFields());
+		formSettings.sortFields(fields);
+		return subList(fields, formSettings::isFormFieldVisible);
+	}
+	
 	private String buildListFormLayout(Form form, FormSettings formSettings) {
 		Assert.notNull(form, C.FORM);
 		Assert.notNull(formSettings, "form settings");
 		
-		if (anyMatch(form.getFields(), formSettings::isFormFieldVisible)) {
+		final List<FormField> visibleFields = getVisibleFields(form, formSettings);
+		if (!visibleFields.isEmpty()) {
 			final var elemListbox = createListFormList();
 			final var elemListhead = elemListbox.addChild(createListHead(true));
 			final var elemTemplate = elemListbox.addChild(createTemplate(A_MODEL, "obj"));
 			final var elemListitem = elemTemplate.addChild(createListItem("'callAction',action=vm.editAction,elem=self"))
 														   .setAttribute(A_SCLASS, init("vm.getListItemTestClass(obj)"));
-			formSettings.sortFields(form.getFields());
-			for (FormField field : subList(form.getFields(), formSettings::isFormFieldVisible)) {
+			for (FormField field : visibleFields) {
 				// header
 				final var elemListheader = createListHeader(field.getName(), 
 															field.getHflex() != null 
@@ -864,7 +917,7 @@ public class LayoutServiceImpl implements LayoutService, LayoutProvider {
 		// binary field
 		else if (field.getEntityField().getType().isBinary()) {
 			final String converter = field.getThumbnailWidth() != null
-										? "vm.getThumbnailConverter(" + field.getId() + ')'
+										? "vm.getThumbnailConverter(" + field.getId() + "), object=obj"
 										: "vm.valueConverter";
 			return createImageListCell(load(listPropertyName(field)) + ' ' + converter(converter));
 		}
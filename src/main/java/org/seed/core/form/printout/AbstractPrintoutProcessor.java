@@ -17,8 +17,6 @@
  */
 package org.seed.core.form.printout;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
@@ -29,14 +27,13 @@ import org.seed.core.data.FileObject;
 import org.seed.core.entity.Entity;
 import org.seed.core.entity.NestedEntity;
 import org.seed.core.entity.value.ValueObject;
-import org.seed.core.form.FormPrintout;
 import org.seed.core.util.Assert;
 import org.seed.core.util.BeanUtils;
 
 public abstract class AbstractPrintoutProcessor implements PrintoutProcessor {
 	
-	private static final String PATTERN_START = "{{";
-	private static final String PATTERN_END = "}}";
+	protected static final String PATTERN_START = "{{";
+	protected static final String PATTERN_END = "}}";
 	
 	private final Entity entity;
 	
@@ -50,81 +47,34 @@ public abstract class AbstractPrintoutProcessor implements PrintoutProcessor {
 		this.labelProvider = labelProvider;
 	}
 	
-	protected NestedEntity findNestedProperty(String text) {
-		Assert.notNull(text, C.TEXT);
+	// returns the nested entity if the key refers to a nested property
+	protected NestedEntity getNestedEntity(String key) {
+		Assert.notNull(key, C.KEY);
 		
-		int idx = 0;
-		while (idx < text.length()) {
-			final int start = findPatternStart(text, idx);
-			if (start < 0) {
-				break;
-			}
-			
-			final int end = findPatternEnd(text, start);
-			if (end < 0) {
-				return null;
-			}
-			
-			final String[] keyParts = getKey(text, start, end).split("\\.");
-			if (keyParts.length > 1) {
-				final NestedEntity nested = entity.getNestedByInternalName(keyParts[0]);
-				if (nested != null) {
-					return nested;
-				}
-			}
-			
-			idx = end + PATTERN_END.length();
-		}
-		return null;
+		final int idx = key.indexOf('.');
+		return idx > 0 
+				? entity.getNestedByInternalName(key.substring(0, idx)) 
+				: null;
 	}
 	
-	protected String replace(String text, ValueObject valueObject, NestedEntity nestedEntity, ValueObject nestedObject) {
-		Assert.notNull(text, C.TEXT);
+	protected String getValue(String key, ValueObject valueObject, NestedEntity nestedEntity, ValueObject nestedObject) {
+		Assert.notNull(key, C.KEY);
 		Assert.notNull(valueObject, "valueObject");
 		
-		if (findPatternStart(text, 0) < 0) {
-			return text;
-		}
-		
-		int idx = 0;
-		final StringBuilder buf = new StringBuilder();
-		while (idx < text.length()) {
-			final int start = findPatternStart(text, idx);
-			if (start < 0) {
-				buf.append(text.substring(idx));
-				break;
-			}
-			
-			final int end = findPatternEnd(text, start);
-			if (end < 0) {
-				return "error: {{unbalanced braces}}";
-			}
-			
-			buf.append(text.substring(idx, start))
-			   .append(replaceKey(getKey(text, start, end), 
-					   			  valueObject, nestedEntity, nestedObject));
-			
-			idx = end + PATTERN_END.length();
-		}
-		return buf.toString();
-	}
-	
-	
-	private String replaceKey(String key, ValueObject valueObject, NestedEntity nestedEntity, ValueObject nestedObject) {
 		if (nestedEntity != null && key.startsWith(nestedEntity.getInternalName() + '.')) {
-			return replaceKey(key.substring(key.indexOf('.') + 1), nestedObject);
+			return getValue(key.substring(key.indexOf('.') + 1), nestedObject);
 		}
-		return replaceKey(key, valueObject);
+		return getValue(key, valueObject);
 	}
 	
-	private String replaceKey(String key, ValueObject valueObject) {
+	private String getValue(String key, ValueObject valueObject) {
 		try {
 			final int idx = key.indexOf('.');
 			if (idx >= 0) {
 				final Object object = BeanUtils.callGetter(valueObject, key.substring(0, idx));
 				if (object != null) {
 					if (object instanceof ValueObject) {
-						return replaceKey(key.substring(idx + 1), (ValueObject) object);
+						return getValue(key.substring(idx + 1), (ValueObject) object);
 					}
 					else {
 						throw new IllegalStateException();
@@ -164,23 +114,32 @@ public abstract class AbstractPrintoutProcessor implements PrintoutProcessor {
 		return value;
 	}
 	
-	protected static InputStream getInputStream(FormPrintout printout) {
-		return new ByteArrayInputStream(printout.getContent());
-	}
-	
 	protected static List<ValueObject> getNestedObjects(ValueObject valueObject, NestedEntity nestedEntity) {
 		return BeanUtils.callGetter(valueObject, nestedEntity.getInternalName());
 	}
 	
-	private static int findPatternStart(String text, int idx) {
-		return text.indexOf(PATTERN_START, idx);
+	// returns the start of the next placeholder within the same xml text node
+	protected static int findPatternStart(String text, int idx) {
+		int start = text.indexOf(PATTERN_START, idx);
+		while (start >= 0) {
+			final int end = findPatternEnd(text, start);
+			if (end < 0) {
+				return -1;
+			}
+			final int tag = text.indexOf('<', start);
+			if (tag < 0 || tag > end) {
+				return start;
+			}
+			start = text.indexOf(PATTERN_START, start + PATTERN_START.length());
+		}
+		return -1;
 	}
 	
-	private static int findPatternEnd(String text, int start) {
+	protected static int findPatternEnd(String text, int start) {
 		return text.indexOf(PATTERN_END, start + PATTERN_START.length());
 	}
 	
-	private static String getKey(String text, int start, int end) {
+	protected static String getKey(String text, int start, int end) {
 		return text.substring(start + PATTERN_START.length(), end).trim();
 	}
 	
@@ -17,19 +17,20 @@
  */
 package org.seed.core.form.printout;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.apache.poi.xwpf.usermodel.XWPFRun;
-import org.apache.poi.xwpf.usermodel.XWPFTable;
-import org.apache.poi.xwpf.usermodel.XWPFTableCell;
-import org.apache.poi.xwpf.usermodel.XWPFTableRow;
-import org.apache.xmlbeans.XmlException;
-import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRow;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
 
 import org.seed.C;
 import org.seed.InternalException;
@@ -40,128 +41,246 @@ import org.seed.core.entity.NestedEntity;
 import org.seed.core.entity.value.ValueObject;
 import org.seed.core.form.FormPrintout;
 import org.seed.core.util.Assert;
+import org.seed.core.util.MiscUtils;
 
 import org.springframework.util.FastByteArrayOutputStream;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StreamUtils;
 
+// a compiled template holds the package parts and the main document split 
+// into xml literals and placeholders, printing only fills in the values
 class DOCXPrintoutProcessor extends AbstractPrintoutProcessor {
+	
+	private static final String ROW_START = "<w:tr";
+	private static final String ROW_END = "</w:tr>";
 
 	public DOCXPrintoutProcessor(Entity entity, LabelProvider labelProvider) {
 		super(entity, labelProvider); 
 	}
 	
-	private int processNestedRow(ValueObject valueObject, NestedEntity nestedEntity,
-								 XWPFTable table, XWPFTableRow row, int rowIdx, 
-								 List<XWPFTableRow> newRows) throws XmlException, IOException {
-		int removeRowIdx = -1;
-		final List<ValueObject> nestedObjects = getNestedObjects(valueObject, nestedEntity);
-		// no objects -> remove template row
-		if (ObjectUtils.isEmpty(nestedObjects)) {
-			removeRowIdx = rowIdx;
-		}
-		// exacly one object -> replace template row
-		else if (nestedObjects.size() == 1) {
-			processRow(row, valueObject, nestedEntity, nestedObjects.get(0));
-		}
-		// multiple objects
-		else {
-			// remove template row 
-			removeRowIdx = rowIdx;
-			// create n new rows
-			for (ValueObject nestedObject : nestedObjects) {
-				final XWPFTableRow newRow = new XWPFTableRow(
-						CTRow.Factory.parse(row.getCtRow().newInputStream()), table);
-				processRow(newRow, valueObject, nestedEntity, nestedObject);
-				newRows.add(newRow);
-			}
-		}
-		return removeRowIdx;
-	}
-
 	@Override
-	public byte[] process(FormPrintout printout, ValueObject valueObject) {
+	public PrintoutTemplate compile(FormPrintout printout) {
 		Assert.notNull(printout, C.PRINTOUT);
-		Assert.notNull(valueObject, "value object");
+		Assert.notNull(printout.getContent(), C.CONTENT);
 		
-		try (FastByteArrayOutputStream baos = new FastByteArrayOutputStream()) {
-			process(printout, valueObject, baos);
-			return baos.toByteArray();
-		} 
+		try {
+			final String documentPartName = getDocumentPartName(printout.getContent());
+			final Map<String, byte[]> parts = readParts(printout.getContent());
+			final byte[] document = parts.get(documentPartName);
+			Assert.stateAvailable(document, documentPartName);
+			
+			return new DOCXTemplate(parts, documentPartName, 
+									compile(MiscUtils.toString(document), true));
+		}
+		catch (IOException | InvalidFormatException ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
 	}
 	
-	private void process(FormPrintout printout, ValueObject valueObject, OutputStream out) {
-		try (XWPFDocument document = new XWPFDocument(getInputStream(printout))) {
-			for (XWPFParagraph paragraph : document.getParagraphs()) {
-				processParagraph(paragraph, valueObject, null, null);
+	private List<Segment> compile(String xml, boolean detectRows) {
+		final List<Segment> segments = new ArrayList<>();
+		int idx = 0;
+		int start;
+		while ((start = findPatternStart(xml, idx)) >= 0) {
+			// the whole row is classified at its first placeholder,
+			// rows that start before idx have already been classified as plain rows
+			final int rowStart = detectRows ? findRowStart(xml, start) : -1;
+			if (rowStart >= idx) {
+				final int rowEnd = xml.indexOf(ROW_END, start);
+				final NestedEntity nestedEntity = rowEnd >= 0 
+													? findNestedEntity(xml, start, rowEnd) 
+													: null;
+				// row contains nested entity properties
+				if (nestedEntity != null) {
+					addLiteral(segments, xml.substring(idx, rowStart));
+					segments.add(new NestedRowSegment(nestedEntity, 
+							compile(xml.substring(rowStart, rowEnd + ROW_END.length()), false)));
+					idx = rowEnd + ROW_END.length();
+					continue;
+				}
 			}
-			for (XWPFTable table : document.getTables()) {
-				int rowIdx = 0;
-				int removeRowIdx = -1;
-				
-				List<XWPFTableRow> newRows = new ArrayList<>();
-				for (XWPFTableRow row : table.getRows()) {
-					final NestedEntity nestedEntity = findNestedProperty(row);
-					// row contains nested entity properties
-					if (nestedEntity != null) {
-						removeRowIdx = processNestedRow(valueObject, nestedEntity, table, 
-														row, rowIdx, newRows);
-					}
-					// row without nested entity properties
-					else {
-						processRow(row, valueObject, null, null);
+			final int end = findPatternEnd(xml, start);
+			addLiteral(segments, xml.substring(idx, start));
+			segments.add(new KeySegment(getKey(xml, start, end)));
+			idx = end + PATTERN_END.length();
+		}
+		addLiteral(segments, xml.substring(idx));
+		return segments;
+	}
+	
+	// scan row for nested object property and return NestedEntity
+	private NestedEntity findNestedEntity(String xml, int start, int rowEnd) {
+		int pos = start;
+		while (pos >= 0 && pos < rowEnd) {
+			final int end = findPatternEnd(xml, pos);
+			final NestedEntity nestedEntity = getNestedEntity(getKey(xml, pos, end));
+			if (nestedEntity != null) {
+				return nestedEntity;
+			}
+			pos = findPatternStart(xml, end + PATTERN_END.length());
+		}
+		return null;
+	}
+	
+	private void print(List<Segment> segments, StringBuilder buf, ValueObject valueObject, 
+					   NestedEntity nestedEntity, ValueObject nestedObject) {
+		for (Segment segment : segments) {
+			if (segment instanceof KeySegment) {
+				escapeXml(buf, getValue(((KeySegment) segment).key, valueObject, nestedEntity, nestedObject));
+			}
+			else if (segment instanceof NestedRowSegment) {
+				final var rowSegment = (NestedRowSegment) segment;
+				final List<ValueObject> nestedObjects = getNestedObjects(valueObject, rowSegment.nestedEntity);
+				// one row per nested object, no objects -> remove template row
+				if (!ObjectUtils.isEmpty(nestedObjects)) {
+					for (ValueObject object : nestedObjects) {
+						print(rowSegment.segments, buf, valueObject, rowSegment.nestedEntity, object);
 					}
-					rowIdx++;
-				}
-				
-				// modify table structure
-				if (removeRowIdx != -1) {
-					table.removeRow(removeRowIdx);
-				}
-				for (XWPFTableRow row : newRows) {
-					table.addRow(row, removeRowIdx++);
 				}
 			}
-			document.write(out);
+			else {
+				buf.append(((LiteralSegment) segment).text);
+			}
 		}
-		catch (IOException | XmlException ex) {
-			SystemLog.logError(ex);
-			throw new InternalException(ex);
+	}
+	
+	// the row must enclose the position without being closed before it
+	private static int findRowStart(String xml, int pos) {
+		int rowStart = xml.lastIndexOf(ROW_START + '>', pos);
+		rowStart = Math.max(rowStart, xml.lastIndexOf(ROW_START + ' ', pos));
+		if (rowStart >= 0) {
+			final int rowEnd = xml.indexOf(ROW_END, rowStart);
+			if (rowEnd >= 0 && rowEnd < pos) {
+				return -1;
+			}
 		}
+		return rowStart;
 	}
 	
-	// scan row for nested object property and return NestendEntity
-	private NestedEntity findNestedProperty(XWPFTableRow row) {
-		for (XWPFTableCell cell : row.getTableCells()) {
-			for (XWPFParagraph paragraph : cell.getParagraphs()) {
-				for (XWPFRun run : paragraph.getRuns()) {
-					final String text = run.getText(0);
-					if (text != null) {
-						final NestedEntity nested = findNestedProperty(text);
-						if (nested != null) {
-							return nested;
-						}
-					}
+	private static String getDocumentPartName(byte[] content) throws IOException, InvalidFormatException {
+		final OPCPackage pkg = OPCPackage.open(new ByteArrayInputStream(content));
+		try {
+			final List<PackagePart> parts = pkg.getPartsByRelationshipType(PackageRelationshipTypes.CORE_DOCUMENT);
+			Assert.state(!parts.isEmpty(), "document part not found");
+			return parts.get(0).getPartName().getName().substring(1);
+		}
+		finally {
+			pkg.revert();
+		}
+	}
+	
+	private static Map<String, byte[]> readParts(byte[] content) throws IOException {
+		final Map<String, byte[]> parts = new LinkedHashMap<>();
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(content))) {
+			ZipEntry entry;
+			while ((entry = zis.getNextEntry()) != null) {
+				if (!entry.isDirectory()) {
+					parts.put(entry.getName(), StreamUtils.copyToByteArray(zis));
 				}
 			}
 		}
-		return null;
+		return parts;
+	}
+	
+	private static void addLiteral(List<Segment> segments, String text) {
+		if (!text.isEmpty()) {
+			segments.add(new LiteralSegment(text));
+		}
 	}
 	
-	private void processRow(XWPFTableRow row, ValueObject valueObject, NestedEntity nestedEntity, ValueObject nestedObject) {
-		for (XWPFTableCell cell : row.getTableCells()) {
-			for (XWPFParagraph paragraph : cell.getParagraphs()) {
-				processParagraph(paragraph, valueObject, nestedEntity, nestedObject);
+	private static void escapeXml(StringBuilder buf, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			final char ch = text.charAt(i);
+			switch (ch) {
+				case '&':
+					buf.append("&amp;");
+					break;
+				case '<':
+					buf.append("&lt;");
+					break;
+				case '>':
+					buf.append("&gt;");
+					break;
+				case '"':
+					buf.append("&quot;");
+					break;
+				default:
+					buf.append(ch);
 			}
 		}
 	}
 	
-	private void processParagraph(XWPFParagraph paragraph, ValueObject valueObject, NestedEntity nestedEntity, ValueObject nestedObject) {
-		if (paragraph.getRuns() != null) {
-			for (XWPFRun run : paragraph.getRuns()) {
-				final String text = run.getText(0);
-				if (text != null) {
-					run.setText(replace(text, valueObject, nestedEntity, nestedObject), 0);
+	private interface Segment {}
+	
+	private static class LiteralSegment implements Segment {
+		
+		private final String text;
+		
+		private LiteralSegment(String text) {
+			this.text = text;
+		}
+	}
+	
+	private static class KeySegment implements Segment {
+		
+		private final String key;
+		
+		private KeySegment(String key) {
+			this.key = key;
+		}
+	}
+	
+	private static class NestedRowSegment implements Segment {
+		
+		private final NestedEntity nestedEntity;
+		
+		private final List<Segment> segments;
+		
+		private NestedRowSegment(NestedEntity nestedEntity, List<Segment> segments) {
+			this.nestedEntity = nestedEntity;
+			this.segments = segments;
+		}
+	}
+	
+	private class DOCXTemplate implements PrintoutTemplate {
+		
+		private final Map<String, byte[]> parts;
+		
+		private final String documentPartName;
+		
+		private final List<Segment> segments;
+		
+		private final int documentLength;
+		
+		private DOCXTemplate(Map<String, byte[]> parts, String documentPartName, List<Segment> segments) {
+			this.parts = parts;
+			this.documentPartName = documentPartName;
+			this.segments = segments;
+			this.documentLength = parts.get(documentPartName).length;
+		}
+		
+		@Override
+		public byte[] print(ValueObject valueObject) {
+			Assert.notNull(valueObject, "value object");
+			
+			final StringBuilder buf = new StringBuilder(documentLength);
+			DOCXPrintoutProcessor.this.print(segments, buf, valueObject, null, null);
+			try (FastByteArrayOutputStream baos = new FastByteArrayOutputStream()) {
+				try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+					for (Map.Entry<String, byte[]> entry : parts.entrySet()) {
+						zos.putNextEntry(new ZipEntry(entry.getKey()));
+						zos.write(documentPartName.equals(entry.getKey())
+									? buf.toString().getBytes(MiscUtils.CHARSET)
+									: entry.getValue());
+						zos.closeEntry();
+					}
 				}
+				return baos.toByteArray();
+			}
+			catch (IOException ex) {
+				SystemLog.logError(ex);
+				throw new InternalException(ex);
 			}
 		}
 	}
@@ -17,11 +17,10 @@
  */
 package org.seed.core.form.printout;
 
-import org.seed.core.entity.value.ValueObject;
 import org.seed.core.form.FormPrintout;
 
 public interface PrintoutProcessor {
 	
-	byte[] process(FormPrintout printout, ValueObject valueObject);
+	PrintoutTemplate compile(FormPrintout printout);
 	
 }
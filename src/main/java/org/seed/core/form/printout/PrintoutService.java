@@ -17,6 +17,8 @@
  */
 package org.seed.core.form.printout;
 
+import java.util.List;
+
 import org.seed.core.entity.value.ValueObject;
 import org.seed.core.form.FormPrintout;
 
@@ -24,4 +26,6 @@ public interface PrintoutService {
 
 	byte[] print(FormPrintout printout, ValueObject valueObject);
 	
+	List<byte[]> print(FormPrintout printout, List<ValueObject> valueObjects);
+	
 }
@@ -18,16 +18,23 @@
 package org.seed.core.form.printout;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.Session;
 
 import org.seed.C;
 import org.seed.InternalException;
 import org.seed.LabelProvider;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.config.SystemLog;
 import org.seed.core.entity.Entity;
-import org.seed.core.entity.EntityService;
 import org.seed.core.entity.value.ValueObject;
+import org.seed.core.form.Form;
+import org.seed.core.form.FormChangeAware;
 import org.seed.core.form.FormPrintout;
 import org.seed.core.util.Assert;
 
@@ -35,7 +42,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
-public class PrintoutServiceImpl implements PrintoutService {
+public class PrintoutServiceImpl implements PrintoutService, FormChangeAware {
 	
 	private static Map<String, Class<? extends PrintoutProcessor>> mapProcessors = new HashMap<>();
 	
@@ -81,27 +88,80 @@ public class PrintoutServiceImpl implements PrintoutService {
 	}
 	
 	@Autowired
-	private EntityService entityService;
+	private MetadataProvider metadataProvider;
 	
 	@Autowired
 	private LabelProvider labelProvider;
+	
+	private final Map<Long, CompiledPrintout> templateMap = new ConcurrentHashMap<>();
 
 	@Override
 	public byte[] print(FormPrintout printout, ValueObject valueObject) {
 		Assert.notNull(printout, C.PRINTOUT);
 		Assert.notNull(valueObject, "valueObject");
 		
+		return getTemplate(printout, valueObject.getEntityId()).print(valueObject);
+	}
+	
+	// all objects are printed with the same compiled template
+	@Override
+	public List<byte[]> print(FormPrintout printout, List<ValueObject> valueObjects) {
+		Assert.notNull(printout, C.PRINTOUT);
+		Assert.notNull(valueObjects, "valueObjects");
+		
+		if (valueObjects.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return getTemplate(printout, valueObjects.get(0).getEntityId()).print(valueObjects);
+	}
+	
+	@Override
+	public void notifyCreate(Form form, Session session) {
+		// no compiled templates yet
+	}
+	
+	@Override
+	public void notifyChange(Form form, Session session) {
+		removeTemplates(form);
+	}
+	
+	@Override
+	public void notifyDelete(Form form, Session session) {
+		removeTemplates(form);
+	}
+	
+	private void removeTemplates(Form form) {
+		templateMap.values().removeIf(compiled -> form.getId().equals(compiled.formId));
+	}
+	
+	// templates are compiled once per printout version and metadata version
+	private PrintoutTemplate getTemplate(FormPrintout printout, Long entityId) {
+		final long metadataVersion = metadataProvider.getSnapshot().getVersion();
+		if (printout.isNew()) {
+			return compile(printout, entityId);
+		}
+		
+		final CompiledPrintout compiled = templateMap.get(printout.getId());
+		if (compiled != null && compiled.isCompiledFrom(printout, entityId, metadataVersion)) {
+			return compiled.template;
+		}
+		final PrintoutTemplate template = compile(printout, entityId);
+		templateMap.put(printout.getId(), new CompiledPrintout(printout.getForm().getId(), printout.getVersion(), 
+															   entityId, metadataVersion, template));
+		return template;
+	}
+	
+	private PrintoutTemplate compile(FormPrintout printout, Long entityId) {
 		try {
 			final Class<? extends PrintoutProcessor> processorClass = mapProcessors.get(printout.getContentType());
 			if (processorClass == null) {
 				throw new IllegalStateException("no processor available for content type: " + printout.getContentType());
 			}
 			
-			final Entity entity = entityService.getObject(valueObject.getEntityId());
+			final Entity entity = metadataProvider.getSnapshot().getEntityById(entityId);
 			final PrintoutProcessor processor = processorClass.getDeclaredConstructor(Entity.class, LabelProvider.class)
 															  .newInstance(entity, labelProvider);
-			return processor.process(printout, valueObject);
-		
+			return processor.compile(printout);
 		} 
 		catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | 
 				NoSuchMethodException | SecurityException ex) {
@@ -109,5 +169,33 @@ public class PrintoutServiceImpl implements PrintoutService {
 			throw new InternalException(ex);
 		}
 	}
+	
+	private static class CompiledPrintout {
+		
+		private final Long formId;
+		
+		private final int printoutVersion;
+		
+		private final Long entityId;
+		
+		private final long metadataVersion;
+		
+		private final PrintoutTemplate template;
+
+		private CompiledPrintout(Long formId, int printoutVersion, Long entityId, 
+								 long metadataVersion, PrintoutTemplate template) {
+			this.formId = formId;
+			this.printoutVersion = printoutVersion;
+			this.entityId = entityId;
+			this.metadataVersion = metadataVersion;
+			this.template = template;
+		}
+		
+		private boolean isCompiledFrom(FormPrintout printout, Long entityId, long metadataVersion) {
+			return printoutVersion == printout.getVersion() &&
+				   this.entityId.equals(entityId) &&
+				   this.metadataVersion == metadataVersion;
+		}
+	}
 
 }
@@ -15,34 +15,21 @@
  * You should have received a copy of the GNU Affero General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package org.seed.core.config.changelog;
+package org.seed.core.form.printout;
 
-import org.seed.core.util.Assert;
+import static org.seed.core.util.CollectionUtils.convertedList;
 
-import liquibase.change.Change;
-import liquibase.changelog.ChangeSet;
+import java.util.List;
 
-public class ReferenceChangeLog {
-	
-	private ChangeSet changeSet;
-	
-	void addChange(Change change) {
-		Assert.notNull(change, "change");
-		
-		if (changeSet == null) {
-			changeSet = AbstractChangeLogBuilder.createChangeSet();
-		}
-		changeSet.addChange(change);
-	}
+import org.seed.core.entity.value.ValueObject;
+
+// compiled printout template, can be shared between threads
+public interface PrintoutTemplate {
 	
-	public boolean isEmpty() {
-		return changeSet == null;
-	}
+	byte[] print(ValueObject valueObject);
 	
-	public ChangeLog build() {
-		return changeSet != null
-				? AbstractChangeLogBuilder.build(changeSet)
-				: null;
+	default List<byte[]> print(List<ValueObject> valueObjects) {
+		return convertedList(valueObjects, this::print);
 	}
 	
 }
@@ -19,6 +19,8 @@ package org.seed.core.rest;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.seed.C;
 import org.seed.core.api.RestClient;
@@ -29,12 +31,16 @@ import org.springframework.web.client.RestTemplate;
 
 class DefaultRestClient implements RestClient {
 	
-	private RestTemplate template;
+	private final RestTemplate template;
+	
+	private final Executor executor;
 
-	DefaultRestClient(RestTemplate template) {
+	DefaultRestClient(RestTemplate template, Executor executor) {
 		Assert.notNull(template, "template");
+		Assert.notNull(executor, "executor");
 		
 		this.template = template;
+		this.executor = executor;
 	}
 	
 	@Override
@@ -70,6 +76,39 @@ class DefaultRestClient implements RestClient {
 		return template.postForObject(path, request, responseType, emptyMapIfNull(params));
 	}
 	
+	@Override
+	public CompletableFuture<String> getAsync(String path) {
+		return getAsync(path, (Map<String, Object>) null);
+	}
+	
+	@Override
+	public CompletableFuture<String> getAsync(String path, Map<String, Object> params) {
+		Assert.notNull(path, C.PATH);
+		
+		return CompletableFuture.supplyAsync(() -> get(path, params), executor);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> getAsync(String path, Class<T> responseType, Map<String, Object> params) {
+		Assert.notNull(path, C.PATH);
+		Assert.notNull(responseType, "responseType");
+		
+		return CompletableFuture.supplyAsync(() -> get(path, responseType, params), executor);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> postAsync(String path, Class<T> responseType, @Nullable Object request) {
+		return postAsync(path, responseType, request, null);
+	}
+	
+	@Override
+	public <T> CompletableFuture<T> postAsync(String path, Class<T> responseType, @Nullable Object request, Map<String, Object> params) {
+		Assert.notNull(path, C.PATH);
+		Assert.notNull(responseType, "responseType");
+		
+		return CompletableFuture.supplyAsync(() -> post(path, responseType, request, params), executor);
+	}
+	
 	private static Map<String, Object> emptyMapIfNull(Map<String, Object> params) {
 		return params != null ? params : Collections.emptyMap();
 	}
@@ -45,7 +45,7 @@ public class DefaultRestProvider implements RestProvider {
 	}
 	
 	private RestClient createClient(String url) {
-		return new DefaultRestClient(restService.createTemplate(url));
+		return new DefaultRestClient(restService.createTemplate(url), restService.getClientExecutor());
 	}
 	
 }
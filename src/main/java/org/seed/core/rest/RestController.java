@@ -27,7 +27,7 @@ import org.hibernate.Session;
 import org.seed.core.api.RestFunction.MethodType;
 import org.seed.core.config.OpenSessionInViewFilter;
 import org.seed.core.user.Authorisation;
-import org.seed.core.user.User;
+import org.seed.core.user.UserAuthorisations;
 import org.seed.core.user.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,7 +67,7 @@ public class RestController {
 			final Session session = (Session) request.getAttribute(OpenSessionInViewFilter.ATTR_SESSION);
 			final String[] uriParts = uri.substring(1).split("/"); 
 			if (uriParts.length >= 2) {
-				final Rest rest = restService.findByMapping(session, uriParts[0]);
+				final Rest rest = restService.findByMapping(uriParts[0]);
 				if (rest != null) {
 					return callRest(rest, uriParts[1], method, body, 
 									Arrays.copyOfRange(uriParts, 2, uriParts.length),
@@ -81,13 +81,13 @@ public class RestController {
 	private ResponseEntity<Object> callRest(Rest rest, String functionMapping, MethodType method, 
 											Object body, String[] parameters, Session session) {
 		// check access
-		final User user = userService.getCurrentUser(session);
-		if (user == null || !user.isAuthorised(Authorisation.CALL_REST) ||
-			!rest.checkPermissions(user)) {
+		final UserAuthorisations authorisations = userService.getCurrentAuthorisations();
+		if (authorisations == null || !authorisations.isAuthorised(Authorisation.CALL_REST) ||
+			!authorisations.checkPermissions(rest)) {
 			return new ResponseEntity<>(HttpStatus.FORBIDDEN);
 		}
 		// call function
-		final RestFunction function = rest.getFunctionByMapping(functionMapping);
+		final RestFunction function = restService.findFunctionByMapping(rest, functionMapping);
 		if (function != null && function.getMethod() == method) {
 			try {
 				final Object result = restService.callFunction(function, method, body, parameters, session);
@@ -0,0 +1,97 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.rest;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.seed.core.util.Assert;
+import org.seed.core.util.BeanUtils;
+
+/**
+ * Route table of all REST services and functions, built from the rests of a metadata snapshot.
+ * Explicit mappings take precedence over mappings derived from the internal name.
+ * The constructors of the generated classes are looked up once, 
+ * each request gets a new function instance.
+ */
+public final class RestRouteTable {
+	
+	private final long version;
+	
+	private final Map<String, Rest> restsByMapping = new HashMap<>();
+	
+	private final Map<String, Rest> restsByName = new HashMap<>();
+	
+	private final Map<Long, Map<String, RestFunction>> functionsByMapping = new HashMap<>();
+	
+	private final Map<Long, Map<String, RestFunction>> functionsByName = new HashMap<>();
+	
+	private final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+	
+	public RestRouteTable(long version, Collection<Rest> rests) {
+		Assert.notNull(rests, "rests");
+		
+		this.version = version;
+		for (Rest rest : rests) {
+			if (rest.getMapping() != null) {
+				restsByMapping.putIfAbsent(rest.getMapping(), rest);
+			}
+			restsByName.putIfAbsent(rest.getInternalName().toLowerCase(), rest);
+			
+			final Map<String, RestFunction> mappingMap = new HashMap<>();
+			final Map<String, RestFunction> nameMap = new HashMap<>();
+			if (rest.hasFunctions()) {
+				for (RestFunction function : rest.getFunctions()) {
+					if (function.getMapping() != null) {
+						mappingMap.putIfAbsent(function.getMapping(), function);
+					}
+					nameMap.putIfAbsent(function.getInternalName().toLowerCase(), function);
+				}
+			}
+			functionsByMapping.put(rest.getId(), mappingMap);
+			functionsByName.put(rest.getId(), nameMap);
+		}
+	}
+	
+	public long getVersion() {
+		return version;
+	}
+	
+	public Rest findRest(String mapping) {
+		final Rest rest = restsByMapping.get('/' + mapping);
+		return rest != null ? rest : restsByName.get(mapping.toLowerCase());
+	}
+	
+	public RestFunction findFunction(Rest rest, String mapping) {
+		final var mappingMap = functionsByMapping.get(rest.getId());
+		if (mappingMap == null) {
+			return rest.getFunctionByMapping(mapping);
+		}
+		final RestFunction function = mappingMap.get('/' + mapping);
+		return function != null ? function : functionsByName.get(rest.getId()).get(mapping.toLowerCase());
+	}
+	
+	public org.seed.core.api.RestFunction getFunctionInstance(Class<?> functionClass) {
+		return (org.seed.core.api.RestFunction) BeanUtils.instantiate(
+				constructors.computeIfAbsent(functionClass, BeanUtils::getDefaultConstructor));
+	}
+	
+}
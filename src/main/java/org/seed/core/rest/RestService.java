@@ -18,6 +18,7 @@
 package org.seed.core.rest;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.hibernate.Session;
 
@@ -28,10 +29,14 @@ import org.springframework.web.client.RestTemplate;
 
 public interface RestService extends ApplicationEntityService<Rest> {
 	
-	Rest findByMapping(Session session, String mapping);
+	Rest findByMapping(String mapping);
+	
+	RestFunction findFunctionByMapping(Rest rest, String mapping);
 	
 	RestTemplate createTemplate(String url);
 	
+	Executor getClientExecutor();
+	
 	RestFunction createFunction(Rest rest);
 	
 	void removeFunction(Rest rest, RestFunction function);
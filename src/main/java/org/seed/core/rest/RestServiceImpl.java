@@ -20,6 +20,8 @@ package org.seed.core.rest;
 import static org.seed.core.util.CollectionUtils.*;
 
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import javax.annotation.Nullable;
 
@@ -33,6 +35,7 @@ import org.seed.core.api.RestFunctionContext;
 import org.seed.core.application.AbstractApplicationEntityService;
 import org.seed.core.application.ApplicationEntity;
 import org.seed.core.application.ApplicationEntityService;
+import org.seed.core.application.MetadataProvider;
 import org.seed.core.application.module.ImportAnalysis;
 import org.seed.core.application.module.Module;
 import org.seed.core.application.module.TransferContext;
@@ -45,9 +48,9 @@ import org.seed.core.user.UserGroup;
 import org.seed.core.user.UserGroupDependent;
 import org.seed.core.user.UserGroupService;
 import org.seed.core.util.Assert;
-import org.seed.core.util.BeanUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.stereotype.Service;
@@ -73,6 +76,15 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 	@Autowired
 	private HttpComponentsClientHttpRequestFactory clientHttpRequestFactory;
 	
+	@Autowired
+	@Qualifier("restClientExecutor")
+	private ExecutorService clientExecutor;
+	
+	@Autowired
+	private MetadataProvider metadataProvider;
+	
+	private volatile RestRouteTable routeTable;
+	
 	@Override
 	public Rest createInstance(@Nullable Options options) {
 		final RestMetadata rest = (RestMetadata) super.createInstance(options);
@@ -89,6 +101,11 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 		return template;
 	}
 	
+	@Override
+	public Executor getClientExecutor() {
+		return clientExecutor;
+	}
+	
 	@Override
 	public RestFunction createFunction(Rest rest) {
 		Assert.notNull(rest, C.REST);
@@ -112,16 +129,18 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 	}
 	
 	@Override
-	public Rest findByMapping(Session session, String mapping) {
-		Assert.notNull(session, C.SESSION);
+	public Rest findByMapping(String mapping) {
 		Assert.notNull(mapping, "mapping");
 		
-		Rest rest = repository.findUnique(session, queryParam("mapping", '/' + mapping));
-		if (rest == null) {
-			rest = firstMatch(repository.find(session), 
-							  res -> mapping.equalsIgnoreCase(res.getInternalName()));
-		}
-		return rest;
+		return getRouteTable().findRest(mapping);
+	}
+	
+	@Override
+	public RestFunction findFunctionByMapping(Rest rest, String mapping) {
+		Assert.notNull(rest, C.REST);
+		Assert.notNull(mapping, "mapping");
+		
+		return getRouteTable().findFunction(rest, mapping);
 	}
 	
 	@Override
@@ -151,9 +170,9 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 			final RestFunctionContext context = 
 					new DefaultRestFunctionContext(method, parameters, body, 
 												   session, function.getRest().getModule());
-			// create instance
+			// reused instance
 			final org.seed.core.api.RestFunction functionInstance = 
-					(org.seed.core.api.RestFunction) BeanUtils.instantiate(functionClass);
+					getRouteTable().getFunctionInstance(functionClass);
 			
 			// call function
 			result = functionInstance.call(context);
@@ -202,6 +221,7 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 	public void deleteObject(Rest rest) throws ValidationException {
 		super.deleteObject(rest);
 		removeFunctionClasses(rest);
+		metadataProvider.invalidate();
 	}
 	
 	@Override
@@ -243,7 +263,7 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 			}
 		}
 		
-		updateConfiguration();
+		updateClassConfiguration();
 	}
 	
 	@Override
@@ -323,6 +343,17 @@ public class RestServiceImpl extends AbstractApplicationEntityService<Rest>
 		}
 	}
 	
+	// route table is rebuilt whenever the metadata snapshot changes
+	private RestRouteTable getRouteTable() {
+		final var snapshot = metadataProvider.getSnapshot();
+		RestRouteTable table = routeTable;
+		if (table == null || table.getVersion() != snapshot.getVersion()) {
+			table = new RestRouteTable(snapshot.getVersion(), snapshot.getRests());
+			routeTable = table;
+		}
+		return table;
+	}
+	
 	private void removeFunctionClasses(Rest rest) {
 		if (rest.hasFunctions()) {
 			rest.getFunctions().forEach(this::removeFunctionClass);
@@ -319,7 +319,7 @@ public class TaskServiceImpl extends AbstractApplicationEntityService<Task>
 			removeTaskClass(currentVersionTask);
 		}
 		if (isNew || contentChanged) {
-			updateConfiguration();
+			updateTaskConfiguration(task);
 		}
 	}
 	
@@ -19,9 +19,9 @@ package org.seed.core.task.job;
 
 import static org.seed.core.util.CollectionUtils.firstMatch;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.hibernate.Session;
 import org.quartz.JobExecutionContext;
@@ -43,8 +43,11 @@ class DefaultJobContext extends ValueObjectFunctionContext
 	static final String RUN_LOGS 	= "RUN_LOGS"; 
 	static final String RUN_PARAMS 	= "RUN_PARAMS"; 
 	static final String RUN_SESSION	= "RUN_SESSION"; 
+	static final String RUN_PROCESSED = "RUN_PROCESSED";
 	
-	private final List<TaskRunLog> logs = new ArrayList<>();
+	private final TaskRunLogWriter logWriter;
+	
+	private final LongAdder processedObjects;
 	
 	private final List<TaskParameter> parameters;
 	
@@ -53,7 +56,10 @@ class DefaultJobContext extends ValueObjectFunctionContext
 		super((Session) context.get(RUN_SESSION), 
 			  ((Task) context.get(RUN_TASK)).getModule());
 		parameters = (List<TaskParameter>) context.get(RUN_PARAMS);
-		context.put(RUN_LOGS, logs);
+		logWriter = (TaskRunLogWriter) context.get(RUN_LOGS);
+		processedObjects = (LongAdder) context.get(RUN_PROCESSED);
+		Assert.stateAvailable(logWriter, "log writer");
+		Assert.stateAvailable(processedObjects, "processed objects");
 	}
 	
 	@Override
@@ -100,6 +106,18 @@ class DefaultJobContext extends ValueObjectFunctionContext
 		return getJobParameter(name) != null;
 	}
 	
+	@Override
+	public void addProcessedObjects(long count) {
+		Assert.state(count >= 0, "count is negative");
+		
+		processedObjects.add(count);
+	}
+	
+	@Override
+	public long getProcessedObjects() {
+		return processedObjects.sum();
+	}
+	
 	@Override
 	public void log(String message) {
 		logInfo(message);
@@ -125,11 +143,8 @@ class DefaultJobContext extends ValueObjectFunctionContext
 			final var log = new TaskRunLog();
 			log.setMoment(new Date());
 			log.setLevel(level);
-			if (message.length() > 1024) {
-				message = message.substring(0, 1020) + "...";
-			}
 			log.setContent(message);
-			logs.add(log);
+			logWriter.write(log);
 		}
 	}
 	
@@ -18,7 +18,7 @@
 package org.seed.core.task.job;
 
 import java.util.Date;
-import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.PostConstruct;
 
@@ -255,6 +255,12 @@ public class DefaultJobScheduler
 		context.put(DefaultJobContext.RUN_SESSION, session);
 		context.put(DefaultJobContext.RUN_TASK, task);
 		context.put(DefaultJobContext.RUN_ID, run.getId());
+		context.put(DefaultJobContext.RUN_LOGS, new TaskRunLogWriter(sessionProvider, run.getId()));
+		context.put(DefaultJobContext.RUN_PROCESSED, new LongAdder());
+		if (context.getScheduledFireTime() != null) {
+			jobStatistics.registerQueueLag(task, Math.max(0L, context.getFireTime().getTime() - 
+																context.getScheduledFireTime().getTime()));
+		}
 		if (task.hasParameters()) {
 			context.put(DefaultJobContext.RUN_PARAMS, task.getParameters());
 		}
@@ -286,23 +292,24 @@ public class DefaultJobScheduler
 		log.debug("finished job: {}", context.getJobDetail());
 	}
 	
-	@SuppressWarnings("unchecked")
 	private void finalizeJob(JobExecutionContext context, JobExecutionException jobException) {
 		final Job job = (Job) context.getJobInstance();
 		final Long taskRunId = (Long) context.get(DefaultJobContext.RUN_ID);
 		final Session session = (Session) context.get(DefaultJobContext.RUN_SESSION);
+		final var logWriter = (TaskRunLogWriter) context.get(DefaultJobContext.RUN_LOGS);
+		final var processedObjects = (LongAdder) context.get(DefaultJobContext.RUN_PROCESSED);
 		Assert.stateAvailable(session, C.SESSION);
+		Assert.stateAvailable(logWriter, "log writer");
 		
 		try (session) {
 			final Task task = getTask(job, session);
 			final TaskRun run = task.getRunById(taskRunId);
 			Assert.stateAvailable(run, "run " + taskRunId);
 			
-			final var logs = (List<TaskRunLog>) context.get(DefaultJobContext.RUN_LOGS);
-			if (logs != null) {
-				logs.forEach(run::addLog);
-			}
-			LogLevel maxLevel = run.getMaxLogLevel();
+			// logs are streamed to the database by the writer
+			logWriter.close();
+			session.refresh(run);
+			LogLevel maxLevel = logWriter.getMaxLevel();
 			if (jobException != null) {
 				logError(run, jobException.getCause());
 				maxLevel = LogLevel.ERROR;
@@ -310,7 +317,7 @@ public class DefaultJobScheduler
 			run.setEndTime(new Date());
 			run.setResult(TaskResult.getResult(maxLevel));
 			
-			jobStatistics.registerRun(run);
+			jobStatistics.registerRun(run, processedObjects != null ? processedObjects.sum() : 0L);
 			taskService.saveTaskDirectly(task, session);
 			
 			if (task.hasNotifications()) {
@@ -18,44 +18,96 @@
 package org.seed.core.task.job;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+import javax.annotation.PostConstruct;
+
+import org.seed.core.task.Task;
 import org.seed.core.task.TaskRun;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Component
 public class JobStatistics {
 	
-	private int totalRuns;
+	private static final String METRIC_PREFIX = "seed.job.";
+	
+	private static final String TAG_TASK = "task";
+	
+	private static final String TAG_RESULT = "result";
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
 	
-	private int successfulRuns;
+	private final LongAdder totalRuns = new LongAdder();
 	
-	private int failedRuns;
+	private final LongAdder successfulRuns = new LongAdder();
 	
-	private long totalRunsDurationTime;
+	private final LongAdder failedRuns = new LongAdder();
 	
-	private long longestRunDurationTime;
+	private final LongAdder totalRunsDurationTime = new LongAdder();
 	
-	private Date lastJobRunDate;
+	private final LongAdder processedObjects = new LongAdder();
+	
+	private final LongAccumulator longestRunDurationTime = new LongAccumulator(Long::max, 0L);
+	
+	private volatile long lastQueueLag;
+	
+	private volatile Date lastJobRunDate;
+	
+	@PostConstruct
+	private void init() {
+		FunctionCounter.builder(METRIC_PREFIX + "runs", successfulRuns, LongAdder::doubleValue)
+					   .description("Number of successful job runs")
+					   .tag(TAG_RESULT, "success")
+					   .register(meterRegistry);
+		FunctionCounter.builder(METRIC_PREFIX + "runs", failedRuns, LongAdder::doubleValue)
+					   .description("Number of failed job runs")
+					   .tag(TAG_RESULT, "failure")
+					   .register(meterRegistry);
+		FunctionCounter.builder(METRIC_PREFIX + "objects.processed", processedObjects, LongAdder::doubleValue)
+					   .description("Number of objects processed by jobs")
+					   .register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + "queue.lag.last", this, JobStatistics::getLastQueueLag)
+			 .description("Delay between scheduled and actual start of the last job run")
+			 .baseUnit("milliseconds")
+			 .register(meterRegistry);
+	}
 	
 	public int getTotalRuns() {
-		return totalRuns;
+		return totalRuns.intValue();
 	}
 
 	public int getSuccessfulRuns() {
-		return successfulRuns;
+		return successfulRuns.intValue();
 	}
 
 	public int getFailedRuns() {
-		return failedRuns;
+		return failedRuns.intValue();
 	}
 
 	public long getTotalRunsDurationTime() {
-		return totalRunsDurationTime;
+		return totalRunsDurationTime.sum();
 	}
 
 	public long getLongestRunDurationTime() {
-		return longestRunDurationTime;
+		return longestRunDurationTime.get();
+	}
+	
+	public long getProcessedObjects() {
+		return processedObjects.sum();
+	}
+	
+	public long getLastQueueLag() {
+		return lastQueueLag;
 	}
 	
 	public Date getLastJobRunDate() {
@@ -63,25 +115,42 @@ public class JobStatistics {
 	}
 
 	public long getAverageDurationTime() {
-		return totalRuns > 0 
-				? totalRunsDurationTime / totalRuns 
+		final long runs = totalRuns.sum();
+		return runs > 0 
+				? totalRunsDurationTime.sum() / runs 
 				: 0;
 	}
+	
+	void registerQueueLag(Task task, long lag) {
+		lastQueueLag = lag;
+		Timer.builder(METRIC_PREFIX + "queue.lag")
+			 .description("Delay between scheduled and actual start of a job run")
+			 .tag(TAG_TASK, task.getName())
+			 .register(meterRegistry)
+			 .record(lag, TimeUnit.MILLISECONDS);
+	}
 
-	void registerRun(TaskRun taskRun) {
-		totalRunsDurationTime += taskRun.getDuration();
+	void registerRun(TaskRun taskRun, long numProcessedObjects) {
+		final long duration = taskRun.getDuration();
+		final boolean failed = taskRun.getResult().failed();
+		totalRunsDurationTime.add(duration);
+		longestRunDurationTime.accumulate(duration);
+		processedObjects.add(numProcessedObjects);
 		lastJobRunDate = taskRun.getEndTime();
-		if (taskRun.getDuration() > longestRunDurationTime) {
-			longestRunDurationTime = taskRun.getDuration();
-		}
 		
-		totalRuns++;
-		if (taskRun.getResult().failed()) {
-			failedRuns++;
+		totalRuns.increment();
+		if (failed) {
+			failedRuns.increment();
 		}
 		else {
-			successfulRuns++;
+			successfulRuns.increment();
 		}
+		Timer.builder(METRIC_PREFIX + "duration")
+			 .description("Duration of job runs")
+			 .tag(TAG_TASK, taskRun.getTask().getName())
+			 .tag(TAG_RESULT, failed ? "failure" : "success")
+			 .register(meterRegistry)
+			 .record(duration, TimeUnit.MILLISECONDS);
 	}
 	
 }
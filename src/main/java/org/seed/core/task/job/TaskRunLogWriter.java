@@ -0,0 +1,145 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.task.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import org.seed.core.config.LogLevel;
+import org.seed.core.config.SessionProvider;
+import org.seed.core.config.SystemLog;
+import org.seed.core.task.TaskRun;
+import org.seed.core.task.TaskRunLog;
+import org.seed.core.util.Assert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class TaskRunLogWriter {
+	
+	private static final Logger log = LoggerFactory.getLogger(TaskRunLogWriter.class);
+	
+	static final int MAX_CONTENT_LENGTH = 1024;
+	
+	static final int BATCH_SIZE = 100;
+	
+	// number of failed flushes after which the buffered logs are dropped
+	static final int MAX_FLUSH_ATTEMPTS = 3;
+	
+	private final SessionProvider sessionProvider;
+	
+	private final Long runId;
+	
+	private final List<TaskRunLog> buffer = new ArrayList<>(BATCH_SIZE);
+	
+	private LogLevel maxLevel = LogLevel.INFO;
+	
+	private int failedFlushes;
+	
+	TaskRunLogWriter(SessionProvider sessionProvider, Long runId) {
+		Assert.notNull(sessionProvider, "session provider");
+		Assert.notNull(runId, "run id");
+		
+		this.sessionProvider = sessionProvider;
+		this.runId = runId;
+	}
+	
+	synchronized LogLevel getMaxLevel() {
+		return maxLevel;
+	}
+	
+	synchronized int getBufferSize() {
+		return buffer.size();
+	}
+	
+	synchronized void write(TaskRunLog runLog) {
+		Assert.notNull(runLog, "log");
+		
+		if (runLog.getContent() != null && runLog.getContent().length() > MAX_CONTENT_LENGTH) {
+			runLog.setContent(runLog.getContent().substring(0, MAX_CONTENT_LENGTH - 4) + "...");
+		}
+		if (runLog.getLevel().ordinal() > maxLevel.ordinal()) {
+			maxLevel = runLog.getLevel();
+		}
+		buffer.add(runLog);
+		// after a failed flush the next attempt is made with the next batch
+		if (buffer.size() >= BATCH_SIZE * (failedFlushes + 1)) {
+			flush();
+		}
+	}
+	
+	// flushes until the buffer is written or dropped
+	synchronized void close() {
+		while (!flush()) {
+			// retry
+		}
+	}
+	
+	// returns false if the logs could not be written and are kept for a retry
+	synchronized boolean flush() {
+		if (buffer.isEmpty()) {
+			return true;
+		}
+		try (Session session = sessionProvider.getSession()) {
+			saveLogs(session);
+		}
+		catch (Exception ex) {
+			SystemLog.logError(ex);
+			return handleFailedFlush();
+		}
+		buffer.clear();
+		failedFlushes = 0;
+		return true;
+	}
+	
+	private void saveLogs(Session session) {
+		Transaction tx = null;
+		try {
+			tx = session.beginTransaction();
+			final TaskRun run = session.load(TaskRun.class, runId);
+			for (TaskRunLog runLog : buffer) {
+				runLog.setRun(run);
+				session.saveOrUpdate(runLog);
+			}
+			tx.commit();
+		}
+		catch (RuntimeException ex) {
+			if (tx != null) {
+				tx.rollback();
+			}
+			// reset ids because they are assigned even if insert fails
+			buffer.forEach(TaskRunLog::resetId);
+			throw ex;
+		}
+	}
+	
+	private boolean handleFailedFlush() {
+		if (++failedFlushes < MAX_FLUSH_ATTEMPTS) {
+			return false;
+		}
+		log.warn("dropped {} logs of run {} after {} failed attempts", 
+				 buffer.size(), runId, failedFlushes);
+		buffer.clear();
+		failedFlushes = 0;
+		return true;
+	}
+	
+}
@@ -0,0 +1,76 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.user;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Session;
+
+import org.seed.C;
+import org.seed.core.data.QueryParameter;
+import org.seed.core.util.Assert;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the authorisations of authenticated users by user name.
+ * The cache is cleared whenever a user or user group changes.
+ * It serves the permission checks of the REST controllers, the UI checks 
+ * the user object of its desktop.
+ */
+@Component
+public class UserAuthorisationCache {
+	
+	@Autowired
+	private UserRepository repository;
+	
+	private final Map<String, UserAuthorisations> authorisationMap = new ConcurrentHashMap<>();
+	
+	private final AtomicLong generation = new AtomicLong();
+	
+	UserAuthorisations getAuthorisations(String userName) {
+		Assert.notNull(userName, C.USERNAME);
+		
+		UserAuthorisations authorisations = authorisationMap.get(userName);
+		if (authorisations == null) {
+			final long loadGeneration = generation.get();
+			authorisations = loadAuthorisations(userName);
+			// don't cache if invalidated while loading
+			if (authorisations != null && loadGeneration == generation.get()) {
+				authorisationMap.put(userName, authorisations);
+			}
+		}
+		return authorisations;
+	}
+	
+	public void invalidate() {
+		generation.incrementAndGet();
+		authorisationMap.clear();
+	}
+	
+	UserAuthorisations loadAuthorisations(String userName) {
+		try (Session session = repository.openSession()) {
+			final User user = repository.findUnique(session, new QueryParameter(C.NAME, userName));
+			return user != null ? new UserAuthorisations(user) : null;
+		}
+	}
+	
+}
@@ -0,0 +1,122 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.user;
+
+import static org.seed.core.util.CollectionUtils.anyMatch;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.seed.C;
+import org.seed.core.application.ApplicationEntity;
+import org.seed.core.application.ApprovableObject;
+import org.seed.core.util.Assert;
+import org.seed.core.util.MultiKey;
+
+/**
+ * Immutable authorisation snapshot of a user.
+ * Permission checks of approvable objects are memorized per object version.
+ */
+public final class UserAuthorisations {
+	
+	private final Long userId;
+	
+	private final String userName;
+	
+	private final boolean systemGroup;
+	
+	private final Set<Long> userGroupIds;
+	
+	private final Set<Authorisation> authorisations;
+	
+	private final Map<MultiKey, Boolean> permissions = new ConcurrentHashMap<>();
+	
+	UserAuthorisations(User user) {
+		Assert.notNull(user, C.USER);
+		
+		userId = user.getId();
+		userName = user.getName();
+		systemGroup = user.belongsToSystemGroup();
+		final Set<Long> groupIds = new HashSet<>();
+		if (user.hasUserGroups()) {
+			user.getUserGroups().forEach(group -> groupIds.add(group.getId()));
+		}
+		userGroupIds = Collections.unmodifiableSet(groupIds);
+		final Set<Authorisation> authSet = EnumSet.noneOf(Authorisation.class);
+		for (Authorisation authorisation : Authorisation.values()) {
+			if (user.isAuthorised(authorisation)) {
+				authSet.add(authorisation);
+			}
+		}
+		authorisations = Collections.unmodifiableSet(authSet);
+	}
+	
+	public Long getUserId() {
+		return userId;
+	}
+	
+	public String getUserName() {
+		return userName;
+	}
+	
+	public boolean belongsTo(UserGroup userGroup) {
+		Assert.notNull(userGroup, C.USERGROUP);
+		
+		return userGroupIds.contains(userGroup.getId());
+	}
+	
+	public boolean isAuthorised(Authorisation authorisation) {
+		Assert.notNull(authorisation, "authorisation");
+		
+		return authorisations.contains(authorisation);
+	}
+	
+	public boolean checkPermissions(ApplicationEntity object) {
+		return checkPermissions(object, null);
+	}
+	
+	// same rules as ApplicationEntity.checkPermissions
+	public boolean checkPermissions(ApplicationEntity object, @Nullable Enum<?> access) {
+		Assert.notNull(object, C.OBJECT);
+		Assert.state(object instanceof ApprovableObject, "object is not approvable");
+		
+		if (systemGroup) {
+			return true;
+		}
+		if (object.getUid() == null) {
+			return evaluatePermissions((ApprovableObject<?>) object, access);
+		}
+		return permissions.computeIfAbsent(MultiKey.valueOf(object.getUid(), object.getVersion(), access), 
+										   key -> evaluatePermissions((ApprovableObject<?>) object, access));
+	}
+	
+	private boolean evaluatePermissions(ApprovableObject<?> approvable, @Nullable Enum<?> access) {
+		return !approvable.hasPermissions() ||
+			   anyMatch(approvable.getPermissions(), permission -> 
+						belongsTo(permission.getUserGroup()) && 
+						(access == null || // access doesn't exist or granted
+						permission.getAccess().ordinal() >= access.ordinal()));
+	}
+	
+}
@@ -58,6 +58,9 @@ public class UserGroupServiceImpl extends AbstractApplicationEntityService<UserG
 	@Autowired
 	private UserRepository userRepository; 
 	
+	@Autowired
+	private UserAuthorisationCache authorisationCache;
+	
 	@Override
 	protected UserGroupRepository getRepository() {
 		return repository;
@@ -233,6 +236,7 @@ public class UserGroupServiceImpl extends AbstractApplicationEntityService<UserG
 									 userRepository.save(user, session);
 								 });
 				tx.commit();
+				authorisationCache.invalidate();
 			}
 			catch (Exception ex) {
 				handleException(tx, ex);
@@ -240,6 +244,12 @@ public class UserGroupServiceImpl extends AbstractApplicationEntityService<UserG
 		}
 	}
 	
+	@Override
+	public void deleteObject(UserGroup userGroup) throws ValidationException {
+		super.deleteObject(userGroup);
+		authorisationCache.invalidate();
+	}
+	
 	private static QueryParameter nonSystemGroup() {
 		return queryParam("isSystemGroup", false);
 	}
@@ -30,6 +30,8 @@ public interface UserService extends SystemEntityService<User> {
 	
 	User getCurrentUser(Session session);
 	
+	UserAuthorisations getCurrentAuthorisations();
+	
 	List<UserGroup> getAvailableUserGroups(User user, Session session);
 	
 	void setPassword(User user, String password, String passwordRepeated) throws ValidationException;
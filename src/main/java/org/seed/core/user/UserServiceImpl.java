@@ -70,6 +70,9 @@ public class UserServiceImpl extends AbstractSystemEntityService<User>
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 	
+	@Autowired
+	private UserAuthorisationCache authorisationCache;
+	
 	private List<UserChangeAware> changeAwareObjects;
 	
 	@Override
@@ -97,6 +100,14 @@ public class UserServiceImpl extends AbstractSystemEntityService<User>
 				: null;
 	}
 	
+	@Override
+	public UserAuthorisations getCurrentAuthorisations() {
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication != null
+				? authorisationCache.getAuthorisations(authentication.getName())
+				: null;
+	}
+	
 	@Override // called after successful login
 	public void onApplicationEvent(AuthenticationSuccessEvent event) {
 		final String userName = event.getAuthentication().getName();
@@ -161,6 +172,7 @@ public class UserServiceImpl extends AbstractSystemEntityService<User>
 		}
 		
 		super.saveObject(user);
+		authorisationCache.invalidate();
 		
 		// password change
 		if (userMeta.isPasswordChange()) {
@@ -183,6 +195,7 @@ public class UserServiceImpl extends AbstractSystemEntityService<User>
 					aware -> aware.notifyDelete(user, session));
 				deleteObject(user, session);
 				tx.commit();
+				authorisationCache.invalidate();
 			}
 			catch (Exception ex) {
 				if (tx != null) {
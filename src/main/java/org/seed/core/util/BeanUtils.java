@@ -20,6 +20,7 @@ package org.seed.core.util;
 import static org.seed.core.util.CollectionUtils.*;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,6 +50,28 @@ public interface BeanUtils {
 		}
 	}
 	
+	static <T> Constructor<T> getDefaultConstructor(Class<T> typeClass) {
+		Assert.notNull(typeClass, C.TYPECLASS);
+		try {
+			return typeClass.getDeclaredConstructor();
+		} 
+		catch (NoSuchMethodException ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
+	}
+	
+	static <T> T instantiate(Constructor<T> constructor) {
+		Assert.notNull(constructor, "constructor");
+		try {
+			return constructor.newInstance();
+		} 
+		catch (Exception ex) {
+			SystemLog.logError(ex);
+			throw new InternalException(ex);
+		}
+	}
+	
 	static <T> List<T> getBeans(ApplicationContext applicationContext, Class<T> type) {
 		Assert.notNull(applicationContext, C.CONTEXT);
 		Assert.notNull(type, C.TYPE);
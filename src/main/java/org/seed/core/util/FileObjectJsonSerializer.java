@@ -48,8 +48,8 @@ public class FileObjectJsonSerializer extends StdSerializer<FileObject> {
 		}
 		
 		@SuppressWarnings("unused")
-		public int getSize() {
-			return fileObject.getContent().length;
+		public long getSize() {
+			return fileObject.getContentSize();
 		}
 	}
 
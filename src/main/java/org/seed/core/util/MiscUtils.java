@@ -19,6 +19,8 @@ package org.seed.core.util;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
@@ -31,6 +33,7 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 
+import org.seed.InternalException;
 import org.seed.Seed;
 import org.seed.core.data.ValidationError;
 
@@ -89,6 +92,32 @@ public abstract class MiscUtils {
 				: null;
 	}
 	
+	public static String toHexString(byte[] bytes) {
+		Assert.notNull(bytes, "bytes");
+		
+		final StringBuilder buf = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			buf.append(Character.forDigit((b >> 4) & 0xF, 16))
+			   .append(Character.forDigit(b & 0xF, 16));
+		}
+		return buf.toString();
+	}
+	
+	public static String sha256(byte[] bytes) {
+		Assert.notNull(bytes, "bytes");
+		
+		return toHexString(createSha256Digest().digest(bytes));
+	}
+	
+	public static MessageDigest createSha256Digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new InternalException(ex);
+		}
+	}
+	
 	public static String toString(Collection<?> col, String separator) {
 		final var buf = new StringBuilder();
 		if (col != null) {
@@ -18,9 +18,11 @@
 package org.seed.ui.zk;
 
 import org.seed.Seed;
+import org.seed.core.form.FormSettings;
 import org.seed.core.form.layout.LayoutProvider;
 import org.seed.core.util.Assert;
 
+import org.zkoss.util.Locales;
 import org.zkoss.zk.ui.http.SimpleUiFactory;
 import org.zkoss.zk.ui.metainfo.PageDefinition;
 import org.zkoss.zk.ui.sys.RequestInfo;
@@ -31,21 +33,39 @@ public class DelegatingUiFactory extends SimpleUiFactory {
 	
 	private LayoutProvider layoutProvider;
 	
+	private PageDefinitionCache pageDefinitionCache;
+	
 	@Override
 	public PageDefinition getPageDefinition(RequestInfo requestInfo, String path) {
 		if (path.startsWith(PATH_GENERATED)) {
-			final String pageContent = getLayoutProvider()
-											.getLayout(path.substring(PATH_GENERATED.length()), 
-													   ViewUtils.getSettings(requestInfo.getSession()));
-			return getPageDefinitionDirectly(requestInfo, 
-											 pageContent != null 
-												? pageContent 
-												: "<zk/>", 
-											 "zul");
+			final String layoutPath = path.substring(PATH_GENERATED.length());
+			final FormSettings settings = ViewUtils.getSettings(requestInfo.getSession());
+			final String layoutKey = getLayoutProvider().getLayoutKey(layoutPath, settings);
+			if (layoutKey == null) {
+				return createPageDefinition(requestInfo, layoutPath, settings);
+			}
+			
+			// labels are part of the layout
+			final String key = layoutKey + ':' + Locales.getCurrent();
+			PageDefinition pageDefinition = getPageDefinitionCache().getPageDefinition(key);
+			if (pageDefinition == null) {
+				pageDefinition = createPageDefinition(requestInfo, layoutPath, settings);
+				getPageDefinitionCache().putPageDefinition(key, pageDefinition);
+			}
+			return pageDefinition;
 		}
 		return super.getPageDefinition(requestInfo, path);
 	}
 	
+	private PageDefinition createPageDefinition(RequestInfo requestInfo, String layoutPath, FormSettings settings) {
+		final String pageContent = getLayoutProvider().getLayout(layoutPath, settings);
+		return getPageDefinitionDirectly(requestInfo, 
+										 pageContent != null 
+											? pageContent 
+											: "<zk/>", 
+										 "zul");
+	}
+	
 	private LayoutProvider getLayoutProvider() {
 		if (layoutProvider == null) {
 			layoutProvider = Seed.getBean(LayoutProvider.class);
@@ -54,4 +74,12 @@ public class DelegatingUiFactory extends SimpleUiFactory {
 		return layoutProvider;
 	}
 	
+	private PageDefinitionCache getPageDefinitionCache() {
+		if (pageDefinitionCache == null) {
+			pageDefinitionCache = Seed.getBean(PageDefinitionCache.class);
+			Assert.stateAvailable(pageDefinitionCache, "page definition cache");
+		}
+		return pageDefinitionCache;
+	}
+	
 }
@@ -0,0 +1,85 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.ui.zk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+
+import org.seed.core.form.Form;
+import org.seed.core.form.FormChangeAware;
+
+import org.springframework.stereotype.Component;
+import org.zkoss.zk.ui.metainfo.PageDefinition;
+
+// parsed page definitions of generated layouts, 
+// keys contain form and metadata versions, so least recently used definitions are removed to free memory
+@Component
+public class PageDefinitionCache implements FormChangeAware {
+	
+	public static final int MAX_PAGE_DEFINITIONS = 1000;
+	
+	@SuppressWarnings("serial")
+	private final Map<String, PageDefinition> pageDefinitionMap = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PageDefinition> eldest) {
+			return size() > MAX_PAGE_DEFINITIONS;
+		}
+	};
+	
+	public int size() {
+		synchronized (pageDefinitionMap) {
+			return pageDefinitionMap.size();
+		}
+	}
+	
+	public PageDefinition getPageDefinition(String key) {
+		synchronized (pageDefinitionMap) {
+			return pageDefinitionMap.get(key);
+		}
+	}
+	
+	public void putPageDefinition(String key, PageDefinition pageDefinition) {
+		synchronized (pageDefinitionMap) {
+			pageDefinitionMap.put(key, pageDefinition);
+		}
+	}
+	
+	@Override
+	public void notifyCreate(Form form, Session session) {
+		// no page definitions yet
+	}
+	
+	@Override
+	public void notifyChange(Form form, Session session) {
+		clear();
+	}
+	
+	@Override
+	public void notifyDelete(Form form, Session session) {
+		clear();
+	}
+	
+	private void clear() {
+		synchronized (pageDefinitionMap) {
+			pageDefinitionMap.clear();
+		}
+	}
+	
+}
@@ -22,7 +22,6 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import javax.imageio.ImageIO;
@@ -33,7 +32,6 @@ import org.seed.core.config.SystemLog;
 import org.seed.core.util.Assert;
 
 import org.springframework.util.FastByteArrayOutputStream;
-import org.zkoss.image.AImage;
 
 abstract class ImageUtils {
 	
@@ -64,21 +62,6 @@ abstract class ImageUtils {
 		return getBytes(image);
 	}
 	
-	static AImage createThumbnail(byte[] bytes, int thumbnailWidth) {
-		Assert.notNull(bytes, "bytes");
-		
-		final BufferedImage image = getImage(bytes);
-		final double ratio = ((double) thumbnailWidth) / image.getWidth(); 
-		final int thumbnailHeight = (int) (image.getHeight() * ratio);
-		final BufferedImage thumbnail = new BufferedImage(thumbnailWidth, thumbnailHeight, 
-														  BufferedImage.TYPE_INT_RGB);
-		thumbnail.createGraphics().drawImage(
-				image.getScaledInstance(thumbnailWidth, thumbnailHeight, 
-										java.awt.Image.SCALE_SMOOTH), 
-				0, 0, null);
-		return getAImage(thumbnail);
-	}
-	
 	private static byte[] getBytes(BufferedImage image) {
 		try (FastByteArrayOutputStream baos = new FastByteArrayOutputStream()) {
 			ImageIO.write(image, FORMAT_PNG, baos);
@@ -90,24 +73,4 @@ abstract class ImageUtils {
 		}
 	}
 	
-	private static BufferedImage getImage(byte[] bytes) {
-		try {
-			return ImageIO.read(new ByteArrayInputStream(bytes));
-		} 
-		catch (IOException ex) {
-			SystemLog.logError(ex);
-			throw new InternalException(ex);
-		}
-	}
-	
-	private static AImage getAImage(BufferedImage image) {
-		try {
-			return new AImage(null, getBytes(image)); 
-		} 
-		catch (IOException ex) {
-			SystemLog.logError(ex);
-			throw new InternalException(ex);
-		}
-	}
-	
 }
@@ -17,6 +17,15 @@
  */
 package org.seed.ui.zk.convert;
 
+import java.io.IOException;
+
+import org.seed.C;
+import org.seed.InternalException;
+import org.seed.Seed;
+import org.seed.core.config.SystemLog;
+import org.seed.core.data.SystemObject;
+import org.seed.core.data.ThumbnailCache;
+
 import org.zkoss.bind.BindContext;
 import org.zkoss.bind.Converter;
 import org.zkoss.image.AImage;
@@ -24,16 +33,33 @@ import org.zkoss.zul.Image;
 
 public class ThumbnailConverter implements Converter<AImage, byte[], Image> {
 	
+	private static ThumbnailCache thumbnailCache;
+	
 	private final int thumbnailWidth;
 	
-	public ThumbnailConverter(int thumbnailWidth) {
+	private final Long fieldId;
+	
+	public ThumbnailConverter(int thumbnailWidth, Long fieldId) {
 		this.thumbnailWidth = thumbnailWidth;
+		this.fieldId = fieldId;
 	}
 
 	@Override
 	public AImage coerceToUi(byte[] beanProp, Image component, BindContext ctx) {
 		if (beanProp != null) {
-			return ImageUtils.createThumbnail(beanProp, thumbnailWidth);
+			try {
+				// converter argument "object" is the object that contains the image
+				final Object object = ctx.getConverterArg(C.OBJECT);
+				if (object instanceof SystemObject && !((SystemObject) object).isNew()) {
+					final String key = getThumbnailCache().getKey((SystemObject) object, fieldId, thumbnailWidth);
+					return new AImage(null, getThumbnailCache().getThumbnail(key, beanProp, thumbnailWidth));
+				}
+				return new AImage(null, ThumbnailCache.createThumbnail(beanProp, thumbnailWidth));
+			}
+			catch (IOException ex) {
+				SystemLog.logError(ex);
+				throw new InternalException(ex);
+			}
 		}
 		return null;
 	}
@@ -43,4 +69,11 @@ public class ThumbnailConverter implements Converter<AImage, byte[], Image> {
 		return compAttr.getByteData();
 	}
 	
+	private static ThumbnailCache getThumbnailCache() {
+		if (thumbnailCache == null) {
+			thumbnailCache = Seed.getBean(ThumbnailCache.class);
+		}
+		return thumbnailCache;
+	}
+	
 }
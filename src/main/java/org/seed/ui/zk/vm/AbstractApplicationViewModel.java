@@ -247,11 +247,18 @@ public abstract class AbstractApplicationViewModel extends AbstractViewModel {
 		setRequestAttribute(OpenSessionInViewFilter.ATTR_SESSION, sessionProvider.getSession());
 	}
 	
+	// session for queries that don't modify data (uses the read replica, if available)
+	protected final Session openReadOnlySession() {
+		return sessionProvider.getReadOnlySession();
+	}
+	
 	protected final void downloadReport(Report report, ReportFormat format) 
 		throws ValidationException {
-		Filedownload.save(reportService.generateReport(report, format, currentSession()),
-						  format.contentType,
-						  report.getName() + '.' + format.fileType);
+		try (Session session = openReadOnlySession()) {
+			Filedownload.save(reportService.generateReport(report, format, session),
+							  format.contentType,
+							  report.getName() + '.' + format.fileType);
+		}
 	}
 	
 	private void setDirty(boolean dirty) {
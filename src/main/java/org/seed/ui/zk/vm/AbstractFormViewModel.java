@@ -277,6 +277,10 @@ public abstract class AbstractFormViewModel extends AbstractApplicationViewModel
 		return valueObjectService;
 	}
 	
+	protected PrintoutService printoutService() {
+		return printoutService;
+	}
+	
 	protected void deleteObject() throws ValidationException {
 		valueObjectService.deleteObject(object);
 		object = null;
@@ -27,6 +27,7 @@ import javax.persistence.OptimisticLockException;
 
 import org.seed.C;
 import org.seed.core.api.ApplicationException;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.FileObject;
 import org.seed.core.data.ValidationException;
 import org.seed.core.data.revision.Revision;
@@ -65,6 +66,8 @@ public class DetailFormViewModel extends AbstractFormViewModel {
 	
 	private List<FileObject> fileObjects; // initial file objects
 	
+	private FetchGraph fetchGraph; // associations shown by the form
+	
 	private List<Revision> revisions;
 	
 	private Revision revision;
@@ -199,12 +202,13 @@ public class DetailFormViewModel extends AbstractFormViewModel {
 	public void init(@ExecutionArgParam(C.PARAM) Tab tab) {
 		super.init(tab);
 		final FormParameter param = (FormParameter) tab.getParameter();
+		fetchGraph = formService().getDetailFetchGraph(getForm());
 		
 		if (param.object != null) {
 			setObject(param.object);
 		}
 		else if (param.objectId != null) {
-			setObject(valueObjectService().getObject(currentSession(), getForm().getEntity(), param.objectId));
+			setObject(loadObject(param.objectId));
 		}
 		else {
 			newObject();
@@ -444,7 +448,7 @@ public class DetailFormViewModel extends AbstractFormViewModel {
 		if (checkFormIntegrity()) {
 			// current version
 			if (revisions.indexOf(revision) == revisions.size() - 1) {
-				setObject(valueObjectService().getObject(currentSession(), getForm().getEntity(), getObject().getId()));
+				setObject(loadObject(getObject().getId()));
 				revision = null;
 			}
 			else {
@@ -520,8 +524,12 @@ public class DetailFormViewModel extends AbstractFormViewModel {
 		flagDirty(); // new object is always dirty
 	}
 	
+	private ValueObject loadObject(Long objectId) {
+		return valueObjectService().getObject(currentSession(), getForm().getEntity(), objectId, fetchGraph);
+	}
+	
 	private void refreshObject() {
-		setObject(valueObjectService().getObject(currentSession(), getForm().getEntity(), getObject().getId()));
+		setObject(loadObject(getObject().getId()));
 		initObject();
 		revision = null;
 		reset();
@@ -19,13 +19,18 @@ package org.seed.ui.zk.vm;
 
 import static org.seed.core.util.CollectionUtils.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.seed.C;
+import org.seed.InternalException;
 import org.seed.core.api.ApplicationException;
+import org.seed.core.data.FetchGraph;
 import org.seed.core.data.QueryCursor;
 import org.seed.core.data.Sort;
 import org.seed.core.data.ValidationException;
@@ -39,6 +44,7 @@ import org.seed.core.entity.value.ValueObjectRepository;
 import org.seed.core.form.FormAction;
 import org.seed.core.form.FormActionType;
 import org.seed.core.form.FormField;
+import org.seed.core.form.FormPrintout;
 import org.seed.core.util.MiscUtils;
 import org.seed.ui.SearchParameter;
 import org.seed.ui.Tab;
@@ -47,6 +53,7 @@ import org.seed.ui.zk.LoadOnDemandListModel;
 import org.seed.ui.zk.ViewUtils;
 import org.seed.ui.zk.convert.ThumbnailConverter;
 
+import org.springframework.util.FastByteArrayOutputStream;
 import org.zkoss.bind.annotation.BindingParam;
 import org.zkoss.bind.annotation.Command;
 import org.zkoss.bind.annotation.DependsOn;
@@ -80,10 +87,16 @@ public class ListFormViewModel extends AbstractFormViewModel {
 	
 	private Sort sort;
 	
+	private FetchGraph fetchGraph; // references shown as columns
+	
 	private String fullTextSearchTerm;
 	
 	private String fullTextQuery;
 	
+	private boolean fullTextResult;
+	
+	private boolean printList;
+	
 	private int version;
 	
 	@Init
@@ -94,6 +107,7 @@ public class ListFormViewModel extends AbstractFormViewModel {
 		filterList = filterService.getFilters(getForm().getEntity(), getUser(), currentSession());
 		editAction = getForm().getActionByType(FormActionType.DETAIL);
 		currentFilter = getForm().getFilter();
+		fetchGraph = formService().getListFetchGraph(getForm());
 		getListModel();
 	}
 	
@@ -136,6 +150,7 @@ public class ListFormViewModel extends AbstractFormViewModel {
 		if (listModel == null) {
 			final SearchParameter searchParam = getTab().getProperty(SEARCH_PARAMETER);
 			QueryCursor<ValueObject> cursor;
+			fullTextResult = fullTextQuery != null;
 			if (searchParam != null) {
 				cursor = valueObjectService().createCursor(currentSession(), searchParam.searchObject, searchParam.mapOperators);
 			}
@@ -153,12 +168,17 @@ public class ListFormViewModel extends AbstractFormViewModel {
 															   ValueObjectRepository.DEFAULT_CHUNK_SIZE);
 				}
 			}
+			if (!cursor.isFullTextSearch()) {
+				cursor.setFetchGraph(fetchGraph);
+				cursor.setReadOnly(true);
+			}
 			listModel = new LoadOnDemandListModel<ValueObject>(cursor, false) {
 				private static final long serialVersionUID = 6122960735585906371L;
 				
+				// chunks are loaded in a read-only session (read replica, if available)
 				@Override
 				protected List<ValueObject> loadChunk(QueryCursor<ValueObject> cursor) {
-					return valueObjectService().loadChunk(currentSession(), cursor);
+					return valueObjectService().loadChunk(cursor);
 				}
 			};
 		}
@@ -175,7 +195,7 @@ public class ListFormViewModel extends AbstractFormViewModel {
 		}
 		if (converter == null) {
 			final FormField field = getForm().getFieldById(fieldId);
-			converter = new ThumbnailConverter(field.getThumbnailWidth());
+			converter = new ThumbnailConverter(field.getThumbnailWidth(), field.getEntityField().getId());
 			thumbnailConverterMap.put(fieldId, converter);
 		}
 		return converter;
@@ -267,10 +287,16 @@ public class ListFormViewModel extends AbstractFormViewModel {
 				
 			case PRINT:
 				if (checkObjectExistence()) {
+					printList = false;
 					printObject();
 				}
 				break;
 				
+			case PRINTLIST:
+				printList = true;
+				printObject();
+				break;
+				
 			case DELETE:
 				if (checkObjectExistence()) {
 					confirm("question.delete", component, action);
@@ -285,6 +311,16 @@ public class ListFormViewModel extends AbstractFormViewModel {
 				exportList();
 				break;
 				
+			case DELETELIST:
+				// only the filter of the list can be deleted set-based
+				if (isResultList() || fullTextResult) {
+					showNotification(component, true, "form.action.deletelistfail");
+				}
+				else {
+					confirm("question.deletelist", component, action, String.valueOf(getCursorTotalCount()));
+				}
+				break;
+				
 			default:
 				throw new UnsupportedOperationException(action.getType().name());
 		}
@@ -335,6 +371,12 @@ public class ListFormViewModel extends AbstractFormViewModel {
 				setStatus(getObject().getEntityStatus());
 				notifyChange(C.STATUS, "availableStatusList", "transformers");
 				break;
+				
+			case DELETELIST:
+				if (confirmed) {
+					deleteList(component);
+				}
+				break;
 			
 			default:
 				throw new UnsupportedOperationException(action.getType().name());
@@ -382,6 +424,23 @@ public class ListFormViewModel extends AbstractFormViewModel {
 		}
 	}
 	
+	private void deleteList(Component component) {
+		try {
+			final int count = valueObjectService().deleteObjects(getForm().getEntity(), currentFilter);
+			showNotification(component, false, "form.action.deletelist", String.valueOf(count));
+			reload();
+		}
+		catch (ApplicationException apex) {
+			showValidationMessage(component, apex.getMessage());
+		}
+		catch (ValidationException vex) {
+			showValidationErrors(component, "form.action.deletefail", vex.getErrors());
+		}
+		catch (Exception aex) {
+			showErrorMessage(aex.getMessage());
+		}
+	}
+	
 	private void exportList() {
 		final List<TransferElement> elements = new ArrayList<>();
 		final QueryCursor<ValueObject> cursor = listModel.getCursor().newCursorFromStart();
@@ -401,6 +460,38 @@ public class ListFormViewModel extends AbstractFormViewModel {
 						  						TransferFormat.CSV.fileExtension);
 	}
 	
+	@Override
+	void print(FormPrintout printout) {
+		if (printList) {
+			printList(printout);
+		}
+		else {
+			super.print(printout);
+		}
+	}
+	
+	// one document per list object, all documents in one zip file
+	private void printList(FormPrintout printout) {
+		final QueryCursor<ValueObject> cursor = listModel.getCursor().newCursorFromStart();
+		final FastByteArrayOutputStream baos = new FastByteArrayOutputStream();
+		try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+			int index = 0;
+			for (int chunkIndex = 0; chunkIndex * cursor.getChunkSize() < cursor.getTotalCount(); chunkIndex++) {
+				cursor.setChunkIndex(chunkIndex);
+				for (byte[] content : printoutService().print(printout, valueObjectService().loadChunk(cursor))) {
+					zos.putNextEntry(new ZipEntry(++index + "_" + printout.getFileName()));
+					zos.write(content);
+					zos.closeEntry();
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new InternalException(ex);
+		}
+		Filedownload.save(baos.toByteArrayUnsafe(), "application/zip", 
+						  getForm().getName() + '_' + MiscUtils.getTimestampString() + ".zip");
+	}
+	
 	private List<FormField> getVisibleSortedFields() {
 		final ViewSettings viewSettings = ViewUtils.getSettings();
 		viewSettings.sortFields(getForm().getFields());
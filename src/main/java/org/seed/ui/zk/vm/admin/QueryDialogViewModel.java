@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.hibernate.Session;
+
 import org.seed.C;
 import org.seed.core.data.AbstractSystemEntity;
 import org.seed.core.data.ValidationException;
@@ -82,8 +84,8 @@ public class QueryDialogViewModel extends AbstractApplicationViewModel {
 	@Command
 	@NotifyChange(C.RESULT)
 	public void query(@BindingParam(C.ELEM) Component component) {
-		try {
-			result = dataSourceService.query(dataSource, getParameterMap(), currentSession());
+		try (Session session = openReadOnlySession()) {
+			result = dataSourceService.query(dataSource, getParameterMap(), session);
 		} 
 		catch (ValidationException vex) {
 			showValidationErrors(component, "admin.datasource.queryfail", vex.getErrors());
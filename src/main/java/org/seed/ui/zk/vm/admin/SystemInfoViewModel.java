@@ -30,12 +30,18 @@ import org.seed.C;
 import org.seed.core.codegen.CodeManager;
 import org.seed.core.codegen.compile.CompilerErrors;
 import org.seed.core.codegen.compile.CompilerErrors.CompilerError;
+import org.seed.core.config.CacheRegionStatistic;
 import org.seed.core.config.DatabaseInfo;
 import org.seed.core.config.SchemaManager;
 import org.seed.core.config.SessionProvider;
 import org.seed.core.config.SystemLog;
 import org.seed.core.config.SystemLog.LogEntry;
+import org.seed.core.data.ValidationException;
+import org.seed.core.entity.IndexAdvisor;
+import org.seed.core.entity.IndexRecommendation;
+import org.seed.core.entity.QueryPattern;
 import org.seed.core.task.job.JobStatistics;
+import org.seed.core.util.Assert;
 import org.seed.ui.zk.vm.AbstractApplicationViewModel;
 
 import org.springframework.core.env.Environment;
@@ -66,8 +72,13 @@ public class SystemInfoViewModel extends AbstractApplicationViewModel {
 	@WireVariable(value="systemLog")
 	private SystemLog systemLog;
 	
+	@WireVariable(value="indexAdvisor")
+	private IndexAdvisor indexAdvisor;
+	
 	private CompilerError compilerError; 
 	
+	private IndexRecommendation indexRecommendation;
+	
 	private LogEntry logEntry;
 	
 	public String getVersion() {
@@ -98,6 +109,26 @@ public class SystemInfoViewModel extends AbstractApplicationViewModel {
 		this.logEntry = logEntry;
 	}
 	
+	public IndexRecommendation getIndexRecommendation() {
+		return indexRecommendation;
+	}
+
+	public void setIndexRecommendation(IndexRecommendation indexRecommendation) {
+		this.indexRecommendation = indexRecommendation;
+	}
+	
+	public List<IndexRecommendation> getIndexRecommendations() {
+		return indexAdvisor.getRecommendations();
+	}
+	
+	public List<QueryPattern> getQueryPatterns() {
+		return indexAdvisor.getQueryPatterns();
+	}
+	
+	public boolean isSlowQuery(QueryPattern pattern) {
+		return indexAdvisor.isSlow(pattern);
+	}
+	
 	public List<LogEntry> getLogEntries() {
 		final var entries = new ArrayList<LogEntry>(systemLog.getEntries());
 		entries.sort((LogEntry entry1, LogEntry entry2) -> 
@@ -176,6 +207,10 @@ public class SystemInfoViewModel extends AbstractApplicationViewModel {
 		return sessionProvider.getStatistics();
 	}
 	
+	public List<CacheRegionStatistic> getCacheRegionStatistics() {
+		return sessionProvider.getCacheRegionStatistics();
+	}
+	
 	public JobStatistics getJobStatistics() {
 		return jobStatistics;
 	}
@@ -202,6 +237,21 @@ public class SystemInfoViewModel extends AbstractApplicationViewModel {
 		super.showSwagger();
 	}
 	
+	@Command
+	@NotifyChange({"indexRecommendations", "indexRecommendation"})
+	public void createIndex(@BindingParam(C.ELEM) Component component) {
+		Assert.stateAvailable(indexRecommendation, "index recommendation");
+		try {
+			indexAdvisor.createIndex(indexRecommendation);
+			showNotification(component, false, "systeminfo.index.createsuccess", 
+							 indexRecommendation.getFieldName());
+			indexRecommendation = null;
+		}
+		catch (ValidationException vex) {
+			showValidationErrors(component, "admin.entity.savefail", vex.getErrors());
+		}
+	}
+	
 	@Command
 	@NotifyChange("existSystemError")
 	public void resetNotification(@BindingParam(C.ELEM) Component component) {
@@ -0,0 +1,163 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.seed.core.entity.value.AbstractValueObject;
+
+class ThumbnailCacheTest {
+	
+	private static final Long FIELD_ID = 123L;
+	
+	@Test
+	void testCreateThumbnail() throws Exception {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "png", baos);
+		
+		final byte[] thumbnail = ThumbnailCache.createThumbnail(baos.toByteArray(), 100);
+		final BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+		assertEquals(100, image.getWidth());
+		assertEquals(50, image.getHeight());
+	}
+	
+	@Test
+	void testGetKey() {
+		final ThumbnailCache cache = new ThumbnailCache();
+		final TestObject object = new TestObject();
+		assertThrows(IllegalStateException.class, () -> cache.getKey(object, FIELD_ID, 100));
+		
+		object.setId(1L);
+		object.setVersion(2);
+		assertEquals("1-2-123-100", cache.getKey(object, FIELD_ID, 100));
+		assertNotEquals(cache.getKey(object, FIELD_ID, 100), cache.getKey(object, FIELD_ID, 200));
+		assertNotEquals(cache.getKey(object, FIELD_ID, 100), cache.getKey(object, 124L, 100));
+	}
+	
+	@Test
+	void testGetThumbnailHit() throws Exception {
+		final ThumbnailCache cache = new ThumbnailCache();
+		final TestObject object = new TestObject();
+		object.setId(1L);
+		final byte[] image = createImage(1000, 500);
+		
+		final byte[] thumbnail = cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), image, 100);
+		assertSame(thumbnail, cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), image, 100));
+	}
+	
+	@Test
+	void testGetThumbnailChangedObject() throws Exception {
+		final ThumbnailCache cache = new ThumbnailCache();
+		final TestObject object = new TestObject();
+		object.setId(1L);
+		final byte[] thumbnail = cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), createImage(1000, 500), 100);
+		
+		// saving the changed image increases the version
+		object.setVersion(1);
+		final byte[] changedThumbnail = cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), createImage(1000, 1000), 100);
+		assertNotSame(thumbnail, changedThumbnail);
+		assertEquals(50, ImageIO.read(new ByteArrayInputStream(thumbnail)).getHeight());
+		assertEquals(100, ImageIO.read(new ByteArrayInputStream(changedThumbnail)).getHeight());
+	}
+	
+	@Test
+	void testSaveRemovesOutdatedVersions(@TempDir Path dir) throws Exception {
+		final ThumbnailCache cache = new ThumbnailCache();
+		cache.initCacheDir(dir, 100);
+		final TestObject object = new TestObject();
+		object.setId(1L);
+		final byte[] image = createImage(1000, 500);
+		cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), image, 100);
+		cache.getThumbnail(cache.getKey(object, FIELD_ID, 200), image, 200);
+		assertTrue(Files.exists(dir.resolve("1-0-123-100.png")));
+		assertTrue(Files.exists(dir.resolve("1-0-123-200.png")));
+		
+		object.setVersion(1);
+		cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), image, 100);
+		assertFalse(Files.exists(dir.resolve("1-0-123-100.png")));
+		assertTrue(Files.exists(dir.resolve("1-1-123-100.png")));
+		assertTrue(Files.exists(dir.resolve("1-0-123-200.png")));
+	}
+	
+	@Test
+	void testRemoveThumbnails(@TempDir Path dir) throws Exception {
+		final ThumbnailCache cache = new ThumbnailCache();
+		cache.initCacheDir(dir, 100);
+		final TestObject object = new TestObject();
+		object.setId(1L);
+		final TestObject otherObject = new TestObject();
+		otherObject.setId(11L);
+		final byte[] image = createImage(1000, 500);
+		final String key = cache.getKey(object, FIELD_ID, 100);
+		final byte[] thumbnail = cache.getThumbnail(key, image, 100);
+		cache.getThumbnail(cache.getKey(object, 124L, 100), image, 100);
+		cache.getThumbnail(cache.getKey(otherObject, FIELD_ID, 100), image, 100);
+		
+		cache.removeThumbnails(1L, FIELD_ID);
+		assertFalse(Files.exists(dir.resolve("1-0-123-100.png")));
+		assertTrue(Files.exists(dir.resolve("1-0-124-100.png")));
+		assertTrue(Files.exists(dir.resolve("11-0-123-100.png")));
+		assertNotSame(thumbnail, cache.getThumbnail(key, image, 100));
+	}
+	
+	@Test
+	void testPruneCacheDir(@TempDir Path dir) throws Exception {
+		final ThumbnailCache cache = new ThumbnailCache();
+		cache.initCacheDir(dir, 2);
+		final byte[] image = createImage(1000, 500);
+		for (long id = 1; id <= 3; id++) {
+			final TestObject object = new TestObject();
+			object.setId(id);
+			cache.getThumbnail(cache.getKey(object, FIELD_ID, 100), image, 100);
+			Files.setLastModifiedTime(dir.resolve(id + "-0-123-100.png"), FileTime.fromMillis(id * 1000));
+		}
+		
+		cache.pruneCacheDir();
+		assertFalse(Files.exists(dir.resolve("1-0-123-100.png")));
+		assertTrue(Files.exists(dir.resolve("2-0-123-100.png")));
+		assertTrue(Files.exists(dir.resolve("3-0-123-100.png")));
+	}
+	
+	private static byte[] createImage(int width, int height) throws Exception {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", baos);
+		return baos.toByteArray();
+	}
+	
+	public static class TestObject extends AbstractValueObject {
+		
+		@Override
+		public Long getEntityId() {
+			return null;
+		}
+		
+	}
+	
+}
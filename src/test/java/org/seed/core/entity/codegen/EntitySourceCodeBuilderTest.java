@@ -0,0 +1,125 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.codegen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.codegen.SourceCodeBuilder.BuildMode;
+import org.seed.core.data.FieldType;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityRelation;
+import org.seed.core.entity.NestedEntity;
+
+class EntitySourceCodeBuilderTest {
+	
+	private static final String FETCH_SUBSELECT = "@Fetch(value = FetchMode.SUBSELECT)";
+	
+	@Test
+	void testNestedWithoutFetchOptions() {
+		final String content = build(createEntityWithNested(null, false));
+		
+		assertFalse(content.contains(FETCH_SUBSELECT));
+		assertFalse(content.contains("@BatchSize"));
+	}
+	
+	@Test
+	void testNestedFetchBatchSize() {
+		final String content = build(createEntityWithNested(25, false));
+		
+		assertTrue(content.contains("@BatchSize(size = 25)"));
+		assertFalse(content.contains(FETCH_SUBSELECT));
+	}
+	
+	@Test
+	void testNestedFetchSubselect() {
+		final String content = build(createEntityWithNested(null, true));
+		
+		assertTrue(content.contains(FETCH_SUBSELECT));
+		assertTrue(content.contains("import org.hibernate.annotations.FetchMode;"));
+		assertFalse(content.contains("@BatchSize"));
+	}
+	
+	@Test
+	void testNestedFetchSubselectWinsOverBatchSize() {
+		final String content = build(createEntityWithNested(25, true));
+		
+		assertTrue(content.contains(FETCH_SUBSELECT));
+		assertFalse(content.contains("@BatchSize"));
+	}
+	
+	@Test
+	void testRelationFetchBatchSize() {
+		final String content = build(createEntityWithRelation(10, false));
+		
+		assertTrue(content.contains("@BatchSize(size = 10)"));
+		assertFalse(content.contains(FETCH_SUBSELECT));
+	}
+	
+	@Test
+	void testRelationFetchSubselectWinsOverBatchSize() {
+		final String content = build(createEntityWithRelation(10, true));
+		
+		assertTrue(content.contains(FETCH_SUBSELECT));
+		assertFalse(content.contains("@BatchSize"));
+	}
+	
+	private static String build(EntityMetadata entity) {
+		return new EntitySourceCodeBuilder(entity).build(BuildMode.COMPLETE).getContent();
+	}
+	
+	private static EntityMetadata createEntityWithNested(Integer batchSize, boolean subselect) {
+		final EntityMetadata entity = createEntity(1L, "Parent");
+		final EntityMetadata nestedEntity = createEntity(2L, "Child");
+		final EntityField referenceField = new EntityField();
+		referenceField.setName("parent");
+		referenceField.setType(FieldType.REFERENCE);
+		referenceField.setReferenceEntity(entity);
+		nestedEntity.addField(referenceField);
+		
+		final NestedEntity nested = new NestedEntity();
+		nested.setName("children");
+		nested.setNestedEntity(nestedEntity);
+		nested.setReferenceField(referenceField);
+		nested.setFetchBatchSize(batchSize);
+		nested.setFetchSubselect(subselect);
+		entity.addNested(nested);
+		return entity;
+	}
+	
+	private static EntityMetadata createEntityWithRelation(Integer batchSize, boolean subselect) {
+		final EntityMetadata entity = createEntity(1L, "Parent");
+		final EntityRelation relation = new EntityRelation();
+		relation.setName("related");
+		relation.setRelatedEntity(createEntity(2L, "Related"));
+		relation.setFetchBatchSize(batchSize);
+		relation.setFetchSubselect(subselect);
+		entity.addRelation(relation);
+		return entity;
+	}
+	
+	private static EntityMetadata createEntity(Long id, String name) {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setId(id);
+		entity.setName(name);
+		return entity;
+	}
+	
+}
@@ -0,0 +1,101 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityMetadata;
+
+class ReferencingEntitiesQueryTest {
+	
+	@Test
+	void testQueryString() {
+		final Entity entity = createEntity(1L, "target");
+		final Entity order = createEntity(2L, "order");
+		final Entity invoice = createEntity(3L, "invoice");
+		final Map<Entity, List<EntityField>> referenceFields = new LinkedHashMap<>();
+		referenceFields.put(entity, List.of(createField("parent")));
+		referenceFields.put(order, List.of(createField("target"), createField("user")));
+		referenceFields.put(invoice, List.of(createField("target")));
+		
+		final var query = new ReferencingEntitiesQuery(entity, referenceFields, name -> '"' + name + '"');
+		assertFalse(query.isEmpty());
+		// self references are ignored, every name is quoted
+		assertEquals("select distinct 0, \"target\" from \"order\" where \"target\" in (:ids)" + 
+					 " union all select distinct 0, \"user\" from \"order\" where \"user\" in (:ids)" + 
+					 " union all select distinct 1, \"target\" from \"invoice\" where \"target\" in (:ids)", 
+					 query.getQueryString());
+	}
+	
+	@Test
+	void testNoReferences() {
+		final Entity entity = createEntity(1L, "target");
+		
+		assertTrue(new ReferencingEntitiesQuery(entity, Map.of(), name -> name).isEmpty());
+		assertTrue(new ReferencingEntitiesQuery(entity, Map.of(entity, List.of(createField("parent"))), 
+												name -> name).isEmpty());
+	}
+	
+	@Test
+	void testAddResult() {
+		final Entity entity = createEntity(1L, "target");
+		final Entity order = createEntity(2L, "order");
+		final Entity invoice = createEntity(3L, "invoice");
+		final Map<Entity, List<EntityField>> referenceFields = new LinkedHashMap<>();
+		referenceFields.put(order, List.of(createField("target"), createField("user")));
+		referenceFields.put(invoice, List.of(createField("target")));
+		final var query = new ReferencingEntitiesQuery(entity, referenceFields, name -> name);
+		
+		final Map<Long, Set<Entity>> result = new HashMap<>();
+		// results of two chunks, object 10 is referenced by two fields of order
+		query.addResult(result, List.of(new Object[] { 0, 10L }, new Object[] { 0, 10L }, 
+										new Object[] { 1, 10L }));
+		query.addResult(result, List.of(new Object[] { 1, 11L }, new Object[] { 0, 12 }));
+		
+		assertEquals(3, result.size());
+		assertEquals(List.of(order, invoice), List.copyOf(result.get(10L)));
+		assertEquals(Set.of(invoice), result.get(11L));
+		assertEquals(Set.of(order), result.get(12L));
+	}
+	
+	private static Entity createEntity(Long id, String tableName) {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setId(id);
+		entity.setName(tableName);
+		entity.setTableName(tableName);
+		return entity;
+	}
+	
+	private static EntityField createField(String columnName) {
+		final EntityField field = new EntityField();
+		field.setName(columnName);
+		field.setColumnName(columnName);
+		return field;
+	}
+	
+}
@@ -0,0 +1,193 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.data.FieldType;
+import org.seed.core.data.SystemField;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityStatus;
+import org.seed.core.util.MiscUtils;
+
+class ValueObjectRepositoryTest {
+	
+	// records the selected paths and returns the given rows
+	private static class ProjectionSession {
+		
+		private final List<String> selections = new ArrayList<>();
+		
+		private final List<Object[]> rows;
+		
+		private int firstResult;
+		
+		private int maxResults;
+		
+		private ProjectionSession(List<Object[]> rows) {
+			this.rows = rows;
+		}
+		
+		private Session createSession() {
+			final Root<?> root = createPath(Root.class, null);
+			final CriteriaQuery<?> query = stub(CriteriaQuery.class, (method, args) -> {
+				if ("multiselect".equals(method)) {
+					((List<?>) args[0]).forEach(selection -> selections.add(selection.toString()));
+				}
+				return "from".equals(method) ? root : null;
+			});
+			final CriteriaBuilder builder = stub(CriteriaBuilder.class, 
+												 (method, args) -> "createTupleQuery".equals(method) ? query : null);
+			final Query<?> hqlQuery = stubQuery();
+			return stub(Session.class, (method, args) -> {
+				switch (method) {
+					case "getCriteriaBuilder":
+						return builder;
+					case "createQuery":
+						return hqlQuery;
+					default:
+						return null;
+				}
+			});
+		}
+		
+		private Query<?> stubQuery() {
+			final List<Tuple> tuples = new ArrayList<>();
+			rows.forEach(row -> tuples.add(stub(Tuple.class, (method, args) -> row[(Integer) args[0]])));
+			final Object[] self = new Object[1];
+			self[0] = stub(Query.class, (method, args) -> {
+				switch (method) {
+					case "setFirstResult":
+						firstResult = (Integer) args[0];
+						return self[0];
+					case "setMaxResults":
+						maxResults = (Integer) args[0];
+						return self[0];
+					case "getResultList":
+						return tuples;
+					default:
+						return self[0];
+				}
+			});
+			return (Query<?>) self[0];
+		}
+		
+		// a path prints its property path
+		private static <T extends Path<?>> T createPath(Class<T> type, String name) {
+			return stub(type, (method, args) -> {
+				switch (method) {
+					case "get":
+						return createPath(Path.class, name != null ? name + '.' + args[0] : (String) args[0]);
+					case "toString":
+						return name;
+					default:
+						return null;
+				}
+			});
+		}
+	}
+	
+	private static class TestRepository extends ValueObjectRepository {
+		
+		@Override
+		protected Class<ValueObject> getEntityClass(Session session, Entity entity) {
+			return MiscUtils.castClass(ValueObject.class);
+		}
+	}
+	
+	@Test
+	void testFindProjection() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField textField = addField(entity, "text", FieldType.TEXT);
+		final EntityField referenceField = addField(entity, "reference", FieldType.REFERENCE);
+		final EntityField fileField = addField(entity, "file", FieldType.FILE);
+		final ProjectionSession session = new ProjectionSession(List.<Object[]>of(
+				new Object[] { 1L, "first", 10L, 20L }, 
+				new Object[] { 2L, "second", null, null }));
+		
+		final var valueMaps = new TestRepository().findProjection(session.createSession(), entity, null, 
+				List.of(textField, referenceField, fileField), 5, 2);
+		assertEquals(List.of("id", "text", "reference.id", "file.id"), session.selections);
+		assertEquals(5, session.firstResult);
+		assertEquals(2, session.maxResults);
+		assertEquals(2, valueMaps.size());
+		assertEquals(List.of(SystemField.ID.property, "text", "reference", "file"), 
+					 new ArrayList<>(valueMaps.get(0).keySet()));
+		assertEquals(1L, valueMaps.get(0).get(SystemField.ID.property));
+		assertEquals("first", valueMaps.get(0).get("text"));
+		assertEquals(10L, valueMaps.get(0).get("reference"));
+		assertEquals(20L, valueMaps.get(0).get("file"));
+		assertEquals("second", valueMaps.get(1).get("text"));
+		assertNull(valueMaps.get(1).get("reference"));
+	}
+	
+	@Test
+	void testFindProjectionWithStatus() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField textField = addField(entity, "text", FieldType.TEXT);
+		entity.addStatus(new EntityStatus());
+		final ProjectionSession session = new ProjectionSession(List.<Object[]>of(
+				new Object[] { 1L, 3L, "first" }));
+		
+		final var valueMaps = new TestRepository().findProjection(session.createSession(), entity, null, 
+				List.of(textField), 0, 10);
+		assertEquals(List.of("id", SystemField.ENTITYSTATUS.property + ".id", "text"), session.selections);
+		assertEquals(3L, valueMaps.get(0).get(SystemField.ENTITYSTATUS.property));
+	}
+	
+	@Test
+	void testFindProjectionRejectsBinaryFields() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField binaryField = addField(entity, "image", FieldType.BINARY);
+		final ProjectionSession session = new ProjectionSession(List.of());
+		
+		assertThrows(IllegalStateException.class, () -> new TestRepository()
+				.findProjection(session.createSession(), entity, null, List.of(binaryField), 0, 10));
+	}
+	
+	private static EntityField addField(EntityMetadata entity, String name, FieldType type) {
+		final EntityField field = new EntityField();
+		field.setName(name);
+		field.setType(type);
+		entity.addField(field);
+		return field;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> handler) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, 
+										  (proxy, method, args) -> handler.apply(method.getName(), args));
+	}
+	
+}
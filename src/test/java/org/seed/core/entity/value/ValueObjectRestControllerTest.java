@@ -0,0 +1,128 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.entity.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.data.FieldAccess;
+import org.seed.core.data.FieldType;
+import org.seed.core.data.SystemField;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityFieldConstraint;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityStatus;
+import org.seed.core.user.UserMetadata;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class ValueObjectRestControllerTest {
+	
+	@Test
+	void testGetProjectionFieldsDefault() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField textField = addField(entity, "text", FieldType.TEXT);
+		addField(entity, "image", FieldType.BINARY);
+		final EntityField referenceField = addField(entity, "reference", FieldType.REFERENCE);
+		
+		assertEquals(List.of(textField, referenceField), ValueObjectRestController.getProjectionFields(entity, null));
+		assertEquals(List.of(textField, referenceField), ValueObjectRestController.getProjectionFields(entity, List.of()));
+	}
+	
+	@Test
+	void testGetProjectionFieldsSelection() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField textField = addField(entity, "text", FieldType.TEXT);
+		final EntityField referenceField = addField(entity, "reference", FieldType.REFERENCE);
+		
+		assertEquals(List.of(referenceField, textField), 
+					 ValueObjectRestController.getProjectionFields(entity, List.of("reference", "text")));
+	}
+	
+	@Test
+	void testGetProjectionFieldsRejectsUnknownAndBinaryFields() {
+		final EntityMetadata entity = new EntityMetadata();
+		addField(entity, "text", FieldType.TEXT);
+		addField(entity, "image", FieldType.BINARY);
+		
+		var ex = assertThrows(ResponseStatusException.class, 
+							  () -> ValueObjectRestController.getProjectionFields(entity, List.of("text", "unknown")));
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+		
+		ex = assertThrows(ResponseStatusException.class, 
+						  () -> ValueObjectRestController.getProjectionFields(entity, List.of("image")));
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+	}
+	
+	@Test
+	void testRemoveInvisibleValues() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField textField = addField(entity, "text", FieldType.TEXT);
+		final EntityField secretField = addField(entity, "secret", FieldType.TEXT);
+		final EntityStatus openStatus = addStatus(entity, 1L);
+		final EntityStatus closedStatus = addStatus(entity, 2L);
+		final EntityFieldConstraint constraint = new EntityFieldConstraint();
+		constraint.setField(secretField);
+		constraint.setStatus(closedStatus);
+		constraint.setAccess(FieldAccess.NONE);
+		entity.addFieldConstraint(constraint);
+		final var valueMaps = new ArrayList<Map<String, Object>>();
+		valueMaps.add(createValueMap(10L, openStatus.getId()));
+		valueMaps.add(createValueMap(11L, closedStatus.getId()));
+		
+		ValueObjectRestController.removeInvisibleValues(valueMaps, entity, List.of(textField, secretField), 
+														new UserMetadata());
+		assertEquals("text", valueMaps.get(0).get("text"));
+		assertEquals("secret", valueMaps.get(0).get("secret"));
+		assertEquals("text", valueMaps.get(1).get("text"));
+		assertTrue(valueMaps.get(1).containsKey("secret"));
+		assertNull(valueMaps.get(1).get("secret"));
+	}
+	
+	private static Map<String, Object> createValueMap(Long id, Long statusId) {
+		final var valueMap = new HashMap<String, Object>();
+		valueMap.put(SystemField.ID.property, id);
+		valueMap.put(SystemField.ENTITYSTATUS.property, statusId);
+		valueMap.put("text", "text");
+		valueMap.put("secret", "secret");
+		return valueMap;
+	}
+	
+	private static EntityField addField(EntityMetadata entity, String name, FieldType type) {
+		final EntityField field = new EntityField();
+		field.setName(name);
+		field.setType(type);
+		entity.addField(field);
+		return field;
+	}
+	
+	private static EntityStatus addStatus(EntityMetadata entity, Long id) {
+		final EntityStatus status = new EntityStatus();
+		status.setId(id);
+		entity.addStatus(status);
+		return status;
+	}
+	
+}
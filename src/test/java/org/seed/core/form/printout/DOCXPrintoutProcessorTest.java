@@ -0,0 +1,296 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.form.printout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.junit.jupiter.api.Test;
+
+import org.seed.LabelProvider;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.NestedEntity;
+import org.seed.core.entity.value.AbstractValueObject;
+import org.seed.core.entity.value.ValueObject;
+import org.seed.core.form.FormPrintout;
+
+class DOCXPrintoutProcessorTest {
+	
+	private static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+	
+	@Test
+	void testPrintParagraph() throws IOException {
+		final PrintoutTemplate template = compile(createDocument(false));
+		final TestObject object = new TestObject();
+		object.setName("test & <more>");
+		
+		try (XWPFDocument document = read(template.print(object))) {
+			assertEquals("Name: test & <more>", document.getParagraphs().get(0).getText());
+			assertEquals("Unknown: {{unknown}}", document.getParagraphs().get(1).getText());
+		}
+	}
+	
+	@Test
+	void testPrintSplitRun() throws IOException {
+		final PrintoutTemplate template = compile(createDocument(false));
+		final TestObject object = new TestObject();
+		object.setName("test");
+		
+		// placeholders split into several runs are left untouched
+		try (XWPFDocument document = read(template.print(object))) {
+			assertEquals("Split: {{name}}", document.getParagraphs().get(2).getText());
+		}
+	}
+	
+	@Test
+	void testPrintNestedRows() throws IOException {
+		final PrintoutTemplate template = compile(createDocument(true));
+		final TestObject object = new TestObject();
+		object.setName("test");
+		object.addNested(new TestNestedObject("first"));
+		object.addNested(new TestNestedObject("second"));
+		
+		try (XWPFDocument document = read(template.print(object))) {
+			final XWPFTable table = document.getTables().get(0);
+			assertEquals(3, table.getNumberOfRows());
+			assertEquals("Name", table.getRow(0).getCell(0).getText());
+			assertRow(table.getRow(1), "test", "first");
+			assertRow(table.getRow(2), "test", "second");
+		}
+	}
+	
+	@Test
+	void testPrintNestedRowsEmpty() throws IOException {
+		final PrintoutTemplate template = compile(createDocument(true));
+		final TestObject object = new TestObject();
+		object.setName("test");
+		
+		try (XWPFDocument document = read(template.print(object))) {
+			final XWPFTable table = document.getTables().get(0);
+			assertEquals(1, table.getNumberOfRows());
+			assertEquals("Name", table.getRow(0).getCell(0).getText());
+		}
+	}
+	
+	@Test
+	void testPrintTemplateReuse() throws IOException {
+		final PrintoutTemplate template = compile(createDocument(true));
+		final TestObject object1 = new TestObject();
+		object1.setName("test1");
+		object1.addNested(new TestNestedObject("first"));
+		final TestObject object2 = new TestObject();
+		object2.setName("test2");
+		
+		try (XWPFDocument document = read(template.print(object1))) {
+			assertEquals("Name: test1", document.getParagraphs().get(0).getText());
+			assertEquals(2, document.getTables().get(0).getNumberOfRows());
+		}
+		try (XWPFDocument document = read(template.print(object2))) {
+			assertEquals("Name: test2", document.getParagraphs().get(0).getText());
+			assertEquals(1, document.getTables().get(0).getNumberOfRows());
+		}
+	}
+	
+	@Test
+	void testPrintList() throws IOException {
+		final PrintoutTemplate template = compile(createDocument(true));
+		final List<ValueObject> objects = new ArrayList<>();
+		for (int i = 1; i <= 3; i++) {
+			final TestObject object = new TestObject();
+			object.setName("test" + i);
+			for (int j = 0; j < i; j++) {
+				object.addNested(new TestNestedObject("nested" + j));
+			}
+			objects.add(object);
+		}
+		
+		final List<byte[]> contents = template.print(objects);
+		assertEquals(3, contents.size());
+		for (int i = 1; i <= 3; i++) {
+			try (XWPFDocument document = read(contents.get(i - 1))) {
+				assertEquals("Name: test" + i, document.getParagraphs().get(0).getText());
+				final XWPFTable table = document.getTables().get(0);
+				assertEquals(i + 1, table.getNumberOfRows());
+				assertRow(table.getRow(i), "test" + i, "nested" + (i - 1));
+			}
+		}
+	}
+	
+	private static void assertRow(XWPFTableRow row, String name, String title) {
+		assertEquals(name, row.getCell(0).getText());
+		assertEquals(title, row.getCell(1).getText());
+	}
+	
+	private static PrintoutTemplate compile(byte[] content) {
+		final EntityMetadata nestedEntity = new EntityMetadata();
+		nestedEntity.setName("nested");
+		final NestedEntity nested = new NestedEntity();
+		nested.setName("nested");
+		nested.setNestedEntity(nestedEntity);
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setName("test");
+		entity.addNested(nested);
+		
+		final FormPrintout printout = new FormPrintout();
+		printout.setContentType(CONTENT_TYPE);
+		printout.setContent(content);
+		return new DOCXPrintoutProcessor(entity, new TestLabelProvider()).compile(printout);
+	}
+	
+	private static XWPFDocument read(byte[] content) throws IOException {
+		return new XWPFDocument(new ByteArrayInputStream(content));
+	}
+	
+	private static byte[] createDocument(boolean withTable) throws IOException {
+		try (XWPFDocument document = new XWPFDocument();
+			 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			document.createParagraph().createRun().setText("Name: {{name}}");
+			document.createParagraph().createRun().setText("Unknown: {{unknown}}");
+			final XWPFParagraph split = document.createParagraph();
+			split.createRun().setText("Split: {{na");
+			split.createRun().setText("me}}");
+			if (withTable) {
+				final XWPFTable table = document.createTable(2, 2);
+				table.getRow(0).getCell(0).setText("Name");
+				table.getRow(0).getCell(1).setText("Title");
+				// plain placeholder before the nested one
+				table.getRow(1).getCell(0).setText("{{name}}");
+				table.getRow(1).getCell(1).setText("{{nested.title}}");
+			}
+			document.write(baos);
+			return baos.toByteArray();
+		}
+	}
+	
+	public static class TestObject extends AbstractValueObject {
+		
+		private String name;
+		
+		private List<TestNestedObject> nested;
+		
+		public String getName() {
+			return name;
+		}
+		
+		public void setName(String name) {
+			this.name = name;
+		}
+		
+		public List<TestNestedObject> getNested() {
+			return nested;
+		}
+		
+		public void addNested(TestNestedObject _nested) {
+			if (nested == null) {
+				nested = new ArrayList<>();
+			}
+			nested.add(_nested);
+		}
+		
+		@Override
+		public Long getEntityId() {
+			return null;
+		}
+		
+	}
+	
+	public static class TestNestedObject extends AbstractValueObject {
+		
+		private final String title;
+		
+		public TestNestedObject(String title) {
+			this.title = title;
+		}
+		
+		public String getTitle() {
+			return title;
+		}
+		
+		@Override
+		public Long getEntityId() {
+			return null;
+		}
+		
+	}
+	
+	private static class TestLabelProvider implements LabelProvider {
+
+		@Override
+		public String getLabel(String key, String... params) {
+			return key;
+		}
+
+		@Override
+		public String getEnumLabel(Enum<?> enm) {
+			return enm.name();
+		}
+
+		@Override
+		public String formatBoolean(Boolean bool) {
+			return String.valueOf(bool);
+		}
+
+		@Override
+		public String formatDate(Date date) {
+			return String.valueOf(date);
+		}
+
+		@Override
+		public String formatDateTime(Date date) {
+			return String.valueOf(date);
+		}
+
+		@Override
+		public String formatTime(Date time) {
+			return String.valueOf(time);
+		}
+
+		@Override
+		public String formatBigDecimal(BigDecimal decimal) {
+			return String.valueOf(decimal);
+		}
+
+		@Override
+		public Date parseDate(String text) {
+			return null;
+		}
+
+		@Override
+		public Date parseDateTime(String text) {
+			return null;
+		}
+
+		@Override
+		public BigDecimal parseBigDecimal(String text) {
+			return null;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,206 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.rest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.seed.Seed;
+import org.seed.config.RestClientConfig;
+import org.seed.core.api.RestClient;
+import org.seed.core.config.ApplicationProperties;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// DefaultRestClient with the request factory and executor configured by RestClientConfig
+class RestClientTest {
+	
+	private static final int NUM_CALLS = 4;
+	
+	private static final int QUEUE_SIZE = 10;
+	
+	private final CountDownLatch waitLatch = new CountDownLatch(NUM_CALLS);
+	
+	private final CountDownLatch blockArrived = new CountDownLatch(1);
+	
+	private final CountDownLatch blockReleased = new CountDownLatch(1);
+	
+	private final AtomicInteger blockCalls = new AtomicInteger();
+	
+	private HttpServer server;
+	
+	private ExecutorService serverExecutor;
+	
+	private AnnotationConfigApplicationContext context;
+	
+	private RestClient client;
+	
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/echo", exchange -> respond(exchange, exchange.getRequestURI().getQuery()));
+		server.createContext("/post", exchange -> respond(exchange, new String(exchange.getRequestBody().readAllBytes(), 
+																			   StandardCharsets.UTF_8)));
+		// responds only if all calls arrived concurrently
+		server.createContext("/wait", exchange -> {
+			waitLatch.countDown();
+			try {
+				respond(exchange, waitLatch.await(5, TimeUnit.SECONDS) ? "ok" : "timeout");
+			}
+			catch (InterruptedException iex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		// responds after the test released the calls
+		server.createContext("/block", exchange -> {
+			blockCalls.incrementAndGet();
+			blockArrived.countDown();
+			try {
+				respond(exchange, blockReleased.await(10, TimeUnit.SECONDS) ? "ok" : "timeout");
+			}
+			catch (InterruptedException iex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		serverExecutor = Executors.newFixedThreadPool(NUM_CALLS);
+		server.setExecutor(serverExecutor);
+		server.start();
+		
+		createClient(NUM_CALLS);
+	}
+	
+	@AfterEach
+	void stopServer() {
+		blockReleased.countDown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+		context.close();
+	}
+	
+	@Test
+	void testGet() {
+		assertEquals("test", client.get("/echo?test"));
+	}
+	
+	@Test
+	void testGetAsync() throws Exception {
+		assertEquals("test", client.getAsync("/echo?test").get(5, TimeUnit.SECONDS));
+		assertEquals("test", client.getAsync("/echo?{query}", String.class, Map.of("query", "test"))
+								   .get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void testPostAsync() throws Exception {
+		assertEquals("test", client.postAsync("/post", String.class, "test").get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void testGetAsyncConcurrent() throws Exception {
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[NUM_CALLS];
+		for (int i = 0; i < NUM_CALLS; i++) {
+			futures[i] = client.getAsync("/wait");
+		}
+		CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+		
+		for (CompletableFuture<?> future : futures) {
+			assertEquals("ok", future.get());
+		}
+	}
+	
+	@Test
+	void testGetAsyncConcurrentLimitedPerRoute() throws Exception {
+		context.close();
+		createClient(1);
+		final var connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+		
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[NUM_CALLS];
+		for (int i = 0; i < NUM_CALLS; i++) {
+			futures[i] = client.getAsync("/block");
+		}
+		// the first call holds the single connection of the route, the others wait for it
+		assertTrue(blockArrived.await(10, TimeUnit.SECONDS));
+		final long deadline = System.currentTimeMillis() + 10000;
+		while (connectionManager.getTotalStats().getPending() < NUM_CALLS - 1) {
+			assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+		assertEquals(1, blockCalls.get());
+		
+		blockReleased.countDown();
+		CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+		for (CompletableFuture<?> future : futures) {
+			assertEquals("ok", future.get());
+		}
+		assertEquals(NUM_CALLS, blockCalls.get());
+	}
+	
+	@Test
+	void testExecutorQueueBounded() {
+		final var executor = (ThreadPoolExecutor) context.getBean("restClientExecutor", ExecutorService.class);
+		assertEquals(QUEUE_SIZE, executor.getQueue().remainingCapacity());
+		assertTrue(executor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.CallerRunsPolicy);
+	}
+	
+	private void createClient(int maxPerRoute) {
+		context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+				Seed.PROP_RESTCLIENT_MAX_PER_ROUTE, String.valueOf(maxPerRoute),
+				Seed.PROP_RESTCLIENT_ASYNC_THREADS, String.valueOf(NUM_CALLS),
+				Seed.PROP_RESTCLIENT_ASYNC_QUEUE_SIZE, String.valueOf(QUEUE_SIZE))));
+		context.register(ApplicationProperties.class, RestClientConfig.class);
+		context.refresh();
+		
+		final var template = new RestTemplate(context.getBean(HttpComponentsClientHttpRequestFactory.class));
+		template.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+		client = new DefaultRestClient(template, context.getBean("restClientExecutor", ExecutorService.class));
+	}
+	
+	private static void respond(HttpExchange exchange, String text) throws IOException {
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/plain");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+	
+}
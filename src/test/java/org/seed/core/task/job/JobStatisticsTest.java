@@ -0,0 +1,127 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.task.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.task.TaskMetadata;
+import org.seed.core.task.TaskResult;
+import org.seed.core.task.TaskRun;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JobStatisticsTest {
+	
+	private AnnotationConfigApplicationContext context;
+	
+	private MeterRegistry meterRegistry;
+	
+	private JobStatistics statistics;
+	
+	@BeforeEach
+	void createStatistics() {
+		meterRegistry = new SimpleMeterRegistry();
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean(MeterRegistry.class, () -> meterRegistry);
+		context.register(JobStatistics.class);
+		context.refresh();
+		statistics = context.getBean(JobStatistics.class);
+	}
+	
+	@AfterEach
+	void closeContext() {
+		context.close();
+	}
+	
+	@Test
+	void testRegisterRun() {
+		assertSame(0, statistics.getTotalRuns());
+		assertEquals(0L, statistics.getAverageDurationTime());
+		
+		statistics.registerRun(createRun(100, TaskResult.SUCCESS), 10);
+		statistics.registerRun(createRun(300, TaskResult.ERROR), 5);
+		
+		assertSame(2, statistics.getTotalRuns());
+		assertSame(1, statistics.getSuccessfulRuns());
+		assertSame(1, statistics.getFailedRuns());
+		assertEquals(400L, statistics.getTotalRunsDurationTime());
+		assertEquals(300L, statistics.getLongestRunDurationTime());
+		assertEquals(200L, statistics.getAverageDurationTime());
+		assertEquals(15L, statistics.getProcessedObjects());
+		assertNotNull(statistics.getLastJobRunDate());
+	}
+	
+	@Test
+	void testMetrics() {
+		statistics.registerRun(createRun(100, TaskResult.SUCCESS), 10);
+		statistics.registerRun(createRun(100, TaskResult.WARNING), 0);
+		statistics.registerRun(createRun(100, TaskResult.ERROR), 0);
+		statistics.registerQueueLag(createRun(0, TaskResult.SUCCESS).getTask(), 50);
+		
+		assertEquals(2d, meterRegistry.get("seed.job.runs").tag("result", "success").functionCounter().count());
+		assertEquals(1d, meterRegistry.get("seed.job.runs").tag("result", "failure").functionCounter().count());
+		assertEquals(10d, meterRegistry.get("seed.job.objects.processed").functionCounter().count());
+		assertEquals(50d, meterRegistry.get("seed.job.queue.lag.last").gauge().value());
+		assertEquals(2L, meterRegistry.get("seed.job.duration").tag("task", "testtask")
+									   .tag("result", "success").timer().count());
+		assertEquals(50d, meterRegistry.get("seed.job.queue.lag").timer()
+									   .totalTime(TimeUnit.MILLISECONDS));
+	}
+	
+	@Test
+	void testRegisterRunConcurrently() throws InterruptedException {
+		final int numRuns = 1000;
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < numRuns; i++) {
+			final long duration = i;
+			executor.execute(() -> statistics.registerRun(createRun(duration, TaskResult.SUCCESS), 1));
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		
+		assertEquals(numRuns, statistics.getTotalRuns());
+		assertEquals(numRuns, statistics.getSuccessfulRuns());
+		assertEquals((long) numRuns, statistics.getProcessedObjects());
+		assertEquals(numRuns - 1L, statistics.getLongestRunDurationTime());
+	}
+	
+	private static TaskRun createRun(long duration, TaskResult result) {
+		final TaskMetadata task = new TaskMetadata();
+		task.setName("testtask");
+		final TaskRun run = new TaskRun();
+		final long now = System.currentTimeMillis();
+		run.setTask(task);
+		run.setStartTime(new Date(now - duration));
+		run.setEndTime(new Date(now));
+		run.setResult(result);
+		return run;
+	}
+	
+}
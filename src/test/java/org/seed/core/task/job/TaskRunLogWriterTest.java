@@ -0,0 +1,199 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.task.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.LogLevel;
+import org.seed.core.config.SessionProvider;
+import org.seed.core.task.TaskRun;
+import org.seed.core.task.TaskRunLog;
+
+class TaskRunLogWriterTest {
+	
+	private final List<TaskRunLog> savedLogs = new ArrayList<>();
+	
+	private int failingSaves;
+	
+	private long nextId = 1;
+	
+	@Test
+	void testWrite() {
+		final TaskRunLogWriter writer = createWriter();
+		for (int i = 0; i < TaskRunLogWriter.BATCH_SIZE - 1; i++) {
+			writer.write(createLog(LogLevel.INFO, "log " + i));
+		}
+		assertTrue(savedLogs.isEmpty());
+		assertEquals(TaskRunLogWriter.BATCH_SIZE - 1, writer.getBufferSize());
+		
+		writer.write(createLog(LogLevel.WARNING, "last"));
+		assertEquals(TaskRunLogWriter.BATCH_SIZE, savedLogs.size());
+		assertSame(0, writer.getBufferSize());
+		assertEquals(LogLevel.WARNING, writer.getMaxLevel());
+		assertNotNull(savedLogs.get(0).getRun());
+	}
+	
+	@Test
+	void testWriteTruncatesContent() {
+		final TaskRunLogWriter writer = createWriter();
+		writer.write(createLog(LogLevel.INFO, "x".repeat(TaskRunLogWriter.MAX_CONTENT_LENGTH + 1)));
+		writer.close();
+		
+		assertSame(1, savedLogs.size());
+		assertTrue(savedLogs.get(0).getContent().length() <= TaskRunLogWriter.MAX_CONTENT_LENGTH);
+		assertTrue(savedLogs.get(0).getContent().endsWith("..."));
+	}
+	
+	@Test
+	void testFlushRetry() {
+		final TaskRunLogWriter writer = createWriter();
+		final TaskRunLog log = createLog(LogLevel.INFO, "first");
+		writer.write(log);
+		failingSaves = 1;
+		
+		assertFalse(writer.flush());
+		assertTrue(savedLogs.isEmpty());
+		assertSame(1, writer.getBufferSize());
+		assertNull(log.getId());
+		
+		// logs are kept and written by the next flush
+		writer.write(createLog(LogLevel.INFO, "second"));
+		assertTrue(writer.flush());
+		assertSame(2, savedLogs.size());
+		assertEquals("first", savedLogs.get(0).getContent());
+		assertSame(0, writer.getBufferSize());
+	}
+	
+	@Test
+	void testFlushRetryWithNextBatch() {
+		final TaskRunLogWriter writer = createWriter();
+		failingSaves = 1;
+		for (int i = 0; i < TaskRunLogWriter.BATCH_SIZE; i++) {
+			writer.write(createLog(LogLevel.INFO, "log " + i));
+		}
+		assertEquals(TaskRunLogWriter.BATCH_SIZE, writer.getBufferSize());
+		
+		for (int i = 0; i < TaskRunLogWriter.BATCH_SIZE - 1; i++) {
+			writer.write(createLog(LogLevel.INFO, "log " + i));
+		}
+		assertTrue(savedLogs.isEmpty());
+		
+		writer.write(createLog(LogLevel.INFO, "last"));
+		assertEquals(2 * TaskRunLogWriter.BATCH_SIZE, savedLogs.size());
+		assertSame(0, writer.getBufferSize());
+	}
+	
+	@Test
+	void testFlushDropsAfterMaxAttempts() {
+		final TaskRunLogWriter writer = createWriter();
+		writer.write(createLog(LogLevel.ERROR, "dropped"));
+		failingSaves = TaskRunLogWriter.MAX_FLUSH_ATTEMPTS;
+		
+		for (int i = 1; i < TaskRunLogWriter.MAX_FLUSH_ATTEMPTS; i++) {
+			assertFalse(writer.flush());
+		}
+		assertTrue(writer.flush());
+		assertSame(0, writer.getBufferSize());
+		assertTrue(savedLogs.isEmpty());
+		assertEquals(LogLevel.ERROR, writer.getMaxLevel());
+		
+		// writer is usable again
+		writer.write(createLog(LogLevel.INFO, "next"));
+		assertTrue(writer.flush());
+		assertSame(1, savedLogs.size());
+	}
+	
+	@Test
+	void testClose() {
+		final TaskRunLogWriter writer = createWriter();
+		writer.write(createLog(LogLevel.INFO, "log"));
+		failingSaves = TaskRunLogWriter.MAX_FLUSH_ATTEMPTS - 1;
+		
+		writer.close();
+		assertSame(1, savedLogs.size());
+		assertSame(0, writer.getBufferSize());
+	}
+	
+	@Test
+	void testCloseGivesUp() {
+		final TaskRunLogWriter writer = createWriter();
+		writer.write(createLog(LogLevel.INFO, "log"));
+		failingSaves = Integer.MAX_VALUE;
+		
+		writer.close();
+		assertTrue(savedLogs.isEmpty());
+		assertSame(0, writer.getBufferSize());
+	}
+	
+	private TaskRunLogWriter createWriter() {
+		final SessionProvider sessionProvider = (SessionProvider) Proxy.newProxyInstance(getClass().getClassLoader(), 
+				new Class<?>[] { SessionProvider.class }, (proxy, method, args) -> createSession());
+		return new TaskRunLogWriter(sessionProvider, 1L);
+	}
+	
+	private static TaskRunLog createLog(LogLevel level, String content) {
+		final TaskRunLog log = new TaskRunLog();
+		log.setLevel(level);
+		log.setContent(content);
+		return log;
+	}
+	
+	// saves the logs of a transaction on commit, fails on the first save if required
+	private Session createSession() {
+		final List<TaskRunLog> pendingLogs = new ArrayList<>();
+		final Transaction tx = (Transaction) Proxy.newProxyInstance(getClass().getClassLoader(), 
+				new Class<?>[] { Transaction.class }, (proxy, method, args) -> {
+					if ("commit".equals(method.getName())) {
+						savedLogs.addAll(pendingLogs);
+					}
+					return null;
+				});
+		return (Session) Proxy.newProxyInstance(getClass().getClassLoader(), 
+				new Class<?>[] { Session.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "beginTransaction":
+							return tx;
+						case "load":
+							return new TaskRun();
+						case "saveOrUpdate":
+							final TaskRunLog log = (TaskRunLog) args[0];
+							if (log.getId() == null) {
+								log.setId(nextId++);
+							}
+							if (failingSaves > 0) {
+								failingSaves--;
+								throw new HibernateException("save failed");
+							}
+							pendingLogs.add(log);
+							return null;
+						default:
+							return null;
+					}
+				});
+	}
+	
+}
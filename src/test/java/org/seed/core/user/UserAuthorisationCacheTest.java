@@ -0,0 +1,188 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.core.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.entity.EntityAccess;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityPermission;
+
+class UserAuthorisationCacheTest {
+	
+	private final TestAuthorisationCache cache = new TestAuthorisationCache();
+	
+	@Test
+	void testCacheHit() {
+		final UserGroupMetadata group = createGroup(1L, Authorisation.ADMIN_ENTITY);
+		cache.users.put("user", createUser(1L, "user", group));
+		
+		final UserAuthorisations authorisations = cache.getAuthorisations("user");
+		assertTrue(authorisations.isAuthorised(Authorisation.ADMIN_ENTITY));
+		assertSame(authorisations, cache.getAuthorisations("user"));
+		assertEquals(1, cache.loadCount("user"));
+	}
+	
+	@Test
+	void testUnknownUser() {
+		assertNull(cache.getAuthorisations("unknown"));
+		assertNull(cache.getAuthorisations("unknown"));
+		// unknown users are not cached
+		assertEquals(2, cache.loadCount("unknown"));
+	}
+	
+	@Test
+	void testInvalidateOnGroupChange() {
+		final UserGroupMetadata group = createGroup(1L, Authorisation.ADMIN_ENTITY);
+		final UserGroupMetadata otherGroup = createGroup(2L, Authorisation.ADMIN_FORM);
+		final UserMetadata user = createUser(1L, "user", group);
+		cache.users.put("user", user);
+		
+		final UserAuthorisations authorisations = cache.getAuthorisations("user");
+		assertTrue(authorisations.belongsTo(group));
+		
+		user.setUserGroups(Set.of(otherGroup));
+		// snapshot stays unchanged until invalidated
+		assertSame(authorisations, cache.getAuthorisations("user"));
+		
+		cache.invalidate();
+		final UserAuthorisations changed = cache.getAuthorisations("user");
+		assertNotSame(authorisations, changed);
+		assertFalse(changed.belongsTo(group));
+		assertTrue(changed.belongsTo(otherGroup));
+		assertFalse(changed.isAuthorised(Authorisation.ADMIN_ENTITY));
+		assertTrue(changed.isAuthorised(Authorisation.ADMIN_FORM));
+		assertEquals(2, cache.loadCount("user"));
+	}
+	
+	@Test
+	void testPermissionChange() {
+		final UserGroupMetadata group = createGroup(1L);
+		final UserGroupMetadata otherGroup = createGroup(2L);
+		cache.users.put("user", createUser(1L, "user", group));
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setUid("entity");
+		entity.addPermission(createPermission(otherGroup, EntityAccess.WRITE));
+		
+		final UserAuthorisations authorisations = cache.getAuthorisations("user");
+		assertFalse(authorisations.checkPermissions(entity, EntityAccess.READ));
+		
+		// a permission change creates a new version of the entity
+		entity.addPermission(createPermission(group, EntityAccess.READ));
+		entity.setVersion(entity.getVersion() + 1);
+		assertTrue(cache.getAuthorisations("user").checkPermissions(entity, EntityAccess.READ));
+		assertFalse(cache.getAuthorisations("user").checkPermissions(entity, EntityAccess.WRITE));
+	}
+	
+	@Test
+	void testInvalidateWhileLoading() {
+		cache.users.put("user", createUser(1L, "user", createGroup(1L)));
+		cache.invalidateOnLoad = true;
+		
+		final UserAuthorisations authorisations = cache.getAuthorisations("user");
+		assertNotNull(authorisations);
+		// loaded before the invalidation, so it is not cached
+		cache.invalidateOnLoad = false;
+		assertNotSame(authorisations, cache.getAuthorisations("user"));
+		assertEquals(2, cache.loadCount("user"));
+	}
+	
+	@Test
+	void testUserIsolation() {
+		final UserGroupMetadata adminGroup = createGroup(1L, Authorisation.ADMIN_USER);
+		final UserGroupMetadata userGroup = createGroup(2L);
+		cache.users.put("admin", createUser(1L, "admin", adminGroup));
+		cache.users.put("user", createUser(2L, "user", userGroup));
+		
+		final UserAuthorisations admin = cache.getAuthorisations("admin");
+		final UserAuthorisations user = cache.getAuthorisations("user");
+		assertEquals("admin", admin.getUserName());
+		assertEquals("user", user.getUserName());
+		assertTrue(admin.isAuthorised(Authorisation.ADMIN_USER));
+		assertFalse(user.isAuthorised(Authorisation.ADMIN_USER));
+		assertFalse(user.belongsTo(adminGroup));
+		assertSame(admin, cache.getAuthorisations("admin"));
+		assertSame(user, cache.getAuthorisations("user"));
+		assertEquals(1, cache.loadCount("admin"));
+		assertEquals(1, cache.loadCount("user"));
+	}
+	
+	private static UserMetadata createUser(Long id, String name, UserGroupMetadata group) {
+		final UserMetadata user = new UserMetadata();
+		user.setId(id);
+		user.setName(name);
+		user.setEnabled(true);
+		user.setUserGroups(Set.of(group));
+		return user;
+	}
+	
+	private static UserGroupMetadata createGroup(Long id, Authorisation ...authorisations) {
+		final UserGroupMetadata group = new UserGroupMetadata();
+		group.setId(id);
+		final List<UserGroupAuthorisation> groupAuthorisations = new ArrayList<>();
+		for (Authorisation authorisation : authorisations) {
+			final UserGroupAuthorisation groupAuthorisation = new UserGroupAuthorisation();
+			groupAuthorisation.setUserGroup(group);
+			groupAuthorisation.setAuthorisation(authorisation);
+			groupAuthorisations.add(groupAuthorisation);
+		}
+		group.setAuthorisations(groupAuthorisations);
+		return group;
+	}
+	
+	private static EntityPermission createPermission(UserGroup group, EntityAccess access) {
+		final EntityPermission permission = new EntityPermission();
+		permission.setUserGroup(group);
+		permission.setAccess(access);
+		return permission;
+	}
+	
+	// loads users from a map instead of the database
+	private static class TestAuthorisationCache extends UserAuthorisationCache {
+		
+		private final Map<String, UserMetadata> users = new HashMap<>();
+		
+		private final Map<String, Integer> loadCounts = new HashMap<>();
+		
+		private boolean invalidateOnLoad;
+		
+		@Override
+		UserAuthorisations loadAuthorisations(String userName) {
+			loadCounts.merge(userName, 1, Integer::sum);
+			if (invalidateOnLoad) {
+				invalidate();
+			}
+			final UserMetadata user = users.get(userName);
+			return user != null ? new UserAuthorisations(user) : null;
+		}
+		
+		private int loadCount(String userName) {
+			return loadCounts.getOrDefault(userName, 0);
+		}
+		
+	}
+	
+}
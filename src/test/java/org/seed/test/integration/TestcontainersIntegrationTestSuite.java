@@ -33,6 +33,7 @@ import org.seed.test.integration.data.DeleteDBObjectTest;
 import org.seed.test.integration.data.DeleteDataSourcesTest;
 import org.seed.test.integration.data.EditDBObjectTest;
 import org.seed.test.integration.data.EditDataSourceTest;
+import org.seed.test.integration.data.SequenceUpgradeTest;
 import org.seed.test.integration.entity.CreateDerivedEntityTest;
 import org.seed.test.integration.entity.CreateEntityTest;
 import org.seed.test.integration.entity.CreateGenericEntityTest;
@@ -42,6 +43,7 @@ import org.seed.test.integration.entity.CreateTransferableEntityTest;
 import org.seed.test.integration.entity.DeleteEntityTest;
 import org.seed.test.integration.entity.DeleteTestobjectTest;
 import org.seed.test.integration.entity.EditEntityTest;
+import org.seed.test.integration.entity.OnlineSchemaChangeTest;
 import org.seed.test.integration.filter.CreateFilterTest;
 import org.seed.test.integration.filter.CreateHQLFilterTest;
 import org.seed.test.integration.filter.DeleteFilterTest;
@@ -111,6 +113,8 @@ public class TestcontainersIntegrationTestSuite {
 	}
 
     @Nested @Order(101) class NavigationTestImpl extends NavigationTest { }
+    @Nested @Order(102) class OnlineSchemaChangeTestImpl extends OnlineSchemaChangeTest { }
+    @Nested @Order(103) class SequenceUpgradeTestImpl extends SequenceUpgradeTest { }
     
     @Nested @Order(201) class CreateUserGroupTestImpl extends CreateUserGroupTest { }
     
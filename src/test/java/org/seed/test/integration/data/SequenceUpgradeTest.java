@@ -0,0 +1,155 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.integration.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.DynamicConfiguration;
+import org.seed.core.data.AbstractSystemObject;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+// starts with a sequence of an installation before the allocation size was raised
+public class SequenceUpgradeTest {
+	
+	private static final int NUM_OBJECTS = 3;
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	@BeforeEach
+	void createSequence() throws SQLException {
+		execute("CREATE SEQUENCE upgrade_id_seq START WITH 1000 INCREMENT BY 1",
+				"CREATE TABLE upgrade_test (id BIGINT PRIMARY KEY)");
+	}
+	
+	@AfterEach
+	void dropSequence() throws SQLException {
+		execute("DROP TABLE upgrade_test", "DROP SEQUENCE upgrade_id_seq");
+	}
+	
+	@Test
+	void testDefaultStrategyRejectsOldIncrement() {
+		assertThrows(HibernateException.class, () -> createSessionFactory(Map.of()).close());
+	}
+	
+	@Test
+	void testUpgradeKeepsIdsUnique() throws SQLException {
+		final Set<Long> ids = new HashSet<>();
+		try (SessionFactory sessionFactory = createSessionFactory(DynamicConfiguration.ID_GENERATOR_SETTINGS)) {
+			saveObjects(sessionFactory, ids);
+		}
+		// schema update
+		execute("ALTER SEQUENCE upgrade_id_seq INCREMENT BY " + AbstractSystemObject.ID_ALLOCATION_SIZE);
+		
+		try (SessionFactory sessionFactory = createSessionFactory(DynamicConfiguration.ID_GENERATOR_SETTINGS)) {
+			saveObjects(sessionFactory, ids);
+		}
+		assertEquals(2 * NUM_OBJECTS, ids.size());
+		assertEquals(2 * NUM_OBJECTS, count("SELECT count(DISTINCT id) FROM upgrade_test"));
+	}
+	
+	private void saveObjects(SessionFactory sessionFactory, Set<Long> ids) {
+		try (var session = sessionFactory.openSession()) {
+			final var tx = session.beginTransaction();
+			for (int i = 0; i < NUM_OBJECTS; i++) {
+				final var object = new UpgradeObject();
+				session.save(object);
+				assertTrue(ids.add(object.getId()));
+			}
+			tx.commit();
+		}
+	}
+	
+	private SessionFactory createSessionFactory(Map<String, String> idSettings) {
+		final Map<String, Object> settings = new HashMap<>(idSettings);
+		settings.put("hibernate.connection.datasource", dataSource);
+		settings.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQL10Dialect");
+		settings.put("hibernate.hbm2ddl.auto", "none");
+		final var serviceRegistry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+		try {
+			return new MetadataSources(serviceRegistry)
+					.addAnnotatedClass(UpgradeObject.class)
+					.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException ex) {
+			StandardServiceRegistryBuilder.destroy(serviceRegistry);
+			throw ex;
+		}
+	}
+	
+	private int count(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 Statement statement = connection.createStatement();
+			 var resultSet = statement.executeQuery(sql)) {
+			resultSet.next();
+			return resultSet.getInt(1);
+		}
+	}
+	
+	private void execute(String ...sqls) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 Statement statement = connection.createStatement()) {
+			for (String sql : sqls) {
+				statement.execute(sql);
+			}
+		}
+	}
+	
+	// same id generator as AbstractSystemObject
+	@Entity
+	@Table(name = "upgrade_test")
+	public static class UpgradeObject {
+		
+		@Id
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seqGen")
+		@SequenceGenerator(name = "seqGen", sequenceName = "upgrade_id_seq", 
+						   initialValue = 1000, allocationSize = AbstractSystemObject.ID_ALLOCATION_SIZE)
+		private Long id;
+		
+		public Long getId() {
+			return id;
+		}
+		
+	}
+	
+}
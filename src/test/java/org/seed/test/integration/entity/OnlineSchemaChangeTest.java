@@ -0,0 +1,140 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.integration.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.changelog.OnlineSchemaChanges;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+// runs the online schema changes against a populated postgres table
+public class OnlineSchemaChangeTest {
+	
+	private static final int NUM_ROWS = 250;
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	private Connection connection;
+	
+	@BeforeEach
+	void createTables() throws SQLException {
+		connection = dataSource.getConnection();
+		connection.setAutoCommit(true); // concurrent index builds and batch commits need no transaction
+		execute("CREATE TABLE online_ref (id BIGINT PRIMARY KEY)",
+				"INSERT INTO online_ref VALUES (1)",
+				"CREATE TABLE online_test (id BIGINT PRIMARY KEY, name VARCHAR(32))",
+				"INSERT INTO online_test SELECT i, 'name' || i FROM generate_series(1, " + NUM_ROWS + ") i");
+	}
+	
+	@AfterEach
+	void dropTables() throws SQLException {
+		try {
+			execute("DROP TABLE online_test", "DROP TABLE online_ref");
+		}
+		finally {
+			connection.close();
+		}
+	}
+	
+	@Test
+	void testServerVersion() throws SQLException {
+		assertTrue(connection.getMetaData().getDatabaseMajorVersion() >= 
+				   OnlineSchemaChanges.MIN_VERSION_NOT_NULL_BY_CHECK);
+	}
+	
+	@Test
+	void testBackfillAndSetNotNull() throws SQLException {
+		execute("ALTER TABLE online_test ADD COLUMN text VARCHAR(32)");
+		execute(OnlineSchemaChanges.backfill("online_test", "text", "id", 
+											 OnlineSchemaChanges.stringLiteral("it's"), 100));
+		assertEquals(0, count("SELECT count(*) FROM online_test WHERE text IS NULL"));
+		assertEquals(NUM_ROWS, count("SELECT count(*) FROM online_test WHERE text = 'it''s'"));
+		
+		execute(OnlineSchemaChanges.setNotNull("online_test", "text", "chk_online_test"));
+		assertEquals(1, count("SELECT count(*) FROM information_schema.columns " + 
+							  "WHERE table_name = 'online_test' AND column_name = 'text' AND is_nullable = 'NO'"));
+		assertEquals(0, count("SELECT count(*) FROM information_schema.table_constraints " + 
+							  "WHERE constraint_name = 'chk_online_test'"));
+	}
+	
+	@Test
+	void testTimestampLiteral() throws SQLException {
+		final String literal = OnlineSchemaChanges.timestampLiteral(new Date(1700000000123L));
+		execute("ALTER TABLE online_test ADD COLUMN created TIMESTAMP");
+		execute(OnlineSchemaChanges.backfill("online_test", "created", "id", literal, 100));
+		assertEquals(NUM_ROWS, count("SELECT count(*) FROM online_test WHERE created = TIMESTAMP " + literal));
+	}
+	
+	@Test
+	void testDateLiteral() throws SQLException {
+		final String literal = OnlineSchemaChanges.dateLiteral(new Date(1700000000123L));
+		execute("ALTER TABLE online_test ADD COLUMN day DATE");
+		execute(OnlineSchemaChanges.backfill("online_test", "day", "id", literal, 100));
+		assertEquals(NUM_ROWS, count("SELECT count(*) FROM online_test WHERE day = DATE " + literal));
+	}
+	
+	@Test
+	void testIndexAndConstraints() throws SQLException {
+		execute("ALTER TABLE online_test ADD COLUMN ref_id BIGINT DEFAULT 1 NOT NULL");
+		execute(OnlineSchemaChanges.createIndex("idx_online_test", "online_test", "ref_id"));
+		execute(OnlineSchemaChanges.addUniqueConstraint("uni_online_test", "online_test", "name"));
+		execute(OnlineSchemaChanges.addForeignKey("fk_online_test", "online_test", "ref_id", "online_ref", "id"));
+		
+		assertEquals(2, count("SELECT count(*) FROM pg_indexes WHERE tablename = 'online_test' " + 
+							  "AND indexname IN ('idx_online_test', 'uni_online_test')"));
+		assertEquals(2, count("SELECT count(*) FROM pg_constraint WHERE convalidated " + 
+							  "AND conname IN ('uni_online_test', 'fk_online_test')"));
+		assertThrows(SQLException.class, 
+					 () -> execute("INSERT INTO online_test (id, name) VALUES (" + (NUM_ROWS + 1) + ", 'name1')"));
+	}
+	
+	private void execute(List<String> statements) throws SQLException {
+		execute(statements.toArray(new String[statements.size()]));
+	}
+	
+	private void execute(String ...statements) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			for (String sql : statements) {
+				statement.execute(sql);
+			}
+		}
+	}
+	
+	private long count(String query) throws SQLException {
+		try (Statement statement = connection.createStatement();
+			 var resultSet = statement.executeQuery(query)) {
+			assertTrue(resultSet.next());
+			return resultSet.getLong(1);
+		}
+	}
+	
+}
@@ -21,12 +21,17 @@ import org.junit.platform.suite.api.SelectPackages;
 import org.junit.platform.suite.api.Suite;
 
 @Suite
-@SelectPackages({ "org.seed.test.unit.data", "org.seed.test.unit.entity",
-				  "org.seed.test.unit.filter", "org.seed.test.unit.form",
-				  "org.seed.test.unit.menu", "org.seed.test.unit.module",
-				  "org.seed.test.unit.report", "org.seed.test.unit.rest",
+@SelectPackages({ "org.seed.test.unit.codegen", "org.seed.test.unit.config", 
+				  "org.seed.test.unit.data", "org.seed.test.unit.entity", 
+				  "org.seed.test.unit.filter", "org.seed.test.unit.form", 
+				  "org.seed.test.unit.menu", "org.seed.test.unit.module", 
+				  "org.seed.test.unit.report", "org.seed.test.unit.rest", 
 				  "org.seed.test.unit.task", "org.seed.test.unit.transfer", 
 				  "org.seed.test.unit.transformer", "org.seed.test.unit.user", 
-				  "org.seed.test.unit.util", "org.seed.test.unit.value"
+				  "org.seed.test.unit.util", "org.seed.test.unit.value",
+				  "org.seed.core.data", "org.seed.core.entity.codegen", 
+				  "org.seed.core.entity.value", "org.seed.core.form.printout", 
+				  "org.seed.core.rest", "org.seed.core.task.job", 
+				  "org.seed.core.user"
 				})
 public class UnitTestSuite { }
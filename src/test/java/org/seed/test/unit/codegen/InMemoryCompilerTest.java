@@ -0,0 +1,138 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.codegen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.codegen.SourceCodeImpl;
+import org.seed.core.codegen.compile.CustomJarProvider;
+import org.seed.core.codegen.compile.InMemoryCompiler;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+class InMemoryCompilerTest {
+	
+	private static final String PACKAGE = "org.seed.generated.test.";
+	
+	private AnnotationConfigApplicationContext context;
+	
+	private InMemoryCompiler compiler;
+	
+	@BeforeEach
+	void createCompiler() {
+		context = new AnnotationConfigApplicationContext();
+		context.registerBean(CustomJarProvider.class, () -> Collections::emptyList);
+		context.register(InMemoryCompiler.class);
+		context.refresh();
+		compiler = context.getBean(InMemoryCompiler.class);
+	}
+	
+	@AfterEach
+	void closeContext() {
+		context.close();
+	}
+	
+	@Test
+	void testExtendClassLoader() throws Exception {
+		compile("First", "return \"first\";");
+		compile("Second", "return \"second\";");
+		compiler.createClassLoader();
+		final Class<?> secondClass = compiler.getGeneratedClass(PACKAGE + "Second");
+		
+		compile("First", "return \"changed\";");
+		assertTrue(compiler.extendClassLoader(List.of(PACKAGE + "First")));
+		assertEquals("changed", getValue(PACKAGE + "First"));
+		// unchanged classes are not reloaded
+		assertSame(secondClass, compiler.getGeneratedClass(PACKAGE + "Second"));
+	}
+	
+	@Test
+	void testExtendClassLoaderReferencedClass() throws Exception {
+		compile("First", "return \"first\";");
+		compile("Second", "return new " + PACKAGE + "First().get();");
+		compiler.createClassLoader();
+		assertEquals("first", getValue(PACKAGE + "Second"));
+		
+		// second would still use the old version of first
+		compile("First", "return \"changed\";");
+		assertFalse(compiler.extendClassLoader(List.of(PACKAGE + "First")));
+		
+		compiler.createClassLoader();
+		assertEquals("changed", getValue(PACKAGE + "Second"));
+	}
+	
+	@Test
+	void testExtendClassLoaderSimilarName() throws Exception {
+		compile("First", "return \"first\";");
+		compile("FirstOther", "return \"other\";");
+		compile("Second", "return new " + PACKAGE + "FirstOther().get();");
+		compiler.createClassLoader();
+		
+		// a reference to FirstOther is no reference to First
+		compile("First", "return \"changed\";");
+		assertTrue(compiler.extendClassLoader(List.of(PACKAGE + "First")));
+		assertEquals("changed", getValue(PACKAGE + "First"));
+	}
+	
+	@Test
+	void testExtendClassLoaderMaxDepth() throws Exception {
+		compile("First", "return \"first\";");
+		compiler.createClassLoader();
+		
+		int depth = 0;
+		boolean extended;
+		do {
+			compile("First", "return \"" + depth + "\";");
+			extended = compiler.extendClassLoader(List.of(PACKAGE + "First"));
+			if (extended) {
+				assertEquals(String.valueOf(depth), getValue(PACKAGE + "First"));
+				depth++;
+			}
+		}
+		while (extended && depth < 100);
+		assertTrue(depth > 0 && depth < 100);
+		
+		// the full rebuild resets the chain
+		compiler.createClassLoader();
+		compile("First", "return \"rebuild\";");
+		assertTrue(compiler.extendClassLoader(List.of(PACKAGE + "First")));
+	}
+	
+	private void compile(String className, String body) {
+		compiler.compile(List.of(new SourceCodeImpl(PACKAGE + className, 
+				"package org.seed.generated.test;\n" + 
+				"public class " + className + " implements java.util.function.Supplier<String> {\n" +
+				"	public String get() { " + body + " }\n" +
+				"}\n")));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private String getValue(String qualifiedName) throws Exception {
+		return ((Supplier<String>) compiler.getGeneratedClass(qualifiedName)
+										   .getDeclaredConstructor().newInstance()).get();
+	}
+	
+}
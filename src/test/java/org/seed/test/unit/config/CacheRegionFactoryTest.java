@@ -0,0 +1,118 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.CacheRegionFactory;
+import org.seed.core.config.CacheRegionSettings;
+import org.seed.core.config.ConfigurationException;
+
+class CacheRegionFactoryTest {
+	
+	private static final String REGION = "org.seed.generated.test.Order";
+	
+	@Test
+	void testRegionSettings() {
+		final CacheRegionSettings defaultSettings = new CacheRegionSettings(null, null, null);
+		final CacheRegionSettings querySettings = new CacheRegionSettings(100L, null, 60);
+		final CacheRegionSettings orderSettings = new CacheRegionSettings(500L, 10, null);
+		final CacheRegionFactory factory = createFactory(defaultSettings, querySettings);
+		factory.addRegionSettings(REGION, orderSettings);
+		
+		assertSame(orderSettings, factory.getRegionSettings(REGION));
+		// collections share the settings of their owner
+		assertSame(orderSettings, factory.getRegionSettings(REGION + ".items"));
+		assertSame(defaultSettings, factory.getRegionSettings("org.seed.generated.test.Customer"));
+		assertSame(querySettings, factory.getRegionSettings(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+		assertNull(factory.getRegionSettings(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME));
+	}
+	
+	@Test
+	void testDefaultSettingsUnbounded() {
+		// regions without own settings stay unbounded unless a capacity is configured
+		final CacheRegionSettings settings = new CacheRegionSettings(null, null, null);
+		assertFalse(settings.hasHeapLimit());
+		assertNull(settings.getHeapEntries());
+		assertEquals(Long.MAX_VALUE, getHeapSize(settings.createConfiguration(getClass().getClassLoader(), event -> {})));
+	}
+	
+	@Test
+	void testDefaultSettingsBounded() {
+		final CacheRegionSettings settings = new CacheRegionSettings(2000L, null, null);
+		assertTrue(settings.hasHeapLimit());
+		assertEquals(2000L, getHeapSize(settings.createConfiguration(getClass().getClassLoader(), event -> {})));
+	}
+	
+	@Test
+	void testCreateRegionSettings() {
+		final CacheRegionSettings unbounded = new CacheRegionSettings(null, null, 3600);
+		final CacheRegionSettings bounded = new CacheRegionSettings(2000L, null, null);
+		
+		// regions with own settings are always bounded
+		CacheRegionSettings settings = unbounded.createRegionSettings(null, null, null);
+		assertEquals(CacheRegionSettings.DEFAULT_HEAP_ENTRIES, settings.getHeapEntries());
+		assertEquals(3600, settings.getTimeToLive());
+		
+		settings = bounded.createRegionSettings(null, 10, null);
+		assertEquals(2000L, settings.getHeapEntries());
+		assertEquals(10, settings.getOffHeapSize());
+		assertNull(settings.getTimeToLive());
+		
+		settings = unbounded.createRegionSettings(50, null, 60);
+		assertEquals(50L, settings.getHeapEntries());
+		assertFalse(settings.hasOffHeap());
+		assertEquals(60, settings.getTimeToLive());
+	}
+	
+	@Test
+	void testCreateConfiguration() {
+		final CacheConfiguration<Object, Object> config = new CacheRegionSettings(500L, 10, 60)
+				.createConfiguration(getClass().getClassLoader(), event -> {});
+		
+		assertEquals(500L, getHeapSize(config));
+		assertEquals(10L, config.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize());
+		assertEquals(MemoryUnit.MB, config.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getUnit());
+		assertNotNull(config.getExpiryPolicy());
+	}
+	
+	@Test
+	void testInvalidSettings() {
+		assertThrows(ConfigurationException.class, () -> new CacheRegionSettings(0L, null, null));
+		assertThrows(ConfigurationException.class, () -> new CacheRegionSettings(-1L, null, null));
+		assertFalse(new CacheRegionSettings(null, 0, 0).hasOffHeap());
+		assertNull(new CacheRegionSettings(null, 0, 0).getTimeToLive());
+	}
+	
+	private static CacheRegionFactory createFactory(CacheRegionSettings defaultSettings, 
+													CacheRegionSettings querySettings) {
+		return new CacheRegionFactory(CacheRegionFactoryTest.class.getClassLoader(), 
+									  defaultSettings, querySettings);
+	}
+	
+	private static long getHeapSize(CacheConfiguration<Object, Object> config) {
+		return config.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize();
+	}
+	
+}
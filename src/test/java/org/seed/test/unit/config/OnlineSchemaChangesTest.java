@@ -0,0 +1,92 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.changelog.OnlineSchemaChanges;
+
+class OnlineSchemaChangesTest {
+	
+	@Test
+	void testTimestampLiteralInDefaultZone() {
+		final TimeZone timeZone = TimeZone.getDefault();
+		try {
+			final Date date = new Date(1700000000123L); // 2023-11-14 22:13:20.123 UTC
+			TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+			assertEquals("'2023-11-14 23:13:20.123'", OnlineSchemaChanges.timestampLiteral(date));
+			TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+			assertEquals("'2023-11-14 17:13:20.123'", OnlineSchemaChanges.timestampLiteral(date));
+		}
+		finally {
+			TimeZone.setDefault(timeZone);
+		}
+	}
+	
+	@Test
+	void testDateLiteralInDefaultZone() {
+		final TimeZone timeZone = TimeZone.getDefault();
+		try {
+			final Date date = new Date(1700000000123L); // 2023-11-14 22:13:20.123 UTC
+			TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+			assertEquals("'2023-11-14'", OnlineSchemaChanges.dateLiteral(date));
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+			assertEquals("'2023-11-15'", OnlineSchemaChanges.dateLiteral(date));
+		}
+		finally {
+			TimeZone.setDefault(timeZone);
+		}
+	}
+	
+	@Test
+	void testStringLiteral() {
+		assertEquals("'test'", OnlineSchemaChanges.stringLiteral("test"));
+		assertEquals("'it''s'", OnlineSchemaChanges.stringLiteral("it's"));
+	}
+	
+	@Test
+	void testSetNotNull() {
+		assertArrayEquals(new String[] {
+				"ALTER TABLE test ADD CONSTRAINT chk_test CHECK (col IS NOT NULL) NOT VALID",
+				"ALTER TABLE test VALIDATE CONSTRAINT chk_test",
+				"ALTER TABLE test ALTER COLUMN col SET NOT NULL",
+				"ALTER TABLE test DROP CONSTRAINT chk_test" },
+				OnlineSchemaChanges.setNotNull("test", "col", "chk_test").toArray());
+	}
+	
+	@Test
+	void testAddUniqueConstraint() {
+		assertArrayEquals(new String[] {
+				"CREATE UNIQUE INDEX CONCURRENTLY uni_test ON test (col1,col2)",
+				"ALTER TABLE test ADD CONSTRAINT uni_test UNIQUE USING INDEX uni_test" },
+				OnlineSchemaChanges.addUniqueConstraint("uni_test", "test", "col1,col2").toArray());
+	}
+	
+	@Test
+	void testBackfill() {
+		final String sql = OnlineSchemaChanges.backfill("test", "col", "id", "'x'", 100);
+		assertTrue(sql.contains("UPDATE test SET col = 'x' WHERE id IN (SELECT id FROM test WHERE col IS NULL LIMIT 100)"));
+		assertTrue(sql.contains("COMMIT;"));
+	}
+	
+}
@@ -0,0 +1,135 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.ReadAfterWriteTracker;
+import org.seed.core.config.ReplicaSessionInterceptor;
+import org.seed.core.entity.EntityRestController;
+import org.seed.core.entity.value.ValueObjectRestController;
+import org.seed.core.rest.RestController;
+
+import org.springframework.web.method.HandlerMethod;
+
+class ReplicaRoutingTest {
+	
+	@Test
+	void testBuiltInReadHandlersUseReplica() throws Exception {
+		final var valueObjectController = new ValueObjectRestController();
+		assertTrue(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(valueObjectController, "getObjects", Session.class, String.class)));
+		assertTrue(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(valueObjectController, "getObject", Session.class, String.class, Long.class)));
+		assertTrue(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(valueObjectController, "getProjectionChunk", Session.class, String.class, 
+								  Integer.class, Integer.class, List.class)));
+		assertTrue(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(new EntityRestController(), "get", Session.class, Long.class)));
+	}
+	
+	@Test
+	void testWriteHandlersUsePrimary() throws Exception {
+		final var valueObjectController = new ValueObjectRestController();
+		assertFalse(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(valueObjectController, "deleteObject", Session.class, String.class, Long.class)));
+		assertFalse(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(new EntityRestController(), "createIndex", Session.class, Long.class)));
+	}
+	
+	@Test
+	void testCustomRestFunctionsUsePrimary() throws Exception {
+		assertFalse(ReplicaSessionInterceptor.isReplicaHandler(
+				new HandlerMethod(new RestController(), "get", HttpServletRequest.class, HttpServletResponse.class)));
+		assertFalse(ReplicaSessionInterceptor.isReplicaHandler(null));
+		assertFalse(ReplicaSessionInterceptor.isReplicaHandler(new Object()));
+	}
+	
+	@Test
+	void testReadAfterWrite() {
+		final var time = new AtomicLong(1000);
+		final var tracker = new ReadAfterWriteTracker(500, time::get);
+		assertFalse(tracker.hasRecentWrite("user"));
+		
+		tracker.recordWrite("user");
+		assertTrue(tracker.hasRecentWrite("user"));
+		assertFalse(tracker.hasRecentWrite("other"));
+		
+		time.set(1499);
+		assertTrue(tracker.hasRecentWrite("user"));
+		
+		time.set(1500);
+		assertFalse(tracker.hasRecentWrite("user"));
+	}
+	
+	@Test
+	void testRecorderRecordsSuccessfulWrites() {
+		final var time = new AtomicLong(1000);
+		final var tracker = new ReadAfterWriteTracker(500, time::get);
+		
+		var recorder = tracker.createRecorder("user");
+		recorder.inspect("update test set name=? where id=?");
+		recorder.transactionCompletion(false);
+		assertFalse(tracker.hasRecentWrite("user"));
+		
+		recorder = tracker.createRecorder("user");
+		recorder.inspect("select name from test where id=?");
+		recorder.inspect("insert into test (name, id) values (?, ?)");
+		recorder.transactionCompletion(true);
+		assertTrue(tracker.hasRecentWrite("user"));
+		assertFalse(tracker.hasRecentWrite("other"));
+	}
+	
+	@Test
+	void testReadOnlyTransactionsDontPinToPrimary() {
+		final var time = new AtomicLong(1000);
+		final var tracker = new ReadAfterWriteTracker(500, time::get);
+		final var recorder = tracker.createRecorder("user");
+		
+		recorder.transactionCompletion(true);
+		assertFalse(tracker.hasRecentWrite("user"));
+		
+		assertEquals("select id from test", recorder.inspect("select id from test"));
+		recorder.inspect("/* load Test */ SELECT name from test where id=?");
+		recorder.inspect("with recursive tree as (select id from test) select id from tree");
+		recorder.transactionCompletion(true);
+		assertFalse(tracker.hasRecentWrite("user"));
+		
+		// the next transaction of the same session changes data
+		recorder.inspect("/* delete Test */ delete from test where id=?");
+		recorder.transactionCompletion(true);
+		assertTrue(tracker.hasRecentWrite("user"));
+		
+		// a later read-only transaction doesn't extend the read-after-write time
+		time.set(1400);
+		recorder.inspect("select id from test");
+		recorder.transactionCompletion(true);
+		time.set(1500);
+		assertFalse(tracker.hasRecentWrite("user"));
+	}
+	
+}
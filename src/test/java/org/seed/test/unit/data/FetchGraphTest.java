@@ -0,0 +1,52 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.data.FetchGraph;
+
+class FetchGraphTest {
+	
+	@Test
+	void testAddAttribute() {
+		final FetchGraph fetchGraph = new FetchGraph();
+		assertTrue(fetchGraph.isEmpty());
+		
+		fetchGraph.addAttribute("customer").addAttribute("customer");
+		assertFalse(fetchGraph.isEmpty());
+		assertEquals(Set.of("customer"), fetchGraph.getAttributes());
+	}
+	
+	@Test
+	void testAddSubgraph() {
+		final FetchGraph fetchGraph = new FetchGraph();
+		assertTrue(fetchGraph.getSubgraphAttributes("positions").isEmpty());
+		
+		fetchGraph.addSubgraph("positions", Set.of("article"));
+		fetchGraph.addSubgraph("positions", Set.of("unit"));
+		assertFalse(fetchGraph.isEmpty());
+		assertTrue(fetchGraph.getAttributes().isEmpty());
+		assertEquals(Set.of("article", "unit"), fetchGraph.getSubgraphAttributes("positions"));
+	}
+	
+}
@@ -0,0 +1,61 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.data.FileObject;
+
+class FileObjectTest {
+	
+	@Test
+	void testSetContent() {
+		final FileObject file = new FileObject();
+		assertFalse(file.hasContent());
+		assertTrue(file.isEmpty());
+		assertNull(file.getContent());
+		
+		final byte[] content = new byte[] { 1, 2, 3 };
+		file.setContent(content);
+		assertTrue(file.hasContent());
+		assertFalse(file.isEmpty());
+		assertEquals(3, file.getContentSize());
+		assertSame(content, file.getContent());
+		
+		file.setContent(null);
+		assertFalse(file.hasContent());
+		assertEquals(0, file.getContentSize());
+	}
+	
+	@Test
+	void testCopy() {
+		final FileObject file = new FileObject();
+		file.setName("test.txt");
+		file.setContentType("text/plain");
+		file.setContent(new byte[] { 1, 2, 3 });
+		
+		final FileObject copy = file.copy();
+		assertEquals("test.txt", copy.getName());
+		assertEquals("text/plain", copy.getContentType());
+		assertEquals(3, copy.getContentSize());
+		assertSame(file.getContent(), copy.getContent());
+	}
+	
+}
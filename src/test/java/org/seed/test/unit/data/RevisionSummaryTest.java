@@ -0,0 +1,54 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.data.revision.RevisionEntity;
+import org.seed.core.data.revision.RevisionSummary;
+
+class RevisionSummaryTest {
+	
+	@Test
+	void testGetRevisionDate() {
+		final RevisionSummary revision = new RevisionSummary(1, 1000L, "test");
+		assertEquals(1, revision.getId());
+		assertEquals(1000L, revision.getRevisionDate().getTime());
+		assertEquals("test", revision.getAuthor());
+	}
+	
+	@Test
+	void testEquals() {
+		final RevisionSummary revision1 = new RevisionSummary(1, 1000L, "test");
+		final RevisionSummary revision2 = new RevisionSummary(1, 2000L, "other");
+		final RevisionEntity revisionEntity = new RevisionEntity();
+		assertEquals(revision1, revision2);
+		assertEquals(revision1.hashCode(), revision2.hashCode());
+		assertNotEquals(revision1, revisionEntity);
+		
+		// only equal to other summaries, the same way as RevisionEntity
+		revisionEntity.setId(1);
+		assertNotEquals(revision1, revisionEntity);
+		assertNotEquals(revisionEntity, revision1);
+		
+		assertNotEquals(revision1, new RevisionSummary(2, 1000L, "test"));
+	}
+	
+}
@@ -130,6 +130,18 @@ class EntityRelationTest {
 		relation2.setName("name");
 		relation2.setRelatedEntityUid("relation");
 		assertTrue(relation1.isEqual(relation2));
+		
+		relation1.setFetchBatchSize(25);
+		assertFalse(relation1.isEqual(relation2));
+		
+		relation2.setFetchBatchSize(25);
+		assertTrue(relation1.isEqual(relation2));
+		
+		relation1.setFetchSubselect(true);
+		assertFalse(relation1.isEqual(relation2));
+		
+		relation2.setFetchSubselect(true);
+		assertTrue(relation1.isEqual(relation2));
 	}
 	
 	@Test
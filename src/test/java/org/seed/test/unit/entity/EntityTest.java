@@ -409,6 +409,19 @@ class EntityTest {
 		((EntityMetadata) entity).setGenericEntity(genericEntity);
 		assertSame(2, entity.getAllFields().size());
 		assertSame(genericField, entity.getAllFields().get(0));
+		assertNotSame(entity.getAllFields(), entity.getAllFields());
+	}
+	
+	@Test
+	void testGetAllFieldsSnapshot() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField entityField = new EntityField();
+		entity.addField(entityField);
+		entity.initSnapshotFields();
+		
+		assertSame(entity.getAllFields(), entity.getAllFields());
+		assertSame(entityField, entity.getAllFields().get(0));
+		assertThrows(UnsupportedOperationException.class, () -> entity.getAllFields().add(new EntityField()));
 	}
 	
 	@Test
@@ -0,0 +1,146 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.IndexAdvisor;
+import org.seed.core.entity.QueryPattern;
+import org.seed.core.entity.filter.CriterionOperator;
+import org.seed.core.entity.filter.FilterCriterion;
+import org.seed.core.entity.filter.FilterMetadata;
+
+class IndexAdvisorTest {
+	
+	private static final String QUERY = "select generatedAlias0 from Test as generatedAlias0 where generatedAlias0.name = ";
+	
+	@Test
+	void testRecordQuery() {
+		final IndexAdvisor advisor = new IndexAdvisor();
+		final EntityMetadata entity = createEntity();
+		final FilterMetadata filter = createFilter(entity);
+		
+		advisor.recordQuery(entity, filter, null, () -> List.of(QUERY + "1"));
+		// query string is only requested for unknown patterns
+		advisor.recordQuery(entity, filter, null, () -> fail("query string requested twice"));
+		// no filter criteria and no sort
+		advisor.recordQuery(entity, new FilterMetadata(), null, () -> fail("query string requested"));
+		
+		final List<QueryPattern> patterns = advisor.getQueryPatterns(createStatistics(Map.of()));
+		assertEquals(1, patterns.size());
+		assertEquals(2, patterns.get(0).getUsageCount());
+		assertSame(entity.getId(), patterns.get(0).getEntityId());
+		assertEquals("test", patterns.get(0).getEntityName());
+		assertEquals(0, patterns.get(0).getExecutionCount());
+	}
+	
+	@Test
+	void testGetQueryPatternsAggregatesLiterals() {
+		final IndexAdvisor advisor = new IndexAdvisor();
+		final EntityMetadata entity = createEntity();
+		advisor.recordQuery(entity, createFilter(entity), null, () -> List.of(QUERY + "1"));
+		
+		// executions with other literal values belong to the same pattern
+		final List<QueryPattern> patterns = advisor.getQueryPatterns(createStatistics(Map.of(
+				QUERY + "1", new long[] { 2, 20, 15 },
+				QUERY + "42", new long[] { 3, 30, 25 },
+				QUERY + "'text'", new long[] { 1, 10, 10 },
+				"select generatedAlias0 from Other as generatedAlias0", new long[] { 10, 100, 50 })));
+		assertEquals(1, patterns.size());
+		final QueryPattern pattern = patterns.get(0);
+		assertEquals(6, pattern.getExecutionCount());
+		assertEquals(60, pattern.getExecutionTime());
+		assertEquals(25, pattern.getMaxExecutionTime());
+		assertEquals(10, pattern.getAvgExecutionTime());
+	}
+	
+	@Test
+	void testGetQueryPatternsKeepsIdentifiers() {
+		final IndexAdvisor advisor = new IndexAdvisor();
+		final EntityMetadata entity = createEntity();
+		advisor.recordQuery(entity, createFilter(entity), null, () -> List.of(QUERY + "1"));
+		
+		// digits within identifiers are no literals
+		final List<QueryPattern> patterns = advisor.getQueryPatterns(createStatistics(Map.of(
+				QUERY.replace("generatedAlias0", "generatedAlias1") + "1", new long[] { 5, 50, 10 })));
+		assertEquals(0, patterns.get(0).getExecutionCount());
+	}
+	
+	private static EntityMetadata createEntity() {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setId(1L);
+		entity.setName("test");
+		final EntityField field = new EntityField();
+		field.setId(2L);
+		field.setUid("name");
+		field.setName("name");
+		entity.addField(field);
+		return entity;
+	}
+	
+	private static FilterMetadata createFilter(EntityMetadata entity) {
+		final FilterMetadata filter = new FilterMetadata();
+		final FilterCriterion criterion = new FilterCriterion();
+		criterion.setEntityField(entity.getFieldByName("name"));
+		criterion.setOperator(CriterionOperator.EQUAL);
+		filter.addCriterion(criterion);
+		return filter;
+	}
+	
+	// execution count, total time and max time by query string
+	private static Statistics createStatistics(Map<String, long[]> queryStatistics) {
+		return (Statistics) Proxy.newProxyInstance(IndexAdvisorTest.class.getClassLoader(), 
+				new Class<?>[] { Statistics.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getQueries":
+					return queryStatistics.keySet().toArray(new String[0]);
+				case "getQueryStatistics":
+					return createQueryStatistics(queryStatistics.get((String) args[0]));
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+	
+	private static QueryStatistics createQueryStatistics(long[] values) {
+		return (QueryStatistics) Proxy.newProxyInstance(IndexAdvisorTest.class.getClassLoader(), 
+				new Class<?>[] { QueryStatistics.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getExecutionCount":
+					return values[0];
+				case "getExecutionTotalTime":
+					return values[1];
+				case "getExecutionMaxTime":
+					return values[2];
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+	
+}
@@ -122,5 +122,17 @@ class NestedEntityTest {
 		nested2.setReferenceFieldUid("referenceField");
 		nested2.setReadonly(true);
 		assertTrue(nested1.isEqual(nested2));
+		
+		nested1.setFetchBatchSize(25);
+		assertFalse(nested1.isEqual(nested2));
+		
+		nested2.setFetchBatchSize(25);
+		assertTrue(nested1.isEqual(nested2));
+		
+		nested1.setFetchSubselect(true);
+		assertFalse(nested1.isEqual(nested2));
+		
+		nested2.setFetchSubselect(true);
+		assertTrue(nested1.isEqual(nested2));
 	}
 }
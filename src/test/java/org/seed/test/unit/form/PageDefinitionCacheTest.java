@@ -0,0 +1,84 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.form;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.form.FormMetadata;
+import org.seed.ui.zk.PageDefinitionCache;
+
+import org.zkoss.util.resource.ClassLocator;
+import org.zkoss.zk.ui.metainfo.LanguageDefinition;
+import org.zkoss.zk.ui.metainfo.PageDefinition;
+
+class PageDefinitionCacheTest {
+	
+	@Test
+	void testPutPageDefinition() {
+		final PageDefinitionCache cache = new PageDefinitionCache();
+		final PageDefinition pageDefinition = createPageDefinition();
+		assertNull(cache.getPageDefinition("key"));
+		
+		cache.putPageDefinition("key", pageDefinition);
+		assertSame(pageDefinition, cache.getPageDefinition("key"));
+		assertSame(1, cache.size());
+	}
+	
+	@Test
+	void testRemovesLeastRecentlyUsed() {
+		final PageDefinitionCache cache = new PageDefinitionCache();
+		final PageDefinition first = createPageDefinition();
+		cache.putPageDefinition("first", first);
+		for (int i = 1; i < PageDefinitionCache.MAX_PAGE_DEFINITIONS; i++) {
+			cache.putPageDefinition("key" + i, createPageDefinition());
+		}
+		assertEquals(PageDefinitionCache.MAX_PAGE_DEFINITIONS, cache.size());
+		
+		// first is used again, so key1 is the least recently used
+		assertSame(first, cache.getPageDefinition("first"));
+		cache.putPageDefinition("next", createPageDefinition());
+		
+		assertEquals(PageDefinitionCache.MAX_PAGE_DEFINITIONS, cache.size());
+		assertSame(first, cache.getPageDefinition("first"));
+		assertNull(cache.getPageDefinition("key1"));
+		assertNotNull(cache.getPageDefinition("key2"));
+		assertNotNull(cache.getPageDefinition("next"));
+	}
+	
+	@Test
+	void testNotifyChange() {
+		final PageDefinitionCache cache = new PageDefinitionCache();
+		cache.putPageDefinition("key", createPageDefinition());
+		cache.notifyCreate(new FormMetadata(), null);
+		assertSame(1, cache.size());
+		
+		cache.notifyChange(new FormMetadata(), null);
+		assertSame(0, cache.size());
+		
+		cache.putPageDefinition("key", createPageDefinition());
+		cache.notifyDelete(new FormMetadata(), null);
+		assertNull(cache.getPageDefinition("key"));
+	}
+	
+	private static PageDefinition createPageDefinition() {
+		return new PageDefinition(LanguageDefinition.lookup("xul/html"), new ClassLocator());
+	}
+	
+}
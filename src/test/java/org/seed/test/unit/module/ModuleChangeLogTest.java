@@ -0,0 +1,236 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.module;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.config.changelog.AbstractChangeLogBuilder;
+import org.seed.core.config.changelog.ChangeLog;
+import org.seed.core.config.changelog.ModuleChangeLog;
+import org.seed.core.entity.Entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import liquibase.change.AddColumnConfig;
+import liquibase.change.Change;
+import liquibase.change.ColumnConfig;
+import liquibase.change.core.AddColumnChange;
+import liquibase.change.core.AddForeignKeyConstraintChange;
+import liquibase.change.core.CreateIndexChange;
+import liquibase.change.core.CreateTableChange;
+
+class ModuleChangeLogTest {
+	
+	@Test
+	void testEmpty() {
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		assertTrue(changeLog.isEmpty());
+		assertSame(0, changeLog.size());
+		assertNull(changeLog.build());
+		
+		// objects without changes
+		new TestChangeLogBuilder(changeLog).build();
+		assertTrue(changeLog.isEmpty());
+		assertNull(changeLog.build());
+	}
+	
+	@Test
+	void testBuildSingleChangeSet() throws Exception {
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		assertNull(new TestChangeLogBuilder(changeLog).addChanges(createTable("first")).build());
+		assertNull(new TestChangeLogBuilder(changeLog).addChanges(addColumn("first")).build());
+		
+		assertFalse(changeLog.isEmpty());
+		assertSame(2, changeLog.size());
+		final List<List<String>> changeSets = getChangeSets(changeLog.build());
+		assertSame(1, changeSets.size());
+		assertEquals(List.of("createTable:first", "addColumn:first"), changeSets.get(0));
+	}
+	
+	@Test
+	void testReferencesAfterAllTables() throws Exception {
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		// first object references a table created by a later object
+		new TestChangeLogBuilder(changeLog)
+			.addChanges(createTable("first"), addForeignKey("fk_first_second", "first", "second"))
+			.build();
+		new TestChangeLogBuilder(changeLog)
+			.addChanges(addColumn("third"), addForeignKey("fk_third_first", "third", "first"))
+			.build();
+		new TestChangeLogBuilder(changeLog)
+			.addChanges(createTable("second"), addColumn("second"))
+			.build();
+		
+		final List<List<String>> changeSets = getChangeSets(changeLog.build());
+		assertSame(1, changeSets.size());
+		assertEquals(List.of("createTable:first", 
+							 "createTable:second", "addColumn:second", 
+							 "addColumn:third", 
+							 "addForeignKeyConstraint:fk_first_second", 
+							 "addForeignKeyConstraint:fk_third_first"), 
+					 changeSets.get(0));
+	}
+	
+	@Test
+	void testReferencesAfterAllTablesOfAllModules() throws Exception {
+		// modules imported together share one module changelog
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		final List<String[]> moduleTables = List.of(new String[] { "a1", "a2" }, 
+													new String[] { "b1", "b2" });
+		for (String[] tables : moduleTables) {
+			for (String table : tables) {
+				new TestChangeLogBuilder(changeLog)
+					.addChanges(createTable(table), addForeignKey("fk_" + table, table, "a1"))
+					.build();
+			}
+		}
+		
+		final List<String> changes = getChangeSets(changeLog.build()).get(0);
+		int lastTableIndex = -1;
+		int firstReferenceIndex = changes.size();
+		for (int i = 0; i < changes.size(); i++) {
+			if (changes.get(i).startsWith("createTable:")) {
+				lastTableIndex = i;
+			}
+			else if (changes.get(i).startsWith("addForeignKeyConstraint:")) {
+				firstReferenceIndex = Math.min(firstReferenceIndex, i);
+			}
+		}
+		assertSame(8, changes.size());
+		assertTrue(lastTableIndex < firstReferenceIndex);
+	}
+	
+	@Test
+	void testOnlineChanges() throws Exception {
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		new TestChangeLogBuilder(changeLog)
+			.addOnlineChanges(createIndex("idx_first", "first"))
+			.addChanges(createTable("first"))
+			.build();
+		
+		assertSame(2, changeLog.size());
+		final List<List<String>> changeSets = getChangeSets(changeLog.build());
+		assertSame(2, changeSets.size());
+		assertEquals(List.of("createTable:first"), changeSets.get(0));
+		assertEquals(List.of("createIndex:idx_first"), changeSets.get(1));
+	}
+	
+	@Test
+	void testOnlyOnlineChanges() throws Exception {
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		new TestChangeLogBuilder(changeLog).addOnlineChanges(createIndex("idx_first", "first")).build();
+		
+		final List<List<String>> changeSets = getChangeSets(changeLog.build());
+		assertSame(1, changeSets.size());
+		assertEquals(List.of("createIndex:idx_first"), changeSets.get(0));
+	}
+	
+	@Test
+	void testIncompleteObject() {
+		final ModuleChangeLog changeLog = new ModuleChangeLog();
+		new TestChangeLogBuilder(changeLog).addChanges(createTable("first"));
+		
+		assertThrows(IllegalStateException.class, changeLog::build);
+	}
+	
+	// change type and table or constraint name of the changes of each changeset
+	private static List<List<String>> getChangeSets(ChangeLog changeLog) throws Exception {
+		assertNotNull(changeLog);
+		final JsonNode changeSetNodes = new ObjectMapper().readTree('[' + changeLog.getChangeSet() + ']');
+		final List<List<String>> result = new ArrayList<>();
+		for (JsonNode changeSetNode : changeSetNodes) {
+			final List<String> changes = new ArrayList<>();
+			for (JsonNode changeNode : changeSetNode.get("changeSet").get("changes")) {
+				final String type = changeNode.fieldNames().next();
+				final JsonNode node = changeNode.get(type);
+				final JsonNode name = node.has("constraintName") ? node.get("constraintName") 
+									: node.has("indexName") ? node.get("indexName") 
+									: node.get("tableName");
+				changes.add(type + ':' + name.asText());
+			}
+			result.add(changes);
+		}
+		return result;
+	}
+	
+	private static Change createTable(String tableName) {
+		final CreateTableChange change = new CreateTableChange();
+		change.setTableName(tableName);
+		change.addColumn(new ColumnConfig().setName("id").setType("BIGINT"));
+		return change;
+	}
+	
+	private static Change addColumn(String tableName) {
+		final AddColumnChange change = new AddColumnChange();
+		change.setTableName(tableName);
+		final AddColumnConfig column = new AddColumnConfig();
+		column.setName("col");
+		column.setType("BIGINT");
+		change.addColumn(column);
+		return change;
+	}
+	
+	private static Change addForeignKey(String constraintName, String tableName, String referencedTableName) {
+		final AddForeignKeyConstraintChange change = new AddForeignKeyConstraintChange();
+		change.setConstraintName(constraintName);
+		change.setBaseTableName(tableName);
+		change.setBaseColumnNames("col");
+		change.setReferencedTableName(referencedTableName);
+		change.setReferencedColumnNames("id");
+		return change;
+	}
+	
+	private static Change createIndex(String indexName, String tableName) {
+		final CreateIndexChange change = new CreateIndexChange();
+		change.setIndexName(indexName);
+		change.setTableName(tableName);
+		final AddColumnConfig column = new AddColumnConfig();
+		column.setName("col");
+		change.addColumn(column);
+		return change;
+	}
+	
+	private static class TestChangeLogBuilder extends AbstractChangeLogBuilder<Entity> {
+		
+		TestChangeLogBuilder(ModuleChangeLog changeLog) {
+			setModuleChangeLog(changeLog);
+		}
+		
+		TestChangeLogBuilder addChanges(Change ...changes) {
+			for (Change change : changes) {
+				addChange(change);
+			}
+			return this;
+		}
+		
+		TestChangeLogBuilder addOnlineChanges(Change ...changes) {
+			for (Change change : changes) {
+				addOnlineChange(change);
+			}
+			return this;
+		}
+		
+	}
+	
+}
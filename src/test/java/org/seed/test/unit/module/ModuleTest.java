@@ -19,9 +19,14 @@ package org.seed.test.unit.module;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
 import org.junit.jupiter.api.Test;
 
 import org.seed.core.application.module.Module;
@@ -34,6 +39,8 @@ import org.seed.core.data.datasource.DataSourceMetadata;
 import org.seed.core.data.dbobject.DBObjectMetadata;
 import org.seed.core.entity.Entity;
 import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityRelation;
+import org.seed.core.entity.NestedEntity;
 import org.seed.core.entity.filter.FilterMetadata;
 import org.seed.core.entity.transfer.TransferMetadata;
 import org.seed.core.entity.transform.TransformerMetadata;
@@ -44,6 +51,8 @@ import org.seed.core.rest.RestMetadata;
 import org.seed.core.task.TaskMetadata;
 import org.seed.core.user.UserGroupMetadata;
 
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+
 class ModuleTest {
 	
 	@Test
@@ -396,5 +405,37 @@ class ModuleTest {
 		assertFalse(module.hasNesteds());
 		assertSame(0, module.getNesteds().size());
 	}
-
+	
+	@Test
+	void testExportFetchOptions() throws Exception {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setName("test");
+		final NestedEntity nested = new NestedEntity();
+		nested.setName("nested");
+		nested.setFetchBatchSize(25);
+		entity.addNested(nested);
+		final EntityRelation relation = new EntityRelation();
+		relation.setName("relation");
+		relation.setFetchSubselect(true);
+		entity.addRelation(relation);
+		final ModuleMetadata module = new ModuleMetadata();
+		module.setName("module");
+		module.setEntityMetadata(List.of(entity));
+		
+		final Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
+		marshaller.setPackagesToScan("org.seed.core");
+		marshaller.afterPropertiesSet();
+		final StringWriter writer = new StringWriter();
+		marshaller.marshal(module, new StreamResult(writer));
+		final Module importedModule = (Module) marshaller.unmarshal(new StreamSource(new StringReader(writer.toString())));
+		
+		final var importedEntity = importedModule.getEntities().get(0);
+		assertTrue(nested.isEqual(importedEntity.getNesteds().get(0)));
+		assertEquals(25, importedEntity.getNesteds().get(0).getFetchBatchSize());
+		assertFalse(importedEntity.getNesteds().get(0).isFetchSubselect());
+		assertTrue(relation.isEqual(importedEntity.getRelations().get(0)));
+		assertNull(importedEntity.getRelations().get(0).getFetchBatchSize());
+		assertTrue(importedEntity.getRelations().get(0).isFetchSubselect());
+	}
+	
 }
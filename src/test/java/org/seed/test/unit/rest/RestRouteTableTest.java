@@ -0,0 +1,163 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.rest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.api.RestFunctionContext;
+import org.seed.core.rest.Rest;
+import org.seed.core.rest.RestFunction;
+import org.seed.core.rest.RestMetadata;
+import org.seed.core.rest.RestRouteTable;
+
+class RestRouteTableTest {
+	
+	@Test
+	void testFindRest() {
+		final Rest orders = createRest(1L, "Orders", null);
+		final Rest customers = createRest(2L, "Customers", "/clients");
+		final RestRouteTable table = new RestRouteTable(1L, List.of(orders, customers));
+		
+		assertSame(orders, table.findRest("orders"));
+		assertSame(orders, table.findRest("ORDERS"));
+		assertSame(customers, table.findRest("clients"));
+		assertSame(customers, table.findRest("customers"));
+		// mappings are case sensitive
+		assertNull(table.findRest("CLIENTS"));
+	}
+	
+	@Test
+	void testFindRestSpecificity() {
+		final Rest byName = createRest(1L, "Orders", null);
+		final Rest byMapping = createRest(2L, "Other", "/orders");
+		final Rest duplicate = createRest(3L, "Duplicate", "/orders");
+		final RestRouteTable table = new RestRouteTable(1L, List.of(byName, byMapping, duplicate));
+		
+		// explicit mapping takes precedence over the name, the first mapping wins
+		assertSame(byMapping, table.findRest("orders"));
+		assertSame(byName, table.findRest("Orders"));
+		assertSame(duplicate, table.findRest("duplicate"));
+	}
+	
+	@Test
+	void testFindRestNoWildcards() {
+		final Rest wildcard = createRest(1L, "Wildcard", "/*");
+		final Rest prefix = createRest(2L, "Prefix", "/orders/**");
+		final RestRouteTable table = new RestRouteTable(1L, List.of(wildcard, prefix));
+		
+		// mappings are matched literally
+		assertNull(table.findRest("orders"));
+		assertNull(table.findRest("orders/items"));
+		assertSame(wildcard, table.findRest("*"));
+		assertSame(prefix, table.findRest("orders/**"));
+	}
+	
+	@Test
+	void testFindRestNoMatch() {
+		final RestRouteTable table = new RestRouteTable(1L, List.of(createRest(1L, "Orders", "/orders")));
+		
+		assertNull(table.findRest("unknown"));
+		assertNull(table.findRest(""));
+		assertNull(new RestRouteTable(1L, List.of()).findRest("orders"));
+	}
+	
+	@Test
+	void testFindFunction() {
+		final Rest rest = createRest(1L, "Orders", null);
+		final RestFunction byName = createFunction(rest, "List", null);
+		final RestFunction byMapping = createFunction(rest, "Other", "/list");
+		final RestFunction open = createFunction(rest, "Open", "/open");
+		final RestRouteTable table = new RestRouteTable(1L, List.of(rest));
+		
+		assertSame(byMapping, table.findFunction(rest, "list"));
+		assertSame(byName, table.findFunction(rest, "LIST"));
+		assertSame(open, table.findFunction(rest, "open"));
+		assertNull(table.findFunction(rest, "close"));
+		assertNull(table.findFunction(rest, "*"));
+		
+		// same result as the lookup of the rest
+		for (String mapping : new String[] { "list", "LIST", "other", "open", "close" }) {
+			assertSame(rest.getFunctionByMapping(mapping), table.findFunction(rest, mapping), mapping);
+		}
+	}
+	
+	@Test
+	void testFindFunctionOfUnknownRest() {
+		final Rest rest = createRest(1L, "Orders", null);
+		final RestFunction function = createFunction(rest, "List", "/list");
+		final RestRouteTable table = new RestRouteTable(1L, List.of());
+		
+		// rest is not part of the table yet
+		assertSame(function, table.findFunction(rest, "list"));
+		assertNull(table.findFunction(rest, "unknown"));
+	}
+	
+	@Test
+	void testFindFunctionOtherRest() {
+		final Rest orders = createRest(1L, "Orders", null);
+		final Rest customers = createRest(2L, "Customers", null);
+		final RestFunction function = createFunction(orders, "List", "/list");
+		final RestRouteTable table = new RestRouteTable(1L, List.of(orders, customers));
+		
+		assertSame(function, table.findFunction(orders, "list"));
+		assertNull(table.findFunction(customers, "list"));
+	}
+	
+	@Test
+	void testGetFunctionInstance() {
+		final RestRouteTable table = new RestRouteTable(1L, List.of());
+		final org.seed.core.api.RestFunction function = table.getFunctionInstance(TestFunction.class);
+		
+		assertTrue(function instanceof TestFunction);
+		// each request gets its own instance
+		final org.seed.core.api.RestFunction nextFunction = table.getFunctionInstance(TestFunction.class);
+		assertTrue(nextFunction instanceof TestFunction);
+		assertNotSame(function, nextFunction);
+		assertEquals(5L, new RestRouteTable(5L, List.of()).getVersion());
+	}
+	
+	private static Rest createRest(Long id, String name, String mapping) {
+		final RestMetadata rest = new RestMetadata();
+		rest.setId(id);
+		rest.setName(name);
+		rest.setMapping(mapping);
+		return rest;
+	}
+	
+	private static RestFunction createFunction(Rest rest, String name, String mapping) {
+		final RestFunction function = new RestFunction();
+		function.setName(name);
+		function.setMapping(mapping);
+		rest.addFunction(function);
+		return function;
+	}
+	
+	public static class TestFunction implements org.seed.core.api.RestFunction {
+		
+		@Override
+		public Object call(RestFunctionContext context) {
+			return null;
+		}
+		
+	}
+	
+}
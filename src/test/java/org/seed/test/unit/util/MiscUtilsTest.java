@@ -101,6 +101,18 @@ class MiscUtilsTest {
 		assertEquals("###est", MiscUtils.addLeadingChars("est", '#', 6));
 	}
 	
+	@Test
+	void testToHexString() {
+		assertEquals("", MiscUtils.toHexString(new byte[0]));
+		assertEquals("00ff10", MiscUtils.toHexString(new byte[] { 0, -1, 16 }));
+	}
+	
+	@Test
+	void testSha256() {
+		assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", 
+					 MiscUtils.sha256("test".getBytes()));
+	}
+	
 	@Test
 	void testRemoveHTMLTags() {
 		assertNull(MiscUtils.removeHTMLTags(null));
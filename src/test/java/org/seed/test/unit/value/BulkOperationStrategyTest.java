@@ -0,0 +1,151 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.data.FieldType;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityFieldConstraint;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityStatus;
+import org.seed.core.entity.EntityStatusTransition;
+import org.seed.core.entity.NestedEntity;
+import org.seed.core.entity.filter.FilterMetadata;
+import org.seed.core.entity.value.BulkOperationStrategy;
+
+class BulkOperationStrategyTest {
+	
+	@Test
+	void testSetBasedUpdate() {
+		final Entity entity = new EntityMetadata();
+		assertTrue(BulkOperationStrategy.isSetBasedUpdate(entity, null, false));
+		assertTrue(BulkOperationStrategy.isSetBasedUpdate(entity, new FilterMetadata(), false));
+	}
+	
+	@Test
+	void testUpdateWithCallbacksIsChunked() {
+		assertFalse(BulkOperationStrategy.isSetBasedUpdate(new EntityMetadata(), null, true));
+	}
+	
+	@Test
+	void testAuditedEntityIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setAudited(true);
+		assertFalse(BulkOperationStrategy.isSetBasedUpdate(entity, null, false));
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(entity, null, false, false));
+	}
+	
+	@Test
+	void testFullTextEntityIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField field = new EntityField();
+		field.setType(FieldType.TEXT);
+		field.setFullTextSearch(true);
+		entity.addField(field);
+		assertFalse(BulkOperationStrategy.isSetBasedUpdate(entity, null, false));
+	}
+	
+	@Test
+	void testHqlFilterIsChunked() {
+		final FilterMetadata filter = new FilterMetadata();
+		filter.setHqlQuery("from Test");
+		assertFalse(BulkOperationStrategy.isSetBasedUpdate(new EntityMetadata(), filter, false));
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(new EntityMetadata(), filter, false, false));
+	}
+	
+	@Test
+	void testUpdateWithFieldConstraintsIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityFieldConstraint constraint = new EntityFieldConstraint();
+		constraint.setField(new EntityField());
+		entity.addFieldConstraint(constraint);
+		assertFalse(BulkOperationStrategy.isSetBasedUpdate(entity, null, false));
+	}
+	
+	@Test
+	void testStatusChange() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityStatus status = new EntityStatus();
+		final EntityStatus otherStatus = new EntityStatus();
+		final EntityStatusTransition transition = new EntityStatusTransition();
+		transition.setTargetStatus(status);
+		entity.addStatusTransition(transition);
+		assertTrue(BulkOperationStrategy.isSetBasedStatusChange(entity, null, status, false, tran -> false));
+		assertFalse(BulkOperationStrategy.isSetBasedStatusChange(entity, null, status, false, tran -> true));
+		assertTrue(BulkOperationStrategy.isSetBasedStatusChange(entity, null, otherStatus, false, tran -> true));
+	}
+	
+	@Test
+	void testStatusChangeWithMandatoryConstraintIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityStatus status = new EntityStatus();
+		final EntityFieldConstraint constraint = new EntityFieldConstraint();
+		constraint.setField(new EntityField());
+		constraint.setStatus(status);
+		constraint.setMandatory(true);
+		entity.addFieldConstraint(constraint);
+		assertFalse(BulkOperationStrategy.isSetBasedStatusChange(entity, null, status, false, tran -> false));
+		assertTrue(BulkOperationStrategy.isSetBasedStatusChange(entity, null, new EntityStatus(), false, tran -> false));
+	}
+	
+	@Test
+	void testSetBasedDelete() {
+		assertTrue(BulkOperationStrategy.isSetBasedDelete(new EntityMetadata(), null, false, false));
+	}
+	
+	@Test
+	void testDeleteOfReferencedEntityIsChunked() {
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(new EntityMetadata(), null, false, true));
+	}
+	
+	@Test
+	void testDeleteWithCallbacksIsChunked() {
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(new EntityMetadata(), null, true, false));
+	}
+	
+	@Test
+	void testDeleteOfTransferableEntityIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setTransferable(true);
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(entity, null, false, false));
+	}
+	
+	@Test
+	void testDeleteWithNestedsIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		final NestedEntity nested = new NestedEntity();
+		nested.setNestedEntity(new EntityMetadata());
+		entity.addNested(nested);
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(entity, null, false, false));
+	}
+	
+	@Test
+	void testDeleteWithFileFieldIsChunked() {
+		final EntityMetadata entity = new EntityMetadata();
+		final EntityField field = new EntityField();
+		field.setType(FieldType.FILE);
+		entity.addField(field);
+		assertFalse(BulkOperationStrategy.isSetBasedDelete(entity, null, false, false));
+		assertTrue(BulkOperationStrategy.isSetBasedUpdate(entity, null, false));
+	}
+	
+}
@@ -0,0 +1,177 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.api.CallbackEventType;
+import org.seed.core.api.CallbackFunction;
+import org.seed.core.api.CallbackFunctionContext;
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityFunction;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.EntityStatusTransition;
+import org.seed.core.entity.EntityStatusTransitionFunction;
+import org.seed.core.entity.value.ValueObject;
+import org.seed.core.entity.value.event.CallbackDispatchTable;
+
+class CallbackDispatchTableTest {
+	
+	@Test
+	void testGetEntityFunction() {
+		final Entity entity = createEntity(1L);
+		final EntityFunction insertFunction = createFunction(entity);
+		insertFunction.setActiveBeforeInsert(true);
+		final EntityFunction updateFunction = createFunction(entity);
+		updateFunction.setActiveBeforeUpdate(true);
+		updateFunction.setActiveAfterUpdate(true);
+		final CallbackDispatchTable table = new CallbackDispatchTable(1L, List.of(entity));
+		
+		assertTrue(table.containsEntity(1L));
+		assertSame(insertFunction, table.getEntityFunction(1L, CallbackEventType.BEFOREINSERT));
+		assertSame(updateFunction, table.getEntityFunction(1L, CallbackEventType.BEFOREUPDATE));
+		assertSame(updateFunction, table.getEntityFunction(1L, CallbackEventType.AFTERUPDATE));
+		assertNull(table.getEntityFunction(1L, CallbackEventType.AFTERINSERT));
+		assertNull(table.getEntityFunction(1L, CallbackEventType.BEFOREDELETE));
+	}
+	
+	@Test
+	void testGetEntityFunctionOrder() {
+		final Entity entity = createEntity(1L);
+		final EntityFunction inactiveFunction = createFunction(entity);
+		inactiveFunction.setActiveBeforeInsert(true);
+		inactiveFunction.setActive(false);
+		final EntityFunction firstFunction = createFunction(entity);
+		firstFunction.setActiveBeforeInsert(true);
+		final EntityFunction secondFunction = createFunction(entity);
+		secondFunction.setActiveBeforeInsert(true);
+		secondFunction.setActiveAfterInsert(true);
+		final CallbackDispatchTable table = new CallbackDispatchTable(1L, List.of(entity));
+		
+		// the first active function of each event type is dispatched
+		assertSame(firstFunction, table.getEntityFunction(1L, CallbackEventType.BEFOREINSERT));
+		assertSame(secondFunction, table.getEntityFunction(1L, CallbackEventType.AFTERINSERT));
+	}
+	
+	@Test
+	void testGetEntityFunctionUnknown() {
+		final Entity entity = createEntity(1L);
+		createFunction(entity).setActiveBeforeInsert(true);
+		final Entity entityWithoutFunctions = createEntity(2L);
+		final CallbackDispatchTable table = new CallbackDispatchTable(1L, List.of(entity, entityWithoutFunctions));
+		
+		assertTrue(table.containsEntity(2L));
+		assertNull(table.getEntityFunction(2L, CallbackEventType.BEFOREINSERT));
+		
+		assertFalse(table.containsEntity(3L));
+		assertNull(table.getEntityFunction(3L, CallbackEventType.BEFOREINSERT));
+		
+		// no entity event
+		assertNull(table.getEntityFunction(1L, CallbackEventType.USERACTION));
+		assertNull(table.getEntityFunction(1L, CallbackEventType.BEFORETRANSITION));
+	}
+	
+	@Test
+	void testGetTransitionFunction() {
+		final Entity entity = createEntity(1L);
+		final EntityStatusTransition transition = new EntityStatusTransition();
+		transition.setId(10L);
+		entity.addStatusTransition(transition);
+		final EntityFunction inactiveFunction = createFunction(entity);
+		inactiveFunction.setActive(false);
+		addTransitionFunction(transition, inactiveFunction).setActiveBeforeTransition(true);
+		final EntityFunction beforeFunction = createFunction(entity);
+		addTransitionFunction(transition, beforeFunction).setActiveBeforeTransition(true);
+		final EntityFunction afterFunction = createFunction(entity);
+		addTransitionFunction(transition, afterFunction).setActiveAfterTransition(true);
+		final CallbackDispatchTable table = new CallbackDispatchTable(1L, List.of(entity));
+		
+		assertTrue(table.containsTransition(10L));
+		assertSame(beforeFunction, table.getTransitionFunction(10L, CallbackEventType.BEFORETRANSITION));
+		assertSame(afterFunction, table.getTransitionFunction(10L, CallbackEventType.AFTERTRANSITION));
+		
+		assertFalse(table.containsTransition(11L));
+		assertNull(table.getTransitionFunction(11L, CallbackEventType.BEFORETRANSITION));
+		// transition functions are not dispatched as entity functions
+		assertNull(table.getEntityFunction(1L, CallbackEventType.BEFOREINSERT));
+	}
+	
+	@Test
+	void testGetCallback() {
+		final CallbackDispatchTable table = new CallbackDispatchTable(1L, List.of());
+		final CallbackFunction<ValueObject> callback = table.getCallback(TestCallback.class);
+		
+		assertTrue(callback instanceof TestCallback);
+		// each dispatch gets its own instance
+		final CallbackFunction<ValueObject> nextCallback = table.getCallback(TestCallback.class);
+		assertTrue(nextCallback instanceof TestCallback);
+		assertNotSame(callback, nextCallback);
+	}
+	
+	@Test
+	void testGetVersion() {
+		assertEquals(42L, new CallbackDispatchTable(42L, List.of()).getVersion());
+	}
+	
+	@Test
+	void testIsActiveUnsupportedEvent() {
+		final EntityFunction function = new EntityFunction();
+		final EntityStatusTransitionFunction transitionFunction = new EntityStatusTransitionFunction();
+		
+		assertThrows(UnsupportedOperationException.class, 
+					 () -> CallbackDispatchTable.isActive(function, CallbackEventType.USERACTION));
+		assertThrows(UnsupportedOperationException.class, 
+					 () -> CallbackDispatchTable.isActive(transitionFunction, CallbackEventType.BEFOREINSERT));
+	}
+	
+	private static Entity createEntity(Long id) {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setId(id);
+		return entity;
+	}
+	
+	private static EntityFunction createFunction(Entity entity) {
+		final EntityFunction function = new EntityFunction();
+		function.setCallback(true);
+		function.setActive(true);
+		entity.addFunction(function);
+		return function;
+	}
+	
+	private static EntityStatusTransitionFunction addTransitionFunction(EntityStatusTransition transition, 
+																		EntityFunction function) {
+		final EntityStatusTransitionFunction transitionFunction = new EntityStatusTransitionFunction();
+		transitionFunction.setFunction(function);
+		transition.addFunction(transitionFunction);
+		return transitionFunction;
+	}
+	
+	public static class TestCallback implements CallbackFunction<ValueObject> {
+		
+		@Override
+		public void call(ValueObject object, CallbackFunctionContext context) {
+			// do nothing
+		}
+		
+	}
+	
+}
@@ -0,0 +1,165 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.seed.core.entity.Entity;
+import org.seed.core.entity.EntityField;
+import org.seed.core.entity.EntityMetadata;
+import org.seed.core.entity.value.IdentifierPattern;
+
+class IdentifierPatternTest {
+	
+	private final Map<String, Object> values = new HashMap<>();
+	
+	@Test
+	void testResolveLikeReplace() {
+		values.put("name", "Smith");
+		values.put("number", 42);
+		values.put("empty", null);
+		
+		assertResolvesLikeReplace("");
+		assertResolvesLikeReplace("literal");
+		assertResolvesLikeReplace("{name}");
+		assertResolvesLikeReplace("{entity}");
+		assertResolvesLikeReplace("{entity}: {name}");
+		assertResolvesLikeReplace("{name}{number}");
+		assertResolvesLikeReplace("{name}-{name}");
+		assertResolvesLikeReplace("prefix {number} suffix");
+		assertResolvesLikeReplace("{empty}");
+		assertResolvesLikeReplace("a{empty}b");
+		assertResolvesLikeReplace("{unknown}");
+		assertResolvesLikeReplace("{unknown}{name}");
+		assertResolvesLikeReplace("{}");
+		assertResolvesLikeReplace("{");
+		assertResolvesLikeReplace("}");
+		assertResolvesLikeReplace("}{");
+		assertResolvesLikeReplace("{name");
+		assertResolvesLikeReplace("name}");
+		assertResolvesLikeReplace("{{name}}");
+		assertResolvesLikeReplace("{{name}");
+		assertResolvesLikeReplace("{name}}");
+		assertResolvesLikeReplace("{ name}");
+		assertResolvesLikeReplace("{Name}");
+		assertResolvesLikeReplace("{unknown {name}");
+		assertResolvesLikeReplace("{name}{");
+	}
+	
+	@Test
+	void testResolve() {
+		values.put("name", "Smith");
+		values.put("number", 42);
+		
+		assertEquals("Test: Smith 42", resolve("{entity}: {name} {number}"));
+		assertEquals("{unknown}", resolve("{unknown}"));
+		assertEquals("", resolve("{empty}"));
+	}
+	
+	@Test
+	void testResolveDoesNotExpandValues() {
+		// replace expanded placeholders contained in values of preceding fields,
+		// now values are inserted as they are
+		values.put("name", "{number}");
+		values.put("number", 42);
+		
+		assertEquals("{number}", resolve("{name}"));
+		assertEquals("42", replace(createEntity("{name}"), "{name}"));
+	}
+	
+	@Test
+	void testIsCompiledFrom() {
+		final EntityMetadata entity = createEntity("{name}");
+		final IdentifierPattern pattern = IdentifierPattern.compile(entity);
+		assertTrue(pattern.isCompiledFrom(entity));
+		
+		entity.setIdentifierPattern("{number}");
+		assertFalse(pattern.isCompiledFrom(entity));
+		
+		entity.setIdentifierPattern("{name}");
+		assertTrue(pattern.isCompiledFrom(entity));
+		
+		entity.setVersion(entity.getVersion() + 1);
+		assertFalse(pattern.isCompiledFrom(entity));
+		
+		final EntityMetadata renamedEntity = createEntity("{name}");
+		renamedEntity.setName("Other");
+		assertFalse(pattern.isCompiledFrom(renamedEntity));
+	}
+	
+	@Test
+	void testIsCompiledFromGenericEntity() {
+		final EntityMetadata genericEntity = new EntityMetadata();
+		final EntityField genericField = new EntityField();
+		genericField.setName("generic");
+		genericEntity.addField(genericField);
+		final EntityMetadata entity = createEntity("{generic}");
+		final IdentifierPattern pattern = IdentifierPattern.compile(entity);
+		assertTrue(pattern.isCompiledFrom(entity));
+		
+		entity.setGenericEntity(genericEntity);
+		assertFalse(pattern.isCompiledFrom(entity));
+		
+		final IdentifierPattern genericPattern = IdentifierPattern.compile(entity);
+		assertTrue(genericPattern.isCompiledFrom(entity));
+		
+		// changes of inherited fields only increase the version of the generic entity
+		genericEntity.setVersion(genericEntity.getVersion() + 1);
+		assertFalse(genericPattern.isCompiledFrom(entity));
+	}
+	
+	private void assertResolvesLikeReplace(String pattern) {
+		assertEquals(replace(createEntity(pattern), pattern), resolve(pattern), pattern);
+	}
+	
+	private String resolve(String pattern) {
+		return IdentifierPattern.compile(createEntity(pattern))
+								.resolve(null, (object, field) -> values.get(field.getName()));
+	}
+	
+	// the former implementation with one replace per field
+	private String replace(Entity entity, String pattern) {
+		pattern = pattern.replace("{entity}", entity.getName());
+		for (EntityField field : entity.getAllFields()) {
+			final String key = '{' + field.getName() + '}';
+			if (pattern.contains(key)) {
+				final Object value = values.get(field.getName());
+				pattern = pattern.replace(key, value != null ? value.toString() : "");
+			}
+		}
+		return pattern;
+	}
+	
+	private static EntityMetadata createEntity(String pattern) {
+		final EntityMetadata entity = new EntityMetadata();
+		entity.setName("Test");
+		entity.setIdentifierPattern(pattern);
+		for (String fieldName : new String[] { "name", "number", "empty" }) {
+			final EntityField field = new EntityField();
+			field.setName(fieldName);
+			entity.addField(field);
+		}
+		return entity;
+	}
+	
+}
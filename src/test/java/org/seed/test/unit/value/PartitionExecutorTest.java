@@ -0,0 +1,140 @@
+/**
+ * Seed
+ * Copyright (C) 2021 EUU⛰ROCKS
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.seed.test.unit.value;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.seed.InternalException;
+import org.seed.core.data.ValidationErrors;
+import org.seed.core.data.ValidationException;
+import org.seed.core.entity.value.PartitionExecutor;
+
+class PartitionExecutorTest {
+	
+	private PartitionExecutor executor;
+	
+	@AfterEach
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	void testExecute() throws ValidationException {
+		executor = new PartitionExecutor(2);
+		assertEquals(2, executor.getNumThreads());
+		assertEquals(0, executor.execute(List.of()));
+		assertEquals(6, executor.execute(List.of(() -> 1L, () -> 2L, () -> 3L)));
+	}
+	
+	@Test
+	void testExecuteNested() {
+		executor = new PartitionExecutor(1);
+		final Set<Thread> nestedThreads = ConcurrentHashMap.newKeySet();
+		final Callable<Long> nested = () -> {
+			final Thread thread = Thread.currentThread();
+			return executor.execute(List.of(() -> 1L, () -> {
+				// nested partitions run on the thread of the enclosing partition
+				assertSame(thread, Thread.currentThread());
+				nestedThreads.add(thread);
+				return 2L;
+			}));
+		};
+		
+		// nested partitions would wait forever on the single thread of the bounded pool
+		assertTimeoutPreemptively(Duration.ofSeconds(10), 
+				() -> assertEquals(6, executor.execute(List.of(nested, nested))));
+		assertEquals(1, nestedThreads.size());
+		assertFalse(nestedThreads.contains(Thread.currentThread()));
+	}
+	
+	@Test
+	void testExecuteNestedFailure() {
+		executor = new PartitionExecutor(1);
+		final Callable<Long> nested = () -> executor.execute(List.of(() -> {
+			throw new TestValidationException();
+		}));
+		
+		assertThrows(ValidationException.class, () -> executor.execute(List.of(nested)));
+	}
+	
+	@Test
+	void testExecuteValidationFailure() throws InterruptedException {
+		executor = new PartitionExecutor(2);
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		final Callable<Long> running = () -> {
+			started.countDown();
+			try {
+				Thread.sleep(60000);
+			}
+			catch (InterruptedException iex) {
+				cancelled.countDown();
+			}
+			return 1L;
+		};
+		final Callable<Long> failing = () -> {
+			started.await();
+			throw new TestValidationException();
+		};
+		
+		assertThrows(ValidationException.class, () -> executor.execute(List.of(running, failing)));
+		assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void testExecuteRuntimeFailure() {
+		executor = new PartitionExecutor(2);
+		final Callable<Long> failing = () -> {
+			throw new IllegalStateException("test");
+		};
+		
+		final InternalException ex = assertThrows(InternalException.class, 
+				() -> executor.execute(List.of(() -> 1L, failing)));
+		assertTrue(ex.getCause() instanceof IllegalStateException);
+	}
+	
+	// message is formatted without label provider
+	private static class TestValidationException extends ValidationException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private TestValidationException() {
+			super(new ValidationErrors().addError("val.test"));
+		}
+		
+		@Override
+		public String getMessage() {
+			return "val.test";
+		}
+		
+	}
+	
+}